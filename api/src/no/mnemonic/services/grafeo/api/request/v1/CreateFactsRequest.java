@@ -0,0 +1,37 @@
+package no.mnemonic.services.grafeo.api.request.v1;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.services.grafeo.api.request.ValidatingRequest;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@ApiModel(description = "Create multiple new Facts at once.")
+public class CreateFactsRequest implements ValidatingRequest {
+
+  public static final int MAX_FACTS = 1000;
+
+  @ApiModelProperty(value = "Facts to create (at most 1000 Facts per request)", required = true)
+  @NotEmpty
+  @Size(max = MAX_FACTS)
+  private List<@Valid CreateFactRequest> facts;
+
+  public List<CreateFactRequest> getFacts() {
+    return facts;
+  }
+
+  public CreateFactsRequest setFacts(List<CreateFactRequest> facts) {
+    this.facts = ObjectUtils.ifNotNull(facts, ListUtils::list);
+    return this;
+  }
+
+  public CreateFactsRequest addFact(CreateFactRequest fact) {
+    this.facts = ListUtils.addToList(this.facts, fact);
+    return this;
+  }
+}
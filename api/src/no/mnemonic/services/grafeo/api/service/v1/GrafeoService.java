@@ -242,6 +242,21 @@ public interface GrafeoService extends Service {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * Create multiple new Facts at once. Either all Facts are created or, if at least one Fact is invalid, none.
+   *
+   * @param rh      Contains meta data about the request.
+   * @param request Request containing new Facts.
+   * @return Newly created Facts in the order of the request.
+   * @throws AccessDeniedException         If the user is not allowed to perform this operation.
+   * @throws AuthenticationFailedException If the user could not be authenticated.
+   * @throws InvalidArgumentException      If the request contains invalid parameters.
+   */
+  default ResultSet<Fact> createFacts(RequestHeader rh, CreateFactsRequest request)
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
+    throw new UnsupportedOperationException();
+  }
+
   /**
    * Fetch meta Facts bound to another Fact.
    *
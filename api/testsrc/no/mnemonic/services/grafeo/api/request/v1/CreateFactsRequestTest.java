@@ -0,0 +1,69 @@
+package no.mnemonic.services.grafeo.api.request.v1;
+
+import org.junit.Test;
+
+import javax.validation.ConstraintViolation;
+import java.util.Collections;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+public class CreateFactsRequestTest extends AbstractRequestTest {
+
+  @Test
+  public void testDecodeRequest() throws Exception {
+    String json = "{" +
+            "facts : [" +
+            "{ type : 'ThreatActorAlias', value : 'APT28', sourceObject : 'ThreatActor/Sofacy' }," +
+            "{ type : 'ThreatActorAlias', value : 'APT29', sourceObject : 'ThreatActor/Panda' }" +
+            "]" +
+            "}";
+
+    CreateFactsRequest request = getMapper().readValue(json, CreateFactsRequest.class);
+    assertEquals(2, request.getFacts().size());
+    assertEquals("APT28", request.getFacts().get(0).getValue());
+    assertEquals("ThreatActor/Sofacy", request.getFacts().get(0).getSourceObject());
+    assertEquals("APT29", request.getFacts().get(1).getValue());
+    assertEquals("ThreatActor/Panda", request.getFacts().get(1).getSourceObject());
+  }
+
+  @Test
+  public void testRequestValidationFailsOnNull() {
+    Set<ConstraintViolation<CreateFactsRequest>> violations = getValidator().validate(new CreateFactsRequest());
+    assertEquals(1, violations.size());
+    assertPropertyInvalid(violations, "facts");
+  }
+
+  @Test
+  public void testRequestValidationFailsOnEmpty() {
+    Set<ConstraintViolation<CreateFactsRequest>> violations = getValidator().validate(new CreateFactsRequest().setFacts(Collections.emptyList()));
+    assertEquals(1, violations.size());
+    assertPropertyInvalid(violations, "facts");
+  }
+
+  @Test
+  public void testRequestValidationFailsOnTooManyFacts() {
+    CreateFactsRequest request = new CreateFactsRequest();
+    for (int i = 0; i <= CreateFactsRequest.MAX_FACTS; i++) {
+      request.addFact(new CreateFactRequest().setType("type"));
+    }
+
+    Set<ConstraintViolation<CreateFactsRequest>> violations = getValidator().validate(request);
+    assertEquals(1, violations.size());
+    assertPropertyInvalid(violations, "facts");
+  }
+
+  @Test
+  public void testRequestValidationFailsOnInvalidFact() {
+    Set<ConstraintViolation<CreateFactsRequest>> violations = getValidator().validate(new CreateFactsRequest()
+            .addFact(new CreateFactRequest().setType("type"))
+            .addFact(new CreateFactRequest()));
+    assertEquals(1, violations.size());
+    assertPropertyInvalid(violations, "type");
+  }
+
+  @Test
+  public void testRequestValidationSucceeds() {
+    assertEquals(0, getValidator().validate(new CreateFactsRequest().addFact(new CreateFactRequest().setType("type"))).size());
+  }
+}
@@ -4,13 +4,14 @@ import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.collections.MapUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
 
-import java.util.Collections;
-import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.*;
+import java.util.function.Function;
 
 /**
  * Class holding the state of the AccessController implementation and providing helper methods to access the state.
+ * <p>
+ * The state is immutable. All Organization and Subject hierarchies as well as the effective permissions of every
+ * Subject are resolved once when the state is created, thus, all lookups are simple hash lookups afterwards.
  */
 public class AccessControllerState {
 
@@ -20,12 +21,30 @@ public class AccessControllerState {
   private final Map<Long, PropertiesSubject> subjectMap;
   private final Map<String, PropertiesSubject> subjectByNameMap;
 
+  // Precomputed hierarchies, keyed by internalID.
+  private final Map<Long, Set<PropertiesOrganization>> parentOrganizationsMap;
+  private final Map<Long, Set<PropertiesOrganization>> childOrganizationsMap;
+  private final Map<Long, Set<PropertiesSubject>> parentSubjectsMap;
+  // Precomputed effective permissions, keyed by internalID of Subject.
+  private final Map<Long, Set<String>> subjectFunctionsMap;
+  private final Map<Long, Map<Long, Set<String>>> subjectOrganizationFunctionsMap;
+  private final Map<Long, Set<Long>> subjectAvailableOrganizationsMap;
+
   private AccessControllerState(Map<String, PropertiesFunction> functionMap, Map<Long, PropertiesOrganization> organizationMap, Map<Long, PropertiesSubject> subjectMap) {
     this.functionMap = ObjectUtils.ifNotNull(functionMap, Collections::unmodifiableMap, Collections.emptyMap());
     this.organizationMap = ObjectUtils.ifNotNull(organizationMap, Collections::unmodifiableMap, Collections.emptyMap());
     this.organizationByNameMap = Collections.unmodifiableMap(MapUtils.map(this.organizationMap.values(), o -> MapUtils.Pair.T(o.getName(), o)));
     this.subjectMap = ObjectUtils.ifNotNull(subjectMap, Collections::unmodifiableMap, Collections.emptyMap());
     this.subjectByNameMap = Collections.unmodifiableMap(MapUtils.map(this.subjectMap.values(), s -> MapUtils.Pair.T(s.getName(), s)));
+
+    this.parentOrganizationsMap = resolveParents(this.organizationMap, PropertiesOrganization::getInternalID, o -> o.isGroup() ? PropertiesOrganizationGroup.class.cast(o).getMembers() : null);
+    this.childOrganizationsMap = resolveChildOrganizations();
+    this.parentSubjectsMap = resolveParents(this.subjectMap, PropertiesSubject::getInternalID, s -> s.isGroup() ? PropertiesSubjectGroup.class.cast(s).getMembers() : null);
+
+    this.subjectFunctionsMap = new HashMap<>();
+    this.subjectOrganizationFunctionsMap = new HashMap<>();
+    this.subjectAvailableOrganizationsMap = new HashMap<>();
+    resolveEffectivePermissions();
   }
 
   /**
@@ -97,19 +116,7 @@ public class AccessControllerState {
    * @return Parent OrganizationGroups
    */
   public Set<PropertiesOrganization> getParentOrganizations(long internalID) {
-    // Resolve the direct parents of the organization identified by 'internalID'.
-    Set<PropertiesOrganization> parents = organizationMap.values().stream()
-            .filter(PropertiesOrganization::isGroup)
-            .map(PropertiesOrganizationGroup.class::cast)
-            .filter(o -> o.getMembers().contains(internalID))
-            .collect(Collectors.toSet());
-
-    // Also resolve the parents of parents recursively.
-    for (PropertiesOrganization parent : SetUtils.set(parents)) {
-      parents.addAll(getParentOrganizations(parent.getInternalID()));
-    }
-
-    return parents;
+    return parentOrganizationsMap.getOrDefault(internalID, Collections.emptySet());
   }
 
   /**
@@ -121,25 +128,7 @@ public class AccessControllerState {
    * @return Child Organizations
    */
   public Set<PropertiesOrganization> getChildOrganizations(long internalID) {
-    Set<PropertiesOrganization> children = SetUtils.set();
-
-    // Fetch organization identified by 'internalID'.
-    PropertiesOrganization organization = organizationMap.get(internalID);
-    if (organization == null || !organization.isGroup()) {
-      // No group, no children.
-      return children;
-    }
-
-    // Resolve all direct children and recursively their children.
-    for (Long id : PropertiesOrganizationGroup.class.cast(organization).getMembers()) {
-      PropertiesOrganization child = organizationMap.get(id);
-      if (child != null) {
-        children.add(child);
-        children.addAll(getChildOrganizations(child.getInternalID()));
-      }
-    }
-
-    return children;
+    return childOrganizationsMap.getOrDefault(internalID, Collections.emptySet());
   }
 
   /**
@@ -151,16 +140,163 @@ public class AccessControllerState {
    * @return Parent SubjectGroups
    */
   public Set<PropertiesSubject> getParentSubjects(long internalID) {
-    // Resolve the direct parents of the subject identified by 'internalID'.
-    Set<PropertiesSubject> parents = subjectMap.values().stream()
-            .filter(PropertiesSubject::isGroup)
-            .map(PropertiesSubjectGroup.class::cast)
-            .filter(o -> o.getMembers().contains(internalID))
-            .collect(Collectors.toSet());
-
-    // Also resolve the parents of parents recursively.
-    for (PropertiesSubject parent : SetUtils.set(parents)) {
-      parents.addAll(getParentSubjects(parent.getInternalID()));
+    return parentSubjectsMap.getOrDefault(internalID, Collections.emptySet());
+  }
+
+  /**
+   * Returns true if a Subject has been granted a Function for any Organization, either directly, via a FunctionGroup
+   * or via any parent SubjectGroup.
+   *
+   * @param subjectID Internal ID of Subject or SubjectGroup
+   * @param function  Name of Function or FunctionGroup
+   * @return True if the Subject has been granted the Function
+   */
+  public boolean hasPermission(long subjectID, String function) {
+    return subjectFunctionsMap.getOrDefault(subjectID, Collections.emptySet()).contains(function);
+  }
+
+  /**
+   * Returns true if a Subject has been granted a Function for an Organization, either directly, via a FunctionGroup,
+   * via any parent OrganizationGroup or via any parent SubjectGroup.
+   *
+   * @param subjectID      Internal ID of Subject or SubjectGroup
+   * @param function       Name of Function or FunctionGroup
+   * @param organizationID Internal ID of Organization or OrganizationGroup
+   * @return True if the Subject has been granted the Function for the Organization
+   */
+  public boolean hasPermission(long subjectID, String function, long organizationID) {
+    return subjectOrganizationFunctionsMap.getOrDefault(subjectID, Collections.emptyMap())
+            .getOrDefault(organizationID, Collections.emptySet())
+            .contains(function);
+  }
+
+  /**
+   * Returns the internal IDs of all Organizations a Subject has access to, i.e. all Organizations the Subject or any
+   * parent SubjectGroup has been granted permissions for including their child Organizations.
+   * <p>
+   * It will return an empty set if the Subject does not have access to any Organization.
+   *
+   * @param subjectID Internal ID of Subject or SubjectGroup
+   * @return Internal IDs of available Organizations
+   */
+  public Set<Long> getAvailableOrganizations(long subjectID) {
+    return subjectAvailableOrganizationsMap.getOrDefault(subjectID, Collections.emptySet());
+  }
+
+  private Map<Long, Set<PropertiesOrganization>> resolveChildOrganizations() {
+    Map<Long, Set<PropertiesOrganization>> children = new HashMap<>();
+    for (PropertiesOrganization organization : organizationMap.values()) {
+      if (!organization.isGroup()) continue;
+
+      Set<PropertiesOrganization> descendants = new HashSet<>();
+      collectChildOrganizations(PropertiesOrganizationGroup.class.cast(organization), descendants);
+      children.put(organization.getInternalID(), Collections.unmodifiableSet(descendants));
+    }
+
+    return children;
+  }
+
+  private void collectChildOrganizations(PropertiesOrganizationGroup group, Set<PropertiesOrganization> descendants) {
+    for (Long id : group.getMembers()) {
+      // Skip members which are not defined and members which have been visited already (guards against cycles).
+      PropertiesOrganization child = organizationMap.get(id);
+      if (child == null || !descendants.add(child)) continue;
+
+      if (child.isGroup()) {
+        collectChildOrganizations(PropertiesOrganizationGroup.class.cast(child), descendants);
+      }
+    }
+  }
+
+  private void resolveEffectivePermissions() {
+    // Caches all Functions implied by a granted Function or FunctionGroup.
+    Map<String, Set<String>> impliedFunctions = new HashMap<>();
+    // Maps an Organization to all Organizations (including undefined members) which have it as parent.
+    Map<Long, Set<Long>> descendantOrganizations = new HashMap<>();
+    parentOrganizationsMap.forEach((id, parents) -> parents.forEach(parent ->
+            descendantOrganizations.computeIfAbsent(parent.getInternalID(), k -> new HashSet<>()).add(id)));
+
+    for (PropertiesSubject subject : subjectMap.values()) {
+      Set<String> functions = new HashSet<>();
+      Map<Long, Set<String>> organizationFunctions = new HashMap<>();
+      Set<Long> availableOrganizations = new HashSet<>();
+
+      // Permissions granted to the Subject itself or to any parent SubjectGroup apply to the Subject.
+      for (PropertiesSubject grantee : SetUtils.union(SetUtils.set(subject), getParentSubjects(subject.getInternalID()))) {
+        for (Map.Entry<Long, Set<String>> permission : grantee.getPermissions().entrySet()) {
+          long organizationID = permission.getKey();
+          Set<String> granted = new HashSet<>();
+          for (String function : SetUtils.set(permission.getValue())) {
+            granted.addAll(resolveImpliedFunctions(function, impliedFunctions));
+          }
+
+          functions.addAll(granted);
+          // Permissions granted for an OrganizationGroup apply to all its members as well.
+          organizationFunctions.computeIfAbsent(organizationID, k -> new HashSet<>()).addAll(granted);
+          for (Long descendantID : descendantOrganizations.getOrDefault(organizationID, Collections.emptySet())) {
+            organizationFunctions.computeIfAbsent(descendantID, k -> new HashSet<>()).addAll(granted);
+          }
+
+          availableOrganizations.add(organizationID);
+          getChildOrganizations(organizationID).forEach(child -> availableOrganizations.add(child.getInternalID()));
+        }
+      }
+
+      subjectFunctionsMap.put(subject.getInternalID(), Collections.unmodifiableSet(functions));
+      subjectOrganizationFunctionsMap.put(subject.getInternalID(), Collections.unmodifiableMap(organizationFunctions));
+      subjectAvailableOrganizationsMap.put(subject.getInternalID(), Collections.unmodifiableSet(availableOrganizations));
+    }
+  }
+
+  private Set<String> resolveImpliedFunctions(String function, Map<String, Set<String>> cache) {
+    Set<String> implied = cache.get(function);
+    if (implied != null) return implied;
+
+    implied = new HashSet<>();
+    collectImpliedFunctions(function, implied);
+    cache.put(function, implied);
+    return implied;
+  }
+
+  private void collectImpliedFunctions(String function, Set<String> implied) {
+    // A granted Function implies itself. If it has been visited already stop here (guards against cycles).
+    if (!implied.add(function)) return;
+
+    // If 'function' is a group all members are implied as well.
+    // If 'group' isn't defined it will just be skipped (i.e. it's not a group but a single function).
+    PropertiesFunction group = functionMap.get(function);
+    if (group != null && group.isGroup()) {
+      for (String member : PropertiesFunctionGroup.class.cast(group).getMembers()) {
+        collectImpliedFunctions(member, implied);
+      }
+    }
+  }
+
+  /**
+   * Resolves the direct and indirect parent groups of all elements which are members of at least one group.
+   */
+  private static <T> Map<Long, Set<T>> resolveParents(Map<Long, T> elements, Function<T, Long> idResolver, Function<T, Set<Long>> membersResolver) {
+    Map<Long, Set<T>> directParents = new HashMap<>();
+    for (T element : elements.values()) {
+      for (Long member : SetUtils.set(membersResolver.apply(element))) {
+        directParents.computeIfAbsent(member, k -> new HashSet<>()).add(element);
+      }
+    }
+
+    Map<Long, Set<T>> parents = new HashMap<>();
+    for (Long id : directParents.keySet()) {
+      Set<T> allParents = new HashSet<>();
+      Deque<Long> queue = new ArrayDeque<>();
+      queue.add(id);
+      while (!queue.isEmpty()) {
+        for (T parent : directParents.getOrDefault(queue.poll(), Collections.emptySet())) {
+          // Only continue with parents not visited before (guards against cycles).
+          if (allParents.add(parent)) {
+            queue.add(idResolver.apply(parent));
+          }
+        }
+      }
+      parents.put(id, Collections.unmodifiableSet(allParents));
     }
 
     return parents;
@@ -389,6 +389,118 @@ public class AccessControllerStateTest {
     assertEquals(SetUtils.set(parent), state.getParentSubjects(subject.getInternalID()));
   }
 
+  @Test
+  public void testGetParentsWithCycle() {
+    PropertiesOrganizationGroup group1 = PropertiesOrganizationGroup.builder().setInternalID(10).addMember(11).build();
+    PropertiesOrganizationGroup group2 = PropertiesOrganizationGroup.builder().setInternalID(11).addMember(10).build();
+    AccessControllerState state = AccessControllerState.builder()
+            .setOrganizations(SetUtils.set(group1, group2))
+            .build();
+
+    assertEquals(SetUtils.set(group1, group2), state.getParentOrganizations(group1.getInternalID()));
+    assertEquals(SetUtils.set(group1, group2), state.getChildOrganizations(group1.getInternalID()));
+  }
+
+  @Test
+  public void testHasPermissionForUnknownSubject() {
+    AccessControllerState state = AccessControllerState.builder().build();
+    assertFalse(state.hasPermission(42, "function"));
+    assertFalse(state.hasPermission(42, "function", 1));
+    assertEmpty(state.getAvailableOrganizations(42));
+  }
+
+  @Test
+  public void testHasPermissionGrantedDirectly() {
+    PropertiesSubject subject = PropertiesSubject.builder()
+            .setInternalID(1)
+            .addPermission(1, SetUtils.set("function"))
+            .build();
+    AccessControllerState state = AccessControllerState.builder().addSubject(subject).build();
+
+    assertTrue(state.hasPermission(subject.getInternalID(), "function"));
+    assertTrue(state.hasPermission(subject.getInternalID(), "function", 1));
+    assertFalse(state.hasPermission(subject.getInternalID(), "function", 2));
+    assertFalse(state.hasPermission(subject.getInternalID(), "otherFunction"));
+  }
+
+  @Test
+  public void testHasPermissionGrantedViaFunctionGroup() {
+    PropertiesFunctionGroup parentGroup = PropertiesFunctionGroup.builder().setName("parentGroup").addMember("group").build();
+    PropertiesFunctionGroup group = PropertiesFunctionGroup.builder().setName("group").addMember("function").build();
+    PropertiesSubject subject = PropertiesSubject.builder()
+            .setInternalID(1)
+            .addPermission(1, SetUtils.set(parentGroup.getName()))
+            .build();
+    AccessControllerState state = AccessControllerState.builder()
+            .addFunction(parentGroup)
+            .addFunction(group)
+            .addSubject(subject)
+            .build();
+
+    assertTrue(state.hasPermission(subject.getInternalID(), "parentGroup"));
+    assertTrue(state.hasPermission(subject.getInternalID(), "group", 1));
+    assertTrue(state.hasPermission(subject.getInternalID(), "function", 1));
+  }
+
+  @Test
+  public void testHasPermissionGrantedViaOrganizationGroup() {
+    PropertiesOrganization organization = PropertiesOrganization.builder().setInternalID(1).build();
+    PropertiesOrganizationGroup parent = PropertiesOrganizationGroup.builder()
+            .setInternalID(10)
+            .addMember(organization.getInternalID())
+            .addMember(2) // Member which is not defined.
+            .build();
+    PropertiesOrganizationGroup indirectParent = PropertiesOrganizationGroup.builder()
+            .setInternalID(11)
+            .addMember(parent.getInternalID())
+            .build();
+    PropertiesSubject subject = PropertiesSubject.builder()
+            .setInternalID(1)
+            .addPermission(indirectParent.getInternalID(), SetUtils.set("function"))
+            .build();
+    AccessControllerState state = AccessControllerState.builder()
+            .setOrganizations(SetUtils.set(organization, parent, indirectParent))
+            .addSubject(subject)
+            .build();
+
+    assertTrue(state.hasPermission(subject.getInternalID(), "function", indirectParent.getInternalID()));
+    assertTrue(state.hasPermission(subject.getInternalID(), "function", parent.getInternalID()));
+    assertTrue(state.hasPermission(subject.getInternalID(), "function", organization.getInternalID()));
+    assertTrue(state.hasPermission(subject.getInternalID(), "function", 2));
+    assertFalse(state.hasPermission(subject.getInternalID(), "function", 3));
+    assertEquals(SetUtils.set(1L, 10L, 11L), state.getAvailableOrganizations(subject.getInternalID()));
+  }
+
+  @Test
+  public void testHasPermissionGrantedViaSubjectGroup() {
+    PropertiesSubject subject = PropertiesSubject.builder()
+            .setInternalID(1)
+            .addPermission(1, SetUtils.set("function1"))
+            .build();
+    PropertiesSubjectGroup parent = PropertiesSubjectGroup.builder()
+            .setInternalID(10)
+            .addMember(subject.getInternalID())
+            .addPermission(2, SetUtils.set("function2"))
+            .build();
+    PropertiesSubjectGroup indirectParent = PropertiesSubjectGroup.builder()
+            .setInternalID(11)
+            .addMember(parent.getInternalID())
+            .addPermission(3, SetUtils.set("function3"))
+            .build();
+    AccessControllerState state = AccessControllerState.builder()
+            .setSubjects(SetUtils.set(subject, parent, indirectParent))
+            .build();
+
+    assertTrue(state.hasPermission(subject.getInternalID(), "function1", 1));
+    assertTrue(state.hasPermission(subject.getInternalID(), "function2", 2));
+    assertTrue(state.hasPermission(subject.getInternalID(), "function3", 3));
+    assertFalse(state.hasPermission(subject.getInternalID(), "function3", 1));
+    assertFalse(state.hasPermission(parent.getInternalID(), "function1"));
+    assertTrue(state.hasPermission(parent.getInternalID(), "function3"));
+    assertEquals(SetUtils.set(1L, 2L, 3L), state.getAvailableOrganizations(subject.getInternalID()));
+    assertEquals(SetUtils.set(2L, 3L), state.getAvailableOrganizations(parent.getInternalID()));
+  }
+
   private void assertEmpty(Set<?> collection) {
     assertNotNull(collection);
     assertTrue(collection.isEmpty());
@@ -0,0 +1,93 @@
+package no.mnemonic.services.grafeo.benchmarks;
+
+import no.mnemonic.services.common.auth.InvalidCredentialsException;
+import no.mnemonic.services.common.auth.model.Credentials;
+import no.mnemonic.services.common.auth.model.NamedFunction;
+import no.mnemonic.services.common.auth.model.OrganizationIdentifier;
+import no.mnemonic.services.common.auth.model.OrganizationIdentity;
+import no.mnemonic.services.grafeo.auth.properties.PropertiesBasedAccessController;
+import no.mnemonic.services.grafeo.auth.properties.model.SubjectCredentials;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures permission checks which are performed multiple times for every request. The access controller is set up
+ * with a hierarchy of Organization groups and Subject groups, i.e. permissions are inherited and not granted directly.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccessControllerBenchmark {
+
+  private static final int NUMBER_OF_ORGANIZATIONS = 100;
+  private static final long ORGANIZATION_GROUP_ID = NUMBER_OF_ORGANIZATIONS + 1;
+  private static final String[] FUNCTIONS = {
+          "addGrafeoType", "updateGrafeoType", "viewGrafeoType", "addGrafeoOrigin", "deleteGrafeoOrigin",
+          "updateGrafeoOrigin", "viewGrafeoOrigin", "addGrafeoFact", "traverseGrafeoFact", "viewGrafeoFact",
+          "addGrafeoFactComment", "viewGrafeoFactComment", "grantGrafeoFactAccess", "viewGrafeoFactAccess",
+          "unlimitedGrafeoSearch"
+  };
+
+  private final Credentials credentials = SubjectCredentials.builder().setSubjectID(1).build();
+  private final NamedFunction function = () -> "viewGrafeoFact";
+  private final OrganizationIdentity organization = OrganizationIdentifier.builder().setInternalID(NUMBER_OF_ORGANIZATIONS / 2).build();
+
+  private Path propertiesFile;
+  private PropertiesBasedAccessController accessController;
+
+  @Setup
+  public void setup() throws IOException {
+    StringBuilder content = new StringBuilder()
+            .append("function.all.members = ").append(String.join(",", FUNCTIONS)).append("\n");
+
+    // Many Organizations and one group containing all of them.
+    StringBuilder members = new StringBuilder();
+    for (int i = 1; i <= NUMBER_OF_ORGANIZATIONS; i++) {
+      content.append("organization.").append(i).append(".name = Organization ").append(i).append("\n");
+      members.append(i == 1 ? "" : ",").append(i);
+    }
+    content.append("organization.").append(ORGANIZATION_GROUP_ID).append(".name = All Organizations\n")
+            .append("organization.").append(ORGANIZATION_GROUP_ID).append(".type = group\n")
+            .append("organization.").append(ORGANIZATION_GROUP_ID).append(".members = ").append(members).append("\n");
+
+    // The Subject inherits its permissions through a Subject group.
+    content.append("subject.1.name = Subject\n")
+            .append("subject.1.affiliation = 1\n")
+            .append("subject.2.name = Subject Group\n")
+            .append("subject.2.type = group\n")
+            .append("subject.2.members = 1\n")
+            .append("subject.2.permission.").append(ORGANIZATION_GROUP_ID).append(" = all\n");
+
+    propertiesFile = Files.createTempFile("grafeo-benchmark", ".properties");
+    Files.write(propertiesFile, content.toString().getBytes(StandardCharsets.UTF_8));
+
+    accessController = PropertiesBasedAccessController.builder()
+            .setPropertiesFile(propertiesFile.toString())
+            .build();
+    accessController.startComponent();
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    accessController.stopComponent();
+    Files.deleteIfExists(propertiesFile);
+  }
+
+  @Benchmark
+  public boolean hasPermission() throws InvalidCredentialsException {
+    return accessController.hasPermission(credentials, function);
+  }
+
+  @Benchmark
+  public boolean hasPermissionForOrganization() throws InvalidCredentialsException {
+    return accessController.hasPermission(credentials, function, organization);
+  }
+}
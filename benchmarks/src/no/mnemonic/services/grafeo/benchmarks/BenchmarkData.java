@@ -0,0 +1,121 @@
+package no.mnemonic.services.grafeo.benchmarks;
+
+import no.mnemonic.services.grafeo.api.model.v1.AccessMode;
+import no.mnemonic.services.grafeo.api.model.v1.Fact;
+import no.mnemonic.services.grafeo.api.model.v1.FactType;
+import no.mnemonic.services.grafeo.api.model.v1.Object;
+import no.mnemonic.services.grafeo.api.model.v1.ObjectFactsStatistic;
+import no.mnemonic.services.grafeo.api.model.v1.ObjectType;
+import no.mnemonic.services.grafeo.api.model.v1.Organization;
+import no.mnemonic.services.grafeo.api.model.v1.Origin;
+import no.mnemonic.services.grafeo.api.model.v1.Subject;
+import no.mnemonic.services.grafeo.dao.api.record.FactAclEntryRecord;
+import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
+import no.mnemonic.services.grafeo.dao.api.record.ObjectRecord;
+
+import java.util.UUID;
+
+/**
+ * Test data shared between benchmarks. All values are fixed (apart from random IDs) in order to produce comparable
+ * results between runs.
+ */
+class BenchmarkData {
+
+  static final UUID FACT_TYPE_ID = UUID.nameUUIDFromBytes("factType".getBytes());
+  static final UUID OBJECT_TYPE_ID = UUID.nameUUIDFromBytes("objectType".getBytes());
+  static final UUID ORGANIZATION_ID = UUID.nameUUIDFromBytes("organization".getBytes());
+  static final UUID ORIGIN_ID = UUID.nameUUIDFromBytes("origin".getBytes());
+  static final UUID SUBJECT_ID = UUID.nameUUIDFromBytes("subject".getBytes());
+
+  private static final long TIMESTAMP = 1609459200000L; // 2021-01-01T00:00:00Z
+
+  private BenchmarkData() {
+  }
+
+  /**
+   * Create a Fact as it is typically seen in production, i.e. bound to two Objects, with a short value and a small ACL.
+   *
+   * @return Fact with all commonly used fields set
+   */
+  static FactRecord createFactRecord() {
+    return new FactRecord()
+            .setId(UUID.randomUUID())
+            .setTypeID(FACT_TYPE_ID)
+            .setValue("value")
+            .setOrganizationID(ORGANIZATION_ID)
+            .setOriginID(ORIGIN_ID)
+            .setAddedByID(SUBJECT_ID)
+            .setLastSeenByID(SUBJECT_ID)
+            .setAccessMode(FactRecord.AccessMode.RoleBased)
+            .setConfidence(0.75f)
+            .setTrust(0.8f)
+            .setTimestamp(TIMESTAMP)
+            .setLastSeenTimestamp(TIMESTAMP)
+            .setSourceObject(createObjectRecord("source.example.org"))
+            .setDestinationObject(createObjectRecord("203.0.113.1"))
+            .addAclEntry(new FactAclEntryRecord()
+                    .setId(UUID.randomUUID())
+                    .setSubjectID(SUBJECT_ID)
+                    .setOriginID(ORIGIN_ID)
+                    .setTimestamp(TIMESTAMP));
+  }
+
+  /**
+   * Create an Object with the given value.
+   *
+   * @param value Value of the Object
+   * @return Object with all fields set
+   */
+  static ObjectRecord createObjectRecord(String value) {
+    return new ObjectRecord()
+            .setId(UUID.randomUUID())
+            .setTypeID(OBJECT_TYPE_ID)
+            .setValue(value);
+  }
+
+  /**
+   * Create a Fact as it is returned from the service, i.e. the API model of {@link #createFactRecord()}.
+   *
+   * @return Fact with all commonly used fields set
+   */
+  static Fact createFact() {
+    Organization.Info organization = Organization.builder().setId(ORGANIZATION_ID).setName("organization").build().toInfo();
+    Subject.Info subject = Subject.builder().setId(SUBJECT_ID).setName("subject").build().toInfo();
+    return Fact.builder()
+            .setId(UUID.randomUUID())
+            .setType(FactType.builder().setId(FACT_TYPE_ID).setName("factType").build().toInfo())
+            .setValue("value")
+            .setOrganization(organization)
+            .setOrigin(Origin.builder().setId(ORIGIN_ID).setName("origin").build().toInfo())
+            .setAddedBy(subject)
+            .setLastSeenBy(subject)
+            .setAccessMode(AccessMode.RoleBased)
+            .setConfidence(0.75f)
+            .setTrust(0.8f)
+            .setTimestamp(TIMESTAMP)
+            .setLastSeenTimestamp(TIMESTAMP)
+            .setSourceObject(createObject("source.example.org").toInfo())
+            .setDestinationObject(createObject("203.0.113.1").toInfo())
+            .build();
+  }
+
+  /**
+   * Create an Object as it is returned from the service, including statistics about one type of bound Facts.
+   *
+   * @param value Value of the Object
+   * @return Object with all fields set
+   */
+  static Object createObject(String value) {
+    return Object.builder()
+            .setId(UUID.randomUUID())
+            .setType(ObjectType.builder().setId(OBJECT_TYPE_ID).setName("objectType").build().toInfo())
+            .setValue(value)
+            .addStatistic(ObjectFactsStatistic.builder()
+                    .setType(FactType.builder().setId(FACT_TYPE_ID).setName("factType").build().toInfo())
+                    .setCount(42)
+                    .setLastAddedTimestamp(TIMESTAMP)
+                    .setLastSeenTimestamp(TIMESTAMP)
+                    .build())
+            .build();
+  }
+}
@@ -0,0 +1,44 @@
+package no.mnemonic.services.grafeo.benchmarks;
+
+import no.mnemonic.services.grafeo.dao.elastic.helpers.DailyIndexNamesGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures generating daily index names which is done for every search and every indexed Fact.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DailyIndexNamesGeneratorBenchmark {
+
+  private static final String INDEX_PREFIX = "act-daily-";
+  private static final long END_TIMESTAMP = 1609459200000L; // 2021-01-01T00:00:00Z
+
+  // Number of days covered by a search.
+  @Param({"1", "30", "365"})
+  private int days;
+
+  private long startTimestamp;
+
+  @Setup
+  public void setup() {
+    startTimestamp = END_TIMESTAMP - Duration.ofDays(days - 1).toMillis();
+  }
+
+  @Benchmark
+  public String formatIndexName() {
+    return DailyIndexNamesGenerator.formatIndexName(END_TIMESTAMP, INDEX_PREFIX);
+  }
+
+  @Benchmark
+  public List<String> generateIndexNames() {
+    return DailyIndexNamesGenerator.generateIndexNames(startTimestamp, END_TIMESTAMP, INDEX_PREFIX);
+  }
+}
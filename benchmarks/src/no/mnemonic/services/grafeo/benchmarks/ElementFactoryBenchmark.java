@@ -0,0 +1,147 @@
+package no.mnemonic.services.grafeo.benchmarks;
+
+import no.mnemonic.services.grafeo.dao.api.ObjectFactDao;
+import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
+import no.mnemonic.services.grafeo.dao.api.record.ObjectRecord;
+import no.mnemonic.services.grafeo.dao.cassandra.FactManager;
+import no.mnemonic.services.grafeo.dao.cassandra.ObjectManager;
+import no.mnemonic.services.grafeo.dao.cassandra.entity.FactTypeEntity;
+import no.mnemonic.services.grafeo.dao.cassandra.entity.ObjectTypeEntity;
+import no.mnemonic.services.grafeo.service.implementation.GrafeoSecurityContext;
+import no.mnemonic.services.grafeo.service.implementation.handlers.FactRetractionHandler;
+import no.mnemonic.services.grafeo.service.implementation.tinkerpop.ObjectFactGraph;
+import no.mnemonic.services.grafeo.service.implementation.tinkerpop.TraverseParams;
+import no.mnemonic.services.grafeo.service.implementation.tinkerpop.utils.ElementFactory;
+import no.mnemonic.services.grafeo.service.implementation.tinkerpop.utils.ObjectFactTypeResolver;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the edge cache of the {@link ElementFactory} used during graph traversals. Creating an edge for a Fact
+ * which is already cached should be cheap. Once a traversal touches more Facts than the cache can hold every new
+ * edge causes an eviction, which shows how expensive evictions are. In addition, one complete traversal over all
+ * Facts is measured starting with an empty cache.
+ * <p>
+ * Cassandra and ElasticSearch are replaced by in-memory stubs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ElementFactoryBenchmark {
+
+  private static final int NUMBER_OF_OBJECTS = 1000;
+
+  // Number of distinct Facts cycled through. The edge cache holds 100.000 edges, i.e. 200.000 Facts cause evictions.
+  @Param({"10000", "200000"})
+  private int numberOfFacts;
+
+  private ObjectFactGraph graph;
+  private ElementFactory elementFactory;
+  private FactRecord[] facts;
+  private int next;
+
+  @Setup
+  public void setup() {
+    Map<UUID, ObjectRecord> objects = new HashMap<>();
+    ObjectRecord[] objectArray = new ObjectRecord[NUMBER_OF_OBJECTS];
+    for (int i = 0; i < NUMBER_OF_OBJECTS; i++) {
+      objectArray[i] = BenchmarkData.createObjectRecord("object" + i);
+      objects.put(objectArray[i].getId(), objectArray[i]);
+    }
+
+    facts = new FactRecord[numberOfFacts];
+    for (int i = 0; i < numberOfFacts; i++) {
+      facts[i] = BenchmarkData.createFactRecord()
+              .setSourceObject(objectArray[i % NUMBER_OF_OBJECTS])
+              .setDestinationObject(objectArray[(i + 1) % NUMBER_OF_OBJECTS]);
+    }
+
+    ObjectFactDao objectFactDao = (ObjectFactDao) Proxy.newProxyInstance(ObjectFactDao.class.getClassLoader(),
+            new Class<?>[]{ObjectFactDao.class}, (proxy, method, args) -> {
+              switch (method.getName()) {
+                case "getObject":
+                  if (args.length == 1 && args[0] instanceof UUID) return objects.get(args[0]);
+                  break;
+                case "hashCode":
+                  return System.identityHashCode(proxy);
+                case "equals":
+                  return proxy == args[0];
+                case "toString":
+                  return "ObjectFactDaoStub";
+              }
+              throw new UnsupportedOperationException(method.getName());
+            });
+
+    graph = ObjectFactGraph.builder()
+            .setObjectFactDao(objectFactDao)
+            .setObjectTypeFactResolver(new ObjectFactTypeResolver(new StubFactManager(), new StubObjectManager()))
+            .setFactRetractionHandler(new FactRetractionHandler(null, null, objectFactDao))
+            .setSecurityContext(GrafeoSecurityContext.builder()
+                    .setObjectFactDao(objectFactDao)
+                    .setAclResolver(id -> Collections.emptyList())
+                    .build())
+            .setTraverseParams(TraverseParams.builder().build())
+            .build();
+    elementFactory = ElementFactory.builder().setOwner(graph).build();
+
+    // Populate the caches in order to measure the steady state.
+    for (FactRecord fact : facts) {
+      elementFactory.createEdge(fact, fact.getSourceObject().getId());
+    }
+  }
+
+  @Benchmark
+  public Edge createEdge() {
+    FactRecord fact = facts[next];
+    next = (next + 1) % facts.length;
+    return elementFactory.createEdge(fact, fact.getSourceObject().getId());
+  }
+
+  /**
+   * Creates the edges of all Facts with an empty cache, i.e. one large traversal. With 200.000 Facts the traversal
+   * exceeds the cache size and every second edge causes an eviction.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public ElementFactory traverseAllFacts() {
+    ElementFactory factory = ElementFactory.builder().setOwner(graph).build();
+    for (FactRecord fact : facts) {
+      factory.createEdge(fact, fact.getSourceObject().getId());
+    }
+    return factory;
+  }
+
+  private static class StubFactManager extends FactManager {
+    private final FactTypeEntity factType = new FactTypeEntity().setId(BenchmarkData.FACT_TYPE_ID).setName("factType");
+
+    private StubFactManager() {
+      super(null);
+    }
+
+    @Override
+    public FactTypeEntity getFactType(UUID id) {
+      return factType;
+    }
+  }
+
+  private static class StubObjectManager extends ObjectManager {
+    private final ObjectTypeEntity objectType = new ObjectTypeEntity().setId(BenchmarkData.OBJECT_TYPE_ID).setName("objectType");
+
+    private StubObjectManager() {
+      super(null);
+    }
+
+    @Override
+    public ObjectTypeEntity getObjectType(UUID id) {
+      return objectType;
+    }
+  }
+}
@@ -0,0 +1,107 @@
+package no.mnemonic.services.grafeo.benchmarks;
+
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
+import no.mnemonic.services.grafeo.dao.api.record.ObjectRecord;
+import no.mnemonic.services.grafeo.dao.cassandra.FactManager;
+import no.mnemonic.services.grafeo.dao.cassandra.entity.FactAclEntity;
+import no.mnemonic.services.grafeo.dao.cassandra.entity.FactEntity;
+import no.mnemonic.services.grafeo.dao.elastic.document.FactDocument;
+import no.mnemonic.services.grafeo.dao.facade.converters.FactAclEntryRecordConverter;
+import no.mnemonic.services.grafeo.dao.facade.converters.FactCommentRecordConverter;
+import no.mnemonic.services.grafeo.dao.facade.converters.FactRecordConverter;
+import no.mnemonic.services.grafeo.dao.facade.resolvers.CachedObjectResolver;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the conversions of Facts between the Cassandra and ElasticSearch representations and {@link FactRecord}.
+ * Cassandra is replaced by in-memory stubs, thus, only the conversion itself is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FactRecordConverterBenchmark {
+
+  private FactRecordConverter converter;
+  private FactRecord record;
+  private FactEntity entity;
+
+  @Setup
+  public void setup() {
+    record = BenchmarkData.createFactRecord();
+
+    Map<UUID, ObjectRecord> objects = new HashMap<>();
+    objects.put(record.getSourceObject().getId(), record.getSourceObject());
+    objects.put(record.getDestinationObject().getId(), record.getDestinationObject());
+
+    List<FactAclEntity> acl = ListUtils.list(record.getAcl(), entry -> new FactAclEntity()
+            .setFactID(record.getId())
+            .setId(entry.getId())
+            .setSubjectID(entry.getSubjectID())
+            .setOriginID(entry.getOriginID())
+            .setTimestamp(entry.getTimestamp()));
+
+    converter = new FactRecordConverter(new StubFactManager(acl), new StubObjectResolver(objects),
+            new FactAclEntryRecordConverter(), new FactCommentRecordConverter());
+    entity = converter.toEntity(record);
+  }
+
+  @Benchmark
+  public FactRecord fromEntity() {
+    return converter.fromEntity(entity);
+  }
+
+  @Benchmark
+  public FactEntity toEntity() {
+    return converter.toEntity(record);
+  }
+
+  @Benchmark
+  public FactDocument toDocument() {
+    return converter.toDocument(record);
+  }
+
+  private static class StubFactManager extends FactManager {
+    private final List<FactAclEntity> acl;
+
+    private StubFactManager(List<FactAclEntity> acl) {
+      super(null);
+      this.acl = acl;
+    }
+
+    @Override
+    public List<FactAclEntity> fetchFactAcl(UUID id) {
+      return acl;
+    }
+  }
+
+  private static class StubObjectResolver implements CachedObjectResolver {
+    private final Map<UUID, ObjectRecord> objects;
+
+    private StubObjectResolver(Map<UUID, ObjectRecord> objects) {
+      this.objects = objects;
+    }
+
+    @Override
+    public ObjectRecord getObject(UUID id) {
+      return objects.get(id);
+    }
+
+    @Override
+    public List<ObjectRecord> getObjects(Collection<UUID> ids) {
+      return ids.stream().map(objects::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    @Override
+    public ObjectRecord getObject(String type, String value) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,40 @@
+package no.mnemonic.services.grafeo.benchmarks;
+
+import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
+import no.mnemonic.services.grafeo.dao.facade.helpers.FactRecordHasher;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures calculating the hash of a Fact which is done for every Fact created or refreshed. Use the 'value' parameter
+ * to compare short values, non-ASCII values and long values. Run with '-prof gc' to see the allocation rate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FactRecordHasherBenchmark {
+
+  @Param({"short", "unicode", "long"})
+  private String value;
+
+  private FactRecord fact;
+
+  @Setup
+  public void setup() {
+    fact = BenchmarkData.createFactRecord();
+    if ("unicode".equals(value)) {
+      fact.setValue("\u00e6\u00f8\u00e5.\u65e5\u672c\u8a9e.example.org");
+    } else if ("long".equals(value)) {
+      fact.setValue("x".repeat(4096));
+    }
+  }
+
+  @Benchmark
+  public String toHash() {
+    return FactRecordHasher.toHash(fact);
+  }
+}
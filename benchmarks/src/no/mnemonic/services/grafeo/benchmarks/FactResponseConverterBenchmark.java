@@ -0,0 +1,67 @@
+package no.mnemonic.services.grafeo.benchmarks;
+
+import no.mnemonic.services.grafeo.api.model.v1.*;
+import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
+import no.mnemonic.services.grafeo.service.implementation.converters.response.FactResponseConverter;
+import no.mnemonic.services.grafeo.service.implementation.converters.response.ObjectResponseConverter;
+import no.mnemonic.services.grafeo.service.implementation.handlers.FactRetractionHandler;
+import no.mnemonic.services.grafeo.service.implementation.resolvers.response.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures converting a {@link FactRecord} into the {@link Fact} returned to clients which is done for every Fact
+ * included in a search result.
+ * <p>
+ * The response resolvers are pre-populated with all referenced types, Organizations, Origins and Subjects, i.e. the
+ * benchmark measures the conversion once those have been resolved during a request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FactResponseConverterBenchmark {
+
+  private FactResponseConverter converter;
+  private FactRecord record;
+
+  @Setup
+  public void setup() {
+    record = BenchmarkData.createFactRecord();
+
+    FactTypeByIdResponseResolver factTypeResolver = new FactTypeByIdResponseResolver(null, null,
+            cache(BenchmarkData.FACT_TYPE_ID, FactType.builder().setId(BenchmarkData.FACT_TYPE_ID).setName("factType").build()));
+    ObjectTypeByIdResponseResolver objectTypeResolver = new ObjectTypeByIdResponseResolver(null, null,
+            cache(BenchmarkData.OBJECT_TYPE_ID, ObjectType.builder().setId(BenchmarkData.OBJECT_TYPE_ID).setName("objectType").build()));
+    OriginByIdResponseResolver originResolver = new OriginByIdResponseResolver(null, null,
+            cache(BenchmarkData.ORIGIN_ID, Origin.builder().setId(BenchmarkData.ORIGIN_ID).setName("origin").build()));
+    OrganizationByIdResponseResolver organizationResolver = new OrganizationByIdResponseResolver(null, null,
+            cache(BenchmarkData.ORGANIZATION_ID, Organization.builder().setId(BenchmarkData.ORGANIZATION_ID).setName("organization").build()));
+    SubjectByIdResponseResolver subjectResolver = new SubjectByIdResponseResolver(null, null,
+            cache(BenchmarkData.SUBJECT_ID, Subject.builder().setId(BenchmarkData.SUBJECT_ID).setName("subject").build()));
+    ObjectResponseConverter objectConverter = new ObjectResponseConverter(objectTypeResolver, factTypeResolver,
+            id -> Collections.emptyList());
+
+    // Without the 'RetractedHint' flag the retraction handler never needs to access Cassandra or ElasticSearch.
+    converter = new FactResponseConverter(factTypeResolver, originResolver, objectConverter, organizationResolver,
+            subjectResolver, new FactRetractionHandler(null, null, null), null, null);
+  }
+
+  @Benchmark
+  public Fact apply() {
+    return converter.apply(record);
+  }
+
+  private static <T> Map<UUID, T> cache(UUID id, T value) {
+    Map<UUID, T> cache = new HashMap<>();
+    cache.put(id, value);
+    return cache;
+  }
+}
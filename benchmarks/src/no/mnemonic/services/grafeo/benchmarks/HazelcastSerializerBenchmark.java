@@ -0,0 +1,56 @@
+package no.mnemonic.services.grafeo.benchmarks;
+
+import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
+import no.mnemonic.services.grafeo.service.providers.HazelcastFactRecordSerializer;
+import no.mnemonic.services.grafeo.service.providers.HazelcastJsonSerializer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures serializing {@link FactRecord}s which are stored in the distributed Hazelcast caches. It compares the
+ * generic {@link HazelcastJsonSerializer} with the dedicated binary {@link HazelcastFactRecordSerializer}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HazelcastSerializerBenchmark {
+
+  private final HazelcastJsonSerializer<FactRecord> jsonSerializer = new HazelcastJsonSerializer<>(FactRecord.class, 1);
+  private final HazelcastFactRecordSerializer binarySerializer = new HazelcastFactRecordSerializer(2);
+
+  private FactRecord record;
+  private byte[] jsonBytes;
+  private byte[] binaryBytes;
+
+  @Setup
+  public void setup() throws IOException {
+    record = BenchmarkData.createFactRecord();
+    jsonBytes = jsonSerializer.write(record);
+    binaryBytes = binarySerializer.write(record);
+  }
+
+  @Benchmark
+  public byte[] jsonWrite() throws IOException {
+    return jsonSerializer.write(record);
+  }
+
+  @Benchmark
+  public FactRecord jsonRead() throws IOException {
+    return jsonSerializer.read(jsonBytes);
+  }
+
+  @Benchmark
+  public byte[] binaryWrite() throws IOException {
+    return binarySerializer.write(record);
+  }
+
+  @Benchmark
+  public FactRecord binaryRead() throws IOException {
+    return binarySerializer.read(binaryBytes);
+  }
+}
@@ -0,0 +1,71 @@
+package no.mnemonic.services.grafeo.benchmarks;
+
+import no.mnemonic.services.grafeo.dao.elastic.result.BoundedUUIDSet;
+import no.mnemonic.services.grafeo.dao.elastic.result.ScrollingSearchResult;
+import no.mnemonic.services.grafeo.dao.elastic.result.ScrollingSearchResult.ScrollingBatch;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Measures streaming out a large search result batch-wise including de-duplication of the returned IDs. ElasticSearch
+ * is replaced by pre-generated batches, thus, only the overhead of {@link ScrollingSearchResult} is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScrollingSearchResultBenchmark {
+
+  private static final String POINT_IN_TIME_ID = "pit";
+  private static final int NUMBER_OF_RESULTS = 100_000;
+
+  @Param({"1000", "10000"})
+  private int batchSize;
+
+  @Param({"HashSet", "BoundedUUIDSet"})
+  private String deduplication;
+
+  private UUID[] results;
+
+  @Setup
+  public void setup() {
+    results = new UUID[NUMBER_OF_RESULTS];
+    for (int i = 0; i < NUMBER_OF_RESULTS; i++) {
+      // Every tenth result is a duplicate of the previous one, e.g. the same Fact returned from multiple daily indices.
+      results[i] = i % 10 == 9 ? results[i - 1] : UUID.randomUUID();
+    }
+  }
+
+  @Benchmark
+  public void iterate(Blackhole blackhole) {
+    ScrollingSearchResult<UUID> result = ScrollingSearchResult.<UUID>builder()
+            .setInitialBatch(createBatch(0))
+            .setFetchNextBatch((pointInTimeID, searchAfter) -> createBatch((Integer) searchAfter[0]))
+            .setDeduplicationFilter(createDeduplicationFilter())
+            .setCount(NUMBER_OF_RESULTS)
+            .build();
+
+    while (result.hasNext()) {
+      blackhole.consume(result.next());
+    }
+  }
+
+  private ScrollingBatch<UUID> createBatch(int offset) {
+    int end = Math.min(offset + batchSize, NUMBER_OF_RESULTS);
+    return new ScrollingBatch<>(POINT_IN_TIME_ID, new Object[]{end},
+            Arrays.asList(results).subList(offset, end).iterator(), end == NUMBER_OF_RESULTS);
+  }
+
+  private Predicate<UUID> createDeduplicationFilter() {
+    // Passing null makes ScrollingSearchResult fall back to its default HashSet based filter.
+    if ("HashSet".equals(deduplication)) return null;
+    return new BoundedUUIDSet(NUMBER_OF_RESULTS)::add;
+  }
+}
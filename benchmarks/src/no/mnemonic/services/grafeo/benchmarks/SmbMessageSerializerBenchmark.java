@@ -0,0 +1,102 @@
+package no.mnemonic.services.grafeo.benchmarks;
+
+import no.mnemonic.messaging.requestsink.Message;
+import no.mnemonic.messaging.requestsink.jms.serializer.MessageSerializer;
+import no.mnemonic.messaging.requestsink.jms.serializer.XStreamMessageSerializer;
+import no.mnemonic.services.common.messagebus.ServiceResponseValueMessage;
+import no.mnemonic.services.grafeo.utilities.messaging.BinaryXStreamMessageSerializer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures serializing SMB response messages which are sent from the service back to the REST API. It compares the
+ * default {@link XStreamMessageSerializer} (XML) with the {@link BinaryXStreamMessageSerializer}. The payload is a
+ * page of either Facts or Objects as returned by the search endpoints.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SmbMessageSerializerBenchmark {
+
+  private static final Class<?>[] ALLOWED_CLASSES = {
+          String.class, UUID.class, ArrayList.class, ServiceResponseValueMessage.class
+  };
+  private static final String[] ALLOWED_CLASSES_REGEX = {
+          "java.util.Collections\\$UnmodifiableSet",
+          "java.util.Collections\\$UnmodifiableList",
+          "no.mnemonic.services.grafeo.api.model.*"
+  };
+
+  @Param({"facts", "objects"})
+  private String payload;
+
+  @Param({"100"})
+  private int resultSize;
+
+  private MessageSerializer xmlSerializer;
+  private MessageSerializer binarySerializer;
+
+  private Message message;
+  private byte[] xmlBytes;
+  private byte[] binaryBytes;
+
+  @Setup
+  public void setup() throws IOException {
+    // Both serializers use the same white-list of response classes.
+    XStreamMessageSerializer.Builder xmlBuilder = XStreamMessageSerializer.builder();
+    BinaryXStreamMessageSerializer.Builder binaryBuilder = BinaryXStreamMessageSerializer.builder();
+    for (Class<?> allowedClass : ALLOWED_CLASSES) {
+      xmlBuilder.addAllowedClass(allowedClass);
+      binaryBuilder.addAllowedClass(allowedClass);
+    }
+    for (String allowedClassRegex : ALLOWED_CLASSES_REGEX) {
+      xmlBuilder.addAllowedClass(allowedClassRegex);
+      binaryBuilder.addAllowedClass(allowedClassRegex);
+    }
+    xmlSerializer = xmlBuilder.build();
+    binarySerializer = binaryBuilder.build();
+
+    message = ServiceResponseValueMessage.builder()
+            .setRequestID(UUID.randomUUID().toString())
+            .setReturnValue(createResult())
+            .build();
+    xmlBytes = xmlSerializer.serialize(message);
+    binaryBytes = binarySerializer.serialize(message);
+  }
+
+  @Benchmark
+  public byte[] xmlSerialize() throws IOException {
+    return xmlSerializer.serialize(message);
+  }
+
+  @Benchmark
+  public Message xmlDeserialize() throws IOException {
+    return xmlSerializer.deserialize(xmlBytes, getClass().getClassLoader());
+  }
+
+  @Benchmark
+  public byte[] binarySerialize() throws IOException {
+    return binarySerializer.serialize(message);
+  }
+
+  @Benchmark
+  public Message binaryDeserialize() throws IOException {
+    return binarySerializer.deserialize(binaryBytes, getClass().getClassLoader());
+  }
+
+  private List<Object> createResult() {
+    List<Object> result = new ArrayList<>(resultSize);
+    for (int i = 0; i < resultSize; i++) {
+      result.add("facts".equals(payload) ? BenchmarkData.createFact() : BenchmarkData.createObject("203.0.113." + i));
+    }
+    return result;
+  }
+}
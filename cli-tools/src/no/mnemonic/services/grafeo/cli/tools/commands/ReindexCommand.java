@@ -4,6 +4,7 @@ import com.google.inject.AbstractModule;
 import com.google.inject.Scopes;
 import com.google.inject.name.Names;
 import no.mnemonic.commons.container.PropertiesResolver;
+import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.services.grafeo.cli.tools.handlers.CassandraToElasticSearchReindexHandler;
 import no.mnemonic.services.grafeo.dao.modules.CassandraModule;
 import no.mnemonic.services.grafeo.dao.modules.ElasticSearchModule;
@@ -66,6 +67,26 @@ public class ReindexCommand implements Runnable {
             order = 3
     )
     private boolean reverse;
+
+    @Option(
+            description = "Reindex data in parallel using the given number of worker threads. " +
+                    "In this mode Facts are written into ElasticSearch using bulk requests.",
+            names = "--workers",
+            order = 4
+    )
+    private Integer workers;
+
+    @Option(
+            description = "Path to a checkpoint file recording completed time buckets (implies parallel mode). " +
+                    "If the file exists already completed time buckets are skipped, i.e. an interrupted run is resumed.",
+            names = "--checkpoint",
+            order = 5
+    )
+    private File checkpointFile;
+
+    private boolean isParallel() {
+      return workers != null || checkpointFile != null;
+    }
   }
 
   private static class IdReindexOptions {
@@ -97,8 +118,19 @@ public class ReindexCommand implements Runnable {
         throw new ParameterException(spec.commandLine(), "'--end' option cannot be before '--start'.");
       }
 
-      wrapper.execute(() -> wrapper.getBean(CassandraToElasticSearchReindexHandler.class).reindex(
-              timeReindexOptions.startTimestamp, timeReindexOptions.endTimestamp, timeReindexOptions.reverse));
+      if (timeReindexOptions.workers != null && timeReindexOptions.workers < 1) {
+        throw new ParameterException(spec.commandLine(), "'--workers' option must be at least 1.");
+      }
+
+      if (timeReindexOptions.isParallel()) {
+        wrapper.execute(() -> wrapper.getBean(CassandraToElasticSearchReindexHandler.class).reindex(
+                timeReindexOptions.startTimestamp, timeReindexOptions.endTimestamp, timeReindexOptions.reverse,
+                ObjectUtils.ifNull(timeReindexOptions.workers, 1),
+                ObjectUtils.ifNotNull(timeReindexOptions.checkpointFile, File::toPath)));
+      } else {
+        wrapper.execute(() -> wrapper.getBean(CassandraToElasticSearchReindexHandler.class).reindex(
+                timeReindexOptions.startTimestamp, timeReindexOptions.endTimestamp, timeReindexOptions.reverse));
+      }
     } else if (idReindexOptions != null) {
       wrapper.execute(() -> wrapper.getBean(CassandraToElasticSearchReindexHandler.class).reindex(idReindexOptions.id));
     } else {
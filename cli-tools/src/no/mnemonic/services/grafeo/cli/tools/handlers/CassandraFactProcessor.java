@@ -8,6 +8,9 @@ import no.mnemonic.services.grafeo.dao.cassandra.entity.FactEntity;
 import javax.inject.Inject;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import java.util.function.Consumer;
 
 /**
@@ -34,48 +37,71 @@ class CassandraFactProcessor {
    * @param reverse        If true reverse the processing order
    */
   void process(Consumer<FactEntity> operation, Instant startTimestamp, Instant endTimestamp, boolean reverse) {
+    // Go through all buckets one-by-one.
+    for (Bucket bucket : partition(startTimestamp, endTimestamp, reverse)) {
+      process(operation, bucket);
+    }
+  }
+
+  /**
+   * Fetch all Facts from Cassandra within one bucket and perform an operation on each Fact.
+   *
+   * @param operation Operation to perform on each Fact
+   * @param bucket    Bucket to process
+   */
+  void process(Consumer<FactEntity> operation, Bucket bucket) {
+    LOGGER.info("Process Facts from %s to %s.", bucket.getStart(), bucket.getEnd());
+    // Fetch all Facts inside one bucket from Cassandra and perform the given operation.
+    factManager.getFactsWithin(bucket.getStart().toEpochMilli(), bucket.getEnd().toEpochMilli()).forEachRemaining(operation);
+  }
+
+  /**
+   * Partition a given time period into buckets defined by BUCKET_SIZE. The buckets are returned in processing order.
+   *
+   * @param startTimestamp Timestamp to start processing Facts
+   * @param endTimestamp   Timestamp to stop processing Facts
+   * @param reverse        If true reverse the processing order
+   * @return Buckets in processing order
+   */
+  List<Bucket> partition(Instant startTimestamp, Instant endTimestamp, boolean reverse) {
     // Input validation with proper user feedback should be performed by commands, just return here.
-    if (endTimestamp.isBefore(startTimestamp)) return;
+    if (endTimestamp.isBefore(startTimestamp)) return new ArrayList<>();
 
-    if (!reverse) {
-      processFromStartToEnd(operation, startTimestamp, endTimestamp);
-    } else {
-      processFromEndToStart(operation, startTimestamp, endTimestamp);
-    }
+    return !reverse ? partitionFromStartToEnd(startTimestamp, endTimestamp) : partitionFromEndToStart(startTimestamp, endTimestamp);
   }
 
-  private void processFromStartToEnd(Consumer<FactEntity> operation, Instant startTimestamp, Instant endTimestamp) {
+  private List<Bucket> partitionFromStartToEnd(Instant startTimestamp, Instant endTimestamp) {
+    List<Bucket> buckets = new ArrayList<>();
     Instant currentBucketStart = startTimestamp;
     Instant currentBucketEnd = advanceCurrentBucketEnd(startTimestamp, endTimestamp);
 
-    // The whole time frame is partitioned into buckets defined by BUCKET_SIZE. Go through all buckets one-by-one.
+    // The whole time frame is partitioned into buckets defined by BUCKET_SIZE.
     while (currentBucketStart.isBefore(endTimestamp)) {
-      processFactsWithinCurrentBucket(operation, currentBucketStart, currentBucketEnd);
+      buckets.add(new Bucket(currentBucketStart, currentBucketEnd));
 
       // Continue with the next bucket until endTimestamp is reached.
       currentBucketStart = currentBucketEnd;
       currentBucketEnd = advanceCurrentBucketEnd(currentBucketEnd, endTimestamp);
     }
+
+    return buckets;
   }
 
-  private void processFromEndToStart(Consumer<FactEntity> operation, Instant startTimestamp, Instant endTimestamp) {
+  private List<Bucket> partitionFromEndToStart(Instant startTimestamp, Instant endTimestamp) {
+    List<Bucket> buckets = new ArrayList<>();
     Instant currentBucketEnd = endTimestamp;
     Instant currentBucketStart = advanceCurrentBucketStart(endTimestamp, startTimestamp);
 
-    // The whole time frame is partitioned into buckets defined by BUCKET_SIZE. Go through all buckets one-by-one.
+    // The whole time frame is partitioned into buckets defined by BUCKET_SIZE.
     while (currentBucketEnd.isAfter(startTimestamp)) {
-      processFactsWithinCurrentBucket(operation, currentBucketStart, currentBucketEnd);
+      buckets.add(new Bucket(currentBucketStart, currentBucketEnd));
 
       // Continue with the next bucket until startTimestamp is reached.
       currentBucketEnd = currentBucketStart;
       currentBucketStart = advanceCurrentBucketStart(currentBucketStart, startTimestamp);
     }
-  }
 
-  private void processFactsWithinCurrentBucket(Consumer<FactEntity> operation, Instant currentBucketStart, Instant currentBucketEnd) {
-    LOGGER.info("Process Facts from %s to %s.", currentBucketStart, currentBucketEnd);
-    // Fetch all Facts inside one bucket from Cassandra and perform the given operation.
-    factManager.getFactsWithin(currentBucketStart.toEpochMilli(), currentBucketEnd.toEpochMilli()).forEachRemaining(operation);
+    return buckets;
   }
 
   private Instant advanceCurrentBucketEnd(Instant currentBucketEnd, Instant endTimestamp) {
@@ -95,4 +121,43 @@ class CassandraFactProcessor {
 
     return newStart;
   }
+
+  /**
+   * Time period [start, end) of Facts which are processed together.
+   */
+  static class Bucket {
+    private final Instant start;
+    private final Instant end;
+
+    Bucket(Instant start, Instant end) {
+      this.start = start;
+      this.end = end;
+    }
+
+    Instant getStart() {
+      return start;
+    }
+
+    Instant getEnd() {
+      return end;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      Bucket that = (Bucket) o;
+      return Objects.equals(start, that.start) && Objects.equals(end, that.end);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(start, end);
+    }
+
+    @Override
+    public String toString() {
+      return start + "/" + end;
+    }
+  }
 }
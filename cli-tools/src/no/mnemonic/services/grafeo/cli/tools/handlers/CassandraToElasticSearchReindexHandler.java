@@ -1,21 +1,35 @@
 package no.mnemonic.services.grafeo.cli.tools.handlers;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
 import no.mnemonic.commons.component.Dependency;
 import no.mnemonic.commons.logging.Logger;
 import no.mnemonic.commons.logging.Logging;
+import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.services.grafeo.cli.tools.converters.FactEntityToDocumentConverter;
+import no.mnemonic.services.grafeo.cli.tools.handlers.CassandraFactProcessor.Bucket;
 import no.mnemonic.services.grafeo.dao.cassandra.FactManager;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.FactEntity;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.FactRefreshLogEntity;
 import no.mnemonic.services.grafeo.dao.elastic.FactSearchManager;
+import no.mnemonic.services.grafeo.dao.elastic.FactSearchManager.TargetIndex;
+import no.mnemonic.services.grafeo.dao.elastic.document.FactDocument;
+import no.mnemonic.services.grafeo.dao.elastic.result.BulkIndexResult;
 
-import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
 
 import static no.mnemonic.commons.utilities.collections.SetUtils.set;
 import static no.mnemonic.services.grafeo.dao.elastic.FactSearchManager.TargetIndex.Daily;
@@ -25,6 +39,8 @@ import static no.mnemonic.services.grafeo.dao.elastic.FactSearchManager.TargetIn
 public class CassandraToElasticSearchReindexHandler {
 
   private static final Logger LOGGER = Logging.getLogger(CassandraToElasticSearchReindexHandler.class);
+  private static final int BULK_BATCH_SIZE = 1000;
+  private static final long DEFAULT_PROGRESS_INTERVAL = 30;
 
   @Dependency
   private final FactManager factManager;
@@ -34,6 +50,8 @@ public class CassandraToElasticSearchReindexHandler {
   private final CassandraFactProcessor factProcessor;
   private final FactEntityToDocumentConverter factConverter;
 
+  private long progressInterval = DEFAULT_PROGRESS_INTERVAL;
+
   @Inject
   public CassandraToElasticSearchReindexHandler(
           FactManager factManager,
@@ -93,9 +111,137 @@ public class CassandraToElasticSearchReindexHandler {
     LOGGER.info("Finished reindexing Facts, processed %d Facts in total.", processedFacts.longValue());
   }
 
+  /**
+   * Reindex Facts from Cassandra into ElasticSearch in parallel.
+   * <p>
+   * Fetches all Facts created between startTimestamp and endTimestamp from Cassandra and indexes them into ElasticSearch.
+   * The time period is partitioned into buckets which are processed concurrently by multiple workers, and Facts are
+   * written into ElasticSearch using bulk requests. If a checkpoint file is given each completed bucket is recorded in
+   * that file and buckets already recorded are skipped, thus, an interrupted run can be resumed by specifying the same
+   * checkpoint file again. A bucket is only recorded if all of its Facts were indexed successfully.
+   *
+   * @param startTimestamp Timestamp to start reindexing
+   * @param endTimestamp   Timestamp to stop reindexing
+   * @param reverse        If true reverse the reindexing order
+   * @param workers        Number of buckets processed concurrently
+   * @param checkpointFile Path to checkpoint file (optional)
+   */
+  public void reindex(Instant startTimestamp, Instant endTimestamp, boolean reverse, int workers, Path checkpointFile) {
+    if (workers < 1) throw new IllegalArgumentException("'workers' must be at least 1!");
+    LOGGER.info("Reindex Facts between %s and %s using %d workers.", startTimestamp, endTimestamp, workers);
+
+    ReindexCheckpoint checkpoint = ObjectUtils.ifNotNull(checkpointFile, ReindexCheckpoint::open);
+    List<Bucket> buckets = factProcessor.partition(startTimestamp, endTimestamp, reverse)
+            .stream()
+            .filter(bucket -> checkpoint == null || !checkpoint.isCompleted(bucket))
+            .collect(Collectors.toList());
+    ReindexProgress progress = new ReindexProgress(buckets.size());
+
+    ExecutorService workerPool = Executors.newFixedThreadPool(workers, new ThreadFactoryBuilder()
+            .setNameFormat("ReindexWorker-%d")
+            .build());
+    ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+            .setNameFormat("ReindexProgressReporter")
+            .setDaemon(true)
+            .build());
+    reporter.scheduleAtFixedRate(progress::report, progressInterval, progressInterval, TimeUnit.SECONDS);
+
+    boolean aborted = false;
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      // Buckets are submitted in processing order, i.e. the workers will pick them up in that order as well.
+      for (Bucket bucket : buckets) {
+        futures.add(workerPool.submit(() -> reindexBucket(bucket, checkpoint, progress)));
+      }
+
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException ex) {
+      aborted = true;
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException ex) {
+      // Should not happen because reindexBucket() catches all exceptions.
+      aborted = true;
+      LOGGER.error(ex.getCause(), "Unexpected error while reindexing Facts.");
+    } finally {
+      workerPool.shutdownNow();
+      reporter.shutdownNow();
+      closeCheckpoint(checkpoint);
+    }
+
+    progress.report();
+    if (aborted) {
+      // Remaining buckets were cancelled by shutting down the worker pool, thus, the run is incomplete.
+      LOGGER.error("Aborted reindexing Facts after processing %d Facts. Resume it by using the same checkpoint file.",
+              progress.getProcessedFacts());
+      return;
+    }
+
+    LOGGER.info("Finished reindexing Facts, processed %d Facts in total.", progress.getProcessedFacts());
+    if (progress.getFailedBuckets() > 0) {
+      LOGGER.warning("Reindexing of %d buckets failed. Execute the command again with the same checkpoint file in order to retry them.",
+              progress.getFailedBuckets());
+    }
+  }
+
+  /**
+   * Specify how often progress is reported when reindexing Facts in parallel. Defaults to 30 seconds.
+   *
+   * @param progressInterval Interval in seconds, must be positive
+   * @return this
+   * @throws IllegalArgumentException If progressInterval isn't positive
+   */
+  @Inject(optional = true)
+  public CassandraToElasticSearchReindexHandler setProgressInterval(@Named("grafeo.cli.reindex.progress.interval") long progressInterval) {
+    if (progressInterval <= 0) throw new IllegalArgumentException("'grafeo.cli.reindex.progress.interval' must be a positive number of seconds!");
+    this.progressInterval = progressInterval;
+    return this;
+  }
+
   void reindexSingleFact(FactEntity fact) {
+    convertFact(fact, factSearchManager::indexFact);
+  }
+
+  void reindexBucket(Bucket bucket, ReindexCheckpoint checkpoint, ReindexProgress progress) {
+    BulkIndexBatch dailyBatch = new BulkIndexBatch(Daily, progress);
+    BulkIndexBatch timeGlobalBatch = new BulkIndexBatch(TimeGlobal, progress);
+
+    try {
+      factProcessor.process(fact -> {
+        convertFact(fact, (document, index) -> (index == Daily ? dailyBatch : timeGlobalBatch).add(document));
+        progress.processedFacts.increment();
+      }, bucket);
+      dailyBatch.flush();
+      timeGlobalBatch.flush();
+    } catch (Exception ex) {
+      LOGGER.error(ex, "Failed to reindex Facts from %s to %s.", bucket.getStart(), bucket.getEnd());
+      progress.failedBuckets.increment();
+      return;
+    }
+
+    if (dailyBatch.hasFailures() || timeGlobalBatch.hasFailures()) {
+      LOGGER.warning("Failed to index some Facts from %s to %s. The bucket will not be marked as completed.",
+              bucket.getStart(), bucket.getEnd());
+      progress.failedBuckets.increment();
+      return;
+    }
+
+    try {
+      if (checkpoint != null) checkpoint.markCompleted(bucket);
+    } catch (UncheckedIOException ex) {
+      // All Facts were indexed, but the bucket will be processed again when resuming from the checkpoint file.
+      LOGGER.error(ex, "Failed to mark bucket from %s to %s as completed.", bucket.getStart(), bucket.getEnd());
+      progress.failedBuckets.increment();
+      return;
+    }
+
+    progress.completedBuckets.increment();
+  }
+
+  private void convertFact(FactEntity fact, BiConsumer<FactDocument, TargetIndex> indexer) {
     if (fact.isSet(FactEntity.Flag.TimeGlobalIndex)) {
-      factSearchManager.indexFact(factConverter.apply(fact, null), TimeGlobal);
+      indexer.accept(factConverter.apply(fact, null), TimeGlobal);
     } else {
       List<FactRefreshLogEntity> refreshLog = factManager.fetchFactRefreshLog(fact.getId());
       for (int i = 0; i < refreshLog.size(); i++) {
@@ -103,11 +249,103 @@ public class CassandraToElasticSearchReindexHandler {
         if (i + 1 == refreshLog.size()) {
           // For the last entry pass NULL to the converter because the document needs to contain all ACL entries.
           // A user might have been granted access to a Fact after it was refreshed.
-          factSearchManager.indexFact(factConverter.apply(fact, null), Daily);
+          indexer.accept(factConverter.apply(fact, null), Daily);
         } else {
-          factSearchManager.indexFact(factConverter.apply(fact, logEntry), Daily);
+          indexer.accept(factConverter.apply(fact, logEntry), Daily);
         }
       }
     }
   }
+
+  private void closeCheckpoint(ReindexCheckpoint checkpoint) {
+    if (checkpoint == null) return;
+
+    try {
+      checkpoint.close();
+    } catch (IOException ex) {
+      LOGGER.warning(ex, "Failed to close checkpoint file.");
+    }
+  }
+
+  /**
+   * Buffers documents of one bucket and writes them into ElasticSearch using bulk requests once the buffer is full.
+   * Only used by one worker, thus, not thread-safe.
+   */
+  private class BulkIndexBatch {
+    private final TargetIndex index;
+    private final ReindexProgress progress;
+    private List<FactDocument> documents = new ArrayList<>(BULK_BATCH_SIZE);
+    private boolean failures;
+
+    private BulkIndexBatch(TargetIndex index, ReindexProgress progress) {
+      this.index = index;
+      this.progress = progress;
+    }
+
+    private void add(FactDocument document) {
+      if (document == null) return;
+
+      documents.add(document);
+      if (documents.size() >= BULK_BATCH_SIZE) flush();
+    }
+
+    private void flush() {
+      if (documents.isEmpty()) return;
+
+      BulkIndexResult result = factSearchManager.indexFacts(documents, index);
+      progress.indexedDocuments.add(result.getIndexedIDs().size());
+      progress.failedDocuments.add(result.getFailures().size());
+      result.getFailures().forEach((id, reason) -> LOGGER.warning("Failed to index Fact with id = %s: %s", id, reason));
+      failures |= result.hasFailures();
+      documents = new ArrayList<>(BULK_BATCH_SIZE);
+    }
+
+    private boolean hasFailures() {
+      return failures;
+    }
+  }
+
+  /**
+   * Collects statistics about a parallel reindexing run and reports progress and throughput.
+   */
+  static class ReindexProgress {
+    private final long totalBuckets;
+    private final long startTime = System.currentTimeMillis();
+    private final LongAdder completedBuckets = new LongAdder();
+    private final LongAdder failedBuckets = new LongAdder();
+    private final LongAdder processedFacts = new LongAdder();
+    private final LongAdder indexedDocuments = new LongAdder();
+    private final LongAdder failedDocuments = new LongAdder();
+
+    ReindexProgress(long totalBuckets) {
+      this.totalBuckets = totalBuckets;
+    }
+
+    long getCompletedBuckets() {
+      return completedBuckets.longValue();
+    }
+
+    long getFailedBuckets() {
+      return failedBuckets.longValue();
+    }
+
+    long getProcessedFacts() {
+      return processedFacts.longValue();
+    }
+
+    long getIndexedDocuments() {
+      return indexedDocuments.longValue();
+    }
+
+    long getFailedDocuments() {
+      return failedDocuments.longValue();
+    }
+
+    private void report() {
+      double elapsedSeconds = Math.max(1, System.currentTimeMillis() - startTime) / 1000.0;
+      LOGGER.info("Progress: %d/%d buckets completed (%d failed), %d Facts processed, %d documents indexed (%d failed), %.1f Facts/s.",
+              completedBuckets.longValue(), totalBuckets, failedBuckets.longValue(), processedFacts.longValue(),
+              indexedDocuments.longValue(), failedDocuments.longValue(), processedFacts.longValue() / elapsedSeconds);
+    }
+  }
 }
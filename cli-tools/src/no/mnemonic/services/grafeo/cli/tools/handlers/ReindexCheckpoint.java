@@ -0,0 +1,128 @@
+package no.mnemonic.services.grafeo.cli.tools.handlers;
+
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
+import no.mnemonic.services.grafeo.cli.tools.handlers.CassandraFactProcessor.Bucket;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Local file keeping track of the buckets which have been completely reindexed. It allows to resume an interrupted
+ * reindexing run without processing finished buckets again.
+ * <p>
+ * The file is append-only and contains one completed bucket per line in the format 'start/end'. Every line is synced
+ * to disk immediately, thus, an interrupted run (or even a crashed machine) loses at most the buckets which were in
+ * progress. Because buckets are processed concurrently they might complete out of order, which is why all completed
+ * buckets are stored and not only the last one.
+ */
+class ReindexCheckpoint implements Closeable {
+
+  private static final Logger LOGGER = Logging.getLogger(ReindexCheckpoint.class);
+
+  private final Path file;
+  private final Set<Bucket> completedBuckets;
+  private FileChannel channel;
+
+  private ReindexCheckpoint(Path file, Set<Bucket> completedBuckets) {
+    this.file = file;
+    this.completedBuckets = completedBuckets;
+  }
+
+  /**
+   * Open a checkpoint file. If the file exists all previously completed buckets are read from it, otherwise it will
+   * be created when the first bucket is marked as completed.
+   *
+   * @param file Path to checkpoint file
+   * @return Opened checkpoint
+   * @throws UncheckedIOException If an existing checkpoint file cannot be read
+   */
+  static ReindexCheckpoint open(Path file) {
+    Set<Bucket> completedBuckets = new HashSet<>();
+    if (Files.exists(file)) {
+      try {
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        for (String line : lines) {
+          Bucket bucket = parse(line);
+          if (bucket != null) completedBuckets.add(bucket);
+        }
+      } catch (IOException ex) {
+        throw new UncheckedIOException(String.format("Could not read checkpoint file %s.", file), ex);
+      }
+
+      LOGGER.info("Read %d completed buckets from checkpoint file %s.", completedBuckets.size(), file);
+    }
+
+    return new ReindexCheckpoint(file, completedBuckets);
+  }
+
+  /**
+   * Returns true if a bucket has been completed in a previous (or the current) run.
+   *
+   * @param bucket Bucket to check
+   * @return True if the bucket was completed
+   */
+  synchronized boolean isCompleted(Bucket bucket) {
+    return completedBuckets.contains(bucket);
+  }
+
+  /**
+   * Mark a bucket as completed and persist this information immediately.
+   *
+   * @param bucket Completed bucket
+   * @throws UncheckedIOException If the checkpoint file cannot be written
+   */
+  synchronized void markCompleted(Bucket bucket) {
+    if (completedBuckets.contains(bucket)) return;
+
+    try {
+      if (channel == null) {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+      }
+
+      ByteBuffer line = ByteBuffer.wrap((bucket + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+      while (line.hasRemaining()) {
+        channel.write(line);
+      }
+      // Only flushing isn't enough as the operating system might still lose the data.
+      channel.force(false);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(String.format("Could not write checkpoint file %s.", file), ex);
+    }
+
+    // Only remember the bucket once it has been persisted.
+    completedBuckets.add(bucket);
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (channel == null) return;
+    channel.close();
+    channel = null;
+  }
+
+  private static Bucket parse(String line) {
+    String[] parts = line.trim().split("/");
+    if (parts.length != 2) return null;
+
+    try {
+      return new Bucket(Instant.parse(parts[0]), Instant.parse(parts[1]));
+    } catch (DateTimeParseException ex) {
+      // Ignore invalid lines, e.g. a partially written line of an interrupted run.
+      LOGGER.warning("Ignore invalid line in checkpoint file: %s", line);
+      return null;
+    }
+  }
+}
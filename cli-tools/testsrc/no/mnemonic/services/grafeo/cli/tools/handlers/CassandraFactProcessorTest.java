@@ -15,7 +15,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.time.Instant;
 import java.util.function.Consumer;
 
-import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
@@ -117,4 +117,36 @@ public class CassandraFactProcessorTest {
     verify(operation, times(2)).accept(entity);
     verifyNoMoreInteractions(factManager);
   }
+
+  @Test
+  public void testPartitionEndBeforeStart() {
+    assertTrue(processor.partition(DAY2, DAY1_1, false).isEmpty());
+  }
+
+  @Test
+  public void testPartitionMultipleBucketsUnevenBucketSize() {
+    assertEquals(ListUtils.list(
+            new CassandraFactProcessor.Bucket(DAY1_1, DAY2),
+            new CassandraFactProcessor.Bucket(DAY2, DAY3_1),
+            new CassandraFactProcessor.Bucket(DAY3_1, DAY3_2)
+    ), processor.partition(DAY1_1, DAY3_2, false));
+  }
+
+  @Test
+  public void testPartitionMultipleBucketsUnevenBucketSizeReversed() {
+    assertEquals(ListUtils.list(
+            new CassandraFactProcessor.Bucket(DAY2, DAY3_1),
+            new CassandraFactProcessor.Bucket(DAY1_2, DAY2)
+    ), processor.partition(DAY1_2, DAY3_1, true));
+  }
+
+  @Test
+  public void testProcessBucket() {
+    FactEntity entity = new FactEntity();
+    when(factManager.getFactsWithin(anyLong(), anyLong())).thenReturn(ListUtils.list(entity).iterator());
+
+    assertDoesNotThrow(() -> processor.process(operation, new CassandraFactProcessor.Bucket(DAY1_1, DAY2)));
+    verify(factManager).getFactsWithin(DAY1_1.toEpochMilli(), DAY2.toEpochMilli());
+    verify(operation).accept(entity);
+  }
 }
@@ -8,24 +8,36 @@ import no.mnemonic.services.grafeo.dao.cassandra.entity.FactEntity;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.FactRefreshLogEntity;
 import no.mnemonic.services.grafeo.dao.elastic.FactSearchManager;
 import no.mnemonic.services.grafeo.dao.elastic.document.FactDocument;
+import no.mnemonic.services.grafeo.dao.elastic.result.BulkIndexResult;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import static no.mnemonic.services.grafeo.dao.elastic.FactSearchManager.TargetIndex.Daily;
 import static no.mnemonic.services.grafeo.dao.elastic.FactSearchManager.TargetIndex.TimeGlobal;
-import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class CassandraToElasticSearchReindexHandlerTest {
 
+  private static final Instant START = Instant.parse("2021-01-01T00:00:00.000Z");
+  private static final Instant STOP = Instant.parse("2021-01-03T00:00:00.000Z");
+  private static final CassandraFactProcessor.Bucket BUCKET1 = new CassandraFactProcessor.Bucket(START, Instant.parse("2021-01-02T00:00:00.000Z"));
+  private static final CassandraFactProcessor.Bucket BUCKET2 = new CassandraFactProcessor.Bucket(Instant.parse("2021-01-02T00:00:00.000Z"), STOP);
+
   @Mock
   private FactManager factManager;
   @Mock
@@ -37,6 +49,9 @@ public class CassandraToElasticSearchReindexHandlerTest {
   @InjectMocks
   private CassandraToElasticSearchReindexHandler handler;
 
+  @TempDir
+  Path tempDir;
+
   @Test
   public void testReindexByTimeInvokesFactProcessor() {
     Instant start = Instant.parse("2021-01-01T12:00:00.000Z");
@@ -124,4 +139,118 @@ public class CassandraToElasticSearchReindexHandlerTest {
     verify(factConverter).apply(fact, null);
     verify(factSearchManager, times(3)).indexFact(document, Daily);
   }
+
+  @Test
+  public void testSetProgressIntervalRejectsNonPositiveInterval() {
+    assertThrows(IllegalArgumentException.class, () -> handler.setProgressInterval(0));
+    assertThrows(IllegalArgumentException.class, () -> handler.setProgressInterval(-1));
+  }
+
+  @Test
+  public void testReindexParallelIndexesFactsInBulk() throws Exception {
+    Path checkpointFile = tempDir.resolve("checkpoint");
+    FactEntity entity = new FactEntity().setId(UUID.randomUUID()).addFlag(FactEntity.Flag.TimeGlobalIndex);
+    mockBuckets(BUCKET1, BUCKET2);
+    mockProcessBucket(entity);
+    when(factConverter.apply(notNull(), any())).thenReturn(new FactDocument().setId(entity.getId()));
+    when(factSearchManager.indexFacts(notNull(), any())).thenReturn(BulkIndexResult.builder().addIndexed(entity.getId()).build());
+
+    assertDoesNotThrow(() -> handler.reindex(START, STOP, false, 2, checkpointFile));
+    verify(factProcessor).process(notNull(), eq(BUCKET1));
+    verify(factProcessor).process(notNull(), eq(BUCKET2));
+    verify(factSearchManager, times(2)).indexFacts(argThat(documents -> documents.size() == 1), eq(TimeGlobal));
+    verify(factSearchManager, never()).indexFact(any(), any());
+    assertEquals(SetUtils.set(BUCKET1.toString(), BUCKET2.toString()), SetUtils.set(Files.readAllLines(checkpointFile)));
+  }
+
+  @Test
+  public void testReindexParallelIndexesDailyFactsInBulk() {
+    FactEntity entity = new FactEntity().setId(UUID.randomUUID());
+    mockBuckets(BUCKET1);
+    mockProcessBucket(entity);
+    when(factManager.fetchFactRefreshLog(notNull())).thenReturn(ListUtils.list(new FactRefreshLogEntity(), new FactRefreshLogEntity()));
+    when(factConverter.apply(notNull(), any())).thenReturn(new FactDocument().setId(entity.getId()));
+    when(factSearchManager.indexFacts(notNull(), any())).thenReturn(BulkIndexResult.builder().addIndexed(entity.getId()).build());
+
+    assertDoesNotThrow(() -> handler.reindex(START, STOP, false, 1, null));
+    verify(factSearchManager).indexFacts(argThat(documents -> documents.size() == 2), eq(Daily));
+  }
+
+  @Test
+  public void testReindexParallelSkipsCompletedBuckets() throws Exception {
+    Path checkpointFile = tempDir.resolve("checkpoint");
+    Files.write(checkpointFile, ListUtils.list(BUCKET1.toString()));
+    mockBuckets(BUCKET1, BUCKET2);
+
+    assertDoesNotThrow(() -> handler.reindex(START, STOP, false, 2, checkpointFile));
+    verify(factProcessor, never()).process(notNull(), eq(BUCKET1));
+    verify(factProcessor).process(notNull(), eq(BUCKET2));
+    assertEquals(ListUtils.list(BUCKET1.toString(), BUCKET2.toString()), Files.readAllLines(checkpointFile));
+  }
+
+  @Test
+  public void testReindexParallelDoesNotCheckpointBucketWithFailedFacts() throws Exception {
+    Path checkpointFile = tempDir.resolve("checkpoint");
+    FactEntity entity = new FactEntity().setId(UUID.randomUUID()).addFlag(FactEntity.Flag.TimeGlobalIndex);
+    mockBuckets(BUCKET1);
+    mockProcessBucket(entity);
+    when(factConverter.apply(notNull(), any())).thenReturn(new FactDocument().setId(entity.getId()));
+    when(factSearchManager.indexFacts(notNull(), any())).thenReturn(BulkIndexResult.builder().addFailure(entity.getId(), "failed").build());
+
+    assertDoesNotThrow(() -> handler.reindex(START, STOP, false, 1, checkpointFile));
+    assertFalse(Files.exists(checkpointFile));
+  }
+
+  @Test
+  public void testReindexParallelDoesNotCheckpointBucketWithException() {
+    Path checkpointFile = tempDir.resolve("checkpoint");
+    mockBuckets(BUCKET1);
+    doThrow(RuntimeException.class).when(factProcessor).process(notNull(), any(CassandraFactProcessor.Bucket.class));
+
+    assertDoesNotThrow(() -> handler.reindex(START, STOP, false, 1, checkpointFile));
+    assertFalse(Files.exists(checkpointFile));
+  }
+
+  @Test
+  public void testReindexBucketReportsProgress() {
+    FactEntity entity = new FactEntity().setId(UUID.randomUUID()).addFlag(FactEntity.Flag.TimeGlobalIndex);
+    CassandraToElasticSearchReindexHandler.ReindexProgress progress = new CassandraToElasticSearchReindexHandler.ReindexProgress(1);
+    mockProcessBucket(entity, entity, entity);
+    when(factConverter.apply(notNull(), any())).thenReturn(new FactDocument().setId(entity.getId()));
+    when(factSearchManager.indexFacts(notNull(), any())).thenReturn(BulkIndexResult.builder().addIndexed(entity.getId()).build());
+
+    assertDoesNotThrow(() -> handler.reindexBucket(BUCKET1, null, progress));
+    assertEquals(1, progress.getCompletedBuckets());
+    assertEquals(0, progress.getFailedBuckets());
+    assertEquals(3, progress.getProcessedFacts());
+    assertEquals(1, progress.getIndexedDocuments());
+    assertEquals(0, progress.getFailedDocuments());
+  }
+
+  @Test
+  public void testReindexBucketFailsIfCheckpointCannotBeWritten() {
+    FactEntity entity = new FactEntity().setId(UUID.randomUUID()).addFlag(FactEntity.Flag.TimeGlobalIndex);
+    CassandraToElasticSearchReindexHandler.ReindexProgress progress = new CassandraToElasticSearchReindexHandler.ReindexProgress(1);
+    ReindexCheckpoint checkpoint = mock(ReindexCheckpoint.class);
+    mockProcessBucket(entity);
+    when(factConverter.apply(notNull(), any())).thenReturn(new FactDocument().setId(entity.getId()));
+    when(factSearchManager.indexFacts(notNull(), any())).thenReturn(BulkIndexResult.builder().addIndexed(entity.getId()).build());
+    doThrow(new UncheckedIOException(new IOException())).when(checkpoint).markCompleted(BUCKET1);
+
+    assertDoesNotThrow(() -> handler.reindexBucket(BUCKET1, checkpoint, progress));
+    assertEquals(0, progress.getCompletedBuckets());
+    assertEquals(1, progress.getFailedBuckets());
+  }
+
+  private void mockBuckets(CassandraFactProcessor.Bucket... buckets) {
+    when(factProcessor.partition(START, STOP, false)).thenReturn(ListUtils.list(buckets));
+  }
+
+  private void mockProcessBucket(FactEntity... facts) {
+    doAnswer(i -> {
+      Consumer<FactEntity> operation = i.getArgument(0);
+      ListUtils.list(facts).forEach(operation);
+      return null;
+    }).when(factProcessor).process(notNull(), any(CassandraFactProcessor.Bucket.class));
+  }
 }
@@ -0,0 +1,74 @@
+package no.mnemonic.services.grafeo.cli.tools.handlers;
+
+import no.mnemonic.services.grafeo.cli.tools.handlers.CassandraFactProcessor.Bucket;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReindexCheckpointTest {
+
+  private static final Bucket BUCKET1 = new Bucket(Instant.parse("2021-01-01T00:00:00Z"), Instant.parse("2021-01-02T00:00:00Z"));
+  private static final Bucket BUCKET2 = new Bucket(Instant.parse("2021-01-02T00:00:00Z"), Instant.parse("2021-01-03T00:00:00Z"));
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  public void testOpenNonExistingFile() throws Exception {
+    Path file = tempDir.resolve("checkpoint");
+
+    try (ReindexCheckpoint checkpoint = ReindexCheckpoint.open(file)) {
+      assertFalse(checkpoint.isCompleted(BUCKET1));
+    }
+    assertFalse(Files.exists(file));
+  }
+
+  @Test
+  public void testMarkCompleted() throws Exception {
+    Path file = tempDir.resolve("checkpoint");
+
+    try (ReindexCheckpoint checkpoint = ReindexCheckpoint.open(file)) {
+      checkpoint.markCompleted(BUCKET1);
+      checkpoint.markCompleted(BUCKET1);
+      assertTrue(checkpoint.isCompleted(BUCKET1));
+      assertFalse(checkpoint.isCompleted(BUCKET2));
+      // The line must be persisted immediately, i.e. before the checkpoint is closed.
+      assertEquals(List.of(BUCKET1.toString()), Files.readAllLines(file, StandardCharsets.UTF_8));
+    }
+  }
+
+  @Test
+  public void testResumeFromExistingFile() throws Exception {
+    Path file = tempDir.resolve("checkpoint");
+
+    try (ReindexCheckpoint checkpoint = ReindexCheckpoint.open(file)) {
+      checkpoint.markCompleted(BUCKET2);
+    }
+
+    try (ReindexCheckpoint checkpoint = ReindexCheckpoint.open(file)) {
+      assertFalse(checkpoint.isCompleted(BUCKET1));
+      assertTrue(checkpoint.isCompleted(BUCKET2));
+      checkpoint.markCompleted(BUCKET1);
+    }
+
+    assertEquals(List.of(BUCKET2.toString(), BUCKET1.toString()), Files.readAllLines(file, StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testIgnoreInvalidLines() throws Exception {
+    Path file = tempDir.resolve("checkpoint");
+    Files.write(file, List.of(BUCKET1.toString(), "", "invalid", "2021-01-02T00:00:00Z/2021-01-0"), StandardCharsets.UTF_8);
+
+    try (ReindexCheckpoint checkpoint = ReindexCheckpoint.open(file)) {
+      assertTrue(checkpoint.isCompleted(BUCKET1));
+      assertFalse(checkpoint.isCompleted(BUCKET2));
+    }
+  }
+}
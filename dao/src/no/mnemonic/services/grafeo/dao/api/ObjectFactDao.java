@@ -9,7 +9,10 @@ import no.mnemonic.services.grafeo.dao.api.record.ObjectRecord;
 import no.mnemonic.services.grafeo.dao.api.result.ObjectStatisticsContainer;
 import no.mnemonic.services.grafeo.dao.api.result.ResultContainer;
 
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -42,7 +45,8 @@ public interface ObjectFactDao {
   }
 
   /**
-   * Store a new Object. The caller must ensure that the same Object (by UUID and type/value) is not stored twice.
+   * Store a new Object. If an Object with the same type/value exists already (e.g. because it has been created
+   * concurrently) the existing Object is returned instead.
    *
    * @param object Object to store
    * @return Stored Object
@@ -81,6 +85,16 @@ public interface ObjectFactDao {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * Fetch multiple Facts by their UUIDs. Facts which cannot be found are omitted from the result.
+   *
+   * @param ids UUIDs of Facts
+   * @return Facts identified by their UUIDs
+   */
+  default List<FactRecord> getFacts(Collection<UUID> ids) {
+    throw new UnsupportedOperationException();
+  }
+
   /**
    * Store a new Fact. The caller must ensure that the same Fact (by UUID and logically) is not stored twice. Use
    * {@link #retrieveExistingFact(FactRecord)} to check if a Fact already exists and {@link #refreshFact(FactRecord)}
@@ -95,6 +109,32 @@ public interface ObjectFactDao {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * Same as {@link #storeFact(FactRecord)}, but allows the caller to wait until the stored Fact has been indexed into
+   * ElasticSearch. This is only relevant when indexing is performed in the background (write-behind mode) and
+   * should be used by callers which need to find the Fact with a search immediately afterwards.
+   *
+   * @param fact         Fact to store
+   * @param waitForIndex Whether to wait until the Fact has been indexed
+   * @return Stored Fact
+   */
+  default FactRecord storeFact(FactRecord fact, boolean waitForIndex) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Store multiple new Facts. This is the bulk version of {@link #storeFact(FactRecord)} with the same requirements
+   * for the caller. All writes to the underlying databases are executed concurrently and the Facts are indexed using
+   * bulk requests. If one of the Facts already exists all other Facts are still stored, indexed and replicated before
+   * the error is propagated.
+   *
+   * @param facts Facts to store
+   * @return Stored Facts in the order of the given Facts
+   */
+  default List<FactRecord> storeFacts(List<FactRecord> facts) {
+    throw new UnsupportedOperationException();
+  }
+
   /**
    * Refresh an existing Fact, i.e. update its lastSeenTimestamp. The caller must ensure that the Fact exists.
    * <p>
@@ -108,6 +148,30 @@ public interface ObjectFactDao {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * Same as {@link #refreshFact(FactRecord)}, but allows the caller to wait until the Fact has been reindexed into
+   * ElasticSearch. See {@link #storeFact(FactRecord, boolean)} for details.
+   *
+   * @param fact         Fact to refresh
+   * @param waitForIndex Whether to wait until the Fact has been indexed
+   * @return Refreshed Fact
+   */
+  default FactRecord refreshFact(FactRecord fact, boolean waitForIndex) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Refresh multiple existing Facts. This is the bulk version of {@link #refreshFact(FactRecord)} with the same
+   * requirements for the caller. All writes to the underlying databases are executed concurrently and the Facts are
+   * reindexed using bulk requests.
+   *
+   * @param facts Facts to refresh
+   * @return Refreshed Facts in the order of the given Facts
+   */
+  default List<FactRecord> refreshFacts(List<FactRecord> facts) {
+    throw new UnsupportedOperationException();
+  }
+
   /**
    * Mark an existing Fact as retracted. The caller must ensure that the Fact exists.
    * <p>
@@ -121,6 +185,18 @@ public interface ObjectFactDao {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * Same as {@link #retractFact(FactRecord)}, but allows the caller to wait until the Fact has been reindexed into
+   * ElasticSearch. See {@link #storeFact(FactRecord, boolean)} for details.
+   *
+   * @param fact         Fact to retract
+   * @param waitForIndex Whether to wait until the Fact has been indexed
+   * @return Retracted Fact
+   */
+  default FactRecord retractFact(FactRecord fact, boolean waitForIndex) {
+    throw new UnsupportedOperationException();
+  }
+
   /**
    * Retrieve an existing Fact which is logically the same as the supplied {@link FactRecord}.
    *
@@ -131,6 +207,20 @@ public interface ObjectFactDao {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * Retrieve existing Facts which are logically the same as the supplied {@link FactRecord}s. This is the bulk
+   * version of {@link #retrieveExistingFact(FactRecord)}.
+   * <p>
+   * The result is keyed by the hash value calculated by
+   * {@link no.mnemonic.services.grafeo.dao.facade.helpers.FactRecordHasher}. Facts which do not exist are omitted.
+   *
+   * @param facts Facts to check for existence
+   * @return Existing Facts mapped by their hash values
+   */
+  default Map<String, FactRecord> retrieveExistingFacts(Collection<FactRecord> facts) {
+    throw new UnsupportedOperationException();
+  }
+
   /**
    * Search for Facts based on a search criteria.
    *
@@ -182,4 +272,14 @@ public interface ObjectFactDao {
   default Iterator<FactRecord> retrieveMetaFacts(UUID id) {
     throw new UnsupportedOperationException();
   }
+
+  /**
+   * Retrieve meta Facts bound to multiple Facts (identified by their UUIDs) at once.
+   *
+   * @param ids UUIDs of Facts
+   * @return Resolved meta Facts grouped by the UUID of the referenced Fact, Facts without meta Facts are omitted
+   */
+  default Map<UUID, List<FactRecord>> retrieveMetaFacts(Collection<UUID> ids) {
+    throw new UnsupportedOperationException();
+  }
 }
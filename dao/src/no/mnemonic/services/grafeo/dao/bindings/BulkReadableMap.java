@@ -0,0 +1,47 @@
+package no.mnemonic.services.grafeo.dao.bindings;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link Map} which supports fetching multiple entries with one operation. Implement this interface for
+ * {@link DaoCache} maps where every access is expensive, e.g. distributed maps, in order to avoid a network
+ * round trip per key when resolving multiple entries at once.
+ *
+ * @param <K> Type of map key
+ * @param <V> Type of map value
+ */
+public interface BulkReadableMap<K, V> extends Map<K, V> {
+
+  /**
+   * Fetch all entries for the given keys. Keys which are not contained in the map are omitted from the result.
+   *
+   * @param keys Keys to fetch
+   * @return Map with all found entries
+   */
+  Map<K, V> getAll(Set<K> keys);
+
+  /**
+   * Fetch all entries for the given keys from any {@link Map}. Uses {@link #getAll(Set)} if the map implements
+   * {@link BulkReadableMap}, otherwise the entries are fetched one by one.
+   *
+   * @param map  Map to fetch entries from
+   * @param keys Keys to fetch
+   * @param <K>  Type of map key
+   * @param <V>  Type of map value
+   * @return Mutable map with all found entries
+   */
+  static <K, V> Map<K, V> getAll(Map<K, V> map, Set<K> keys) {
+    if (map instanceof BulkReadableMap) {
+      return new HashMap<>(((BulkReadableMap<K, V>) map).getAll(keys));
+    }
+
+    Map<K, V> result = new HashMap<>();
+    for (K key : keys) {
+      V value = map.get(key);
+      if (value != null) result.put(key, value);
+    }
+    return result;
+  }
+}
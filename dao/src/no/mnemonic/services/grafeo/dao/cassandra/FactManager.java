@@ -9,6 +9,7 @@ import no.mnemonic.commons.logging.Logger;
 import no.mnemonic.commons.logging.Logging;
 import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.StringUtils;
+import no.mnemonic.commons.utilities.collections.CollectionUtils;
 import no.mnemonic.commons.utilities.collections.ListUtils;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.*;
 import no.mnemonic.services.grafeo.dao.cassandra.exceptions.ImmutableViolationException;
@@ -20,8 +21,14 @@ import javax.inject.Singleton;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 @Singleton
@@ -107,6 +114,25 @@ public class FactManager implements LifecycleAspect {
     return factDao.get(id);
   }
 
+  /**
+   * Fetch multiple Facts by their IDs. All reads are executed concurrently, thus, this is considerably faster than
+   * fetching the Facts one by one. Facts which do not exist are omitted from the result.
+   *
+   * @param ids IDs of Facts to fetch
+   * @return Found Facts in the order of the given IDs
+   */
+  public List<FactEntity> getFacts(Collection<UUID> ids) {
+    if (CollectionUtils.isEmpty(ids)) return ListUtils.list();
+
+    List<CompletableFuture<FactEntity>> reads = ids.stream()
+            .filter(Objects::nonNull)
+            .distinct()
+            .map(id -> factDao.getAsync(id).toCompletableFuture())
+            .collect(Collectors.toList());
+
+    return joinAll(reads);
+  }
+
   public FactEntity getFact(String factHash) {
     if (StringUtils.isBlank(factHash)) return null;
 
@@ -116,6 +142,27 @@ public class FactManager implements LifecycleAspect {
     return getFact(existenceEntity.getFactID());
   }
 
+  /**
+   * Look up the IDs of multiple Facts by their hash values. All reads are executed concurrently. Hash values which
+   * are not known are omitted from the result.
+   *
+   * @param factHashes Hash values of Facts
+   * @return Map from hash value to ID of the existing Fact
+   */
+  public Map<String, UUID> getFactIDsByHash(Collection<String> factHashes) {
+    if (CollectionUtils.isEmpty(factHashes)) return new HashMap<>();
+
+    List<CompletableFuture<FactExistenceEntity>> reads = factHashes.stream()
+            .filter(hash -> !StringUtils.isBlank(hash))
+            .distinct()
+            .map(hash -> factDao.getFactExistenceAsync(hash).toCompletableFuture())
+            .collect(Collectors.toList());
+
+    return joinAll(reads)
+            .stream()
+            .collect(Collectors.toMap(FactExistenceEntity::getFactHash, FactExistenceEntity::getFactID));
+  }
+
   public Iterator<FactEntity> getFactsWithin(long startTimestamp, long endTimestamp) {
     if (startTimestamp < 0 || endTimestamp < 0 || startTimestamp > endTimestamp)
       throw new IllegalArgumentException(String.format("Invalid startTimestamp %d or endTimestamp %d.", startTimestamp, endTimestamp));
@@ -132,6 +179,22 @@ public class FactManager implements LifecycleAspect {
     return fact;
   }
 
+  /**
+   * Same as {@link #saveFact(FactEntity)} but without blocking the calling thread. This allows callers to save
+   * multiple Facts concurrently. Validation errors complete the returned stage exceptionally.
+   *
+   * @param fact Fact to save
+   * @return Stage which completes once the Fact has been saved
+   */
+  public CompletionStage<FactEntity> saveFactAsync(FactEntity fact) {
+    if (fact == null) return CompletableFuture.completedFuture(null);
+    if (getFactType(fact.getTypeID()) == null) {
+      return CompletableFuture.failedFuture(new IllegalArgumentException(String.format("FactType with id = %s does not exist.", fact.getTypeID())));
+    }
+
+    return factDao.saveAsync(fact).thenApply(ignored -> fact);
+  }
+
   /* FactAclEntity-related methods */
 
   public List<FactAclEntity> fetchFactAcl(UUID id) {
@@ -151,6 +214,12 @@ public class FactManager implements LifecycleAspect {
     return entry;
   }
 
+  public CompletionStage<FactAclEntity> saveFactAclEntryAsync(FactAclEntity entry, WriteMode mode) {
+    if (entry == null) return CompletableFuture.completedFuture(null);
+    return validateAndSaveAsync(entry, mode, entry.getFactID(), () -> factDao.getAclEntryAsync(entry.getFactID(), entry.getId()),
+            factDao::saveAsync, "It is not allowed to update an ACL entry.");
+  }
+
   /* FactCommentEntity-related methods */
 
   public List<FactCommentEntity> fetchFactComments(UUID id) {
@@ -170,6 +239,12 @@ public class FactManager implements LifecycleAspect {
     return comment;
   }
 
+  public CompletionStage<FactCommentEntity> saveFactCommentAsync(FactCommentEntity comment, WriteMode mode) {
+    if (comment == null) return CompletableFuture.completedFuture(null);
+    return validateAndSaveAsync(comment, mode, comment.getFactID(), () -> factDao.getCommentAsync(comment.getFactID(), comment.getId()),
+            factDao::saveAsync, "It is not allowed to update a comment.");
+  }
+
   /* MetaFactBindingEntity-related methods */
 
   public Iterator<MetaFactBindingEntity> fetchMetaFactBindings(UUID id) {
@@ -177,6 +252,25 @@ public class FactManager implements LifecycleAspect {
     return factDao.fetchMetaFactBindings(id).iterator();
   }
 
+  /**
+   * Fetch the bindings to meta Facts of multiple Facts using one query. The caller should limit the number of
+   * requested Facts because all of them are fetched with one 'IN' query.
+   *
+   * @param ids UUIDs of Facts
+   * @return Bindings to meta Facts of all requested Facts
+   */
+  public Iterator<MetaFactBindingEntity> fetchMetaFactBindings(Collection<UUID> ids) {
+    if (CollectionUtils.isEmpty(ids)) return Collections.emptyIterator();
+
+    List<UUID> distinct = ids.stream()
+            .filter(Objects::nonNull)
+            .distinct()
+            .collect(Collectors.toList());
+    if (distinct.isEmpty()) return Collections.emptyIterator();
+
+    return factDao.fetchMetaFactBindings(distinct).iterator();
+  }
+
   public MetaFactBindingEntity saveMetaFactBinding(MetaFactBindingEntity binding) {
     if (binding == null) return null;
     if (getFact(binding.getFactID()) == null)
@@ -189,6 +283,12 @@ public class FactManager implements LifecycleAspect {
     return binding;
   }
 
+  public CompletionStage<MetaFactBindingEntity> saveMetaFactBindingAsync(MetaFactBindingEntity binding, WriteMode mode) {
+    if (binding == null) return CompletableFuture.completedFuture(null);
+    return validateAndSaveAsync(binding, mode, binding.getFactID(), () -> factDao.getMetaFactBindingAsync(binding.getFactID(), binding.getMetaFactID()),
+            factDao::saveAsync, "It is not allowed to update a MetaFactBinding.");
+  }
+
   /* FactByTimestampEntity-related methods */
 
   public FactByTimestampEntity saveFactByTimestamp(FactByTimestampEntity entity) {
@@ -203,20 +303,40 @@ public class FactManager implements LifecycleAspect {
     return entity;
   }
 
+  public CompletionStage<FactByTimestampEntity> saveFactByTimestampAsync(FactByTimestampEntity entity, WriteMode mode) {
+    if (entity == null) return CompletableFuture.completedFuture(null);
+    return validateAndSaveAsync(entity, mode, entity.getFactID(), () -> factDao.getFactByTimestampAsync(entity.getHourOfDay(), entity.getTimestamp(), entity.getFactID()),
+            factDao::saveAsync, "It is not allowed to update a FactByTimestamp entry.");
+  }
+
   /* FactExistenceEntity-related methods */
 
   public FactExistenceEntity saveFactExistence(FactExistenceEntity entity) {
     if (entity == null) return null;
     if (getFact(entity.getFactID()) == null)
       throw new IllegalArgumentException(String.format("Fact with id = %s does not exist.", entity.getFactID()));
-    if (factDao.getFactExistence(entity.getFactHash()) != null)
+    // The hash must never point to a different Fact, thus, enforce immutability with a lightweight transaction.
+    if (!factDao.saveIfNotExists(entity))
       throw new ImmutableViolationException("It is not allowed to update a FactExistenceEntity entry.");
 
-    factDao.save(entity);
-
     return entity;
   }
 
+  public CompletionStage<FactExistenceEntity> saveFactExistenceAsync(FactExistenceEntity entity, WriteMode mode) {
+    if (entity == null) return CompletableFuture.completedFuture(null);
+
+    // Same as saveFactExistence() immutability is always enforced with a lightweight transaction instead of a read.
+    return validateAndSaveAsync(entity, mode, entity.getFactID(), () -> CompletableFuture.completedFuture(null),
+            this::saveFactExistenceIfNotExists, "It is not allowed to update a FactExistenceEntity entry.");
+  }
+
+  private CompletionStage<Void> saveFactExistenceIfNotExists(FactExistenceEntity entity) {
+    return factDao.saveIfNotExistsAsync(entity)
+            .thenAccept(applied -> {
+              if (!applied) throw new ImmutableViolationException("It is not allowed to update a FactExistenceEntity entry.");
+            });
+  }
+
   /* FactRefreshLogEntity-related methods */
 
   public List<FactRefreshLogEntity> fetchFactRefreshLog(UUID id) {
@@ -236,8 +356,57 @@ public class FactManager implements LifecycleAspect {
     return entry;
   }
 
+  public CompletionStage<FactRefreshLogEntity> saveFactRefreshLogEntryAsync(FactRefreshLogEntity entry, WriteMode mode) {
+    if (entry == null) return CompletableFuture.completedFuture(null);
+    return validateAndSaveAsync(entry, mode, entry.getFactID(), () -> factDao.getFactRefreshLogEntryAsync(entry.getFactID(), entry.getRefreshTimestamp()),
+            factDao::saveAsync, "It is not allowed to update a refresh log entry.");
+  }
+
   /* Private helper methods and classes */
 
+  /**
+   * Performs the same validation as the synchronous save methods (referenced Fact must exist and the entity must not
+   * exist already) followed by saving the entity, but without blocking the calling thread. This allows callers to
+   * execute multiple independent writes concurrently. Validation errors complete the returned stage exceptionally.
+   * In {@link WriteMode#Trusted} the validation is skipped and the entity is written with an idempotent insert.
+   */
+  private <T, E> CompletionStage<T> validateAndSaveAsync(T entity, WriteMode mode, UUID factID, Supplier<CompletionStage<E>> fetchExisting,
+                                                         Function<T, CompletionStage<Void>> save, String immutableViolationMessage) {
+    if (mode == WriteMode.Trusted) {
+      return save.apply(entity).thenApply(ignored -> entity);
+    }
+
+    if (factID == null) {
+      return CompletableFuture.failedFuture(new IllegalArgumentException(String.format("Fact with id = %s does not exist.", factID)));
+    }
+
+    return factDao.getAsync(factID)
+            .thenCompose(fact -> {
+              if (fact == null) throw new IllegalArgumentException(String.format("Fact with id = %s does not exist.", factID));
+              return fetchExisting.get();
+            })
+            .thenCompose(existing -> {
+              if (existing != null) throw new ImmutableViolationException(immutableViolationMessage);
+              return save.apply(entity);
+            })
+            .thenApply(ignored -> entity);
+  }
+
+  private static <T> List<T> joinAll(List<CompletableFuture<T>> reads) {
+    try {
+      CompletableFuture.allOf(reads.toArray(new CompletableFuture[0])).join();
+    } catch (CompletionException ex) {
+      // Unwrap the original exception in order to behave the same way as if the reads were executed synchronously.
+      if (ex.getCause() instanceof RuntimeException) throw (RuntimeException) ex.getCause();
+      throw ex;
+    }
+
+    return reads.stream()
+            .map(CompletableFuture::join)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+  }
+
   /**
    * {@link Iterator} which uses the fact_by_timestamp table to look up Facts within a given timeframe.
    * It goes through all hourly buckets within the timeframe and fetches the Facts for each bucket.
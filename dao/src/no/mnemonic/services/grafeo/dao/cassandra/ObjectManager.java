@@ -7,6 +7,8 @@ import no.mnemonic.commons.component.Dependency;
 import no.mnemonic.commons.component.LifecycleAspect;
 import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.StringUtils;
+import no.mnemonic.commons.utilities.collections.CollectionUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.ObjectByTypeValueEntity;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.ObjectEntity;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.ObjectFactBindingEntity;
@@ -18,8 +20,12 @@ import no.mnemonic.services.grafeo.dao.cassandra.mapper.ObjectTypeDao;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @Singleton
 public class ObjectManager implements LifecycleAspect {
@@ -102,6 +108,36 @@ public class ObjectManager implements LifecycleAspect {
     return objectDao.get(id);
   }
 
+  /**
+   * Fetch multiple Objects by their IDs. All reads are executed concurrently, thus, this is considerably faster than
+   * fetching the Objects one by one. Objects which do not exist are omitted from the result.
+   *
+   * @param ids IDs of Objects to fetch
+   * @return Found Objects in the order of the given IDs
+   */
+  public List<ObjectEntity> getObjects(Collection<UUID> ids) {
+    if (CollectionUtils.isEmpty(ids)) return ListUtils.list();
+
+    List<CompletableFuture<ObjectEntity>> reads = ids.stream()
+            .filter(Objects::nonNull)
+            .distinct()
+            .map(id -> objectDao.getAsync(id).toCompletableFuture())
+            .collect(Collectors.toList());
+
+    try {
+      CompletableFuture.allOf(reads.toArray(new CompletableFuture[0])).join();
+    } catch (CompletionException ex) {
+      // Unwrap the original exception in order to behave the same way as if the reads were executed synchronously.
+      if (ex.getCause() instanceof RuntimeException) throw (RuntimeException) ex.getCause();
+      throw ex;
+    }
+
+    return reads.stream()
+            .map(CompletableFuture::join)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+  }
+
   public ObjectEntity getObject(String type, String value) {
     if (StringUtils.isBlank(type) || StringUtils.isBlank(value)) return null;
 
@@ -112,27 +148,44 @@ public class ObjectManager implements LifecycleAspect {
     return ObjectUtils.ifNotNull(objectByTypeValue, o -> getObject(o.getObjectID()));
   }
 
+  /**
+   * Save a new Object. It's not allowed to create the same Object (i.e. same type and value) multiple times. If a
+   * concurrent request has already created an Object with the same type and value, the given Object is discarded
+   * and the existing Object is returned instead.
+   *
+   * @param object Object to save
+   * @return Saved Object, or the existing Object with the same type and value
+   * @throws IllegalArgumentException    If the Object's type does not exist
+   * @throws ImmutableViolationException If the given Object has been saved before
+   */
   public ObjectEntity saveObject(ObjectEntity object) {
     if (object == null) return null;
 
     ObjectTypeEntity type = getObjectType(object.getTypeID());
     if (type == null) throw new IllegalArgumentException(String.format("ObjectType with id = %s does not exist.", object.getTypeID()));
 
-    // It's not allowed to create the same object multiple times.
-    if (getObject(type.getName(), object.getValue()) != null) {
-      throw new ImmutableViolationException("Object already exists.");
-    }
+    // Save the Object first, thus, the Object can always be fetched once the ObjectByTypeValue mapping exists.
+    objectDao.save(object);
 
-    // Also save an ObjectByTypeValue mapping.
+    // It's not allowed to create the same object multiple times. Enforce this with a lightweight transaction on the
+    // ObjectByTypeValue mapping, i.e. if multiple requests create the same Object concurrently only one of them wins.
     ObjectByTypeValueEntity objectByTypeValue = new ObjectByTypeValueEntity()
             .setObjectTypeID(object.getTypeID())
             .setObjectValue(object.getValue())
             .setObjectID(object.getId());
 
-    objectDao.save(object);
-    objectDao.save(objectByTypeValue);
+    // If the insert was not applied the existing mapping is returned.
+    Optional<ObjectByTypeValueEntity> existing = objectDao.saveIfNotExists(objectByTypeValue);
+    if (!existing.isPresent()) return object;
+    if (Objects.equals(existing.get().getObjectID(), object.getId())) throw new ImmutableViolationException("Object already exists.");
+
+    // Another request has won, remove the Object again as it's not referenced by the mapping. The winner has written
+    // its Object before the mapping, thus, it can be read by the ID returned from the lightweight transaction.
+    objectDao.delete(object);
+    ObjectEntity winner = objectDao.getWithLocalQuorum(existing.get().getObjectID());
+    if (winner == null) throw new ImmutableViolationException("Object already exists.");
 
-    return object;
+    return winner;
   }
 
   /* ObjectFactBindingEntity-related methods */
@@ -154,6 +207,30 @@ public class ObjectManager implements LifecycleAspect {
     return binding;
   }
 
+  public CompletionStage<ObjectFactBindingEntity> saveObjectFactBindingAsync(ObjectFactBindingEntity binding, WriteMode mode) {
+    if (binding == null) return CompletableFuture.completedFuture(null);
+    if (mode == WriteMode.Trusted) {
+      // A binding between an Object and a Fact never changes, thus, writing it again is idempotent.
+      return objectDao.saveAsync(binding).thenApply(ignored -> binding);
+    }
+    if (binding.getObjectID() == null) {
+      return CompletableFuture.failedFuture(new IllegalArgumentException(String.format("Object with id = %s does not exist.", binding.getObjectID())));
+    }
+
+    // Same validation as saveObjectFactBinding() but without blocking the calling thread.
+    return objectDao.getAsync(binding.getObjectID())
+            .thenCompose(object -> {
+              if (object == null)
+                throw new IllegalArgumentException(String.format("Object with id = %s does not exist.", binding.getObjectID()));
+              return objectDao.getObjectFactBindingAsync(binding.getObjectID(), binding.getFactID());
+            })
+            .thenCompose(existing -> {
+              if (existing != null) throw new ImmutableViolationException("It is not allowed to update an ObjectFactBinding.");
+              return objectDao.saveAsync(binding);
+            })
+            .thenApply(ignored -> binding);
+  }
+
   /* Private helper methods */
 
   private LoadingCache<UUID, ObjectTypeEntity> createObjectTypeByIdCache() {
@@ -0,0 +1,21 @@
+package no.mnemonic.services.grafeo.dao.cassandra;
+
+/**
+ * Specifies how the managers validate entities before writing them to Cassandra.
+ */
+public enum WriteMode {
+
+  /**
+   * Verify that referenced entities exist and that the entity itself does not exist yet before writing it.
+   * This requires additional reads for every write.
+   */
+  Validated,
+
+  /**
+   * Skip all read-before-write validation. Only use this mode if the caller has already verified that the referenced
+   * entities exist, e.g. because it has just created them. Entities are written with idempotent inserts, except where
+   * immutability must be enforced in which case a lightweight transaction (IF NOT EXISTS) is used instead.
+   */
+  Trusted
+
+}
@@ -4,7 +4,9 @@ import com.datastax.oss.driver.api.core.PagingIterable;
 import com.datastax.oss.driver.api.mapper.annotations.*;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.*;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletionStage;
 
 import static com.datastax.oss.driver.api.mapper.entity.saving.NullSavingStrategy.DO_NOT_SET;
 import static no.mnemonic.services.grafeo.dao.cassandra.entity.CassandraEntity.KEY_SPACE;
@@ -18,9 +20,15 @@ public interface FactDao {
   @Insert
   void save(FactEntity entity);
 
+  @Insert
+  CompletionStage<Void> saveAsync(FactEntity entity);
+
   @Select
   FactEntity get(UUID id);
 
+  @Select
+  CompletionStage<FactEntity> getAsync(UUID id);
+
   /* MetaFactBindingEntity-related methods */
 
   @Insert
@@ -29,9 +37,18 @@ public interface FactDao {
   @Select
   MetaFactBindingEntity getMetaFactBinding(UUID factID, UUID metaFactID);
 
+  @Insert
+  CompletionStage<Void> saveAsync(MetaFactBindingEntity entity);
+
+  @Select
+  CompletionStage<MetaFactBindingEntity> getMetaFactBindingAsync(UUID factID, UUID metaFactID);
+
   @Query("SELECT * FROM " + KEY_SPACE + "." + MetaFactBindingEntity.TABLE + " WHERE fact_id = :id")
   PagingIterable<MetaFactBindingEntity> fetchMetaFactBindings(UUID id);
 
+  @Query("SELECT * FROM " + KEY_SPACE + "." + MetaFactBindingEntity.TABLE + " WHERE fact_id IN :ids")
+  PagingIterable<MetaFactBindingEntity> fetchMetaFactBindings(List<UUID> ids);
+
   /* FactByTimestampEntity-related methods */
 
   @Insert
@@ -40,17 +57,30 @@ public interface FactDao {
   @Select
   FactByTimestampEntity getFactByTimestamp(long hourOfDay, long timestamp, UUID factID);
 
+  @Insert
+  CompletionStage<Void> saveAsync(FactByTimestampEntity entity);
+
+  @Select
+  CompletionStage<FactByTimestampEntity> getFactByTimestampAsync(long hourOfDay, long timestamp, UUID factID);
+
   @Query("SELECT * FROM " + KEY_SPACE + "." + FactByTimestampEntity.TABLE + " WHERE hour_of_day = :hourOfDay")
   PagingIterable<FactByTimestampEntity> fetchFactByTimestamp(long hourOfDay);
 
   /* FactExistenceEntity-related methods */
 
-  @Insert
-  void save(FactExistenceEntity entity);
+  // Entries are only written with lightweight transactions, never mix them with plain inserts.
+  @Insert(ifNotExists = true)
+  boolean saveIfNotExists(FactExistenceEntity entity);
 
   @Select
   FactExistenceEntity getFactExistence(String factHash);
 
+  @Select
+  CompletionStage<FactExistenceEntity> getFactExistenceAsync(String factHash);
+
+  @Insert(ifNotExists = true)
+  CompletionStage<Boolean> saveIfNotExistsAsync(FactExistenceEntity entity);
+
   /* FactRefreshLogEntity-related methods */
 
   @Insert
@@ -59,6 +89,12 @@ public interface FactDao {
   @Select
   FactRefreshLogEntity getFactRefreshLogEntry(UUID factID, long refreshTimestamp);
 
+  @Insert
+  CompletionStage<Void> saveAsync(FactRefreshLogEntity entity);
+
+  @Select
+  CompletionStage<FactRefreshLogEntity> getFactRefreshLogEntryAsync(UUID factID, long refreshTimestamp);
+
   @Query("SELECT * FROM " + KEY_SPACE + "." + FactRefreshLogEntity.TABLE + " WHERE fact_id = :id")
   PagingIterable<FactRefreshLogEntity> fetchFactRefreshLog(UUID id);
 
@@ -70,6 +106,12 @@ public interface FactDao {
   @Select
   FactAclEntity getAclEntry(UUID factID, UUID id);
 
+  @Insert
+  CompletionStage<Void> saveAsync(FactAclEntity entity);
+
+  @Select
+  CompletionStage<FactAclEntity> getAclEntryAsync(UUID factID, UUID id);
+
   @Query("SELECT * FROM " + KEY_SPACE + "." + FactAclEntity.TABLE + " WHERE fact_id = :id")
   PagingIterable<FactAclEntity> fetchAcl(UUID id);
 
@@ -81,6 +123,12 @@ public interface FactDao {
   @Select
   FactCommentEntity getComment(UUID factID, UUID id);
 
+  @Insert
+  CompletionStage<Void> saveAsync(FactCommentEntity entity);
+
+  @Select
+  CompletionStage<FactCommentEntity> getCommentAsync(UUID factID, UUID id);
+
   @Query("SELECT * FROM " + KEY_SPACE + "." + FactCommentEntity.TABLE + " WHERE fact_id = :id")
   PagingIterable<FactCommentEntity> fetchComments(UUID id);
 
@@ -6,7 +6,9 @@ import no.mnemonic.services.grafeo.dao.cassandra.entity.ObjectByTypeValueEntity;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.ObjectEntity;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.ObjectFactBindingEntity;
 
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletionStage;
 
 import static com.datastax.oss.driver.api.mapper.entity.saving.NullSavingStrategy.DO_NOT_SET;
 import static no.mnemonic.services.grafeo.dao.cassandra.entity.CassandraEntity.KEY_SPACE;
@@ -17,16 +19,29 @@ public interface ObjectDao {
 
   /* ObjectEntity-related methods */
 
+  // Written with LOCAL_QUORUM such that a concurrent request losing the race on ObjectByTypeValueEntity can always
+  // read the winning Object using getWithLocalQuorum().
   @Insert
+  @StatementAttributes(consistencyLevel = "LOCAL_QUORUM")
   void save(ObjectEntity entity);
 
   @Select
   ObjectEntity get(UUID id);
 
+  @Select
+  @StatementAttributes(consistencyLevel = "LOCAL_QUORUM")
+  ObjectEntity getWithLocalQuorum(UUID id);
+
+  @Delete
+  void delete(ObjectEntity entity);
+
+  @Select
+  CompletionStage<ObjectEntity> getAsync(UUID id);
+
   /* ObjectByTypeValueEntity-related methods */
 
-  @Insert
-  void save(ObjectByTypeValueEntity entity);
+  @Insert(ifNotExists = true)
+  Optional<ObjectByTypeValueEntity> saveIfNotExists(ObjectByTypeValueEntity entity);
 
   @Select
   ObjectByTypeValueEntity getObjectByTypeValue(UUID objectTypeID, String objectValue);
@@ -39,6 +54,12 @@ public interface ObjectDao {
   @Select
   ObjectFactBindingEntity getObjectFactBinding(UUID objectID, UUID factID);
 
+  @Insert
+  CompletionStage<Void> saveAsync(ObjectFactBindingEntity entity);
+
+  @Select
+  CompletionStage<ObjectFactBindingEntity> getObjectFactBindingAsync(UUID objectID, UUID factID);
+
   @Query("SELECT * FROM " + KEY_SPACE + "." + ObjectFactBindingEntity.TABLE + " WHERE object_id = :id")
   PagingIterable<ObjectFactBindingEntity> fetchObjectFactBindings(UUID id);
 
@@ -5,7 +5,6 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.json.JsonMapper;
-import com.google.common.collect.Streams;
 import com.google.common.io.CharStreams;
 import no.mnemonic.commons.component.Dependency;
 import no.mnemonic.commons.component.LifecycleAspect;
@@ -23,12 +22,18 @@ import no.mnemonic.services.grafeo.dao.api.criteria.IndexSelectCriteria;
 import no.mnemonic.services.grafeo.dao.api.criteria.ObjectStatisticsCriteria;
 import no.mnemonic.services.grafeo.dao.api.result.ObjectStatisticsContainer;
 import no.mnemonic.services.grafeo.dao.elastic.document.FactDocument;
+import no.mnemonic.services.grafeo.dao.elastic.result.BoundedUUIDSet;
+import no.mnemonic.services.grafeo.dao.elastic.result.BulkIndexResult;
 import no.mnemonic.services.grafeo.dao.elastic.result.ScrollingSearchResult;
 import no.mnemonic.services.grafeo.dao.elastic.result.SearchResult;
 import org.apache.lucene.search.join.ScoreMode;
 import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.DocWriteRequest;
 import org.elasticsearch.action.DocWriteResponse;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.get.GetRequest;
 import org.elasticsearch.action.get.GetResponse;
 import org.elasticsearch.action.index.IndexRequest;
@@ -36,15 +41,18 @@ import org.elasticsearch.action.index.IndexResponse;
 import org.elasticsearch.action.search.*;
 import org.elasticsearch.action.support.IndicesOptions;
 import org.elasticsearch.action.support.WriteRequest;
+import org.elasticsearch.client.Cancellable;
 import org.elasticsearch.client.Request;
 import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.Response;
 import org.elasticsearch.client.ResponseException;
+import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.index.query.BoolQueryBuilder;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.SimpleQueryStringBuilder;
 import org.elasticsearch.rest.RestStatus;
 import org.elasticsearch.script.Script;
+import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.aggregations.Aggregation;
 import org.elasticsearch.search.aggregations.AggregationBuilder;
 import org.elasticsearch.search.aggregations.Aggregations;
@@ -53,7 +61,9 @@ import org.elasticsearch.search.aggregations.bucket.terms.Terms;
 import org.elasticsearch.search.aggregations.bucket.terms.TermsAggregationBuilder;
 import org.elasticsearch.search.aggregations.metrics.Cardinality;
 import org.elasticsearch.search.aggregations.metrics.Max;
+import org.elasticsearch.search.builder.PointInTimeBuilder;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.sort.SortBuilders;
 import org.elasticsearch.xcontent.XContentType;
 
 import javax.inject.Inject;
@@ -62,8 +72,13 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import static no.mnemonic.services.grafeo.dao.elastic.helpers.DailyIndexNamesGenerator.formatIndexName;
@@ -103,6 +118,7 @@ public class FactSearchManager implements LifecycleAspect, MetricAspect {
   private static final String DAILY_TEMPLATE_JSON = "template_daily.json";
   private static final String TIME_GLOBAL_TEMPLATE_JSON = "template_time_global.json";
   private static final int MAX_RESULT_WINDOW = 10_000; // Must be the same value as specified in template_base.json.
+  private static final String SHARD_DOC_SORT_FIELD = "_shard_doc";
 
   private static final String FACTS_COUNT_AGGREGATION_NAME = "FactsCountAggregation";
   private static final String NESTED_OBJECTS_AGGREGATION_NAME = "NestedObjectsAggregation";
@@ -131,6 +147,12 @@ public class FactSearchManager implements LifecycleAspect, MetricAspect {
   );
 
   private final PerformanceMonitor indexMonitor = new PerformanceMonitor(TimeUnit.MINUTES, 60, 1);
+  private final PerformanceMonitor bulkIndexMonitor = new PerformanceMonitor(TimeUnit.MINUTES, 60, 1);
+  private final AtomicLong bulkIndexDocuments = new AtomicLong();
+  private final AtomicLong bulkIndexRejectedDocuments = new AtomicLong();
+  private final AtomicLong searchDeduplicationMaxSize = new AtomicLong();
+  private final AtomicLong searchDeduplicationMaxMemory = new AtomicLong();
+  private final AtomicLong searchDeduplicationOverflows = new AtomicLong();
   private final PerformanceMonitor factSearchInitialMonitor = new PerformanceMonitor(TimeUnit.MINUTES, 60, 1);
   private final PerformanceMonitor factSearchNextMonitor = new PerformanceMonitor(TimeUnit.MINUTES, 60, 1);
   private final PerformanceMonitor objectSearchMonitor = new PerformanceMonitor(TimeUnit.MINUTES, 60, 1);
@@ -141,6 +163,11 @@ public class FactSearchManager implements LifecycleAspect, MetricAspect {
 
   private String searchScrollExpiration = "1m";
   private int searchScrollSize = 1000;
+  private int searchDeduplicationLimit = 1_000_000;
+  private int bulkMaxActions = 1000;
+  private long bulkMaxSizeInBytes = 5 * 1024 * 1024;
+  private String bulkTimeout = "1m";
+  private long bulkClientTimeout = TimeUnit.MINUTES.toMillis(2);
   private boolean isTestEnvironment = false;
 
   @Inject
@@ -176,10 +203,17 @@ public class FactSearchManager implements LifecycleAspect, MetricAspect {
     return new MetricsData()
             .addData("indexInvocations", indexMonitor.getTotalInvocations())
             .addData("indexTimeSpent", indexMonitor.getTotalTimeSpent())
+            .addData("bulkIndexInvocations", bulkIndexMonitor.getTotalInvocations())
+            .addData("bulkIndexTimeSpent", bulkIndexMonitor.getTotalTimeSpent())
+            .addData("bulkIndexDocuments", bulkIndexDocuments)
+            .addData("bulkIndexRejectedDocuments", bulkIndexRejectedDocuments)
             .addData("factSearchInitialInvocations", factSearchInitialMonitor.getTotalInvocations())
             .addData("factSearchInitialTimeSpent", factSearchInitialMonitor.getTotalTimeSpent())
             .addData("factSearchNextInvocations", factSearchNextMonitor.getTotalInvocations())
             .addData("factSearchNextTimeSpent", factSearchNextMonitor.getTotalTimeSpent())
+            .addData("factSearchDeduplicationMaxSize", searchDeduplicationMaxSize)
+            .addData("factSearchDeduplicationMaxMemory", searchDeduplicationMaxMemory)
+            .addData("factSearchDeduplicationOverflows", searchDeduplicationOverflows)
             .addData("objectSearchInvocations", objectSearchMonitor.getTotalInvocations())
             .addData("objectSearchTimeSpent", objectSearchMonitor.getTotalTimeSpent())
             .addData("objectStatisticsInvocations", objectStatisticsMonitor.getTotalInvocations())
@@ -247,6 +281,52 @@ public class FactSearchManager implements LifecycleAspect, MetricAspect {
     return fact;
   }
 
+  /**
+   * Index multiple Facts into ElasticSearch using bulk requests. The Facts are split up into multiple bulk requests
+   * where each request contains at most 'bulkMaxActions' Facts or 'bulkMaxSizeInBytes' of data and is bound by
+   * 'bulkTimeout' on the server and 'bulkClientTimeout' on the client. The returned result reports which Facts were
+   * indexed and which Facts failed, thus, the caller is able to retry the failed Facts only.
+   * <p>
+   * Failures of the entire bulk request (e.g. ElasticSearch is unavailable) will not throw an exception but mark all
+   * Facts included in the failed bulk request as failed.
+   *
+   * @param facts Facts to index
+   * @param index Index into which the Facts will be indexed
+   * @return Result reporting indexed and failed Facts
+   */
+  public BulkIndexResult indexFacts(Collection<FactDocument> facts, TargetIndex index) {
+    BulkIndexResult.Builder result = BulkIndexResult.builder();
+    if (CollectionUtils.isEmpty(facts)) return result.build();
+
+    BulkRequest request = createBulkRequest();
+    for (FactDocument fact : facts) {
+      if (fact == null || fact.getId() == null) continue;
+
+      try {
+        request.add(new IndexRequest(resolveIndexName(fact, index))
+                .id(fact.getId().toString())
+                .source(FACT_DOCUMENT_WRITER.writeValueAsBytes(fact), XContentType.JSON));
+      } catch (IOException ex) {
+        LOGGER.warning(ex, "Could not serialize Fact with id = %s. Skip it in bulk request.", fact.getId());
+        result.addFailure(fact.getId(), ex.getMessage());
+        continue;
+      }
+
+      // Flush the current bulk request when it reached its maximum size and start a new one.
+      if (request.numberOfActions() >= bulkMaxActions || request.estimatedSizeInBytes() >= bulkMaxSizeInBytes) {
+        executeBulkRequest(request, result);
+        request = createBulkRequest();
+      }
+    }
+
+    // Flush remaining Facts.
+    if (request.numberOfActions() > 0) {
+      executeBulkRequest(request, result);
+    }
+
+    return result.build();
+  }
+
   /**
    * Search for Facts indexed in ElasticSearch by a given search criteria. Only Facts satisfying the search criteria
    * will be returned. Returns a result container which will stream out the results from ElasticSearch. It will not
@@ -264,19 +344,28 @@ public class FactSearchManager implements LifecycleAspect, MetricAspect {
     if (criteria == null) return ScrollingSearchResult.<UUID>builder().build();
 
     SearchResponse response;
+    String pointInTimeID = null;
     try (TimerContext ignored = TimerContext.timerMillis(factSearchInitialMonitor::invoked)) {
-      response = clientFactory.getClient().search(buildFactsSearchRequest(criteria), RequestOptions.DEFAULT);
+      pointInTimeID = openPointInTime(criteria.getIndexSelectCriteria());
+      response = clientFactory.getClient().search(buildFactsSearchRequest(criteria, pointInTimeID), RequestOptions.DEFAULT);
     } catch (ElasticsearchException | IOException ex) {
+      // Don't leak the point in time until its keep alive expires.
+      closePointInTime(pointInTimeID);
       throw logAndExit(ex, "Could not perform request to search for Facts.");
+    } catch (RuntimeException ex) {
+      closePointInTime(pointInTimeID);
+      throw ex;
     }
 
     if (response.status() != RestStatus.OK) {
       LOGGER.warning("Could not search for Facts (response code %s).", response.status());
+      closePointInTime(ObjectUtils.ifNull(response.pointInTimeId(), pointInTimeID));
       return ScrollingSearchResult.<UUID>builder().build();
     }
 
     if (response.getTotalShards() == 0) {
       LOGGER.warning("Search for Facts did not hit any shards.");
+      closePointInTime(ObjectUtils.ifNull(response.pointInTimeId(), pointInTimeID));
       return ScrollingSearchResult.<UUID>builder().build();
     }
 
@@ -286,6 +375,7 @@ public class FactSearchManager implements LifecycleAspect, MetricAspect {
     return ScrollingSearchResult.<UUID>builder()
             .setInitialBatch(createFactsBatch(response))
             .setFetchNextBatch(this::fetchNextFactsBatch)
+            .setDeduplicationFilter(new DeduplicationFilter(searchDeduplicationLimit))
             .setCount(count)
             .build();
   }
@@ -387,11 +477,12 @@ public class FactSearchManager implements LifecycleAspect, MetricAspect {
   }
 
   /**
-   * Specify how long the search context of a scrolling search will be kept open in ElasticSearch. Defaults to 1 minute.
+   * Specify how long the point in time of a streaming search will be kept alive in ElasticSearch between fetching
+   * two batches. Defaults to 1 minute.
    * <p>
    * Accepts an ElasticSearch time unit: https://www.elastic.co/guide/en/elasticsearch/reference/current/common-options.html#time-units
    *
-   * @param searchScrollExpiration Expiration time of search context
+   * @param searchScrollExpiration Keep alive time of point in time
    * @return Class instance, i.e. 'this'
    */
   public FactSearchManager setSearchScrollExpiration(String searchScrollExpiration) {
@@ -400,7 +491,7 @@ public class FactSearchManager implements LifecycleAspect, MetricAspect {
   }
 
   /**
-   * Specify the batch size when fetching data from ElasticSearch using a scrolling search. Defaults to 1000.
+   * Specify the batch size when fetching data from ElasticSearch using a streaming search. Defaults to 1000.
    *
    * @param searchScrollSize Batch size
    * @return Class instance, i.e. 'this'
@@ -410,6 +501,71 @@ public class FactSearchManager implements LifecycleAspect, MetricAspect {
     return this;
   }
 
+  /**
+   * Specify the maximum number of unique results tracked per streaming search in order to skip duplicates
+   * (the same Fact can be stored in multiple daily indices). Defaults to 1,000,000 which requires about 33.5MB
+   * (2,097,152 slots of 16 bytes) once fully used.
+   * <p>
+   * When a search returns more unique results than this limit duplicates might be returned for the remaining results.
+   *
+   * @param searchDeduplicationLimit Maximum number of tracked results per search
+   * @return Class instance, i.e. 'this'
+   */
+  public FactSearchManager setSearchDeduplicationLimit(int searchDeduplicationLimit) {
+    this.searchDeduplicationLimit = searchDeduplicationLimit;
+    return this;
+  }
+
+  /**
+   * Specify the maximum number of documents sent to ElasticSearch in one bulk request. Defaults to 1000.
+   *
+   * @param bulkMaxActions Maximum number of documents per bulk request
+   * @return Class instance, i.e. 'this'
+   */
+  public FactSearchManager setBulkMaxActions(int bulkMaxActions) {
+    this.bulkMaxActions = bulkMaxActions;
+    return this;
+  }
+
+  /**
+   * Specify the maximum (estimated) size of one bulk request sent to ElasticSearch. Defaults to 5MB.
+   *
+   * @param bulkMaxSizeInBytes Maximum size of a bulk request in bytes
+   * @return Class instance, i.e. 'this'
+   */
+  public FactSearchManager setBulkMaxSizeInBytes(long bulkMaxSizeInBytes) {
+    this.bulkMaxSizeInBytes = bulkMaxSizeInBytes;
+    return this;
+  }
+
+  /**
+   * Specify how long ElasticSearch will wait for the shards to become available when executing a bulk request.
+   * Defaults to 1 minute.
+   * <p>
+   * Accepts an ElasticSearch time unit: https://www.elastic.co/guide/en/elasticsearch/reference/current/common-options.html#time-units
+   *
+   * @param bulkTimeout Timeout of one bulk request
+   * @return Class instance, i.e. 'this'
+   */
+  public FactSearchManager setBulkTimeout(String bulkTimeout) {
+    this.bulkTimeout = bulkTimeout;
+    return this;
+  }
+
+  /**
+   * Specify how long (in ms) the client waits for the response of a bulk request before the request is cancelled and
+   * all included Facts are marked as failed. Defaults to 2 minutes.
+   * <p>
+   * The 'bulkTimeout' is only applied by ElasticSearch itself and doesn't protect against a stalled node.
+   *
+   * @param bulkClientTimeout Maximum time to wait for one bulk request
+   * @return Class instance, i.e. 'this'
+   */
+  public FactSearchManager setBulkClientTimeout(long bulkClientTimeout) {
+    this.bulkClientTimeout = bulkClientTimeout;
+    return this;
+  }
+
   private boolean shouldUpdateDailyIlmPolicy() {
     try {
       // The high-level REST client does NOT include the "_meta" field in the response.
@@ -475,20 +631,89 @@ public class FactSearchManager implements LifecycleAspect, MetricAspect {
     LOGGER.info("Successfully uploaded configuration '%s'.", name);
   }
 
-  private ScrollingSearchResult.ScrollingBatch<UUID> fetchNextFactsBatch(String scrollId) {
+  private BulkRequest createBulkRequest() {
+    return new BulkRequest()
+            .timeout(bulkTimeout)
+            .setRefreshPolicy(isTestEnvironment ? WriteRequest.RefreshPolicy.IMMEDIATE : WriteRequest.RefreshPolicy.NONE);
+  }
+
+  private void executeBulkRequest(BulkRequest request, BulkIndexResult.Builder result) {
+    bulkIndexDocuments.addAndGet(request.numberOfActions());
+
+    BulkResponse response;
+    try (TimerContext ignored = TimerContext.timerMillis(bulkIndexMonitor::invoked)) {
+      response = executeBulkRequestWithTimeout(request);
+    } catch (ElasticsearchException | IOException ex) {
+      LOGGER.error(ex, "Could not perform bulk request to index %d Facts.", request.numberOfActions());
+      // The whole request failed, thus, mark all included Facts as failed.
+      bulkIndexRejectedDocuments.addAndGet(request.numberOfActions());
+      for (DocWriteRequest<?> item : request.requests()) {
+        result.addFailure(UUID.fromString(item.id()), ex.getMessage());
+      }
+      return;
+    }
+
+    for (BulkItemResponse item : response) {
+      UUID id = UUID.fromString(item.getId());
+      if (item.isFailed()) {
+        LOGGER.warning("Could not index Fact with id = %s into index = %s (%s).", id, item.getIndex(), item.getFailureMessage());
+        bulkIndexRejectedDocuments.incrementAndGet();
+        result.addFailure(id, item.getFailureMessage());
+      } else {
+        result.addIndexed(id);
+      }
+    }
+
+    LOGGER.debug("Successfully executed bulk request with %d Facts (took %s).", request.numberOfActions(), response.getTook());
+  }
+
+  private BulkResponse executeBulkRequestWithTimeout(BulkRequest request) throws IOException {
+    // Execute the request asynchronously in order to bound how long the client waits for the response.
+    CompletableFuture<BulkResponse> future = new CompletableFuture<>();
+    Cancellable cancellable = clientFactory.getClient().bulkAsync(request, RequestOptions.DEFAULT,
+            ActionListener.wrap(future::complete, future::completeExceptionally));
+
+    try {
+      return future.get(bulkClientTimeout, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException ex) {
+      cancellable.cancel();
+      throw new IOException(String.format("Bulk request did not complete within %d ms.", bulkClientTimeout), ex);
+    } catch (InterruptedException ex) {
+      cancellable.cancel();
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while waiting for bulk request to complete.", ex);
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof ElasticsearchException) throw (ElasticsearchException) ex.getCause();
+      if (ex.getCause() instanceof IOException) throw (IOException) ex.getCause();
+      throw new IOException(ex.getCause());
+    }
+  }
+
+  private String openPointInTime(IndexSelectCriteria criteria) throws IOException {
+    OpenPointInTimeRequest request = new OpenPointInTimeRequest(selectIndices(criteria))
+            .indicesOptions(INDICES_OPTIONS)
+            .keepAlive(parseKeepAlive());
+    return clientFactory.getClient().openPointInTime(request, RequestOptions.DEFAULT).getPointInTimeId();
+  }
+
+  private ScrollingSearchResult.ScrollingBatch<UUID> fetchNextFactsBatch(String pointInTimeID, Object[] searchAfter) {
     SearchResponse response;
     try (TimerContext ignored = TimerContext.timerMillis(factSearchNextMonitor::invoked)) {
-      SearchScrollRequest request = new SearchScrollRequest()
-              .scrollId(scrollId)
-              .scroll(searchScrollExpiration);
-      response = clientFactory.getClient().scroll(request, RequestOptions.DEFAULT);
+      SearchSourceBuilder sourceBuilder = createPointInTimeSourceBuilder(pointInTimeID)
+              .trackTotalHits(false); // Total hits aren't required when fetching the next batch.
+      if (searchAfter != null) {
+        sourceBuilder.searchAfter(searchAfter);
+      }
+      response = clientFactory.getClient().search(new SearchRequest().source(sourceBuilder), RequestOptions.DEFAULT);
     } catch (ElasticsearchException | IOException ex) {
-      LOGGER.warning(ex, "Could not perform request to retrieve next batch of search results. Stop scrolling.");
+      LOGGER.warning(ex, "Could not perform request to retrieve next batch of search results. Stop streaming.");
+      closePointInTime(pointInTimeID);
       return ScrollingSearchResult.emptyBatch();
     }
 
     if (response.status() != RestStatus.OK) {
-      LOGGER.warning("Could not retrieve next batch of search results (response code %s). Stop scrolling.", response.status());
+      LOGGER.warning("Could not retrieve next batch of search results (response code %s). Stop streaming.", response.status());
+      closePointInTime(ObjectUtils.ifNull(response.pointInTimeId(), pointInTimeID));
       return ScrollingSearchResult.emptyBatch();
     }
 
@@ -496,58 +721,71 @@ public class FactSearchManager implements LifecycleAspect, MetricAspect {
   }
 
   private ScrollingSearchResult.ScrollingBatch<UUID> createFactsBatch(SearchResponse response) {
-    List<UUID> values = Streams.stream(response.getHits())
+    SearchHit[] hits = response.getHits().getHits();
+    List<UUID> values = Arrays.stream(hits)
             .map(hit -> UUID.fromString(hit.getId()))
             .collect(Collectors.toList());
-    LOGGER.debug("Successfully retrieved next batch of search results (batch: %d, total: %d).", values.size(), response.getHits().getTotalHits().value);
+    LOGGER.debug("Successfully retrieved next batch of search results (batch: %d).", values.size());
 
+    // ElasticSearch might return an updated point in time ID which must be used for subsequent requests.
+    String pointInTimeID = response.pointInTimeId();
     boolean finished = values.size() < searchScrollSize;
     if (finished) {
       LOGGER.debug("Successfully retrieved all search results. No more data available.");
-      // Close search context when all results have been fetched. If the client doesn't consume all results the context
-      // will be kept open until ElasticSearch cleans it up automatically after the expiration time elapsed.
-      closeSearchContext(response.getScrollId());
+      // Close point in time when all results have been fetched. If the client doesn't consume all results the point
+      // in time will be kept open until ElasticSearch cleans it up automatically after the keep alive time elapsed.
+      closePointInTime(pointInTimeID);
     }
 
-    return new ScrollingSearchResult.ScrollingBatch<>(response.getScrollId(), values.iterator(), finished);
+    // The sort values of the last hit are used as the starting point of the next batch.
+    Object[] searchAfter = hits.length > 0 ? hits[hits.length - 1].getSortValues() : null;
+    return new ScrollingSearchResult.ScrollingBatch<>(pointInTimeID, searchAfter, values.iterator(), finished);
   }
 
-  private void closeSearchContext(String scrollId) {
-    ClearScrollRequest request = new ClearScrollRequest();
-    request.addScrollId(scrollId);
+  private void closePointInTime(String pointInTimeID) {
+    if (pointInTimeID == null) return;
 
     // Perform this clean-up asynchronously because the client doesn't require the result.
-    clientFactory.getClient().clearScrollAsync(request, RequestOptions.DEFAULT, new ActionListener<ClearScrollResponse>() {
+    clientFactory.getClient().closePointInTimeAsync(new ClosePointInTimeRequest(pointInTimeID), RequestOptions.DEFAULT, new ActionListener<ClearScrollResponse>() {
       @Override
       public void onResponse(ClearScrollResponse response) {
         if (!response.isSucceeded()) {
-          LOGGER.warning("Could not close search context (response code %s).", response.status());
+          LOGGER.warning("Could not close point in time (response code %s).", response.status());
         } else {
-          LOGGER.debug("Successfully closed search context.");
+          LOGGER.debug("Successfully closed point in time.");
         }
       }
 
       @Override
       public void onFailure(Exception ex) {
-        LOGGER.warning(ex, "Could not close search context.");
+        LOGGER.warning(ex, "Could not close point in time.");
       }
     });
   }
 
-  private SearchRequest buildFactsSearchRequest(FactSearchCriteria criteria) {
-    SearchSourceBuilder sourceBuilder = new SearchSourceBuilder()
-            .size(searchScrollSize)
-            .fetchSource(false) // Not interested in the source as only the UUID of the matching document is needed.
+  private SearchRequest buildFactsSearchRequest(FactSearchCriteria criteria, String pointInTimeID) {
+    SearchSourceBuilder sourceBuilder = createPointInTimeSourceBuilder(pointInTimeID)
             .query(buildFactsQuery(criteria))
             // Use an aggregation to calculate the count because with daily indices the search result will contain duplicates.
             .aggregation(buildFactsCountAggregation());
+    // Indices are part of the point in time, thus, they must not be specified on the search request itself.
     return new SearchRequest()
-            .indices(selectIndices(criteria.getIndexSelectCriteria()))
-            .indicesOptions(INDICES_OPTIONS)
-            .scroll(searchScrollExpiration)
             .source(sourceBuilder);
   }
 
+  private SearchSourceBuilder createPointInTimeSourceBuilder(String pointInTimeID) {
+    return new SearchSourceBuilder()
+            .size(searchScrollSize)
+            .fetchSource(false) // Not interested in the source as only the UUID of the matching document is needed.
+            .pointInTimeBuilder(new PointInTimeBuilder(pointInTimeID).setKeepAlive(parseKeepAlive()))
+            // Sorting by '_shard_doc' gives a stable and cheap sort order across all shards of the point in time.
+            .sort(SortBuilders.fieldSort(SHARD_DOC_SORT_FIELD));
+  }
+
+  private TimeValue parseKeepAlive() {
+    return TimeValue.parseTimeValue(searchScrollExpiration, "keep_alive");
+  }
+
   private SearchRequest buildObjectsSearchRequest(FactSearchCriteria criteria) {
     SearchSourceBuilder sourceBuilder = new SearchSourceBuilder()
             .size(0) // Not interested in the search hits as the search result is part of the returned aggregations.
@@ -1013,4 +1251,33 @@ public class FactSearchManager implements LifecycleAspect, MetricAspect {
     return new IllegalStateException(msg, ex);
   }
 
+  /**
+   * Skips duplicated search results using a {@link BoundedUUIDSet} and records its footprint in the metrics.
+   */
+  private class DeduplicationFilter implements Predicate<UUID> {
+    private final BoundedUUIDSet seenElements;
+
+    private DeduplicationFilter(int limit) {
+      this.seenElements = new BoundedUUIDSet(limit);
+    }
+
+    @Override
+    public boolean test(UUID id) {
+      boolean wasOverflowed = seenElements.isOverflowed();
+      boolean unseen = seenElements.add(id);
+
+      if (seenElements.size() > searchDeduplicationMaxSize.get()) {
+        searchDeduplicationMaxSize.accumulateAndGet(seenElements.size(), Math::max);
+        searchDeduplicationMaxMemory.accumulateAndGet(seenElements.getMemoryFootprint(), Math::max);
+      }
+
+      if (!wasOverflowed && seenElements.isOverflowed()) {
+        LOGGER.warning("Search returned more than %d unique results. Results might contain duplicates.", searchDeduplicationLimit);
+        searchDeduplicationOverflows.incrementAndGet();
+      }
+
+      return unseen;
+    }
+  }
+
 }
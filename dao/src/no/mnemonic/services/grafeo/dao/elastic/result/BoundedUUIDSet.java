@@ -0,0 +1,160 @@
+package no.mnemonic.services.grafeo.dao.elastic.result;
+
+import java.util.UUID;
+
+/**
+ * Memory-efficient set of UUIDs used to de-duplicate search results. It stores the two long values of each UUID
+ * directly inside primitive arrays using open addressing (linear probing), thus, no objects are allocated per element.
+ * Every slot costs 16 bytes and the table is kept at most half full (rounded up to a power of two), thus, each
+ * tracked UUID costs between 32 and 64 bytes compared to more than 100 bytes with a {@link java.util.HashSet}.
+ * <p>
+ * The set is bounded by a maximum size. When the maximum size is reached no new elements are tracked anymore, but
+ * {@link #add(UUID)} will still detect elements which have been added before. This means that duplicates can only
+ * occur for elements seen after the set became full. Use {@link #isOverflowed()} to check whether this happened.
+ * <p>
+ * This class is not thread-safe.
+ */
+public class BoundedUUIDSet {
+
+  private static final int MINIMUM_CAPACITY = 16;
+  private static final int INITIAL_CAPACITY = 1024;
+  private static final int MAXIMUM_SIZE = 1 << 29;
+
+  private final int maximumSize;
+
+  private long[] mostSignificantBits;
+  private long[] leastSignificantBits;
+  private int mask;
+  private int size;
+  // The nil UUID (all bits zero) is used as marker for empty slots, thus, it needs to be tracked separately.
+  private boolean containsNil;
+  private boolean overflowed;
+
+  /**
+   * Creates a new set which tracks at most 'maximumSize' UUIDs.
+   *
+   * @param maximumSize Maximum number of tracked UUIDs (capped at 2^29)
+   */
+  public BoundedUUIDSet(int maximumSize) {
+    if (maximumSize <= 0) throw new IllegalArgumentException("'maximumSize' must be positive!");
+    this.maximumSize = Math.min(maximumSize, MAXIMUM_SIZE);
+    allocate(Math.min(INITIAL_CAPACITY, capacityFor(this.maximumSize)));
+  }
+
+  /**
+   * Adds a UUID to the set.
+   * <p>
+   * Returns true if the UUID has not been seen before, and false if the UUID is already contained in the set. If the
+   * set is full a UUID not contained in the set is reported as not seen before (i.e. true) but won't be tracked.
+   *
+   * @param uuid UUID to add
+   * @return True if the UUID has not been seen before
+   */
+  public boolean add(UUID uuid) {
+    if (uuid == null) return false;
+
+    long msb = uuid.getMostSignificantBits();
+    long lsb = uuid.getLeastSignificantBits();
+    if (msb == 0 && lsb == 0) {
+      if (containsNil) return false;
+      if (!hasSpace()) return true;
+      containsNil = true;
+      size++;
+      return true;
+    }
+
+    int index = hash(msb, lsb) & mask;
+    while (mostSignificantBits[index] != 0 || leastSignificantBits[index] != 0) {
+      if (mostSignificantBits[index] == msb && leastSignificantBits[index] == lsb) return false;
+      index = (index + 1) & mask;
+    }
+
+    if (!hasSpace()) return true;
+
+    mostSignificantBits[index] = msb;
+    leastSignificantBits[index] = lsb;
+    size++;
+
+    // Keep the load factor below 0.5 in order to have short probe sequences.
+    if (size * 2 > mostSignificantBits.length) {
+      resize(mostSignificantBits.length * 2);
+    }
+
+    return true;
+  }
+
+  /**
+   * Returns the number of tracked UUIDs.
+   *
+   * @return Number of tracked UUIDs
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns true if the set reached its maximum size and at least one UUID could not be tracked.
+   *
+   * @return True if at least one UUID could not be tracked
+   */
+  public boolean isOverflowed() {
+    return overflowed;
+  }
+
+  /**
+   * Returns the number of bytes allocated for the primitive arrays backing this set.
+   *
+   * @return Allocated bytes
+   */
+  public long getMemoryFootprint() {
+    return 2L * Long.BYTES * mostSignificantBits.length;
+  }
+
+  private boolean hasSpace() {
+    if (size < maximumSize) return true;
+    overflowed = true;
+    return false;
+  }
+
+  private void resize(int newCapacity) {
+    long[] oldMostSignificantBits = mostSignificantBits;
+    long[] oldLeastSignificantBits = leastSignificantBits;
+    allocate(newCapacity);
+
+    for (int i = 0; i < oldMostSignificantBits.length; i++) {
+      long msb = oldMostSignificantBits[i];
+      long lsb = oldLeastSignificantBits[i];
+      if (msb == 0 && lsb == 0) continue;
+
+      int index = hash(msb, lsb) & mask;
+      while (mostSignificantBits[index] != 0 || leastSignificantBits[index] != 0) {
+        index = (index + 1) & mask;
+      }
+      mostSignificantBits[index] = msb;
+      leastSignificantBits[index] = lsb;
+    }
+  }
+
+  private void allocate(int capacity) {
+    mostSignificantBits = new long[capacity];
+    leastSignificantBits = new long[capacity];
+    mask = capacity - 1;
+  }
+
+  private static int capacityFor(int maximumSize) {
+    // Smallest power of two which keeps the load factor below 0.5 when the set is full.
+    return (int) Long.highestOneBit(Math.max(MINIMUM_CAPACITY, 2L * maximumSize) - 1) << 1;
+  }
+
+  private static int hash(long msb, long lsb) {
+    // Finalization step of MurmurHash3 to spread the bits evenly.
+    long h = msb ^ lsb;
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return (int) h;
+  }
+
+}
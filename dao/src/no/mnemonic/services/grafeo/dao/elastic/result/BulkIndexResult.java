@@ -0,0 +1,79 @@
+package no.mnemonic.services.grafeo.dao.elastic.result;
+
+import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.collections.MapUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Container holding the outcome of indexing multiple documents into ElasticSearch using bulk requests.
+ * It reports which documents were successfully indexed and which documents failed together with the failure reason.
+ */
+public class BulkIndexResult {
+
+  private final Set<UUID> indexedIDs;
+  private final Map<UUID, String> failures;
+
+  private BulkIndexResult(Set<UUID> indexedIDs, Map<UUID, String> failures) {
+    this.indexedIDs = ObjectUtils.ifNotNull(indexedIDs, Collections::unmodifiableSet, Collections.emptySet());
+    this.failures = ObjectUtils.ifNotNull(failures, Collections::unmodifiableMap, Collections.emptyMap());
+  }
+
+  /**
+   * Returns the IDs of all documents which have been successfully indexed.
+   *
+   * @return IDs of indexed documents
+   */
+  public Set<UUID> getIndexedIDs() {
+    return indexedIDs;
+  }
+
+  /**
+   * Returns the IDs of all documents which could not be indexed mapped to the reason of the failure.
+   *
+   * @return IDs of failed documents with failure reason
+   */
+  public Map<UUID, String> getFailures() {
+    return failures;
+  }
+
+  /**
+   * Returns true if at least one document could not be indexed.
+   *
+   * @return True if indexing of at least one document failed
+   */
+  public boolean hasFailures() {
+    return !failures.isEmpty();
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public static class Builder {
+    private Set<UUID> indexedIDs;
+    private Map<UUID, String> failures;
+
+    private Builder() {
+    }
+
+    public BulkIndexResult build() {
+      return new BulkIndexResult(indexedIDs, failures);
+    }
+
+    public Builder addIndexed(UUID id) {
+      this.indexedIDs = SetUtils.addToSet(this.indexedIDs, id);
+      return this;
+    }
+
+    public Builder addFailure(UUID id, String reason) {
+      this.failures = MapUtils.addToMap(this.failures, id, reason);
+      return this;
+    }
+  }
+
+}
@@ -3,31 +3,40 @@ package no.mnemonic.services.grafeo.dao.elastic.result;
 import no.mnemonic.commons.utilities.ObjectUtils;
 
 import java.util.*;
-import java.util.function.Function;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
 
 /**
  * Container streaming out the results of a search from ElasticSearch, i.e. the matching documents. The container
  * implements {@link Iterator} and fetches search results batch-wise until no more results are available.
+ * <p>
+ * Batches are fetched by paginating through a point in time (PIT) using 'search_after'. Each batch carries the PIT ID
+ * and the sort values of its last hit which are required for fetching the next batch.
  *
  * @param <T> Type of result values
  */
 public class ScrollingSearchResult<T> implements Iterator<T> {
 
-  private final Set<T> seenElements = new HashSet<>();
-  private final Function<String, ScrollingBatch<T>> fetchNextBatch;
+  private final Predicate<T> deduplicationFilter;
+  private final BiFunction<String, Object[], ScrollingBatch<T>> fetchNextBatch;
   private final int count;
 
   private ScrollingBatch<T> currentBatch;
   private T nextElement;
 
-  private ScrollingSearchResult(ScrollingBatch<T> initialBatch, Function<String, ScrollingBatch<T>> fetchNextBatch, int count) {
+  private ScrollingSearchResult(ScrollingBatch<T> initialBatch, BiFunction<String, Object[], ScrollingBatch<T>> fetchNextBatch,
+                                Predicate<T> deduplicationFilter, int count) {
     this.currentBatch = ObjectUtils.notNull(initialBatch, "'initialBatch' cannot be null!");
     this.fetchNextBatch = ObjectUtils.notNull(fetchNextBatch, "'fetchNextBatch' cannot be null!");
+    this.deduplicationFilter = deduplicationFilter != null ? deduplicationFilter : new HashSet<T>()::add;
     this.count = count;
   }
 
   @Override
   public boolean hasNext() {
+    // Calling hasNext() multiple times without next() must not skip any elements.
+    if (nextElement != null) return true;
+
     // Fetch next element while there's more data available (either in the current batch or the next one).
     while (true) {
       nextElement = getNextElement();
@@ -38,7 +47,7 @@ public class ScrollingSearchResult<T> implements Iterator<T> {
       if (currentBatch.isFinished()) return false;
 
       // The current batch has no more data but there are more batches available, thus, proceed to the next batch.
-      currentBatch = ObjectUtils.notNull(fetchNextBatch.apply(currentBatch.getScrollId()), "'currentBatch' cannot be null!");
+      currentBatch = ObjectUtils.notNull(fetchNextBatch.apply(currentBatch.getPointInTimeID(), currentBatch.getSearchAfter()), "'currentBatch' cannot be null!");
     }
   }
 
@@ -54,9 +63,8 @@ public class ScrollingSearchResult<T> implements Iterator<T> {
   private T getNextElement() {
     while (currentBatch.hasNext()) {
       T next = currentBatch.next();
-      if (!seenElements.contains(next)) {
+      if (deduplicationFilter.test(next)) {
         // Only return elements which have not been seen before, i.e. duplicates will be skipped.
-        seenElements.add(next);
         return next;
       }
     }
@@ -81,7 +89,7 @@ public class ScrollingSearchResult<T> implements Iterator<T> {
    * @return Empty result batch
    */
   public static <T> ScrollingBatch<T> emptyBatch() {
-    return new ScrollingBatch<>("EMPTY_SCROLLING_BATCH", Collections.emptyIterator(), true);
+    return new ScrollingBatch<>("EMPTY_SCROLLING_BATCH", null, Collections.emptyIterator(), true);
   }
 
   /**
@@ -101,7 +109,8 @@ public class ScrollingSearchResult<T> implements Iterator<T> {
    */
   public static class Builder<T> {
     private ScrollingBatch<T> initialBatch = emptyBatch();
-    private Function<String, ScrollingBatch<T>> fetchNextBatch = scrollId -> emptyBatch();
+    private BiFunction<String, Object[], ScrollingBatch<T>> fetchNextBatch = (pointInTimeID, searchAfter) -> emptyBatch();
+    private Predicate<T> deduplicationFilter;
     private int count;
 
     private Builder() {
@@ -113,7 +122,7 @@ public class ScrollingSearchResult<T> implements Iterator<T> {
      * @return New ScrollingSearchResult
      */
     public ScrollingSearchResult<T> build() {
-      return new ScrollingSearchResult<>(initialBatch, fetchNextBatch, count);
+      return new ScrollingSearchResult<>(initialBatch, fetchNextBatch, deduplicationFilter, count);
     }
 
     /**
@@ -130,16 +139,31 @@ public class ScrollingSearchResult<T> implements Iterator<T> {
     /**
      * Sets function to fetch next batch of search results.
      * <p>
-     * It takes an ElasticSearch scroll ID as input and should return the next batch of search results.
+     * It takes an ElasticSearch point in time ID and the sort values of the last hit of the previous batch
+     * ('search_after') as input and should return the next batch of search results.
      *
      * @param fetchNextBatch Function to fetch next batch of search results
      * @return This builder
      */
-    public Builder<T> setFetchNextBatch(Function<String, ScrollingBatch<T>> fetchNextBatch) {
+    public Builder<T> setFetchNextBatch(BiFunction<String, Object[], ScrollingBatch<T>> fetchNextBatch) {
       this.fetchNextBatch = fetchNextBatch;
       return this;
     }
 
+    /**
+     * Sets the filter used to skip duplicated search results. The filter must return true if an element is seen
+     * for the first time and false if the element has been seen before.
+     * <p>
+     * Defaults to a filter backed by an unbounded {@link HashSet}.
+     *
+     * @param deduplicationFilter Filter to skip duplicated search results
+     * @return This builder
+     */
+    public Builder<T> setDeduplicationFilter(Predicate<T> deduplicationFilter) {
+      this.deduplicationFilter = deduplicationFilter;
+      return this;
+    }
+
     /**
      * Sets the total number of indexed documents matching a given search criteria, i.e. the amount of available search results.
      *
@@ -158,30 +182,42 @@ public class ScrollingSearchResult<T> implements Iterator<T> {
    * @param <T> Type of result values
    */
   public static class ScrollingBatch<T> implements Iterator<T> {
-    private final String scrollId;
+    private final String pointInTimeID;
+    private final Object[] searchAfter;
     private final Iterator<T> values;
     private final boolean finished;
 
     /**
      * Creates a new batch of search results.
      *
-     * @param scrollId Scroll ID returned from ElasticSearch
-     * @param values   Search results from current batch
-     * @param finished Whether more data is available in ElasticSearch
+     * @param pointInTimeID Point in time ID returned from ElasticSearch
+     * @param searchAfter   Sort values of the last hit in the current batch (can be null if the batch is empty)
+     * @param values        Search results from current batch
+     * @param finished      Whether more data is available in ElasticSearch
      */
-    public ScrollingBatch(String scrollId, Iterator<T> values, boolean finished) {
-      this.scrollId = ObjectUtils.notNull(scrollId, "'scrollId' cannot be null!");
+    public ScrollingBatch(String pointInTimeID, Object[] searchAfter, Iterator<T> values, boolean finished) {
+      this.pointInTimeID = ObjectUtils.notNull(pointInTimeID, "'pointInTimeID' cannot be null!");
+      this.searchAfter = searchAfter;
       this.values = ObjectUtils.notNull(values, "'values' cannot be null!");
       this.finished = finished;
     }
 
     /**
-     * Returns the scroll ID from ElasticSearch required for fetching more batches.
+     * Returns the point in time ID from ElasticSearch required for fetching more batches.
+     *
+     * @return Point in time ID
+     */
+    String getPointInTimeID() {
+      return pointInTimeID;
+    }
+
+    /**
+     * Returns the sort values of the last hit in this batch required for fetching more batches.
      *
-     * @return Scroll ID
+     * @return Sort values used as 'search_after' for the next batch
      */
-    String getScrollId() {
-      return scrollId;
+    Object[] getSearchAfter() {
+      return searchAfter;
     }
 
     /**
@@ -1,7 +1,10 @@
 package no.mnemonic.services.grafeo.dao.facade;
 
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Streams;
 import no.mnemonic.commons.utilities.collections.CollectionUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
 import no.mnemonic.services.grafeo.dao.api.ObjectFactDao;
 import no.mnemonic.services.grafeo.dao.api.criteria.FactSearchCriteria;
 import no.mnemonic.services.grafeo.dao.api.criteria.ObjectStatisticsCriteria;
@@ -13,15 +16,16 @@ import no.mnemonic.services.grafeo.dao.api.result.ObjectStatisticsContainer;
 import no.mnemonic.services.grafeo.dao.api.result.ResultContainer;
 import no.mnemonic.services.grafeo.dao.cassandra.FactManager;
 import no.mnemonic.services.grafeo.dao.cassandra.ObjectManager;
+import no.mnemonic.services.grafeo.dao.cassandra.WriteMode;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.*;
 import no.mnemonic.services.grafeo.dao.elastic.FactSearchManager;
-import no.mnemonic.services.grafeo.dao.elastic.document.FactDocument;
 import no.mnemonic.services.grafeo.dao.elastic.result.ScrollingSearchResult;
 import no.mnemonic.services.grafeo.dao.elastic.result.SearchResult;
 import no.mnemonic.services.grafeo.dao.facade.converters.FactAclEntryRecordConverter;
 import no.mnemonic.services.grafeo.dao.facade.converters.FactCommentRecordConverter;
 import no.mnemonic.services.grafeo.dao.facade.converters.FactRecordConverter;
 import no.mnemonic.services.grafeo.dao.facade.converters.ObjectRecordConverter;
+import no.mnemonic.services.grafeo.dao.facade.helpers.FactIndexer;
 import no.mnemonic.services.grafeo.dao.facade.helpers.FactRecordHasher;
 import no.mnemonic.services.grafeo.dao.facade.resolvers.CachedFactResolver;
 import no.mnemonic.services.grafeo.dao.facade.resolvers.CachedObjectResolver;
@@ -30,14 +34,16 @@ import javax.inject.Inject;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
-import static no.mnemonic.services.grafeo.dao.elastic.FactSearchManager.TargetIndex.Daily;
-import static no.mnemonic.services.grafeo.dao.elastic.FactSearchManager.TargetIndex.TimeGlobal;
-
 public class ObjectFactDaoFacade implements ObjectFactDao {
 
+  private static final int RESOLVE_CHUNK_SIZE = 500;
+
   private final ObjectManager objectManager;
   private final FactManager factManager;
   private final FactSearchManager factSearchManager;
@@ -47,6 +53,7 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
   private final FactCommentRecordConverter factCommentRecordConverter;
   private final CachedObjectResolver objectResolver;
   private final CachedFactResolver factResolver;
+  private final FactIndexer factIndexer;
   private final Consumer<FactRecord> dcReplicationConsumer;
 
   @Inject
@@ -59,6 +66,7 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
                              FactCommentRecordConverter factCommentRecordConverter,
                              CachedObjectResolver objectResolver,
                              CachedFactResolver factResolver,
+                             FactIndexer factIndexer,
                              Consumer<FactRecord> dcReplicationConsumer) {
     this.objectManager = objectManager;
     this.factManager = factManager;
@@ -69,6 +77,7 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
     this.factCommentRecordConverter = factCommentRecordConverter;
     this.objectResolver = objectResolver;
     this.factResolver = factResolver;
+    this.factIndexer = factIndexer;
     this.dcReplicationConsumer = dcReplicationConsumer;
   }
 
@@ -91,8 +100,10 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
       record.setId(UUID.randomUUID());
     }
 
-    objectManager.saveObject(objectRecordConverter.toEntity(record));
-    return record;
+    ObjectEntity entity = objectRecordConverter.toEntity(record);
+    ObjectEntity saved = objectManager.saveObject(entity);
+    // If the same Object has been created concurrently by another request return the existing Object instead.
+    return saved == entity ? record : objectRecordConverter.fromEntity(saved);
   }
 
   @Override
@@ -110,11 +121,9 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
       return ResultContainer.<ObjectRecord>builder().build();
     }
 
-    // Fetch Objects from Cassandra (or cache).
-    Iterator<ObjectRecord> resultsIterator = searchResult.getValues()
-            .stream()
-            .map(objectResolver::getObject)
-            .filter(Objects::nonNull)
+    // Fetch Objects from Cassandra (or cache) in chunks.
+    Iterator<ObjectRecord> resultsIterator = Streams.stream(Iterators.partition(searchResult.getValues().iterator(), RESOLVE_CHUNK_SIZE))
+            .flatMap(ids -> objectResolver.getObjects(ids).stream())
             .iterator();
 
     return ResultContainer.<ObjectRecord>builder()
@@ -128,8 +137,18 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
     return factResolver.getFact(id);
   }
 
+  @Override
+  public List<FactRecord> getFacts(Collection<UUID> ids) {
+    return factResolver.getFacts(ids);
+  }
+
   @Override
   public FactRecord storeFact(FactRecord record) {
+    return storeFact(record, false);
+  }
+
+  @Override
+  public FactRecord storeFact(FactRecord record, boolean waitForIndex) {
     if (record == null) return null;
 
     // Ensure that id is set.
@@ -137,29 +156,80 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
       record.setId(UUID.randomUUID());
     }
 
-    // Save new Fact and lookup tables in Cassandra.
+    // Save new Fact in Cassandra. This must happen first because all other entries reference the Fact.
     FactEntity entity = factRecordConverter.toEntity(record);
     factManager.saveFact(entity);
-    saveFactExistence(record);
-    saveFactObjectBindings(entity);
-    saveMetaFactBindings(entity);
-    saveFactByTimestamp(entity);
-    saveFactRefreshLog(record);
 
-    // Save all ACL entries and comments in Cassandra.
-    saveAclEntries(record);
-    saveComments(record);
+    // Claim the hash of the Fact first. If the lightweight transaction loses against a concurrently created
+    // duplicate the dependent writes below must not be issued, otherwise they would leave orphaned entries behind.
+    awaitAll(ListUtils.list(saveFactExistence(record)));
+
+    // Save lookup tables, ACL entries and comments in Cassandra. Those writes are independent of each other,
+    // thus, execute them concurrently and wait until all of them have finished. The Fact has just been saved
+    // and the referenced Objects have been resolved by the caller, thus, the writes don't need to be validated.
+    List<CompletionStage<?>> writes = saveDependentEntries(record, entity);
+    awaitAll(writes);
 
     // Index new Fact in ElasticSearch.
-    indexFact(record);
+    factIndexer.index(record, waitForIndex);
     // Initiate data center replication.
     dcReplicationConsumer.accept(record);
 
     return record;
   }
 
+  @Override
+  public List<FactRecord> storeFacts(List<FactRecord> records) {
+    if (CollectionUtils.isEmpty(records)) return ListUtils.list();
+
+    List<FactRecord> facts = records.stream()
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    // Ensure that ids are set.
+    facts.stream()
+            .filter(record -> record.getId() == null)
+            .forEach(record -> record.setId(UUID.randomUUID()));
+
+    // Save new Facts in Cassandra. This must happen first because all other entries reference the Facts.
+    List<FactEntity> entities = ListUtils.list(facts, factRecordConverter::toEntity);
+    awaitAll(entities.stream()
+            .map(factManager::saveFactAsync)
+            .collect(Collectors.toList()));
+
+    // Claim the hashes of all Facts first, same as in storeFact(). Wait for all lightweight transactions to finish
+    // (instead of failing on the first lost one) in order to complete the entries of the Facts which won.
+    List<CompletableFuture<?>> existence = ListUtils.list(facts, record -> saveFactExistence(record).toCompletableFuture());
+    CompletableFuture.allOf(existence.toArray(new CompletableFuture[0]))
+            .exceptionally(ignored -> null)
+            .join();
+
+    // Save lookup tables, ACL entries and comments of all Facts with a claimed hash concurrently.
+    List<FactRecord> claimed = ListUtils.list();
+    List<CompletionStage<?>> writes = ListUtils.list();
+    for (int i = 0; i < facts.size(); i++) {
+      if (existence.get(i).isCompletedExceptionally()) continue;
+      claimed.add(facts.get(i));
+      writes.addAll(saveDependentEntries(facts.get(i), entities.get(i)));
+    }
+    awaitAll(writes);
+
+    // Index new Facts in ElasticSearch.
+    factIndexer.index(claimed, false);
+    // Initiate data center replication.
+    claimed.forEach(dcReplicationConsumer);
+    // Propagate a lost lightweight transaction after all other Facts have been completed.
+    awaitAll(existence);
+
+    return facts;
+  }
+
   @Override
   public FactRecord refreshFact(FactRecord record) {
+    return refreshFact(record, false);
+  }
+
+  @Override
+  public FactRecord refreshFact(FactRecord record, boolean waitForIndex) {
     if (record == null) return null;
 
     updateAndSaveFact(record, entity -> entity
@@ -168,28 +238,78 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
     );
 
     // Save a new refresh log entry everytime a Fact is refreshed.
-    saveFactRefreshLog(record);
+    List<CompletionStage<?>> writes = ListUtils.list(saveFactRefreshLog(record));
 
     // Save new ACL entries and comments in Cassandra.
-    saveAclEntries(record);
-    saveComments(record);
+    writes.addAll(saveAclEntries(record, WriteMode.Trusted));
+    writes.addAll(saveComments(record, WriteMode.Trusted));
+    awaitAll(writes);
 
     // After everything is saved reindex Fact in ElasticSearch.
-    return reindexFact(record);
+    return reindexFact(record, waitForIndex);
+  }
+
+  @Override
+  public List<FactRecord> refreshFacts(List<FactRecord> records) {
+    if (CollectionUtils.isEmpty(records)) return ListUtils.list();
+
+    List<FactRecord> facts = records.stream()
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+
+    // Fetch Facts directly from Cassandra to avoid stale cache issues, same as in updateAndSaveFact().
+    Map<UUID, FactEntity> entities = factManager.getFacts(ListUtils.list(facts, FactRecord::getId))
+            .stream()
+            .collect(Collectors.toMap(FactEntity::getId, entity -> entity));
+
+    List<CompletionStage<?>> updates = ListUtils.list();
+    for (FactRecord record : facts) {
+      FactEntity entity = entities.get(record.getId());
+      if (entity == null) {
+        // If this ever happens it's a bug in the code calling ObjectFactDaoFacade!
+        throw new IllegalStateException(String.format("Could not fetch Fact with id = %s from Cassandra.", record.getId()));
+      }
+
+      entity.setLastSeenTimestamp(record.getLastSeenTimestamp())
+              .setLastSeenByID(record.getLastSeenByID());
+      updates.add(factManager.saveFactAsync(addAclAndCommentFlags(record, entity)));
+    }
+    awaitAll(updates);
+
+    // Save refresh log entries, new ACL entries and comments in Cassandra.
+    List<CompletionStage<?>> writes = ListUtils.list();
+    for (FactRecord record : facts) {
+      writes.add(saveFactRefreshLog(record));
+      writes.addAll(saveAclEntries(record, WriteMode.Trusted));
+      writes.addAll(saveComments(record, WriteMode.Trusted));
+    }
+    awaitAll(writes);
+
+    // After everything is saved reload and reindex Facts, same as in reindexFact().
+    facts.forEach(factResolver::evict);
+    List<FactRecord> refreshed = factResolver.getFacts(ListUtils.list(facts, FactRecord::getId));
+    factIndexer.index(refreshed, false);
+    refreshed.forEach(dcReplicationConsumer);
+
+    return refreshed;
   }
 
   @Override
   public FactRecord retractFact(FactRecord record) {
+    return retractFact(record, false);
+  }
+
+  @Override
+  public FactRecord retractFact(FactRecord record, boolean waitForIndex) {
     if (record == null) return null;
 
     updateAndSaveFact(record, entity -> entity.addFlag(FactEntity.Flag.RetractedHint));
 
     // Save new ACL entries and comments in Cassandra.
-    saveAclEntries(record);
-    saveComments(record);
+    awaitAll(ListUtils.concatenate(saveAclEntries(record, WriteMode.Trusted), saveComments(record, WriteMode.Trusted)));
 
     // After everything is saved reindex Fact in ElasticSearch.
-    return reindexFact(record);
+    return reindexFact(record, waitForIndex);
   }
 
   @Override
@@ -201,6 +321,18 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
     return Optional.ofNullable(factResolver.getFact(FactRecordHasher.toHash(record)));
   }
 
+  @Override
+  public Map<String, FactRecord> retrieveExistingFacts(Collection<FactRecord> records) {
+    if (CollectionUtils.isEmpty(records)) return new HashMap<>();
+
+    // Delegate resolution of Facts by their hash values to CachedFactResolver.
+    Set<String> hashes = records.stream()
+            .filter(Objects::nonNull)
+            .map(FactRecordHasher::toHash)
+            .collect(Collectors.toSet());
+    return factResolver.getFactsByHash(hashes);
+  }
+
   @Override
   public ResultContainer<FactRecord> searchFacts(FactSearchCriteria criteria) {
     // Search for Facts in ElasticSearch.
@@ -210,11 +342,8 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
       return ResultContainer.<FactRecord>builder().build();
     }
 
-    // Fetch Facts from Cassandra (or cache).
-    Iterator<FactRecord> resultsIterator = Streams.stream(searchResult)
-            .map(factResolver::getFact)
-            .filter(Objects::nonNull)
-            .iterator();
+    // Fetch Facts from Cassandra (or cache) in chunks.
+    Iterator<FactRecord> resultsIterator = resolveFacts(searchResult);
 
     return ResultContainer.<FactRecord>builder()
             .setCount(searchResult.getCount())
@@ -227,9 +356,9 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
     if (fact == null || aclEntry == null) return null;
 
     // Save new ACL entry and reindex Fact.
-    saveAclEntry(fact, aclEntry);
+    awaitAll(ListUtils.list(saveAclEntry(fact, aclEntry, WriteMode.Validated)));
     updateAndSaveFact(fact, entity -> entity.addFlag(FactEntity.Flag.HasAcl));
-    reindexFact(fact);
+    reindexFact(fact, false);
 
     return aclEntry;
   }
@@ -239,7 +368,7 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
     if (fact == null || comment == null) return null;
 
     // Only save new comment. It's not required to reindex Fact.
-    saveComment(fact, comment);
+    awaitAll(ListUtils.list(saveComment(fact, comment, WriteMode.Validated)));
     updateAndSaveFact(fact, entity -> entity.addFlag(FactEntity.Flag.HasComments));
     factResolver.evict(fact);
 
@@ -249,81 +378,102 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
   @Override
   public Iterator<FactRecord> retrieveObjectFacts(UUID id) {
     // Use Cassandra lookup table to resolve all Facts bound to the given Object ID.
-    return Streams.stream(objectManager.fetchObjectFactBindings(id))
-            .map(ObjectFactBindingEntity::getFactID)
-            .map(factResolver::getFact)
-            .filter(Objects::nonNull)
-            .iterator();
+    return resolveFacts(Iterators.transform(objectManager.fetchObjectFactBindings(id), ObjectFactBindingEntity::getFactID));
   }
 
   @Override
   public Iterator<FactRecord> retrieveMetaFacts(UUID id) {
     // Use Cassandra lookup table to resolve all meta Facts bound to the given Fact ID.
-    return Streams.stream(factManager.fetchMetaFactBindings(id))
-            .map(MetaFactBindingEntity::getMetaFactID)
-            .map(factResolver::getFact)
-            .filter(Objects::nonNull)
-            .iterator();
+    return resolveFacts(Iterators.transform(factManager.fetchMetaFactBindings(id), MetaFactBindingEntity::getMetaFactID));
   }
 
-  private void saveFactExistence(FactRecord fact) {
+  @Override
+  public Map<UUID, List<FactRecord>> retrieveMetaFacts(Collection<UUID> ids) {
+    if (CollectionUtils.isEmpty(ids)) return new HashMap<>();
+
+    Map<UUID, List<FactRecord>> result = new HashMap<>();
+    // Fetch the bindings of a whole chunk of Facts with one query and afterwards resolve all meta Facts at once.
+    for (List<UUID> chunk : Iterables.partition(new LinkedHashSet<>(ids), RESOLVE_CHUNK_SIZE)) {
+      Map<UUID, UUID> metaFactToFact = new LinkedHashMap<>();
+      factManager.fetchMetaFactBindings(chunk)
+              .forEachRemaining(binding -> metaFactToFact.put(binding.getMetaFactID(), binding.getFactID()));
+      if (metaFactToFact.isEmpty()) continue;
+
+      for (List<UUID> metaChunk : Iterables.partition(metaFactToFact.keySet(), RESOLVE_CHUNK_SIZE)) {
+        factResolver.getFacts(metaChunk).forEach(meta -> result
+                .computeIfAbsent(metaFactToFact.get(meta.getId()), id -> new ArrayList<>())
+                .add(meta));
+      }
+    }
+
+    return result;
+  }
+
+  private List<CompletionStage<?>> saveDependentEntries(FactRecord record, FactEntity entity) {
+    List<CompletionStage<?>> writes = ListUtils.list();
+    writes.addAll(saveFactObjectBindings(entity));
+    writes.add(saveMetaFactBindings(entity));
+    writes.add(saveFactByTimestamp(entity));
+    writes.add(saveFactRefreshLog(record));
+    writes.addAll(saveAclEntries(record, WriteMode.Trusted));
+    writes.addAll(saveComments(record, WriteMode.Trusted));
+    return writes;
+  }
+
+  private CompletionStage<?> saveFactExistence(FactRecord fact) {
     // Calculate hash value for given Fact.
     String hash = FactRecordHasher.toHash(fact);
 
     // Save FactExistence lookup table entry.
-    factManager.saveFactExistence(new FactExistenceEntity()
+    return factManager.saveFactExistenceAsync(new FactExistenceEntity()
             .setFactHash(hash)
-            .setFactID(fact.getId())
-    );
+            .setFactID(fact.getId()), WriteMode.Trusted);
   }
 
-  private void saveFactObjectBindings(FactEntity fact) {
-    if (CollectionUtils.isEmpty(fact.getBindings())) return;
+  private List<CompletionStage<?>> saveFactObjectBindings(FactEntity fact) {
+    if (CollectionUtils.isEmpty(fact.getBindings())) return ListUtils.list();
 
     // Save all bindings between Objects and the new Fact.
-    for (FactEntity.FactObjectBinding binding : fact.getBindings()) {
-      objectManager.saveObjectFactBinding(new ObjectFactBindingEntity()
-              .setObjectID(binding.getObjectID())
-              .setFactID(fact.getId())
-              .setDirection(binding.getDirection())
-      );
-    }
+    return fact.getBindings()
+            .stream()
+            .map(binding -> objectManager.saveObjectFactBindingAsync(new ObjectFactBindingEntity()
+                    .setObjectID(binding.getObjectID())
+                    .setFactID(fact.getId())
+                    .setDirection(binding.getDirection()), WriteMode.Trusted))
+            .collect(Collectors.toList());
   }
 
-  private void saveMetaFactBindings(FactEntity fact) {
-    if (fact.getInReferenceToID() == null) return;
+  private CompletionStage<?> saveMetaFactBindings(FactEntity fact) {
+    if (fact.getInReferenceToID() == null) return CompletableFuture.completedFuture(null);
 
     // Save binding between referenced Fact and new meta Fact.
-    factManager.saveMetaFactBinding(new MetaFactBindingEntity()
+    return factManager.saveMetaFactBindingAsync(new MetaFactBindingEntity()
             .setFactID(fact.getInReferenceToID())
-            .setMetaFactID(fact.getId())
-    );
+            .setMetaFactID(fact.getId()), WriteMode.Trusted);
   }
 
-  private void saveFactByTimestamp(FactEntity fact) {
+  private CompletionStage<?> saveFactByTimestamp(FactEntity fact) {
     // Calculate the correct time bucket (truncate minutes, seconds, ...).
     long hourOfDay = Instant.ofEpochMilli(fact.getTimestamp())
             .truncatedTo(ChronoUnit.HOURS)
             .toEpochMilli();
 
     // Save FactByTimestamp lookup table entry.
-    factManager.saveFactByTimestamp(new FactByTimestampEntity()
+    return factManager.saveFactByTimestampAsync(new FactByTimestampEntity()
             .setHourOfDay(hourOfDay)
             .setTimestamp(fact.getTimestamp())
-            .setFactID(fact.getId())
-    );
+            .setFactID(fact.getId()), WriteMode.Trusted);
   }
 
-  private void saveFactRefreshLog(FactRecord fact) {
-    factManager.saveFactRefreshLogEntry(new FactRefreshLogEntity()
+  private CompletionStage<?> saveFactRefreshLog(FactRecord fact) {
+    return factManager.saveFactRefreshLogEntryAsync(new FactRefreshLogEntity()
             .setFactID(fact.getId())
             .setRefreshTimestamp(fact.getLastSeenTimestamp())
-            .setRefreshedByID(fact.getLastSeenByID())
-    );
+            .setRefreshedByID(fact.getLastSeenByID()), WriteMode.Trusted);
   }
 
-  private void saveAclEntries(FactRecord fact) {
-    if (CollectionUtils.isEmpty(fact.getAcl())) return;
+  private List<CompletionStage<?>> saveAclEntries(FactRecord fact, WriteMode mode) {
+    if (CollectionUtils.isEmpty(fact.getAcl())) return ListUtils.list();
 
     // Make sure to not add duplicates. This list will be empty for new Facts.
     Set<UUID> existingAcl = factManager.fetchFactAcl(fact.getId())
@@ -331,23 +481,24 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
             .map(FactAclEntity::getId)
             .collect(Collectors.toSet());
     // Only save new entries.
-    fact.getAcl()
+    return fact.getAcl()
             .stream()
             .filter(entry -> entry.getId() == null || !existingAcl.contains(entry.getId()))
-            .forEach(entry -> saveAclEntry(fact, entry));
+            .map(entry -> saveAclEntry(fact, entry, mode))
+            .collect(Collectors.toList());
   }
 
-  private void saveAclEntry(FactRecord fact, FactAclEntryRecord entry) {
+  private CompletionStage<?> saveAclEntry(FactRecord fact, FactAclEntryRecord entry, WriteMode mode) {
     // Ensure that id is set before converting and saving entity.
     if (entry.getId() == null) {
       entry.setId(UUID.randomUUID());
     }
 
-    factManager.saveFactAclEntry(factAclEntryRecordConverter.toEntity(entry, fact.getId()));
+    return factManager.saveFactAclEntryAsync(factAclEntryRecordConverter.toEntity(entry, fact.getId()), mode);
   }
 
-  private void saveComments(FactRecord fact) {
-    if (CollectionUtils.isEmpty(fact.getComments())) return;
+  private List<CompletionStage<?>> saveComments(FactRecord fact, WriteMode mode) {
+    if (CollectionUtils.isEmpty(fact.getComments())) return ListUtils.list();
 
     // Make sure to not add duplicates. This list will be empty for new Facts.
     Set<UUID> existingComments = factManager.fetchFactComments(fact.getId())
@@ -355,19 +506,41 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
             .map(FactCommentEntity::getId)
             .collect(Collectors.toSet());
     // Only save new entries.
-    fact.getComments()
+    return fact.getComments()
             .stream()
             .filter(comment -> comment.getId() == null || !existingComments.contains(comment.getId()))
-            .forEach(comment -> saveComment(fact, comment));
+            .map(comment -> saveComment(fact, comment, mode))
+            .collect(Collectors.toList());
   }
 
-  private void saveComment(FactRecord fact, FactCommentRecord comment) {
+  private CompletionStage<?> saveComment(FactRecord fact, FactCommentRecord comment, WriteMode mode) {
     // Ensure that id is set before converting and saving entity.
     if (comment.getId() == null) {
       comment.setId(UUID.randomUUID());
     }
 
-    factManager.saveFactComment(factCommentRecordConverter.toEntity(comment, fact.getId()));
+    return factManager.saveFactCommentAsync(factCommentRecordConverter.toEntity(comment, fact.getId()), mode);
+  }
+
+  private Iterator<FactRecord> resolveFacts(Iterator<UUID> ids) {
+    // Resolve Facts in chunks in order to avoid one round trip to the cache and Cassandra per Fact.
+    // The chunks are resolved lazily while the returned iterator is consumed.
+    return Streams.stream(Iterators.partition(ids, RESOLVE_CHUNK_SIZE))
+            .flatMap(chunk -> factResolver.getFacts(chunk).stream())
+            .iterator();
+  }
+
+  private void awaitAll(List<? extends CompletionStage<?>> writes) {
+    try {
+      CompletableFuture.allOf(writes.stream()
+              .map(CompletionStage::toCompletableFuture)
+              .toArray(CompletableFuture[]::new)
+      ).join();
+    } catch (CompletionException ex) {
+      // Unwrap the original exception in order to behave the same way as if the writes were executed synchronously.
+      if (ex.getCause() instanceof RuntimeException) throw (RuntimeException) ex.getCause();
+      throw ex;
+    }
   }
 
   private void updateAndSaveFact(FactRecord record, FactEntityUpdater updater) {
@@ -381,6 +554,11 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
     // Apply changes to entity.
     updater.update(entity);
 
+    // Write changes back to Cassandra.
+    factManager.saveFact(addAclAndCommentFlags(record, entity));
+  }
+
+  private FactEntity addAclAndCommentFlags(FactRecord record, FactEntity entity) {
     // Ensure that the HasAcl and HasComments flags are set.
     if (!CollectionUtils.isEmpty(record.getAcl())) {
       entity.addFlag(FactEntity.Flag.HasAcl);
@@ -390,33 +568,22 @@ public class ObjectFactDaoFacade implements ObjectFactDao {
       entity.addFlag(FactEntity.Flag.HasComments);
     }
 
-    // Write changes back to Cassandra.
-    factManager.saveFact(entity);
+    return entity;
   }
 
-  private FactRecord reindexFact(FactRecord fact) {
+  private FactRecord reindexFact(FactRecord fact, boolean waitForIndex) {
     // Evict cached entry to force a reload from Cassandra (the authoritative data store).
     // Because of that, the returned record will contain up-to-date information.
     factResolver.evict(fact);
     FactRecord record = factResolver.getFact(fact.getId());
     // Simply reindex everything based on the fetched record.
-    indexFact(record);
+    factIndexer.index(record, waitForIndex);
     // Initiate data center replication to propagate changes.
     dcReplicationConsumer.accept(record);
     // Return up-to-date record.
     return record;
   }
 
-  private void indexFact(FactRecord fact) {
-    FactDocument document = factRecordConverter.toDocument(fact);
-
-    if (fact.isSet(FactRecord.Flag.TimeGlobalIndex)) {
-      factSearchManager.indexFact(document, TimeGlobal);
-    } else {
-      factSearchManager.indexFact(document, Daily);
-    }
-  }
-
   private interface FactEntityUpdater {
     void update(FactEntity entity);
   }
@@ -0,0 +1,245 @@
+package no.mnemonic.services.grafeo.dao.facade.helpers;
+
+import com.google.inject.Inject;
+import no.mnemonic.commons.component.Dependency;
+import no.mnemonic.commons.component.LifecycleAspect;
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
+import no.mnemonic.commons.metrics.MetricAspect;
+import no.mnemonic.commons.metrics.MetricException;
+import no.mnemonic.commons.metrics.Metrics;
+import no.mnemonic.commons.metrics.MetricsData;
+import no.mnemonic.commons.utilities.collections.CollectionUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
+import no.mnemonic.services.grafeo.dao.elastic.FactSearchManager;
+import no.mnemonic.services.grafeo.dao.elastic.document.FactDocument;
+import no.mnemonic.services.grafeo.dao.elastic.result.BulkIndexResult;
+import no.mnemonic.services.grafeo.dao.facade.converters.FactRecordConverter;
+import no.mnemonic.services.grafeo.utilities.concurrent.WriteBehindQueue;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static no.mnemonic.services.grafeo.dao.elastic.FactSearchManager.TargetIndex.Daily;
+import static no.mnemonic.services.grafeo.dao.elastic.FactSearchManager.TargetIndex.TimeGlobal;
+
+/**
+ * Helper class indexing Facts into ElasticSearch.
+ * <p>
+ * By default, Facts are indexed synchronously, i.e. the caller waits until ElasticSearch has indexed the Facts. When
+ * write-behind mode is enabled Facts are put on a bounded {@link WriteBehindQueue} instead and are indexed by a
+ * background thread. This removes ElasticSearch from the critical path of write operations, at the cost of Facts
+ * becoming searchable with a short delay. Facts are indexed in the order they have been queued and failed attempts
+ * are retried. If the queue is full the caller waits until the background thread has caught up. Callers which need to
+ * read their own writes from ElasticSearch can request to wait until their Facts have been indexed.
+ */
+@Singleton
+public class FactIndexer implements LifecycleAspect, MetricAspect {
+
+  private static final Logger LOGGER = Logging.getLogger(FactIndexer.class);
+
+  private static final int DEFAULT_QUEUE_SIZE = 10_000;
+  private static final int DEFAULT_MAX_RETRIES = 5;
+  private static final long DEFAULT_RETRY_DELAY = 1_000;
+  private static final int MAX_BATCH_SIZE = 500;
+
+  @Dependency
+  private final FactSearchManager factSearchManager;
+  private final FactRecordConverter factRecordConverter;
+  private final WriteBehindQueue<FactRecord> writeBehindQueue;
+
+  private final AtomicLong indexedFacts = new AtomicLong();
+  private final AtomicLong failedFacts = new AtomicLong();
+  private final AtomicLong indexRetries = new AtomicLong();
+
+  private boolean writeBehindEnabled = false;
+  private int queueSize = DEFAULT_QUEUE_SIZE;
+  private int maxRetries = DEFAULT_MAX_RETRIES;
+  private long retryDelay = DEFAULT_RETRY_DELAY;
+
+  @Inject
+  public FactIndexer(FactSearchManager factSearchManager, FactRecordConverter factRecordConverter) {
+    this.factSearchManager = factSearchManager;
+    this.factRecordConverter = factRecordConverter;
+    this.writeBehindQueue = new WriteBehindQueue<>("FactIndexer", MAX_BATCH_SIZE, this::indexWithRetry);
+  }
+
+  @Override
+  public void startComponent() {
+    if (!writeBehindEnabled) return;
+    writeBehindQueue.start(queueSize);
+  }
+
+  @Override
+  public void stopComponent() {
+    // Stop accepting new Facts, but index everything which is already queued before shutting down.
+    writeBehindQueue.stop();
+  }
+
+  @Override
+  public Metrics getMetrics() throws MetricException {
+    return new MetricsData()
+            .addData("writeBehindQueueSize", writeBehindQueue.size())
+            .addData("writeBehindQueuedFacts", writeBehindQueue.getQueuedItems())
+            .addData("writeBehindIndexedFacts", indexedFacts)
+            .addData("writeBehindFailedFacts", failedFacts)
+            .addData("writeBehindIndexRetries", indexRetries)
+            .addData("writeBehindBlockedEnqueues", writeBehindQueue.getBlockedEnqueues())
+            .addData("writeBehindIndexLag", writeBehindQueue.getCurrentLag())
+            .addData("writeBehindMaxIndexLag", writeBehindQueue.getMaxLag());
+  }
+
+  /**
+   * Index one Fact into ElasticSearch. In write-behind mode the Fact is queued and this method returns immediately,
+   * unless 'waitForIndex' is set. Otherwise, or after the component has been stopped, the Fact is indexed before this
+   * method returns.
+   *
+   * @param fact         Fact to index
+   * @param waitForIndex Whether to wait until the Fact has been indexed (only relevant in write-behind mode)
+   * @throws RuntimeException If the Fact could not be indexed, thrown by the underlying {@link FactSearchManager}
+   */
+  public void index(FactRecord fact, boolean waitForIndex) {
+    if (fact == null) return;
+
+    CompletableFuture<Void> indexed = writeBehindQueue.enqueue(ListUtils.list(fact));
+    if (indexed == null) {
+      indexSingle(fact);
+      return;
+    }
+
+    if (waitForIndex) await(indexed);
+  }
+
+  /**
+   * Index multiple Facts into ElasticSearch using bulk requests. Otherwise, the same as {@link #index(FactRecord, boolean)}.
+   *
+   * @param facts        Facts to index
+   * @param waitForIndex Whether to wait until the Facts have been indexed (only relevant in write-behind mode)
+   * @throws RuntimeException If the Facts could not be indexed, thrown by the underlying {@link FactSearchManager}
+   */
+  public void index(Collection<FactRecord> facts, boolean waitForIndex) {
+    if (CollectionUtils.isEmpty(facts)) return;
+
+    CompletableFuture<Void> indexed = writeBehindQueue.enqueue(ListUtils.list(facts));
+    if (indexed == null) {
+      indexBulk(ListUtils.list(facts));
+      return;
+    }
+
+    if (waitForIndex) await(indexed);
+  }
+
+  /**
+   * Enable write-behind mode (defaults to false). The setting is applied when the component is started.
+   *
+   * @param writeBehindEnabled Whether Facts are indexed in the background
+   * @return Class instance, i.e. 'this'
+   */
+  @Inject(optional = true)
+  public FactIndexer setWriteBehindEnabled(@Named("grafeo.dao.elasticsearch.write.behind.enabled") boolean writeBehindEnabled) {
+    this.writeBehindEnabled = writeBehindEnabled;
+    return this;
+  }
+
+  /**
+   * Specify how many Facts can be queued before callers have to wait (defaults to 10.000).
+   *
+   * @param queueSize Maximum number of queued Facts
+   * @return Class instance, i.e. 'this'
+   */
+  @Inject(optional = true)
+  public FactIndexer setQueueSize(@Named("grafeo.dao.elasticsearch.write.behind.queue.size") int queueSize) {
+    this.queueSize = queueSize;
+    return this;
+  }
+
+  /**
+   * Specify how often indexing a batch of Facts is retried before the Facts are given up (defaults to 5).
+   *
+   * @param maxRetries Maximum number of retries
+   * @return Class instance, i.e. 'this'
+   */
+  @Inject(optional = true)
+  public FactIndexer setMaxRetries(@Named("grafeo.dao.elasticsearch.write.behind.max.retries") int maxRetries) {
+    this.maxRetries = maxRetries;
+    return this;
+  }
+
+  /**
+   * Specify how long to wait (in ms) before the first retry (defaults to 1000). The delay increases with every retry.
+   *
+   * @param retryDelay Delay before retrying
+   * @return Class instance, i.e. 'this'
+   */
+  @Inject(optional = true)
+  public FactIndexer setRetryDelay(@Named("grafeo.dao.elasticsearch.write.behind.retry.delay") long retryDelay) {
+    this.retryDelay = retryDelay;
+    return this;
+  }
+
+  private void await(CompletableFuture<Void> indexed) {
+    // The future completes after the last Fact has been indexed because the background thread indexes the Facts in
+    // order. Don't bypass the queue when waiting, otherwise an older queued version of a Fact could overwrite the
+    // newer version in ElasticSearch.
+    try {
+      indexed.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException) throw (RuntimeException) ex.getCause();
+      throw ex;
+    }
+  }
+
+  private void indexWithRetry(List<FactRecord> facts) throws InterruptedException {
+    for (int attempt = 0; ; attempt++) {
+      try {
+        if (facts.size() == 1) {
+          indexSingle(facts.get(0));
+        } else {
+          indexBulk(facts);
+        }
+        indexedFacts.addAndGet(facts.size());
+        return;
+      } catch (RuntimeException ex) {
+        if (attempt >= maxRetries) {
+          LOGGER.error(ex, "Could not index %d Facts after %d retries. Facts must be reindexed manually: %s",
+                  facts.size(), maxRetries, ListUtils.list(facts, FactRecord::getId));
+          failedFacts.addAndGet(facts.size());
+          throw ex;
+        }
+
+        LOGGER.warning(ex, "Could not index %d Facts. Retrying.", facts.size());
+        indexRetries.incrementAndGet();
+        Thread.sleep(retryDelay * (attempt + 1));
+      }
+    }
+  }
+
+  private void indexSingle(FactRecord fact) {
+    factSearchManager.indexFact(factRecordConverter.toDocument(fact), fact.isSet(FactRecord.Flag.TimeGlobalIndex) ? TimeGlobal : Daily);
+  }
+
+  private void indexBulk(List<FactRecord> facts) {
+    // Split up Facts by target index and index each group using bulk requests.
+    Map<FactSearchManager.TargetIndex, List<FactDocument>> documents = facts.stream()
+            .collect(Collectors.groupingBy(fact -> fact.isSet(FactRecord.Flag.TimeGlobalIndex) ? TimeGlobal : Daily,
+                    Collectors.mapping(factRecordConverter::toDocument, Collectors.toList())));
+
+    documents.forEach((index, batch) -> {
+      BulkIndexResult result = factSearchManager.indexFacts(batch, index);
+      if (!result.hasFailures()) return;
+
+      // Retry failed Facts one by one. This will throw an exception if indexing still fails.
+      batch.stream()
+              .filter(document -> result.getFailures().containsKey(document.getId()))
+              .forEach(document -> factSearchManager.indexFact(document, index));
+    });
+  }
+}
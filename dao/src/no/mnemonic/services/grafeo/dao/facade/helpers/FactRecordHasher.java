@@ -1,6 +1,5 @@
 package no.mnemonic.services.grafeo.dao.facade.helpers;
 
-import com.google.common.hash.Hashing;
 import no.mnemonic.commons.logging.Logger;
 import no.mnemonic.commons.logging.Logging;
 import no.mnemonic.commons.utilities.ObjectUtils;
@@ -9,9 +8,13 @@ import no.mnemonic.services.grafeo.dao.api.record.ObjectRecord;
 
 import java.math.RoundingMode;
 import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.util.Locale;
+import java.util.UUID;
 
 /**
  * Class to calculate the hash value (SHA256) of a {@link FactRecord}. Facts which are logically considered to be the
@@ -40,11 +43,15 @@ import java.util.Locale;
  * If "value" is unset omit it, i.e. use "value=".
  * <p>
  * Calculate the hash value as SHA256($string).
+ * <p>
+ * The implementation does not construct the above string. Instead, the fields are encoded directly into a reusable
+ * per-thread buffer which is fed into the SHA256 digest. Only the returned hex string is allocated per invocation.
  */
 public class FactRecordHasher {
 
   private static final Logger LOGGER = Logging.getLogger(FactRecordHasher.class);
   private static final String NULL_REPLACEMENT = "NULL";
+  private static final ThreadLocal<HashSink> HASH_SINK = ThreadLocal.withInitial(HashSink::new);
 
   private FactRecordHasher() {
   }
@@ -58,12 +65,11 @@ public class FactRecordHasher {
   public static String toHash(FactRecord record) {
     if (record == null) throw new IllegalArgumentException("'record' cannot be null!");
 
-    String formatted = formatFactRecord(record);
     if (LOGGER.isDebug()) {
-      LOGGER.debug("Formatted FactRecord: " + formatted);
+      LOGGER.debug("Formatted FactRecord: " + formatFactRecord(record));
     }
 
-    String hashed = calculateSha256(formatted);
+    String hashed = HASH_SINK.get().hash(record);
     if (LOGGER.isDebug()) {
       LOGGER.debug("Hashed FactRecord: " + hashed);
     }
@@ -71,6 +77,10 @@ public class FactRecordHasher {
     return hashed;
   }
 
+  /**
+   * Construct the string representation of a {@link FactRecord} which is hashed by {@link #toHash(FactRecord)}.
+   * Only used for debugging and testing.
+   */
   static String formatFactRecord(FactRecord record) {
     StringBuilder sb = new StringBuilder()
             .append("typeID=")
@@ -112,18 +122,20 @@ public class FactRecordHasher {
   }
 
   static String formatFloatingPoint(float number) {
+    if (!HashSink.isFastFloatingPoint(number)) return formatFloatingPointWithDecimalFormat(number);
+
+    long rounded = HashSink.roundFloatingPoint(number);
+    long fraction = rounded % 100;
+    return (rounded / 100) + (fraction < 10 ? ".0" : ".") + fraction;
+  }
+
+  private static String formatFloatingPointWithDecimalFormat(float number) {
     // Ensure locale-independent and constant formatting with values rounded to two decimal points.
     DecimalFormat format = new DecimalFormat("0.00", DecimalFormatSymbols.getInstance(Locale.ENGLISH));
     format.setRoundingMode(RoundingMode.HALF_UP);
     return format.format(number);
   }
 
-  private static String calculateSha256(String input) {
-    return Hashing.sha256()
-            .hashString(input, StandardCharsets.UTF_8)
-            .toString();
-  }
-
   private static String formatObjectRecord(ObjectRecord record) {
     return record == null ? NULL_REPLACEMENT : nullSafeString(record.getId());
   }
@@ -131,4 +143,205 @@ public class FactRecordHasher {
   private static String nullSafeString(Object object) {
     return ObjectUtils.ifNotNull(object, Object::toString, NULL_REPLACEMENT);
   }
+
+  /**
+   * Encodes the fields of a {@link FactRecord} as UTF-8 into a fixed-size buffer which is fed into a SHA256 digest
+   * whenever it is full. One instance is used per thread, thus, it is not thread-safe.
+   */
+  private static class HashSink {
+    private static final int BUFFER_SIZE = 1024;
+    private static final int DIGEST_LENGTH = 32;
+    // Values up to this limit multiplied by 100 are exact in double precision, see roundFloatingPoint().
+    private static final float FAST_FLOATING_POINT_LIMIT = 100_000f;
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes();
+
+    private static final byte[] TYPE_ID = ascii("typeID=");
+    private static final byte[] ORIGIN_ID = ascii(";originID=");
+    private static final byte[] ORGANIZATION_ID = ascii(";organizationID=");
+    private static final byte[] ACCESS_MODE = ascii(";accessMode=");
+    private static final byte[] CONFIDENCE = ascii(";confidence=");
+    private static final byte[] IN_REFERENCE_TO_ID = ascii(";inReferenceToID=");
+    private static final byte[] SOURCE_OBJECT_ID = ascii(";sourceObjectID=");
+    private static final byte[] DESTINATION_OBJECT_ID = ascii(";destinationObjectID=");
+    private static final byte[] IS_BIDIRECTIONAL_BINDING = ascii(";isBidirectionalBinding=");
+    private static final byte[] VALUE = ascii(";value=");
+    private static final byte[] NULL = ascii(NULL_REPLACEMENT);
+    private static final byte[] TRUE = ascii("true");
+    private static final byte[] FALSE = ascii("false");
+
+    private final MessageDigest digest;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final byte[] hash = new byte[DIGEST_LENGTH];
+    private final byte[] hex = new byte[2 * DIGEST_LENGTH];
+    private int position;
+
+    private HashSink() {
+      try {
+        digest = MessageDigest.getInstance("SHA-256");
+      } catch (NoSuchAlgorithmException ex) {
+        throw new IllegalStateException("SHA-256 is not supported.", ex);
+      }
+    }
+
+    private String hash(FactRecord record) {
+      position = 0;
+      digest.reset();
+
+      write(TYPE_ID);
+      write(record.getTypeID());
+      write(ORIGIN_ID);
+      write(record.getOriginID());
+      write(ORGANIZATION_ID);
+      write(record.getOrganizationID());
+      write(ACCESS_MODE);
+      if (record.getAccessMode() != null) {
+        write(record.getAccessMode().toString());
+      } else {
+        write(NULL);
+      }
+      write(CONFIDENCE);
+      write(record.getConfidence());
+      write(IN_REFERENCE_TO_ID);
+      write(record.getInReferenceToID());
+      write(SOURCE_OBJECT_ID);
+      write(record.getSourceObject() != null ? record.getSourceObject().getId() : null);
+      write(DESTINATION_OBJECT_ID);
+      write(record.getDestinationObject() != null ? record.getDestinationObject().getId() : null);
+      write(IS_BIDIRECTIONAL_BINDING);
+      write(record.isBidirectionalBinding() ? TRUE : FALSE);
+      write(VALUE);
+      if (record.getValue() != null) {
+        // An unset 'value' is omitted completely, see formatFactRecord().
+        write(record.getValue());
+      }
+
+      flush();
+      try {
+        digest.digest(hash, 0, DIGEST_LENGTH);
+      } catch (DigestException ex) {
+        throw new IllegalStateException("Could not calculate SHA-256.", ex);
+      }
+
+      for (int i = 0; i < DIGEST_LENGTH; i++) {
+        hex[2 * i] = HEX_DIGITS[(hash[i] >> 4) & 0xf];
+        hex[2 * i + 1] = HEX_DIGITS[hash[i] & 0xf];
+      }
+
+      return new String(hex, 0, hex.length, StandardCharsets.US_ASCII);
+    }
+
+    private void write(byte[] bytes) {
+      ensureCapacity(bytes.length);
+      System.arraycopy(bytes, 0, buffer, position, bytes.length);
+      position += bytes.length;
+    }
+
+    private void write(UUID uuid) {
+      if (uuid == null) {
+        write(NULL);
+        return;
+      }
+
+      // Same format as UUID.toString(), i.e. 8-4-4-4-12 lower-case hex digits.
+      ensureCapacity(36);
+      long msb = uuid.getMostSignificantBits();
+      long lsb = uuid.getLeastSignificantBits();
+      writeHex(msb >>> 32, 8);
+      buffer[position++] = '-';
+      writeHex(msb >>> 16, 4);
+      buffer[position++] = '-';
+      writeHex(msb, 4);
+      buffer[position++] = '-';
+      writeHex(lsb >>> 48, 4);
+      buffer[position++] = '-';
+      writeHex(lsb, 12);
+    }
+
+    private void writeHex(long value, int digits) {
+      for (int i = digits - 1; i >= 0; i--) {
+        buffer[position + i] = HEX_DIGITS[(int) (value & 0xf)];
+        value >>>= 4;
+      }
+      position += digits;
+    }
+
+    private void write(float number) {
+      if (!isFastFloatingPoint(number)) {
+        write(formatFloatingPointWithDecimalFormat(number));
+        return;
+      }
+
+      long rounded = roundFloatingPoint(number);
+      writeDigits(rounded / 100);
+      ensureCapacity(3);
+      buffer[position++] = '.';
+      buffer[position++] = (byte) ('0' + (rounded % 100) / 10);
+      buffer[position++] = (byte) ('0' + rounded % 10);
+    }
+
+    private void writeDigits(long value) {
+      int digits = 1;
+      for (long remaining = value / 10; remaining > 0; remaining /= 10) digits++;
+
+      ensureCapacity(digits);
+      for (int i = digits - 1; i >= 0; i--) {
+        buffer[position + i] = (byte) ('0' + value % 10);
+        value /= 10;
+      }
+      position += digits;
+    }
+
+    private void write(String value) {
+      // Encode as UTF-8 exactly like String.getBytes(UTF_8), including replacing malformed surrogates by '?'.
+      for (int i = 0; i < value.length(); i++) {
+        ensureCapacity(4);
+        char c = value.charAt(i);
+        if (c < 0x80) {
+          buffer[position++] = (byte) c;
+        } else if (c < 0x800) {
+          buffer[position++] = (byte) (0xc0 | (c >> 6));
+          buffer[position++] = (byte) (0x80 | (c & 0x3f));
+        } else if (Character.isSurrogate(c)) {
+          if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+            int codePoint = Character.toCodePoint(c, value.charAt(++i));
+            buffer[position++] = (byte) (0xf0 | (codePoint >> 18));
+            buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+            buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+            buffer[position++] = (byte) (0x80 | (codePoint & 0x3f));
+          } else {
+            buffer[position++] = '?';
+          }
+        } else {
+          buffer[position++] = (byte) (0xe0 | (c >> 12));
+          buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+          buffer[position++] = (byte) (0x80 | (c & 0x3f));
+        }
+      }
+    }
+
+    private void ensureCapacity(int length) {
+      if (position + length > buffer.length) flush();
+    }
+
+    private void flush() {
+      digest.update(buffer, 0, position);
+      position = 0;
+    }
+
+    private static boolean isFastFloatingPoint(float number) {
+      // Negative numbers (including -0.0), NaN, infinity and very large numbers are rare and handled by DecimalFormat.
+      return Float.floatToRawIntBits(number) >= 0 && number < FAST_FLOATING_POINT_LIMIT;
+    }
+
+    private static long roundFloatingPoint(float number) {
+      // A float has 24 significant bits, thus, multiplying it by 100 is exact in double precision, and adding 0.5 is
+      // exact as well for numbers below the limit. This gives the same result as DecimalFormat with HALF_UP, which
+      // rounds based on the exact binary value.
+      return (long) Math.floor((double) number * 100 + 0.5);
+    }
+
+    private static byte[] ascii(String value) {
+      return value.getBytes(StandardCharsets.US_ASCII);
+    }
+  }
 }
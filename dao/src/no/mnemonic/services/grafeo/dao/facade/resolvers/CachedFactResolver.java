@@ -2,6 +2,9 @@ package no.mnemonic.services.grafeo.dao.facade.resolvers;
 
 import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -19,6 +22,16 @@ public interface CachedFactResolver {
    */
   FactRecord getFact(UUID id);
 
+  /**
+   * Retrieve multiple {@link FactRecord}s by their UUIDs. Records which do not exist in the database are omitted.
+   * <p>
+   * Implementations should resolve all records with as few round trips to the cache and database as possible.
+   *
+   * @param ids UUIDs of Facts
+   * @return Resolved Facts in the order of the given UUIDs
+   */
+  List<FactRecord> getFacts(Collection<UUID> ids);
+
   /**
    * Retrieve a {@link FactRecord} by its hash value. Returns null if the record does not exist in the database.
    *
@@ -27,6 +40,16 @@ public interface CachedFactResolver {
    */
   FactRecord getFact(String factHash);
 
+  /**
+   * Retrieve multiple {@link FactRecord}s by their hash values. Records which do not exist in the database are omitted.
+   * <p>
+   * Implementations should resolve all records with as few round trips to the cache and database as possible.
+   *
+   * @param factHashes Hashes of Facts
+   * @return Resolved Facts mapped by their hash values
+   */
+  Map<String, FactRecord> getFactsByHash(Collection<String> factHashes);
+
   /**
    * Evict a previously cached {@link FactRecord} from the cache.
    *
@@ -2,6 +2,8 @@ package no.mnemonic.services.grafeo.dao.facade.resolvers;
 
 import no.mnemonic.services.grafeo.dao.api.record.ObjectRecord;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -19,6 +21,16 @@ public interface CachedObjectResolver {
    */
   ObjectRecord getObject(UUID id);
 
+  /**
+   * Retrieve multiple {@link ObjectRecord}s by their UUIDs. Records which do not exist in the database are omitted.
+   * <p>
+   * Implementations should resolve all records with as few round trips to the cache and database as possible.
+   *
+   * @param ids UUIDs of Objects
+   * @return Resolved Objects in the order of the given UUIDs
+   */
+  List<ObjectRecord> getObjects(Collection<UUID> ids);
+
   /**
    * Retrieve an {@link ObjectRecord} by its type and value. Returns null if the record does not exist in the database.
    *
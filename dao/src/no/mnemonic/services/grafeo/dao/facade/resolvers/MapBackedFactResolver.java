@@ -2,15 +2,19 @@ package no.mnemonic.services.grafeo.dao.facade.resolvers;
 
 import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.StringUtils;
+import no.mnemonic.commons.utilities.collections.CollectionUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
 import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
+import no.mnemonic.services.grafeo.dao.bindings.BulkReadableMap;
 import no.mnemonic.services.grafeo.dao.bindings.DaoCache;
 import no.mnemonic.services.grafeo.dao.cassandra.FactManager;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.FactEntity;
 import no.mnemonic.services.grafeo.dao.facade.converters.FactRecordConverter;
 
 import javax.inject.Inject;
-import java.util.Map;
-import java.util.UUID;
+import java.util.*;
+import java.util.stream.Collectors;
 
 /**
  * {@link CachedFactResolver} implementation which is backed by a {@link Map}.
@@ -42,6 +46,28 @@ public class MapBackedFactResolver implements CachedFactResolver {
             key -> factRecordConverter.fromEntity(factManager.getFact(id)));
   }
 
+  @Override
+  public List<FactRecord> getFacts(Collection<UUID> ids) {
+    if (CollectionUtils.isEmpty(ids)) return ListUtils.list();
+
+    // Fetch all cached records at once and only fetch the missing records from Cassandra.
+    Set<UUID> keys = ids.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+    Map<UUID, FactRecord> resolved = BulkReadableMap.getAll(factByIdCache, keys);
+    Set<UUID> missing = SetUtils.difference(keys, resolved.keySet());
+    if (!missing.isEmpty()) {
+      Map<UUID, FactRecord> fetched = factManager.getFacts(missing)
+              .stream()
+              .collect(Collectors.toMap(FactEntity::getId, factRecordConverter::fromEntity));
+      factByIdCache.putAll(fetched);
+      resolved.putAll(fetched);
+    }
+
+    return ids.stream()
+            .map(id -> ObjectUtils.ifNotNull(id, resolved::get))
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+  }
+
   @Override
   public FactRecord getFact(String factHash) {
     if (StringUtils.isBlank(factHash)) return null;
@@ -52,6 +78,30 @@ public class MapBackedFactResolver implements CachedFactResolver {
     return getFact(id);
   }
 
+  @Override
+  public Map<String, FactRecord> getFactsByHash(Collection<String> factHashes) {
+    if (CollectionUtils.isEmpty(factHashes)) return new HashMap<>();
+
+    // Look up UUIDs from 'factByHashCache' at once and only fetch the missing UUIDs from Cassandra.
+    Set<String> keys = factHashes.stream().filter(hash -> !StringUtils.isBlank(hash)).collect(Collectors.toSet());
+    Map<String, UUID> ids = BulkReadableMap.getAll(factByHashCache, keys);
+    Set<String> missing = SetUtils.difference(keys, ids.keySet());
+    if (!missing.isEmpty()) {
+      Map<String, UUID> fetched = factManager.getFactIDsByHash(missing);
+      factByHashCache.putAll(fetched);
+      ids.putAll(fetched);
+    }
+
+    // Use the resolved UUIDs to fetch the actual records from 'factByIdCache'.
+    Map<UUID, FactRecord> facts = getFacts(ids.values())
+            .stream()
+            .collect(Collectors.toMap(FactRecord::getId, fact -> fact, (first, second) -> first));
+
+    Map<String, FactRecord> result = new HashMap<>();
+    ids.forEach((hash, id) -> ObjectUtils.ifNotNullDo(facts.get(id), fact -> result.put(hash, fact)));
+    return result;
+  }
+
   @Override
   public void evict(FactRecord fact) {
     if (fact == null || fact.getId() == null) return;
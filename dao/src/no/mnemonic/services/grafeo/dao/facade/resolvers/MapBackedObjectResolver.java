@@ -1,14 +1,20 @@
 package no.mnemonic.services.grafeo.dao.facade.resolvers;
 
+import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.StringUtils;
+import no.mnemonic.commons.utilities.collections.CollectionUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
 import no.mnemonic.services.grafeo.dao.api.record.ObjectRecord;
+import no.mnemonic.services.grafeo.dao.bindings.BulkReadableMap;
 import no.mnemonic.services.grafeo.dao.bindings.DaoCache;
 import no.mnemonic.services.grafeo.dao.cassandra.ObjectManager;
+import no.mnemonic.services.grafeo.dao.cassandra.entity.ObjectEntity;
 import no.mnemonic.services.grafeo.dao.facade.converters.ObjectRecordConverter;
 
 import javax.inject.Inject;
-import java.util.Map;
-import java.util.UUID;
+import java.util.*;
+import java.util.stream.Collectors;
 
 /**
  * {@link CachedObjectResolver} implementation which is backed by a {@link Map}.
@@ -40,6 +46,28 @@ public class MapBackedObjectResolver implements CachedObjectResolver {
             key -> objectRecordConverter.fromEntity(objectManager.getObject(id)));
   }
 
+  @Override
+  public List<ObjectRecord> getObjects(Collection<UUID> ids) {
+    if (CollectionUtils.isEmpty(ids)) return ListUtils.list();
+
+    // Fetch all cached records at once and only fetch the missing records from Cassandra.
+    Set<UUID> keys = ids.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+    Map<UUID, ObjectRecord> resolved = BulkReadableMap.getAll(objectByIdCache, keys);
+    Set<UUID> missing = SetUtils.difference(keys, resolved.keySet());
+    if (!missing.isEmpty()) {
+      Map<UUID, ObjectRecord> fetched = objectManager.getObjects(missing)
+              .stream()
+              .collect(Collectors.toMap(ObjectEntity::getId, objectRecordConverter::fromEntity));
+      objectByIdCache.putAll(fetched);
+      resolved.putAll(fetched);
+    }
+
+    return ids.stream()
+            .map(id -> ObjectUtils.ifNotNull(id, resolved::get))
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+  }
+
   @Override
   public ObjectRecord getObject(String type, String value) {
     if (StringUtils.isBlank(type) || StringUtils.isBlank(value)) return null;
@@ -3,6 +3,7 @@ package no.mnemonic.services.grafeo.dao.modules;
 import com.google.inject.AbstractModule;
 import no.mnemonic.services.grafeo.dao.api.ObjectFactDao;
 import no.mnemonic.services.grafeo.dao.facade.ObjectFactDaoFacade;
+import no.mnemonic.services.grafeo.dao.facade.helpers.FactIndexer;
 import no.mnemonic.services.grafeo.dao.facade.resolvers.CachedFactResolver;
 import no.mnemonic.services.grafeo.dao.facade.resolvers.CachedObjectResolver;
 import no.mnemonic.services.grafeo.dao.facade.resolvers.MapBackedFactResolver;
@@ -19,5 +20,6 @@ public class DaoModule extends AbstractModule {
     bind(CachedObjectResolver.class).to(MapBackedObjectResolver.class);
     bind(CachedFactResolver.class).to(MapBackedFactResolver.class);
     bind(ObjectFactDao.class).to(ObjectFactDaoFacade.class);
+    bind(FactIndexer.class);
   }
 }
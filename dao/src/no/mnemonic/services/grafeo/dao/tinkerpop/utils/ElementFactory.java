@@ -25,14 +25,15 @@ import java.util.concurrent.ConcurrentHashMap;
 @Deprecated
 public class ElementFactory {
 
-  private static final int CACHE_MAXIMUM_SIZE = 10000;
+  static final int CACHE_MAXIMUM_SIZE = 10000;
 
   private final ObjectFactGraph owner;
-  // Maps the triplet (factID, inVertex, outVertex) to UUID returned by Edge.id().
-  // Needed in order to identify entry in 'edgeCache'.
-  private final Map<EdgeID, UUID> edgeIdMap;
-  // Cache for created edges. This cache is manually populated by createEdges().
-  private final Cache<UUID, Edge> edgeCache;
+  // Maps the UUID returned by Edge.id() to the triplet (factID, inVertex, outVertex).
+  // Needed in order to identify entry in 'edgeCache' when fetching an edge by its ID.
+  private final Map<UUID, EdgeID> edgeIdMap;
+  // Cache for created edges identified by the triplet (factID, inVertex, outVertex).
+  // This cache is manually populated by createEdges().
+  private final Cache<EdgeID, Edge> edgeCache;
   // Cache for created vertices. This cache is automatically populated.
   private final LoadingCache<UUID, Vertex> vertexCache;
 
@@ -100,7 +101,7 @@ public class ElementFactory {
    */
   public Edge getEdge(UUID id) {
     if (id == null) return null;
-    return edgeCache.getIfPresent(id);
+    return ObjectUtils.ifNotNull(edgeIdMap.get(id), edgeCache::getIfPresent);
   }
 
   /**
@@ -121,26 +122,32 @@ public class ElementFactory {
     }
   }
 
+  /* Getters used for unit testing */
+
+  int getEdgeIdMapSize() {
+    return edgeIdMap.size();
+  }
+
   public static Builder builder() {
     return new Builder();
   }
 
   private Edge createAndCache(UUID factID, UUID inVertex, UUID outVertex) {
-    // Try to fetch edge from cache first (but only if 'edgeID' is mapped, otherwise edge is not cached).
+    // Try to fetch edge from cache first.
     EdgeID edgeID = new EdgeID(factID, inVertex, outVertex);
-    Edge edge = ObjectUtils.ifNotNull(edgeIdMap.get(edgeID), edgeCache::getIfPresent);
+    Edge edge = edgeCache.getIfPresent(edgeID);
 
     if (edge == null) {
       // Edge is not present in cache, create new instance and cache it for later access.
       edge = new FactEdge(owner, factID, inVertex, outVertex);
-      edgeIdMap.put(edgeID, (UUID) edge.id());
-      edgeCache.put((UUID) edge.id(), edge);
+      edgeIdMap.put((UUID) edge.id(), edgeID);
+      edgeCache.put(edgeID, edge);
     }
 
     return edge;
   }
 
-  private Cache<UUID, Edge> createEdgeCache() {
+  private Cache<EdgeID, Edge> createEdgeCache() {
     return CacheBuilder.newBuilder()
             .maximumSize(CACHE_MAXIMUM_SIZE)
             .removalListener(this::cleanUpEdgeCache)
@@ -159,12 +166,10 @@ public class ElementFactory {
   }
 
   private void cleanUpEdgeCache(RemovalNotification notification) {
-    // Need to clean up 'edgeIdMap' when an entry gets evicted.
-    if (notification.wasEvicted()) {
-      SetUtils.set(edgeIdMap.entrySet())
-              .stream()
-              .filter(entry -> Objects.equals(entry.getValue(), notification.getKey()))
-              .forEach(entry -> edgeIdMap.remove(entry.getKey()));
+    // Need to clean up 'edgeIdMap' when an entry gets evicted (or replaced). The removed edge knows its own ID, thus,
+    // this doesn't require scanning 'edgeIdMap'.
+    if (notification.getValue() instanceof Edge) {
+      edgeIdMap.remove(((Edge) notification.getValue()).id());
     }
   }
 
@@ -9,6 +9,7 @@ import org.junit.Test;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.CompletionException;
 
 import static org.junit.Assert.*;
 
@@ -154,11 +155,41 @@ public class FactManagerTest extends AbstractManagerTest {
     assertNull(getFactManager().getFact(UUID.randomUUID()));
   }
 
+  @Test
+  public void testGetFacts() {
+    FactEntity fact1 = createAndSaveFact();
+    FactEntity fact2 = createAndSaveFact();
+    List<FactEntity> facts = getFactManager().getFacts(ListUtils.list(fact2.getId(), UUID.randomUUID(), fact1.getId()));
+
+    assertEquals(2, facts.size());
+    assertFact(fact2, facts.get(0));
+    assertFact(fact1, facts.get(1));
+  }
+
+  @Test
+  public void testGetFactsWithInvalidInput() {
+    assertEquals(0, getFactManager().getFacts(null).size());
+    assertEquals(0, getFactManager().getFacts(ListUtils.list()).size());
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void testSaveFactWithNonExistingFactType() {
     getFactManager().saveFact(createFact());
   }
 
+  @Test
+  public void testSaveFactAsync() {
+    FactEntity entity = createFact(createAndSaveFactType().getId());
+    assertSame(entity, getFactManager().saveFactAsync(entity).toCompletableFuture().join());
+    assertFact(entity, getFactManager().getFact(entity.getId()));
+  }
+
+  @Test
+  public void testSaveFactAsyncWithNonExistingFactType() {
+    CompletionException ex = assertThrows(CompletionException.class, () -> getFactManager().saveFactAsync(createFact()).toCompletableFuture().join());
+    assertTrue(ex.getCause() instanceof IllegalArgumentException);
+  }
+
   @Test
   public void testSaveFactReturnsSameEntity() {
     FactEntity entity = createFact(createAndSaveFactType().getId());
@@ -219,6 +250,45 @@ public class FactManagerTest extends AbstractManagerTest {
     assertEquals(expected.getId(), actual.getId());
   }
 
+  @Test
+  public void testGetFactIDsByHash() {
+    FactExistenceEntity existence1 = createFactExistence(createAndSaveFact().getId());
+    FactExistenceEntity existence2 = createFactExistence(createAndSaveFact().getId());
+    getFactManager().saveFactExistence(existence1);
+    getFactManager().saveFactExistence(existence2);
+
+    Map<String, UUID> ids = getFactManager().getFactIDsByHash(ListUtils.list(existence1.getFactHash(), "something", existence2.getFactHash()));
+    assertEquals(2, ids.size());
+    assertEquals(existence1.getFactID(), ids.get(existence1.getFactHash()));
+    assertEquals(existence2.getFactID(), ids.get(existence2.getFactHash()));
+  }
+
+  @Test
+  public void testGetFactIDsByHashWithInvalidInput() {
+    assertEquals(0, getFactManager().getFactIDsByHash(null).size());
+    assertEquals(0, getFactManager().getFactIDsByHash(ListUtils.list()).size());
+    assertEquals(0, getFactManager().getFactIDsByHash(ListUtils.list("", " ")).size());
+  }
+
+  @Test
+  public void testSaveFactExistenceAsyncTrusted() {
+    FactEntity expected = createAndSaveFact();
+    FactExistenceEntity existenceEntity = createFactExistence(expected.getId());
+    assertSame(existenceEntity, getFactManager().saveFactExistenceAsync(existenceEntity, WriteMode.Trusted).toCompletableFuture().join());
+    assertFact(expected, getFactManager().getFact(existenceEntity.getFactHash()));
+  }
+
+  @Test
+  public void testSaveFactExistenceAsyncTrustedTwiceFails() {
+    FactExistenceEntity existenceEntity = createFactExistence(createAndSaveFact().getId());
+    getFactManager().saveFactExistenceAsync(existenceEntity, WriteMode.Trusted).toCompletableFuture().join();
+
+    FactExistenceEntity duplicate = createFactExistence(createAndSaveFact().getId()).setFactHash(existenceEntity.getFactHash());
+    CompletionException ex = assertThrows(CompletionException.class,
+            () -> getFactManager().saveFactExistenceAsync(duplicate, WriteMode.Trusted).toCompletableFuture().join());
+    assertTrue(ex.getCause() instanceof ImmutableViolationException);
+  }
+
   @Test
   public void testFetchFactsWithinTimeframeSingleBucket() {
     long timestamp = 1609504200000L;
@@ -339,6 +409,26 @@ public class FactManagerTest extends AbstractManagerTest {
     getFactManager().saveFactAclEntry(entry);
   }
 
+  @Test
+  public void testSaveFactAclEntryAsyncValidatedWithNonExistingFactFails() {
+    FactAclEntity entry = createFactAclEntry(UUID.randomUUID());
+    CompletionException ex = assertThrows(CompletionException.class,
+            () -> getFactManager().saveFactAclEntryAsync(entry, WriteMode.Validated).toCompletableFuture().join());
+    assertTrue(ex.getCause() instanceof IllegalArgumentException);
+  }
+
+  @Test
+  public void testSaveFactAclEntryAsyncTrustedIsIdempotent() {
+    FactEntity fact = createAndSaveFact();
+    FactAclEntity entry = createFactAclEntry(fact.getId());
+    assertSame(entry, getFactManager().saveFactAclEntryAsync(entry, WriteMode.Trusted).toCompletableFuture().join());
+    assertSame(entry, getFactManager().saveFactAclEntryAsync(entry, WriteMode.Trusted).toCompletableFuture().join());
+
+    List<FactAclEntity> acl = getFactManager().fetchFactAcl(fact.getId());
+    assertEquals(1, acl.size());
+    assertFactAclEntry(entry, acl.get(0));
+  }
+
   @Test
   public void testSaveAndFetchFactComments() {
     FactEntity fact = createAndSaveFact();
@@ -390,10 +480,28 @@ public class FactManagerTest extends AbstractManagerTest {
 
   @Test
   public void testFetchMetaFactBindingsWithNonExistingFact() {
-    assertEquals(0, ListUtils.list(getFactManager().fetchMetaFactBindings(null)).size());
+    assertEquals(0, ListUtils.list(getFactManager().fetchMetaFactBindings((UUID) null)).size());
     assertEquals(0, ListUtils.list(getFactManager().fetchMetaFactBindings(UUID.randomUUID())).size());
   }
 
+  @Test
+  public void testFetchMetaFactBindingsForMultipleFacts() {
+    FactEntity fact1 = createAndSaveFact();
+    FactEntity fact2 = createAndSaveFact();
+    MetaFactBindingEntity binding1 = createAndSaveMetaFactBinding(fact1.getId());
+    MetaFactBindingEntity binding2 = createAndSaveMetaFactBinding(fact2.getId());
+
+    List<MetaFactBindingEntity> actual = ListUtils.list(getFactManager().fetchMetaFactBindings(ListUtils.list(fact1.getId(), fact2.getId(), UUID.randomUUID())));
+    assertEquals(2, actual.size());
+    assertEquals(SetUtils.set(binding1.getMetaFactID(), binding2.getMetaFactID()), SetUtils.set(actual, MetaFactBindingEntity::getMetaFactID));
+  }
+
+  @Test
+  public void testFetchMetaFactBindingsForMultipleFactsWithEmptyInput() {
+    assertEquals(0, ListUtils.list(getFactManager().fetchMetaFactBindings((Collection<UUID>) null)).size());
+    assertEquals(0, ListUtils.list(getFactManager().fetchMetaFactBindings(ListUtils.list())).size());
+  }
+
   @Test
   public void testSaveMetaFactBindingReturnsSameEntity() {
     MetaFactBindingEntity binding = createMetaFactBinding(createAndSaveFact().getId());
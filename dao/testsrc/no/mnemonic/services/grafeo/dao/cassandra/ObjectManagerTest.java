@@ -118,6 +118,22 @@ public class ObjectManagerTest extends AbstractManagerTest {
     assertNull(getObjectManager().getObject(UUID.randomUUID()));
   }
 
+  @Test
+  public void testGetObjects() {
+    List<ObjectEntity> expected = createAndSaveObjects();
+    List<ObjectEntity> objects = getObjectManager().getObjects(ListUtils.list(expected.get(2).getId(), UUID.randomUUID(), expected.get(0).getId()));
+
+    assertEquals(2, objects.size());
+    assertObject(expected.get(2), objects.get(0));
+    assertObject(expected.get(0), objects.get(1));
+  }
+
+  @Test
+  public void testGetObjectsWithInvalidInput() {
+    assertEquals(0, getObjectManager().getObjects(null).size());
+    assertEquals(0, getObjectManager().getObjects(ListUtils.list()).size());
+  }
+
   @Test
   public void testSaveAndGetObjectByTypeValue() {
     ObjectTypeEntity type = createAndSaveObjectType();
@@ -158,6 +174,19 @@ public class ObjectManagerTest extends AbstractManagerTest {
     getObjectManager().saveObject(object);
   }
 
+  @Test
+  public void testSaveObjectWithSameTypeAndValueKeepsExistingObject() {
+    ObjectTypeEntity type = createAndSaveObjectType();
+    ObjectEntity first = createObject(type.getId());
+    ObjectEntity second = createObject(type.getId());
+    getObjectManager().saveObject(first);
+
+    // The second Object loses the race and the first Object is returned instead.
+    assertObject(first, getObjectManager().saveObject(second));
+    assertObject(first, getObjectManager().getObject(type.getName(), first.getValue()));
+    assertNull(getObjectManager().getObject(second.getId()));
+  }
+
   @Test
   public void testSaveObjectReturnsSameEntity() {
     ObjectEntity entity = createObject(createAndSaveObjectType().getId());
@@ -1,9 +1,13 @@
 package no.mnemonic.services.grafeo.dao.elastic;
 
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
 import no.mnemonic.services.grafeo.dao.elastic.document.FactDocument;
+import no.mnemonic.services.grafeo.dao.elastic.result.BulkIndexResult;
 import org.junit.Test;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 import static no.mnemonic.services.grafeo.dao.elastic.DocumentTestUtils.assertFactDocument;
@@ -88,4 +92,69 @@ public class FactSearchManagerIndexFactsTest extends AbstractManagerTest {
     assertFactDocument(fact, fetchedFact);
   }
 
+  @Test
+  public void testIndexFactsNullFacts() {
+    BulkIndexResult result = getFactSearchManager().indexFacts(null, TimeGlobal);
+    assertTrue(result.getIndexedIDs().isEmpty());
+    assertFalse(result.hasFailures());
+  }
+
+  @Test
+  public void testIndexFactsSkipsEmptyFacts() {
+    BulkIndexResult result = getFactSearchManager().indexFacts(ListUtils.list(new FactDocument()), TimeGlobal);
+    assertTrue(result.getIndexedIDs().isEmpty());
+    assertFalse(result.hasFailures());
+  }
+
+  @Test
+  public void testIndexFactsAndGetFacts() {
+    FactDocument fact1 = createFactDocument(DAY1);
+    FactDocument fact2 = createFactDocument(DAY2);
+
+    BulkIndexResult result = getFactSearchManager().indexFacts(ListUtils.list(fact1, fact2), TimeGlobal);
+    assertEquals(SetUtils.set(fact1.getId(), fact2.getId()), result.getIndexedIDs());
+    assertFalse(result.hasFailures());
+
+    assertFactDocument(fact1, getFactSearchManager().getFact(fact1.getId(), TimeGlobal.getName()));
+    assertFactDocument(fact2, getFactSearchManager().getFact(fact2.getId(), TimeGlobal.getName()));
+  }
+
+  @Test
+  public void testIndexFactsSplitIntoMultipleBulkRequests() {
+    getFactSearchManager().setBulkMaxActions(2);
+    List<FactDocument> facts = ListUtils.list(createFactDocument(DAY1), createFactDocument(DAY1), createFactDocument(DAY1));
+
+    BulkIndexResult result = getFactSearchManager().indexFacts(facts, TimeGlobal);
+    assertEquals(SetUtils.set(facts, FactDocument::getId), result.getIndexedIDs());
+    assertFalse(result.hasFailures());
+
+    for (FactDocument fact : facts) {
+      assertNotNull(getFactSearchManager().getFact(fact.getId(), TimeGlobal.getName()));
+    }
+  }
+
+  @Test
+  public void testIndexFactsMarksFactsAsFailedWhenClientTimeoutExpires() {
+    // The client doesn't wait at all for the response, thus, the bulk request always times out.
+    getFactSearchManager().setBulkClientTimeout(0);
+    List<FactDocument> facts = ListUtils.list(createFactDocument(DAY1), createFactDocument(DAY1));
+
+    BulkIndexResult result = getFactSearchManager().indexFacts(facts, TimeGlobal);
+    assertTrue(result.getIndexedIDs().isEmpty());
+    assertEquals(SetUtils.set(facts, FactDocument::getId), result.getFailures().keySet());
+  }
+
+  @Test
+  public void testIndexFactsIntoDailyIndex() {
+    Instant lastSeen = Instant.parse("2022-03-22T13:13:13Z");
+    FactDocument fact = createFactDocument(lastSeen.toEpochMilli());
+
+    BulkIndexResult result = getFactSearchManager().indexFacts(ListUtils.list(fact), Daily);
+    assertEquals(SetUtils.set(fact.getId()), result.getIndexedIDs());
+
+    FactDocument fetchedFact = getFactSearchManager().getFact(fact.getId(), Daily.getName() + "2022-03-22");
+    assertNotNull(fetchedFact);
+    assertFactDocument(fact, fetchedFact);
+  }
+
 }
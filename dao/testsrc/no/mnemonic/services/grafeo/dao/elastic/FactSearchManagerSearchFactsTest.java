@@ -509,6 +509,20 @@ public class FactSearchManagerSearchFactsTest extends AbstractManagerTest {
     assertEquals(3, ListUtils.list(result).size());
   }
 
+  @Test
+  public void testSearchFactsPaginatesWithoutDuplicates() {
+    FactDocument fact = indexFact(d -> d.setLastSeenTimestamp(DAY1));
+    indexFact(d -> d.setLastSeenTimestamp(DAY2).setId(fact.getId()));
+    indexFact(d -> d.setLastSeenTimestamp(DAY3));
+
+    // Scroll size is set to 1, thus, every document is fetched in its own batch using 'search_after'.
+    ScrollingSearchResult<UUID> result = getFactSearchManager().searchFacts(createFactSearchCriteria(b -> b));
+    assertEquals(2, result.getCount());
+    List<UUID> values = ListUtils.list(result);
+    assertEquals(2, values.size());
+    assertEquals(2, set(values).size());
+  }
+
   @Test
   public void testSearchFactsWithDailyIndices() {
     indexFact(d -> d.setLastSeenTimestamp(DAY1));
@@ -0,0 +1,83 @@
+package no.mnemonic.services.grafeo.dao.elastic.result;
+
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class BoundedUUIDSetTest {
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCreateWithInvalidMaximumSize() {
+    new BoundedUUIDSet(0);
+  }
+
+  @Test
+  public void testAddNull() {
+    BoundedUUIDSet set = new BoundedUUIDSet(10);
+    assertFalse(set.add(null));
+    assertEquals(0, set.size());
+  }
+
+  @Test
+  public void testAddDetectsDuplicates() {
+    BoundedUUIDSet set = new BoundedUUIDSet(10);
+    UUID id = UUID.randomUUID();
+    assertTrue(set.add(id));
+    assertFalse(set.add(id));
+    assertFalse(set.add(UUID.fromString(id.toString())));
+    assertEquals(1, set.size());
+  }
+
+  @Test
+  public void testAddNilUUID() {
+    BoundedUUIDSet set = new BoundedUUIDSet(10);
+    assertTrue(set.add(new UUID(0, 0)));
+    assertFalse(set.add(new UUID(0, 0)));
+    assertEquals(1, set.size());
+  }
+
+  @Test
+  public void testAddGrowsUpToMaximumSize() {
+    int maximumSize = 10_000;
+    BoundedUUIDSet set = new BoundedUUIDSet(maximumSize);
+    long initialFootprint = set.getMemoryFootprint();
+
+    UUID[] ids = new UUID[maximumSize];
+    for (int i = 0; i < maximumSize; i++) {
+      ids[i] = UUID.randomUUID();
+      assertTrue(set.add(ids[i]));
+    }
+
+    // All elements should still be detected as duplicates after growing.
+    for (UUID id : ids) {
+      assertFalse(set.add(id));
+    }
+
+    assertEquals(maximumSize, set.size());
+    assertFalse(set.isOverflowed());
+    assertTrue(set.getMemoryFootprint() > initialFootprint);
+    // Two longs per slot with a load factor of at most 0.5.
+    assertTrue(set.getMemoryFootprint() <= 32L * 2 * maximumSize);
+  }
+
+  @Test
+  public void testAddWhenFull() {
+    BoundedUUIDSet set = new BoundedUUIDSet(2);
+    UUID first = UUID.randomUUID();
+    assertTrue(set.add(first));
+    assertTrue(set.add(UUID.randomUUID()));
+    assertFalse(set.isOverflowed());
+
+    // New elements aren't tracked anymore but are reported as unseen.
+    UUID untracked = UUID.randomUUID();
+    assertTrue(set.add(untracked));
+    assertTrue(set.add(untracked));
+    assertTrue(set.isOverflowed());
+    assertEquals(2, set.size());
+
+    // Previously tracked elements are still detected.
+    assertFalse(set.add(first));
+  }
+}
@@ -8,6 +8,7 @@ import java.util.UUID;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class ScrollingSearchResultTest {
 
@@ -21,17 +22,33 @@ public class ScrollingSearchResultTest {
   public void testWithSingleBatch() {
     List<UUID> values = ListUtils.list(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
     ScrollingSearchResult<UUID> result = ScrollingSearchResult.<UUID>builder()
-            .setInitialBatch(new ScrollingSearchResult.ScrollingBatch<>("TEST_SCROLL_ID", values.iterator(), true))
+            .setInitialBatch(new ScrollingSearchResult.ScrollingBatch<>("TEST_PIT_ID", null, values.iterator(), true))
             .build();
     assertEquals(values, ListUtils.list(result));
   }
 
+  @Test
+  public void testHasNextIsIdempotent() {
+    List<UUID> values = ListUtils.list(UUID.randomUUID(), UUID.randomUUID());
+    ScrollingSearchResult<UUID> result = ScrollingSearchResult.<UUID>builder()
+            .setInitialBatch(new ScrollingSearchResult.ScrollingBatch<>("TEST_PIT_ID", null, values.iterator(), true))
+            .build();
+    assertTrue(result.hasNext());
+    assertTrue(result.hasNext());
+    assertEquals(values.get(0), result.next());
+    assertTrue(result.hasNext());
+    assertTrue(result.hasNext());
+    assertEquals(values.get(1), result.next());
+    assertFalse(result.hasNext());
+    assertFalse(result.hasNext());
+  }
+
   @Test
   public void testWithSingleBatchNoDuplicates() {
     UUID duplicate = UUID.randomUUID();
     List<UUID> values = ListUtils.list(duplicate, duplicate, duplicate);
     ScrollingSearchResult<UUID> result = ScrollingSearchResult.<UUID>builder()
-            .setInitialBatch(new ScrollingSearchResult.ScrollingBatch<>("TEST_SCROLL_ID", values.iterator(), true))
+            .setInitialBatch(new ScrollingSearchResult.ScrollingBatch<>("TEST_PIT_ID", null, values.iterator(), true))
             .build();
     assertEquals(ListUtils.list(duplicate), ListUtils.list(result));
   }
@@ -41,8 +58,8 @@ public class ScrollingSearchResultTest {
     List<UUID> values1 = ListUtils.list(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
     List<UUID> values2 = ListUtils.list(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
     ScrollingSearchResult<UUID> result = ScrollingSearchResult.<UUID>builder()
-            .setInitialBatch(new ScrollingSearchResult.ScrollingBatch<>("TEST_SCROLL_ID", values1.iterator(), false))
-            .setFetchNextBatch(s -> new ScrollingSearchResult.ScrollingBatch<>("TEST_SCROLL_ID", values2.iterator(), true))
+            .setInitialBatch(new ScrollingSearchResult.ScrollingBatch<>("TEST_PIT_ID", null, values1.iterator(), false))
+            .setFetchNextBatch((id, after) -> new ScrollingSearchResult.ScrollingBatch<>("TEST_PIT_ID", null, values2.iterator(), true))
             .build();
     assertEquals(ListUtils.concatenate(values1, values2), ListUtils.list(result));
   }
@@ -53,11 +70,24 @@ public class ScrollingSearchResultTest {
     List<UUID> values1 = ListUtils.list(UUID.randomUUID(), UUID.randomUUID(), duplicate);
     List<UUID> values2 = ListUtils.list(UUID.randomUUID(), duplicate, UUID.randomUUID());
     ScrollingSearchResult<UUID> result = ScrollingSearchResult.<UUID>builder()
-            .setInitialBatch(new ScrollingSearchResult.ScrollingBatch<>("TEST_SCROLL_ID", values1.iterator(), false))
-            .setFetchNextBatch(s -> new ScrollingSearchResult.ScrollingBatch<>("TEST_SCROLL_ID", values2.iterator(), true))
+            .setInitialBatch(new ScrollingSearchResult.ScrollingBatch<>("TEST_PIT_ID", null, values1.iterator(), false))
+            .setFetchNextBatch((id, after) -> new ScrollingSearchResult.ScrollingBatch<>("TEST_PIT_ID", null, values2.iterator(), true))
             .build();
     List<UUID> deduplicated = ListUtils.list(result);
     assertEquals(5, deduplicated.size());
     assertEquals(duplicate, deduplicated.get(2)); // Should keep first occurrence.
   }
+
+  @Test
+  public void testWithCustomDeduplicationFilter() {
+    UUID duplicate = UUID.randomUUID();
+    List<UUID> values = ListUtils.list(duplicate, duplicate, UUID.randomUUID());
+    BoundedUUIDSet seenElements = new BoundedUUIDSet(10);
+    ScrollingSearchResult<UUID> result = ScrollingSearchResult.<UUID>builder()
+            .setInitialBatch(new ScrollingSearchResult.ScrollingBatch<>("TEST_PIT_ID", null, values.iterator(), true))
+            .setDeduplicationFilter(seenElements::add)
+            .build();
+    assertEquals(2, ListUtils.list(result).size());
+    assertEquals(2, seenElements.size());
+  }
 }
@@ -1,6 +1,8 @@
 package no.mnemonic.services.grafeo.dao.facade;
 
 import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.commons.utilities.collections.MapUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
 import no.mnemonic.services.grafeo.dao.api.ObjectFactDao;
 import no.mnemonic.services.grafeo.dao.api.criteria.AccessControlCriteria;
 import no.mnemonic.services.grafeo.dao.api.criteria.FactSearchCriteria;
@@ -14,15 +16,19 @@ import no.mnemonic.services.grafeo.dao.api.result.ObjectStatisticsContainer;
 import no.mnemonic.services.grafeo.dao.api.result.ResultContainer;
 import no.mnemonic.services.grafeo.dao.cassandra.FactManager;
 import no.mnemonic.services.grafeo.dao.cassandra.ObjectManager;
+import no.mnemonic.services.grafeo.dao.cassandra.WriteMode;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.*;
+import no.mnemonic.services.grafeo.dao.cassandra.exceptions.ImmutableViolationException;
 import no.mnemonic.services.grafeo.dao.elastic.FactSearchManager;
 import no.mnemonic.services.grafeo.dao.elastic.document.FactDocument;
+import no.mnemonic.services.grafeo.dao.elastic.result.BulkIndexResult;
 import no.mnemonic.services.grafeo.dao.elastic.result.ScrollingSearchResult;
 import no.mnemonic.services.grafeo.dao.elastic.result.SearchResult;
 import no.mnemonic.services.grafeo.dao.facade.converters.FactAclEntryRecordConverter;
 import no.mnemonic.services.grafeo.dao.facade.converters.FactCommentRecordConverter;
 import no.mnemonic.services.grafeo.dao.facade.converters.FactRecordConverter;
 import no.mnemonic.services.grafeo.dao.facade.converters.ObjectRecordConverter;
+import no.mnemonic.services.grafeo.dao.facade.helpers.FactIndexer;
 import no.mnemonic.services.grafeo.dao.facade.helpers.FactRecordHasher;
 import no.mnemonic.services.grafeo.dao.facade.resolvers.CachedFactResolver;
 import no.mnemonic.services.grafeo.dao.facade.resolvers.CachedObjectResolver;
@@ -31,11 +37,17 @@ import org.junit.Test;
 import org.mockito.Mock;
 
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import static java.util.concurrent.CompletableFuture.completedFuture;
 import static no.mnemonic.services.grafeo.dao.elastic.FactSearchManager.TargetIndex.Daily;
 import static no.mnemonic.services.grafeo.dao.elastic.FactSearchManager.TargetIndex.TimeGlobal;
 import static org.junit.Assert.*;
@@ -87,8 +99,20 @@ public class ObjectFactDaoFacadeTest {
             factCommentRecordConverter,
             objectResolver,
             factResolver,
+            new FactIndexer(factSearchManager, factRecordConverter),
             dcReplicationConsumer
     );
+
+    // Complete all asynchronous writes immediately.
+    when(factManager.saveFactExistenceAsync(any(), any())).thenAnswer(i -> completedFuture(i.getArgument(0)));
+    when(factManager.saveMetaFactBindingAsync(any(), any())).thenAnswer(i -> completedFuture(i.getArgument(0)));
+    when(factManager.saveFactByTimestampAsync(any(), any())).thenAnswer(i -> completedFuture(i.getArgument(0)));
+    when(factManager.saveFactRefreshLogEntryAsync(any(), any())).thenAnswer(i -> completedFuture(i.getArgument(0)));
+    when(factManager.saveFactAclEntryAsync(any(), any())).thenAnswer(i -> completedFuture(i.getArgument(0)));
+    when(factManager.saveFactCommentAsync(any(), any())).thenAnswer(i -> completedFuture(i.getArgument(0)));
+    when(objectManager.saveObjectFactBindingAsync(any(), any())).thenAnswer(i -> completedFuture(i.getArgument(0)));
+    when(factManager.saveFactAsync(any())).thenAnswer(i -> completedFuture(i.getArgument(0)));
+    when(factSearchManager.indexFacts(any(), any())).thenReturn(BulkIndexResult.builder().build());
   }
 
   @Test
@@ -122,6 +146,7 @@ public class ObjectFactDaoFacadeTest {
     ObjectRecord record = new ObjectRecord().setId(UUID.randomUUID());
     ObjectEntity entity = new ObjectEntity().setId(record.getId());
     when(objectRecordConverter.toEntity(record)).thenReturn(entity);
+    when(objectManager.saveObject(entity)).thenReturn(entity);
 
     assertSame(record, dao.storeObject(record));
     verify(objectRecordConverter).toEntity(argThat(r -> r.getId() == record.getId()));
@@ -133,12 +158,26 @@ public class ObjectFactDaoFacadeTest {
     ObjectRecord record = new ObjectRecord();
     ObjectEntity entity = new ObjectEntity();
     when(objectRecordConverter.toEntity(record)).thenReturn(entity);
+    when(objectManager.saveObject(entity)).thenReturn(entity);
 
     assertSame(record, dao.storeObject(record));
     verify(objectRecordConverter).toEntity(argThat(r -> r.getId() != null));
     verify(objectManager).saveObject(entity);
   }
 
+  @Test
+  public void testStoreObjectReturnsExistingObject() {
+    ObjectRecord record = new ObjectRecord().setTypeID(UUID.randomUUID()).setValue("value");
+    ObjectRecord existing = new ObjectRecord().setId(UUID.randomUUID()).setTypeID(record.getTypeID()).setValue("value");
+    ObjectEntity existingEntity = new ObjectEntity().setId(existing.getId());
+    when(objectRecordConverter.toEntity(record)).thenReturn(new ObjectEntity());
+    when(objectManager.saveObject(any())).thenReturn(existingEntity);
+    when(objectRecordConverter.fromEntity(existingEntity)).thenReturn(existing);
+
+    assertSame(existing, dao.storeObject(record));
+    verify(objectResolver, never()).getObject(any(), any());
+  }
+
   @Test
   public void testCalculateObjectStatistics() {
     ObjectStatisticsCriteria criteria = ObjectStatisticsCriteria.builder()
@@ -173,13 +212,13 @@ public class ObjectFactDaoFacadeTest {
     FactSearchCriteria criteria = createFactSearchCriteria();
     when(factSearchManager.searchObjects(criteria))
             .thenReturn(SearchResult.<UUID>builder().setCount(1).addValue(id).build());
-    when(objectResolver.getObject(id)).thenReturn(record);
+    when(objectResolver.getObjects(ListUtils.list(id))).thenReturn(ListUtils.list(record));
 
     ResultContainer<ObjectRecord> container = dao.searchObjects(criteria);
     assertEquals(1, container.getCount());
     assertEquals(ListUtils.list(record), ListUtils.list(container));
     verify(factSearchManager).searchObjects(criteria);
-    verify(objectResolver).getObject(id);
+    verify(objectResolver).getObjects(ListUtils.list(id));
   }
 
   @Test
@@ -192,6 +231,16 @@ public class ObjectFactDaoFacadeTest {
     verify(factResolver).getFact(id);
   }
 
+  @Test
+  public void testGetFactsByIds() {
+    List<UUID> ids = ListUtils.list(UUID.randomUUID(), UUID.randomUUID());
+    List<FactRecord> records = ListUtils.list(new FactRecord(), new FactRecord());
+    when(factResolver.getFacts(ids)).thenReturn(records);
+
+    assertSame(records, dao.getFacts(ids));
+    verify(factResolver).getFacts(ids);
+  }
+
   @Test
   public void testStoreFactWithNull() {
     assertNull(dao.storeFact(null));
@@ -238,17 +287,41 @@ public class ObjectFactDaoFacadeTest {
     verify(factRecordConverter).toDocument(argThat(r -> r.getId() != null));
   }
 
+  @Test(expected = IllegalArgumentException.class)
+  public void testStoreFactPropagatesFailedWrite() {
+    when(factRecordConverter.toEntity(notNull())).thenReturn(new FactEntity());
+    when(factManager.saveFactExistenceAsync(any(), any())).thenReturn(CompletableFuture.failedFuture(new IllegalArgumentException()));
+
+    try {
+      dao.storeFact(new FactRecord().setId(UUID.randomUUID()));
+    } finally {
+      verify(factSearchManager, never()).indexFact(any(), any());
+    }
+  }
+
+  @Test
+  public void testStoreFactSkipsDependentWritesIfFactExistenceFails() {
+    when(factRecordConverter.toEntity(notNull())).thenReturn(new FactEntity()
+            .setBindings(ListUtils.list(new FactEntity.FactObjectBinding().setObjectID(UUID.randomUUID()))));
+    when(factManager.saveFactExistenceAsync(any(), any())).thenReturn(CompletableFuture.failedFuture(new ImmutableViolationException("test")));
+
+    assertThrows(ImmutableViolationException.class, () -> dao.storeFact(new FactRecord().setId(UUID.randomUUID())));
+    verify(objectManager, never()).saveObjectFactBindingAsync(any(), any());
+    verify(factManager, never()).saveFactByTimestampAsync(any(), any());
+    verify(factManager, never()).saveFactRefreshLogEntryAsync(any(), any());
+  }
+
   @Test
   public void testStoreFactSavesFactExistence() {
     FactRecord record = new FactRecord().setId(UUID.randomUUID());
     when(factRecordConverter.toEntity(notNull())).thenReturn(new FactEntity());
 
     dao.storeFact(record);
-    verify(factManager).saveFactExistence(argThat(factExistence -> {
+    verify(factManager).saveFactExistenceAsync(argThat(factExistence -> {
       assertEquals(FactRecordHasher.toHash(record), factExistence.getFactHash());
       assertEquals(record.getId(), factExistence.getFactID());
       return true;
-    }));
+    }), eq(WriteMode.Trusted));
   }
 
   @Test
@@ -262,12 +335,12 @@ public class ObjectFactDaoFacadeTest {
     when(factRecordConverter.toEntity(notNull())).thenReturn(entity);
 
     dao.storeFact(new FactRecord());
-    verify(objectManager).saveObjectFactBinding(argThat(b -> {
+    verify(objectManager).saveObjectFactBindingAsync(argThat(b -> {
       assertEquals(binding.getObjectID(), b.getObjectID());
       assertEquals(binding.getDirection(), b.getDirection());
       assertEquals(entity.getId(), b.getFactID());
       return true;
-    }));
+    }), eq(WriteMode.Trusted));
   }
 
   @Test
@@ -278,11 +351,11 @@ public class ObjectFactDaoFacadeTest {
     when(factRecordConverter.toEntity(notNull())).thenReturn(entity);
 
     dao.storeFact(new FactRecord());
-    verify(factManager).saveMetaFactBinding(argThat(b -> {
+    verify(factManager).saveMetaFactBindingAsync(argThat(b -> {
       assertEquals(entity.getInReferenceToID(), b.getFactID());
       assertEquals(entity.getId(), b.getMetaFactID());
       return true;
-    }));
+    }), eq(WriteMode.Trusted));
   }
 
   @Test
@@ -293,12 +366,12 @@ public class ObjectFactDaoFacadeTest {
     when(factRecordConverter.toEntity(notNull())).thenReturn(entity);
 
     dao.storeFact(new FactRecord());
-    verify(factManager).saveFactByTimestamp(argThat(factByTimestamp -> {
+    verify(factManager).saveFactByTimestampAsync(argThat(factByTimestamp -> {
       assertEquals(1609502400000L, factByTimestamp.getHourOfDay());
       assertEquals(entity.getTimestamp(), factByTimestamp.getTimestamp());
       assertEquals(entity.getId(), factByTimestamp.getFactID());
       return true;
-    }));
+    }), eq(WriteMode.Trusted));
   }
 
   @Test
@@ -310,9 +383,9 @@ public class ObjectFactDaoFacadeTest {
     when(factRecordConverter.toEntity(notNull())).thenReturn(new FactEntity());
 
     dao.storeFact(record);
-    verify(factManager).saveFactRefreshLogEntry(argThat(entity -> Objects.equals(entity.getFactID(), record.getId()) &&
+    verify(factManager).saveFactRefreshLogEntryAsync(argThat(entity -> Objects.equals(entity.getFactID(), record.getId()) &&
             entity.getRefreshTimestamp() == record.getLastSeenTimestamp() &&
-            Objects.equals(entity.getRefreshedByID(), record.getLastSeenByID())));
+            Objects.equals(entity.getRefreshedByID(), record.getLastSeenByID())), eq(WriteMode.Trusted));
   }
 
   @Test
@@ -325,7 +398,7 @@ public class ObjectFactDaoFacadeTest {
     when(factAclEntryRecordConverter.toEntity(entry, fact.getId())).thenReturn(new FactAclEntity());
 
     dao.storeFact(fact);
-    verify(factManager).saveFactAclEntry(notNull());
+    verify(factManager).saveFactAclEntryAsync(notNull(), eq(WriteMode.Trusted));
     verify(factAclEntryRecordConverter).toEntity(argThat(r -> r.getId() != null), eq(fact.getId()));
   }
 
@@ -339,7 +412,7 @@ public class ObjectFactDaoFacadeTest {
     when(factCommentRecordConverter.toEntity(comment, fact.getId())).thenReturn(new FactCommentEntity());
 
     dao.storeFact(fact);
-    verify(factManager).saveFactComment(notNull());
+    verify(factManager).saveFactCommentAsync(notNull(), eq(WriteMode.Trusted));
     verify(factCommentRecordConverter).toEntity(argThat(r -> r.getId() != null), eq(fact.getId()));
   }
 
@@ -352,6 +425,135 @@ public class ObjectFactDaoFacadeTest {
     verify(dcReplicationConsumer).accept(fact);
   }
 
+  @Test
+  public void testStoreFactsWithEmptyList() {
+    assertTrue(dao.storeFacts(null).isEmpty());
+    assertTrue(dao.storeFacts(ListUtils.list()).isEmpty());
+    verifyNoInteractions(factManager, factSearchManager);
+  }
+
+  @Test
+  public void testStoreFactsSavesEntitiesAndIndexesInBulk() {
+    FactRecord record1 = new FactRecord().setId(UUID.randomUUID());
+    FactRecord record2 = new FactRecord().setId(UUID.randomUUID()).addFlag(FactRecord.Flag.TimeGlobalIndex);
+    FactEntity entity1 = new FactEntity().setId(record1.getId());
+    FactEntity entity2 = new FactEntity().setId(record2.getId());
+    FactDocument document1 = new FactDocument().setId(record1.getId());
+    FactDocument document2 = new FactDocument().setId(record2.getId());
+    when(factRecordConverter.toEntity(record1)).thenReturn(entity1);
+    when(factRecordConverter.toEntity(record2)).thenReturn(entity2);
+    when(factRecordConverter.toDocument(record1)).thenReturn(document1);
+    when(factRecordConverter.toDocument(record2)).thenReturn(document2);
+
+    assertEquals(ListUtils.list(record1, record2), dao.storeFacts(ListUtils.list(record1, record2)));
+    verify(factManager).saveFactAsync(entity1);
+    verify(factManager).saveFactAsync(entity2);
+    verify(factManager, never()).saveFact(any());
+    verify(factManager, times(2)).saveFactExistenceAsync(any(), eq(WriteMode.Trusted));
+    verify(factManager, times(2)).saveFactRefreshLogEntryAsync(any(), eq(WriteMode.Trusted));
+    verify(factSearchManager).indexFacts(ListUtils.list(document1), Daily);
+    verify(factSearchManager).indexFacts(ListUtils.list(document2), TimeGlobal);
+    verify(factSearchManager, never()).indexFact(any(), any());
+    verify(dcReplicationConsumer).accept(record1);
+    verify(dcReplicationConsumer).accept(record2);
+  }
+
+  @Test
+  public void testStoreFactsSetsId() {
+    FactRecord record = new FactRecord();
+    when(factRecordConverter.toEntity(record)).thenReturn(new FactEntity());
+    when(factRecordConverter.toDocument(record)).thenReturn(new FactDocument());
+
+    dao.storeFacts(ListUtils.list(record));
+    assertNotNull(record.getId());
+  }
+
+  @Test
+  public void testStoreFactsRetriesFailedDocuments() {
+    FactRecord record1 = new FactRecord().setId(UUID.randomUUID());
+    FactRecord record2 = new FactRecord().setId(UUID.randomUUID());
+    FactDocument document1 = new FactDocument().setId(record1.getId());
+    FactDocument document2 = new FactDocument().setId(record2.getId());
+    when(factRecordConverter.toEntity(notNull())).then(i -> new FactEntity().setId(i.<FactRecord>getArgument(0).getId()));
+    when(factRecordConverter.toDocument(record1)).thenReturn(document1);
+    when(factRecordConverter.toDocument(record2)).thenReturn(document2);
+    when(factSearchManager.indexFacts(any(), any())).thenReturn(BulkIndexResult.builder()
+            .addIndexed(record1.getId())
+            .addFailure(record2.getId(), "failure")
+            .build());
+
+    dao.storeFacts(ListUtils.list(record1, record2));
+    verify(factSearchManager).indexFacts(ListUtils.list(document1, document2), Daily);
+    verify(factSearchManager).indexFact(document2, Daily);
+    verify(factSearchManager, never()).indexFact(document1, Daily);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testStoreFactsPropagatesFailedWrite() {
+    when(factRecordConverter.toEntity(notNull())).thenReturn(new FactEntity());
+    when(factManager.saveFactAsync(any())).thenReturn(CompletableFuture.failedFuture(new IllegalArgumentException()));
+
+    try {
+      dao.storeFacts(ListUtils.list(new FactRecord().setId(UUID.randomUUID())));
+    } finally {
+      verify(factManager, never()).saveFactExistenceAsync(any(), any());
+      verify(factSearchManager, never()).indexFacts(any(), any());
+    }
+  }
+
+  @Test
+  public void testStoreFactsCompletesOtherFactsIfFactExistenceFails() {
+    FactRecord record1 = new FactRecord().setId(UUID.randomUUID());
+    FactRecord record2 = new FactRecord().setId(UUID.randomUUID());
+    FactDocument document1 = new FactDocument().setId(record1.getId());
+    when(factRecordConverter.toEntity(notNull())).then(i -> new FactEntity().setId(i.<FactRecord>getArgument(0).getId()));
+    when(factRecordConverter.toDocument(record1)).thenReturn(document1);
+    when(factManager.saveFactExistenceAsync(argThat(existence -> record2.getId().equals(existence.getFactID())), any()))
+            .thenReturn(CompletableFuture.failedFuture(new ImmutableViolationException("test")));
+
+    assertThrows(ImmutableViolationException.class, () -> dao.storeFacts(ListUtils.list(record1, record2)));
+    verify(factManager).saveFactRefreshLogEntryAsync(argThat(entry -> record1.getId().equals(entry.getFactID())), any());
+    verify(factManager, never()).saveFactRefreshLogEntryAsync(argThat(entry -> record2.getId().equals(entry.getFactID())), any());
+    verify(factRecordConverter, never()).toDocument(record2);
+    verify(factSearchManager).indexFacts(ListUtils.list(document1), Daily);
+    verify(dcReplicationConsumer).accept(record1);
+    verify(dcReplicationConsumer, never()).accept(record2);
+  }
+
+  @Test
+  public void testRefreshFactsWithEmptyList() {
+    assertTrue(dao.refreshFacts(null).isEmpty());
+    assertTrue(dao.refreshFacts(ListUtils.list()).isEmpty());
+    verifyNoInteractions(factManager, factSearchManager);
+  }
+
+  @Test
+  public void testRefreshFactsUpdatesEntitiesAndReindexesInBulk() {
+    FactRecord record = new FactRecord()
+            .setId(UUID.randomUUID())
+            .setLastSeenTimestamp(123456789L)
+            .setLastSeenByID(UUID.randomUUID());
+    FactRecord refreshed = new FactRecord().setId(record.getId());
+    FactDocument document = new FactDocument().setId(record.getId());
+    when(factManager.getFacts(any())).thenReturn(ListUtils.list(new FactEntity().setId(record.getId())));
+    when(factResolver.getFacts(any())).thenReturn(ListUtils.list(refreshed));
+    when(factRecordConverter.toDocument(refreshed)).thenReturn(document);
+
+    assertEquals(ListUtils.list(refreshed), dao.refreshFacts(ListUtils.list(record)));
+    verify(factManager).saveFactAsync(argThat(entity -> entity.getLastSeenTimestamp() == record.getLastSeenTimestamp() &&
+            Objects.equals(entity.getLastSeenByID(), record.getLastSeenByID())));
+    verify(factManager).saveFactRefreshLogEntryAsync(argThat(entity -> Objects.equals(entity.getFactID(), record.getId()) &&
+            entity.getRefreshTimestamp() == record.getLastSeenTimestamp()), eq(WriteMode.Trusted));
+    verify(factResolver).evict(record);
+    verify(factSearchManager).indexFacts(ListUtils.list(document), Daily);
+    verify(dcReplicationConsumer).accept(refreshed);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testRefreshFactsFailsOnMissingFact() {
+    dao.refreshFacts(ListUtils.list(new FactRecord().setId(UUID.randomUUID())));
+  }
+
   @Test
   public void testRefreshFactWithNull() {
     assertNull(dao.refreshFact(null));
@@ -382,9 +584,9 @@ public class ObjectFactDaoFacadeTest {
     mockReindexingOfFact(record);
 
     dao.refreshFact(record);
-    verify(factManager).saveFactRefreshLogEntry(argThat(entity -> Objects.equals(entity.getFactID(), record.getId()) &&
+    verify(factManager).saveFactRefreshLogEntryAsync(argThat(entity -> Objects.equals(entity.getFactID(), record.getId()) &&
             entity.getRefreshTimestamp() == record.getLastSeenTimestamp() &&
-            Objects.equals(entity.getRefreshedByID(), record.getLastSeenByID())));
+            Objects.equals(entity.getRefreshedByID(), record.getLastSeenByID())), eq(WriteMode.Trusted));
   }
 
   @Test
@@ -399,7 +601,7 @@ public class ObjectFactDaoFacadeTest {
 
     dao.refreshFact(fact);
     verify(factManager).saveFact(argThat(entity -> entity.isSet(FactEntity.Flag.HasAcl)));
-    verify(factManager).saveFactAclEntry(notNull());
+    verify(factManager).saveFactAclEntryAsync(notNull(), eq(WriteMode.Trusted));
     verify(factAclEntryRecordConverter).toEntity(entry, fact.getId());
   }
 
@@ -416,7 +618,7 @@ public class ObjectFactDaoFacadeTest {
     mockReindexingOfFact(fact);
 
     dao.refreshFact(fact);
-    verify(factManager, never()).saveFactAclEntry(any());
+    verify(factManager, never()).saveFactAclEntryAsync(any(), any());
     verify(factManager).fetchFactAcl(fact.getId());
   }
 
@@ -432,7 +634,7 @@ public class ObjectFactDaoFacadeTest {
 
     dao.refreshFact(fact);
     verify(factManager).saveFact(argThat(entity -> entity.isSet(FactEntity.Flag.HasComments)));
-    verify(factManager).saveFactComment(notNull());
+    verify(factManager).saveFactCommentAsync(notNull(), eq(WriteMode.Trusted));
     verify(factCommentRecordConverter).toEntity(comment, fact.getId());
   }
 
@@ -449,7 +651,7 @@ public class ObjectFactDaoFacadeTest {
     mockReindexingOfFact(fact);
 
     dao.refreshFact(fact);
-    verify(factManager, never()).saveFactComment(any());
+    verify(factManager, never()).saveFactCommentAsync(any(), any());
     verify(factManager).fetchFactComments(fact.getId());
   }
 
@@ -481,7 +683,7 @@ public class ObjectFactDaoFacadeTest {
 
     dao.retractFact(fact);
     verify(factManager).saveFact(argThat(entity -> entity.isSet(FactEntity.Flag.HasAcl)));
-    verify(factManager).saveFactAclEntry(notNull());
+    verify(factManager).saveFactAclEntryAsync(notNull(), eq(WriteMode.Trusted));
     verify(factAclEntryRecordConverter).toEntity(entry, fact.getId());
   }
 
@@ -498,7 +700,7 @@ public class ObjectFactDaoFacadeTest {
     mockReindexingOfFact(fact);
 
     dao.retractFact(fact);
-    verify(factManager, never()).saveFactAclEntry(any());
+    verify(factManager, never()).saveFactAclEntryAsync(any(), any());
     verify(factManager).fetchFactAcl(fact.getId());
   }
 
@@ -514,7 +716,7 @@ public class ObjectFactDaoFacadeTest {
 
     dao.retractFact(fact);
     verify(factManager).saveFact(argThat(entity -> entity.isSet(FactEntity.Flag.HasComments)));
-    verify(factManager).saveFactComment(notNull());
+    verify(factManager).saveFactCommentAsync(notNull(), eq(WriteMode.Trusted));
     verify(factCommentRecordConverter).toEntity(comment, fact.getId());
   }
 
@@ -531,7 +733,7 @@ public class ObjectFactDaoFacadeTest {
     mockReindexingOfFact(fact);
 
     dao.retractFact(fact);
-    verify(factManager, never()).saveFactComment(any());
+    verify(factManager, never()).saveFactCommentAsync(any(), any());
     verify(factManager).fetchFactComments(fact.getId());
   }
 
@@ -562,6 +764,27 @@ public class ObjectFactDaoFacadeTest {
     verify(factResolver).getFact(hash);
   }
 
+  @Test
+  public void testRetrieveExistingFactsWithEmptyList() {
+    assertTrue(dao.retrieveExistingFacts(null).isEmpty());
+    assertTrue(dao.retrieveExistingFacts(ListUtils.list()).isEmpty());
+    verifyNoInteractions(factResolver);
+  }
+
+  @Test
+  public void testRetrieveExistingFacts() {
+    FactRecord record1 = new FactRecord().setValue("value1");
+    FactRecord record2 = new FactRecord().setValue("value2");
+    String hash1 = FactRecordHasher.toHash(record1);
+    String hash2 = FactRecordHasher.toHash(record2);
+    when(factResolver.getFactsByHash(any())).thenReturn(MapUtils.map(MapUtils.Pair.T(hash1, record1)));
+
+    Map<String, FactRecord> result = dao.retrieveExistingFacts(ListUtils.list(record1, record2));
+    assertEquals(1, result.size());
+    assertSame(record1, result.get(hash1));
+    verify(factResolver).getFactsByHash(SetUtils.set(hash1, hash2));
+  }
+
   @Test
   public void testSearchFactsWithoutSearchResult() {
     FactSearchCriteria criteria = createFactSearchCriteria();
@@ -581,17 +804,17 @@ public class ObjectFactDaoFacadeTest {
     FactSearchCriteria criteria = createFactSearchCriteria();
 
     when(factSearchManager.searchFacts(criteria)).thenReturn(ScrollingSearchResult.<UUID>builder()
-            .setInitialBatch(new ScrollingSearchResult.ScrollingBatch<>("TEST_SCROLL_ID",
+            .setInitialBatch(new ScrollingSearchResult.ScrollingBatch<>("TEST_PIT_ID", null,
                     ListUtils.list(id).iterator(), true))
             .setCount(1)
             .build());
-    when(factResolver.getFact(id)).thenReturn(record);
+    when(factResolver.getFacts(ListUtils.list(id))).thenReturn(ListUtils.list(record));
 
     ResultContainer<FactRecord> container = dao.searchFacts(criteria);
     assertEquals(1, container.getCount());
     assertEquals(ListUtils.list(record), ListUtils.list(container));
     verify(factSearchManager).searchFacts(criteria);
-    verify(factResolver).getFact(id);
+    verify(factResolver).getFacts(ListUtils.list(id));
   }
 
   @Test
@@ -610,7 +833,7 @@ public class ObjectFactDaoFacadeTest {
 
     assertSame(entry, dao.storeFactAclEntry(fact, entry));
     verify(factManager).saveFact(argThat(entity -> entity.isSet(FactEntity.Flag.HasAcl)));
-    verify(factManager).saveFactAclEntry(notNull());
+    verify(factManager).saveFactAclEntryAsync(notNull(), eq(WriteMode.Validated));
     verify(factAclEntryRecordConverter).toEntity(argThat(r -> r.getId() == entry.getId()), eq(fact.getId()));
   }
 
@@ -623,7 +846,7 @@ public class ObjectFactDaoFacadeTest {
     mockReindexingOfFact(fact);
 
     assertSame(entry, dao.storeFactAclEntry(fact, entry));
-    verify(factManager).saveFactAclEntry(notNull());
+    verify(factManager).saveFactAclEntryAsync(notNull(), eq(WriteMode.Validated));
     verify(factAclEntryRecordConverter).toEntity(argThat(r -> r.getId() != null), eq(fact.getId()));
   }
 
@@ -652,7 +875,7 @@ public class ObjectFactDaoFacadeTest {
 
     assertSame(comment, dao.storeFactComment(fact, comment));
     verify(factManager).saveFact(argThat(entity -> entity.isSet(FactEntity.Flag.HasComments)));
-    verify(factManager).saveFactComment(notNull());
+    verify(factManager).saveFactCommentAsync(notNull(), eq(WriteMode.Validated));
     verify(factCommentRecordConverter).toEntity(argThat(r -> r.getId() == comment.getId()), eq(fact.getId()));
   }
 
@@ -664,7 +887,7 @@ public class ObjectFactDaoFacadeTest {
     when(factCommentRecordConverter.toEntity(comment, fact.getId())).thenReturn(new FactCommentEntity());
 
     assertSame(comment, dao.storeFactComment(fact, comment));
-    verify(factManager).saveFactComment(notNull());
+    verify(factManager).saveFactCommentAsync(notNull(), eq(WriteMode.Validated));
     verify(factCommentRecordConverter).toEntity(argThat(r -> r.getId() != null), eq(fact.getId()));
   }
 
@@ -686,11 +909,11 @@ public class ObjectFactDaoFacadeTest {
             .setFactID(factID);
     FactRecord fact = new FactRecord().setId(factID);
     when(objectManager.fetchObjectFactBindings(objectID)).thenReturn(ListUtils.list(binding).iterator());
-    when(factResolver.getFact(factID)).thenReturn(fact);
+    when(factResolver.getFacts(ListUtils.list(factID))).thenReturn(ListUtils.list(fact));
 
     assertSame(fact, dao.retrieveObjectFacts(objectID).next());
     verify(objectManager).fetchObjectFactBindings(objectID);
-    verify(factResolver).getFact(factID);
+    verify(factResolver).getFacts(ListUtils.list(factID));
   }
 
   @Test
@@ -711,11 +934,66 @@ public class ObjectFactDaoFacadeTest {
             .setMetaFactID(metaFactID);
     FactRecord metaFact = new FactRecord().setId(metaFactID);
     when(factManager.fetchMetaFactBindings(factID)).thenReturn(ListUtils.list(binding).iterator());
-    when(factResolver.getFact(metaFactID)).thenReturn(metaFact);
+    when(factResolver.getFacts(ListUtils.list(metaFactID))).thenReturn(ListUtils.list(metaFact));
 
     assertSame(metaFact, dao.retrieveMetaFacts(factID).next());
     verify(factManager).fetchMetaFactBindings(factID);
-    verify(factResolver).getFact(metaFactID);
+    verify(factResolver).getFacts(ListUtils.list(metaFactID));
+  }
+
+  @Test
+  public void testRetrieveMetaFactsForMultipleFactsNoResults() {
+    List<UUID> factIDs = ListUtils.list(UUID.randomUUID(), UUID.randomUUID());
+    when(factManager.fetchMetaFactBindings(factIDs)).thenReturn(Collections.emptyIterator());
+
+    assertTrue(dao.retrieveMetaFacts(factIDs).isEmpty());
+    verify(factManager).fetchMetaFactBindings(factIDs);
+    verifyNoInteractions(factResolver);
+  }
+
+  @Test
+  public void testRetrieveMetaFactsForMultipleFactsWithResults() {
+    UUID factID1 = UUID.randomUUID();
+    UUID factID2 = UUID.randomUUID();
+    FactRecord metaFact1 = new FactRecord().setId(UUID.randomUUID());
+    FactRecord metaFact2 = new FactRecord().setId(UUID.randomUUID());
+    FactRecord metaFact3 = new FactRecord().setId(UUID.randomUUID());
+    when(factManager.fetchMetaFactBindings(ListUtils.list(factID1, factID2))).thenReturn(ListUtils.list(
+            new MetaFactBindingEntity().setFactID(factID1).setMetaFactID(metaFact1.getId()),
+            new MetaFactBindingEntity().setFactID(factID1).setMetaFactID(metaFact2.getId()),
+            new MetaFactBindingEntity().setFactID(factID2).setMetaFactID(metaFact3.getId())
+    ).iterator());
+    when(factResolver.getFacts(any())).thenReturn(ListUtils.list(metaFact1, metaFact2, metaFact3));
+
+    Map<UUID, List<FactRecord>> result = dao.retrieveMetaFacts(ListUtils.list(factID1, factID2));
+    assertEquals(ListUtils.list(metaFact1, metaFact2), result.get(factID1));
+    assertEquals(ListUtils.list(metaFact3), result.get(factID2));
+
+    // All meta Facts are resolved at once.
+    verify(factResolver).getFacts(ListUtils.list(metaFact1.getId(), metaFact2.getId(), metaFact3.getId()));
+  }
+
+  @Test
+  public void testSearchFactsResolvesFactsInChunks() {
+    List<UUID> ids = IntStream.range(0, 501)
+            .mapToObj(i -> UUID.randomUUID())
+            .collect(Collectors.toList());
+    FactSearchCriteria criteria = createFactSearchCriteria();
+
+    when(factSearchManager.searchFacts(criteria)).thenReturn(ScrollingSearchResult.<UUID>builder()
+            .setInitialBatch(new ScrollingSearchResult.ScrollingBatch<>("TEST_PIT_ID", null, ids.iterator(), true))
+            .setCount(ids.size())
+            .build());
+    when(factResolver.getFacts(any())).then(i -> i.<List<UUID>>getArgument(0)
+            .stream()
+            .map(id -> new FactRecord().setId(id))
+            .collect(Collectors.toList()));
+
+    ResultContainer<FactRecord> container = dao.searchFacts(criteria);
+    assertEquals(ids, ListUtils.list(container, FactRecord::getId));
+    verify(factResolver).getFacts(ids.subList(0, 500));
+    verify(factResolver).getFacts(ids.subList(500, 501));
+    verify(factResolver, never()).getFact(any(UUID.class));
   }
 
 
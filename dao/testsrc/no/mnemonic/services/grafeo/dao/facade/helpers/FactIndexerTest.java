@@ -0,0 +1,167 @@
+package no.mnemonic.services.grafeo.dao.facade.helpers;
+
+import no.mnemonic.commons.metrics.MetricsData;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
+import no.mnemonic.services.grafeo.dao.elastic.FactSearchManager;
+import no.mnemonic.services.grafeo.dao.elastic.document.FactDocument;
+import no.mnemonic.services.grafeo.dao.elastic.result.BulkIndexResult;
+import no.mnemonic.services.grafeo.dao.facade.converters.FactRecordConverter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static no.mnemonic.services.grafeo.dao.elastic.FactSearchManager.TargetIndex.Daily;
+import static no.mnemonic.services.grafeo.dao.elastic.FactSearchManager.TargetIndex.TimeGlobal;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class FactIndexerTest {
+
+  @Mock
+  private FactSearchManager factSearchManager;
+  @Mock
+  private FactRecordConverter factRecordConverter;
+
+  private FactIndexer indexer;
+
+  @Before
+  public void setUp() {
+    initMocks(this);
+    when(factRecordConverter.toDocument(any())).thenAnswer(i -> new FactDocument().setId(i.<FactRecord>getArgument(0).getId()));
+    when(factSearchManager.indexFacts(any(), any())).thenReturn(BulkIndexResult.builder().build());
+
+    indexer = new FactIndexer(factSearchManager, factRecordConverter)
+            .setRetryDelay(1);
+  }
+
+  @After
+  public void cleanUp() {
+    indexer.stopComponent();
+  }
+
+  @Test
+  public void testIndexSingleFactSynchronously() {
+    FactRecord fact = createFact();
+    indexer.index(fact, false);
+
+    verify(factSearchManager).indexFact(argThat(document -> fact.getId().equals(document.getId())), eq(Daily));
+  }
+
+  @Test
+  public void testIndexTimeGlobalFactSynchronously() {
+    FactRecord fact = createFact().addFlag(FactRecord.Flag.TimeGlobalIndex);
+    indexer.index(fact, false);
+
+    verify(factSearchManager).indexFact(any(), eq(TimeGlobal));
+  }
+
+  @Test
+  public void testIndexMultipleFactsSynchronouslyRetriesFailedFacts() {
+    FactRecord fact1 = createFact();
+    FactRecord fact2 = createFact();
+    when(factSearchManager.indexFacts(any(), any())).thenReturn(BulkIndexResult.builder()
+            .addFailure(fact2.getId(), "failed")
+            .build());
+
+    indexer.index(ListUtils.list(fact1, fact2), false);
+
+    verify(factSearchManager).indexFacts(argThat(documents -> documents.size() == 2), eq(Daily));
+    verify(factSearchManager).indexFact(argThat(document -> fact2.getId().equals(document.getId())), eq(Daily));
+  }
+
+  @Test
+  public void testIndexWithWriteBehindReturnsBeforeIndexing() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    doAnswer(i -> {
+      release.await(10, TimeUnit.SECONDS);
+      return new FactDocument();
+    }).when(factRecordConverter).toDocument(any());
+    startWriteBehind();
+
+    // Returns immediately even though the background thread is blocked.
+    indexer.index(createFact(), false);
+    verifyNoInteractions(factSearchManager);
+    release.countDown();
+
+    indexer.stopComponent();
+    verify(factSearchManager).indexFact(any(), eq(Daily));
+  }
+
+  @Test
+  public void testIndexWithWriteBehindWaitsForIndex() throws Exception {
+    startWriteBehind();
+
+    // Both Facts must have been indexed when the call returns, either in one or two batches.
+    indexer.index(ListUtils.list(createFact(), createFact()), true);
+
+    assertEquals(2L, getMetric("writeBehindIndexedFacts"));
+  }
+
+  @Test
+  public void testIndexWithWriteBehindRetriesFailures() throws Exception {
+    when(factSearchManager.indexFact(any(), any())).thenThrow(IllegalStateException.class).thenReturn(null);
+    startWriteBehind();
+
+    indexer.index(createFact(), true);
+
+    verify(factSearchManager, times(2)).indexFact(any(), any());
+    assertEquals(1L, getMetric("writeBehindIndexRetries"));
+    assertEquals(0L, getMetric("writeBehindFailedFacts"));
+  }
+
+  @Test
+  public void testIndexWithWriteBehindGivesUpAfterMaxRetries() throws Exception {
+    doThrow(IllegalStateException.class).when(factSearchManager).indexFact(any(), any());
+    indexer.setMaxRetries(2);
+    startWriteBehind();
+
+    assertThrows(IllegalStateException.class, () -> indexer.index(createFact(), true));
+
+    verify(factSearchManager, times(3)).indexFact(any(), any());
+    assertEquals(1L, getMetric("writeBehindFailedFacts"));
+  }
+
+  @Test
+  public void testStopComponentIndexesQueuedFacts() throws Exception {
+    startWriteBehind();
+
+    for (int i = 0; i < 10; i++) {
+      indexer.index(createFact(), false);
+    }
+    indexer.stopComponent();
+
+    assertEquals(10L, getMetric("writeBehindIndexedFacts"));
+    assertEquals(0L, getMetric("writeBehindQueueSize"));
+  }
+
+  @Test
+  public void testIndexAfterStopComponentIndexesSynchronously() throws Exception {
+    startWriteBehind();
+    indexer.stopComponent();
+
+    indexer.index(createFact(), false);
+
+    verify(factSearchManager).indexFact(any(), eq(Daily));
+    assertEquals(0L, getMetric("writeBehindQueuedFacts"));
+  }
+
+  private void startWriteBehind() {
+    indexer.setWriteBehindEnabled(true).startComponent();
+  }
+
+  private long getMetric(String name) throws Exception {
+    return ((MetricsData) indexer.getMetrics()).getData().get(name).longValue();
+  }
+
+  private FactRecord createFact() {
+    return new FactRecord().setId(UUID.randomUUID());
+  }
+}
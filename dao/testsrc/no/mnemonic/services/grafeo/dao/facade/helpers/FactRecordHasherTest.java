@@ -1,15 +1,32 @@
 package no.mnemonic.services.grafeo.dao.facade.helpers;
 
+import com.google.common.hash.Hashing;
 import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
 import no.mnemonic.services.grafeo.dao.api.record.ObjectRecord;
 import org.junit.Test;
 
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+import java.util.Random;
 import java.util.UUID;
 
 import static org.junit.Assert.*;
 
 public class FactRecordHasherTest {
 
+  private static final float[] CONFIDENCE_CORPUS = {
+          0f, -0f, 0.001f, 0.005f, 0.015f, 0.115f, 0.125f, 0.335f, 0.995f, 1f, 2.675f, 99999.99f, 100000f, 1e20f,
+          -0.001f, -0.005f, -1f, Float.MIN_VALUE, Float.MAX_VALUE, Float.NaN, Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY
+  };
+
+  private static final String[] VALUE_CORPUS = {
+          null, "", "value", "%n", "\u00e6\u00f8\u00e5", "\u65e5\u672c\u8a9e", "\ud83d\ude00", "\ud800", "a\udc00b", "\ud83d",
+          "x".repeat(5000) + "\ud83d\ude00".repeat(1000)
+  };
+
   @Test
   public void testToHashThrowsExceptionOnNull() {
     assertThrows(IllegalArgumentException.class, () -> FactRecordHasher.toHash(null));
@@ -190,6 +207,60 @@ public class FactRecordHasherTest {
     assertEquals("1.00", FactRecordHasher.formatFloatingPoint(1));
   }
 
+  @Test
+  public void testFormatFloatingPointMatchesDecimalFormat() {
+    DecimalFormat format = new DecimalFormat("0.00", DecimalFormatSymbols.getInstance(Locale.ENGLISH));
+    format.setRoundingMode(RoundingMode.HALF_UP);
+
+    for (float number : CONFIDENCE_CORPUS) {
+      assertEquals(format.format(number), FactRecordHasher.formatFloatingPoint(number));
+    }
+
+    // Check values around every rounding boundary between 0.00 and 100.00.
+    for (int i = 0; i <= 20_000; i++) {
+      float boundary = i / 200f;
+      assertEquals(format.format(boundary), FactRecordHasher.formatFloatingPoint(boundary));
+      assertEquals(format.format(Math.nextUp(boundary)), FactRecordHasher.formatFloatingPoint(Math.nextUp(boundary)));
+      assertEquals(format.format(Math.nextDown(boundary)), FactRecordHasher.formatFloatingPoint(Math.nextDown(boundary)));
+    }
+
+    Random random = new Random(42);
+    for (int i = 0; i < 100_000; i++) {
+      float number = random.nextBoolean() ? random.nextFloat() : Float.intBitsToFloat(random.nextInt());
+      assertEquals(format.format(number), FactRecordHasher.formatFloatingPoint(number));
+    }
+  }
+
+  @Test
+  public void testToHashMatchesHashOfFormattedFactRecord() {
+    // Regression test ensuring that hashing without an intermediate string produces the exact same hash values.
+    Random random = new Random(42);
+    for (int i = 0; i < 10_000; i++) {
+      FactRecord record = createRandomFactRecord(random);
+      String expected = Hashing.sha256().hashString(FactRecordHasher.formatFactRecord(record), StandardCharsets.UTF_8).toString();
+      assertEquals(expected, FactRecordHasher.toHash(record));
+    }
+  }
+
+  private FactRecord createRandomFactRecord(Random random) {
+    FactRecord.AccessMode[] accessModes = FactRecord.AccessMode.values();
+    return new FactRecord()
+            .setTypeID(random.nextBoolean() ? createRandomUUID(random) : null)
+            .setValue(VALUE_CORPUS[random.nextInt(VALUE_CORPUS.length)])
+            .setInReferenceToID(random.nextBoolean() ? createRandomUUID(random) : null)
+            .setOriginID(random.nextBoolean() ? createRandomUUID(random) : null)
+            .setOrganizationID(random.nextBoolean() ? createRandomUUID(random) : null)
+            .setAccessMode(random.nextInt(4) > 0 ? accessModes[random.nextInt(accessModes.length)] : null)
+            .setConfidence(random.nextBoolean() ? random.nextFloat() : CONFIDENCE_CORPUS[random.nextInt(CONFIDENCE_CORPUS.length)])
+            .setSourceObject(random.nextBoolean() ? new ObjectRecord().setId(random.nextBoolean() ? createRandomUUID(random) : null) : null)
+            .setDestinationObject(random.nextBoolean() ? new ObjectRecord().setId(createRandomUUID(random)) : null)
+            .setBidirectionalBinding(random.nextBoolean());
+  }
+
+  private UUID createRandomUUID(Random random) {
+    return new UUID(random.nextLong(), random.nextLong());
+  }
+
   private FactRecord createFactRecord() {
     return new FactRecord()
             .setId(UUID.fromString("00000000-0000-0000-0000-000000000001"))
@@ -1,6 +1,10 @@
 package no.mnemonic.services.grafeo.dao.facade.resolvers;
 
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.commons.utilities.collections.MapUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
 import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
+import no.mnemonic.services.grafeo.dao.bindings.BulkReadableMap;
 import no.mnemonic.services.grafeo.dao.cassandra.FactManager;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.FactEntity;
 import no.mnemonic.services.grafeo.dao.facade.converters.FactRecordConverter;
@@ -9,6 +13,8 @@ import org.junit.Test;
 import org.mockito.Mock;
 
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.junit.Assert.*;
@@ -54,6 +60,66 @@ public class MapBackedFactResolverTest {
     verify(factRecordConverter).fromEntity(notNull());
   }
 
+  @Test
+  public void testGetFactsInvalidInput() {
+    assertEquals(0, factResolver.getFacts(null).size());
+    assertEquals(0, factResolver.getFacts(ListUtils.list()).size());
+    verifyNoInteractions(factManager);
+  }
+
+  @Test
+  public void testGetFactsNotFound() {
+    UUID id = UUID.randomUUID();
+    assertEquals(0, factResolver.getFacts(ListUtils.list(id)).size());
+    verify(factManager).getFacts(SetUtils.set(id));
+  }
+
+  @Test
+  public void testGetFactsFoundPreservesOrder() {
+    UUID id1 = UUID.randomUUID();
+    UUID id2 = UUID.randomUUID();
+    when(factManager.getFacts(any())).thenReturn(ListUtils.list(new FactEntity().setId(id2), new FactEntity().setId(id1)));
+    when(factRecordConverter.fromEntity(any())).then(i -> new FactRecord().setId(i.<FactEntity>getArgument(0).getId()));
+
+    List<FactRecord> records = factResolver.getFacts(ListUtils.list(id1, id2));
+    assertEquals(ListUtils.list(id1, id2), ListUtils.list(records, FactRecord::getId));
+    verify(factManager).getFacts(SetUtils.set(id1, id2));
+  }
+
+  @Test
+  public void testGetFactsOnlyFetchesMissingFacts() {
+    UUID cachedID = UUID.randomUUID();
+    UUID missingID = UUID.randomUUID();
+    when(factManager.getFact(isA(UUID.class))).thenReturn(new FactEntity().setId(cachedID));
+    when(factManager.getFacts(any())).thenReturn(ListUtils.list(new FactEntity().setId(missingID)));
+    when(factRecordConverter.fromEntity(any())).then(i -> new FactRecord().setId(i.<FactEntity>getArgument(0).getId()));
+
+    FactRecord cached = factResolver.getFact(cachedID);
+    List<FactRecord> records = factResolver.getFacts(ListUtils.list(cachedID, missingID));
+    assertEquals(2, records.size());
+    assertSame(cached, records.get(0));
+    assertEquals(missingID, records.get(1).getId());
+    verify(factManager).getFacts(SetUtils.set(missingID));
+
+    // Fetched records are cached as well.
+    assertSame(records.get(1), factResolver.getFact(missingID));
+    verify(factManager, never()).getFact(missingID);
+  }
+
+  @Test
+  public void testGetFactsUsesBulkReadableCache() {
+    UUID id = UUID.randomUUID();
+    FactRecord record = new FactRecord().setId(id);
+    BulkReadableMap<UUID, FactRecord> cache = mock(BulkReadableMap.class);
+    when(cache.getAll(any())).thenReturn(MapUtils.map(MapUtils.pair(id, record)));
+
+    CachedFactResolver resolver = new MapBackedFactResolver(factManager, factRecordConverter, cache, new HashMap<>());
+    assertEquals(ListUtils.list(record), resolver.getFacts(ListUtils.list(id)));
+    verify(cache).getAll(SetUtils.set(id));
+    verify(cache, never()).get(any());
+    verifyNoInteractions(factManager);
+  }
+
   @Test
   public void testGetFactByIdFoundCached() {
     UUID id = UUID.randomUUID();
@@ -109,6 +175,49 @@ public class MapBackedFactResolverTest {
     verify(factRecordConverter).fromEntity(notNull());
   }
 
+  @Test
+  public void testGetFactsByHashInvalidInput() {
+    assertTrue(factResolver.getFactsByHash(null).isEmpty());
+    assertTrue(factResolver.getFactsByHash(ListUtils.list()).isEmpty());
+    assertTrue(factResolver.getFactsByHash(ListUtils.list("", " ")).isEmpty());
+    verify(factManager, never()).getFactIDsByHash(any());
+  }
+
+  @Test
+  public void testGetFactsByHashNotFound() {
+    assertTrue(factResolver.getFactsByHash(ListUtils.list("abc789")).isEmpty());
+    verify(factManager).getFactIDsByHash(SetUtils.set("abc789"));
+    verify(factManager, never()).getFacts(any());
+  }
+
+  @Test
+  public void testGetFactsByHashFound() {
+    UUID id1 = UUID.randomUUID();
+    UUID id2 = UUID.randomUUID();
+    when(factManager.getFactIDsByHash(any())).thenReturn(MapUtils.map(MapUtils.Pair.T("abc789", id1), MapUtils.Pair.T("def123", id2)));
+    when(factManager.getFacts(any())).thenReturn(ListUtils.list(new FactEntity().setId(id1), new FactEntity().setId(id2)));
+    when(factRecordConverter.fromEntity(any())).then(i -> new FactRecord().setId(i.<FactEntity>getArgument(0).getId()));
+
+    Map<String, FactRecord> facts = factResolver.getFactsByHash(ListUtils.list("abc789", "def123"));
+    assertEquals(2, facts.size());
+    assertEquals(id1, facts.get("abc789").getId());
+    assertEquals(id2, facts.get("def123").getId());
+    verify(factManager).getFactIDsByHash(SetUtils.set("abc789", "def123"));
+    verify(factManager).getFacts(SetUtils.set(id1, id2));
+  }
+
+  @Test
+  public void testGetFactsByHashFoundCached() {
+    UUID id = UUID.randomUUID();
+    when(factManager.getFactIDsByHash(any())).thenReturn(MapUtils.map(MapUtils.Pair.T("abc789", id)));
+    when(factManager.getFacts(any())).thenReturn(ListUtils.list(new FactEntity().setId(id)));
+    when(factRecordConverter.fromEntity(any())).then(i -> new FactRecord().setId(id));
+
+    assertSame(factResolver.getFactsByHash(ListUtils.list("abc789")).get("abc789"), factResolver.getFactsByHash(ListUtils.list("abc789")).get("abc789"));
+    verify(factManager).getFactIDsByHash(any());
+    verify(factManager).getFacts(any());
+  }
+
   @Test
   public void testEvictInvalidInput() {
     factResolver.evict(null);
@@ -1,6 +1,10 @@
 package no.mnemonic.services.grafeo.dao.facade.resolvers;
 
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.commons.utilities.collections.MapUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
 import no.mnemonic.services.grafeo.dao.api.record.ObjectRecord;
+import no.mnemonic.services.grafeo.dao.bindings.BulkReadableMap;
 import no.mnemonic.services.grafeo.dao.cassandra.ObjectManager;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.ObjectEntity;
 import no.mnemonic.services.grafeo.dao.facade.converters.ObjectRecordConverter;
@@ -9,6 +13,7 @@ import org.junit.Test;
 import org.mockito.Mock;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.Assert.*;
@@ -54,6 +59,66 @@ public class MapBackedObjectResolverTest {
     verify(objectRecordConverter).fromEntity(notNull());
   }
 
+  @Test
+  public void testGetObjectsInvalidInput() {
+    assertEquals(0, objectResolver.getObjects(null).size());
+    assertEquals(0, objectResolver.getObjects(ListUtils.list()).size());
+    verifyNoInteractions(objectManager);
+  }
+
+  @Test
+  public void testGetObjectsNotFound() {
+    UUID id = UUID.randomUUID();
+    assertEquals(0, objectResolver.getObjects(ListUtils.list(id)).size());
+    verify(objectManager).getObjects(SetUtils.set(id));
+  }
+
+  @Test
+  public void testGetObjectsFoundPreservesOrder() {
+    UUID id1 = UUID.randomUUID();
+    UUID id2 = UUID.randomUUID();
+    when(objectManager.getObjects(any())).thenReturn(ListUtils.list(new ObjectEntity().setId(id2), new ObjectEntity().setId(id1)));
+    when(objectRecordConverter.fromEntity(any())).then(i -> new ObjectRecord().setId(i.<ObjectEntity>getArgument(0).getId()));
+
+    List<ObjectRecord> records = objectResolver.getObjects(ListUtils.list(id1, id2));
+    assertEquals(ListUtils.list(id1, id2), ListUtils.list(records, ObjectRecord::getId));
+    verify(objectManager).getObjects(SetUtils.set(id1, id2));
+  }
+
+  @Test
+  public void testGetObjectsOnlyFetchesMissingObjects() {
+    UUID cachedID = UUID.randomUUID();
+    UUID missingID = UUID.randomUUID();
+    when(objectManager.getObject(any())).thenReturn(new ObjectEntity().setId(cachedID));
+    when(objectManager.getObjects(any())).thenReturn(ListUtils.list(new ObjectEntity().setId(missingID)));
+    when(objectRecordConverter.fromEntity(any())).then(i -> new ObjectRecord().setId(i.<ObjectEntity>getArgument(0).getId()));
+
+    ObjectRecord cached = objectResolver.getObject(cachedID);
+    List<ObjectRecord> records = objectResolver.getObjects(ListUtils.list(cachedID, missingID));
+    assertEquals(2, records.size());
+    assertSame(cached, records.get(0));
+    assertEquals(missingID, records.get(1).getId());
+    verify(objectManager).getObjects(SetUtils.set(missingID));
+
+    // Fetched records are cached as well.
+    assertSame(records.get(1), objectResolver.getObject(missingID));
+    verify(objectManager, never()).getObject(missingID);
+  }
+
+  @Test
+  public void testGetObjectsUsesBulkReadableCache() {
+    UUID id = UUID.randomUUID();
+    ObjectRecord record = new ObjectRecord().setId(id);
+    BulkReadableMap<UUID, ObjectRecord> cache = mock(BulkReadableMap.class);
+    when(cache.getAll(any())).thenReturn(MapUtils.map(MapUtils.pair(id, record)));
+
+    CachedObjectResolver resolver = new MapBackedObjectResolver(objectManager, objectRecordConverter, cache, new HashMap<>());
+    assertEquals(ListUtils.list(record), resolver.getObjects(ListUtils.list(id)));
+    verify(cache).getAll(SetUtils.set(id));
+    verify(cache, never()).get(any());
+    verifyNoInteractions(objectManager);
+  }
+
   @Test
   public void testGetObjectByIdFoundCached() {
     UUID id = UUID.randomUUID();
@@ -11,9 +11,12 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
@@ -150,6 +153,38 @@ public class ElementFactoryTest {
     assertSame(first, second);
   }
 
+  @Test
+  public void testEvictedEdgesAreRemovedFromEdgeIdMap() {
+    UUID inObjectID = mockObject(UUID.randomUUID());
+    UUID outObjectID = mockObject(UUID.randomUUID());
+    FactEntity.FactObjectBinding outBinding = new FactEntity.FactObjectBinding()
+            .setObjectID(outObjectID)
+            .setDirection(Direction.BiDirectional);
+    FactTypeEntity factType = new FactTypeEntity().setId(UUID.randomUUID()).setName("type");
+    when(factManager.getFactType(factType.getId())).thenReturn(factType);
+    when(factManager.getFact(any())).thenAnswer(i -> new FactEntity()
+            .setId(i.getArgument(0))
+            .setTypeID(factType.getId())
+            .setValue("value")
+            .setBindings(ListUtils.list(outBinding)));
+
+    // Create more edges than the cache can hold, thus, the oldest edges will be evicted.
+    List<Edge> edges = new ArrayList<>();
+    for (int i = 0; i < ElementFactory.CACHE_MAXIMUM_SIZE * 11 / 10; i++) {
+      ObjectFactBindingEntity inBinding = new ObjectFactBindingEntity()
+              .setObjectID(inObjectID)
+              .setFactID(UUID.randomUUID())
+              .setDirection(Direction.BiDirectional);
+      edges.add(elementFactory.createEdges(inBinding).iterator().next());
+    }
+
+    long cachedEdges = edges.stream().filter(edge -> elementFactory.getEdge((UUID) edge.id()) != null).count();
+    assertTrue(cachedEdges <= ElementFactory.CACHE_MAXIMUM_SIZE);
+    assertEquals(cachedEdges, elementFactory.getEdgeIdMapSize());
+    assertNull(elementFactory.getEdge((UUID) edges.get(0).id()));
+    assertSame(edges.get(edges.size() - 1), elementFactory.getEdge((UUID) edges.get(edges.size() - 1).id()));
+  }
+
   @Test
   public void testGetVertexWithNullId() {
     assertNull(elementFactory.getVertex(null));
@@ -3,6 +3,7 @@ package no.mnemonic.services.grafeo.rest.api.v1;
 import io.swagger.annotations.*;
 import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.StringUtils;
+import no.mnemonic.services.common.api.ResultSet;
 import no.mnemonic.services.grafeo.api.exceptions.AccessDeniedException;
 import no.mnemonic.services.grafeo.api.exceptions.AuthenticationFailedException;
 import no.mnemonic.services.grafeo.api.exceptions.InvalidArgumentException;
@@ -147,6 +148,41 @@ public class FactEndpoint {
             .buildResponse();
   }
 
+  @POST
+  @Path("/bulk")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  @ApiOperation(
+          value = "Create multiple new Facts at once.",
+          notes = "This operation creates and returns multiple new Facts. Every Fact is created in the same way as by " +
+                  "the 'POST /v1/fact' operation, however, Objects are resolved and Facts are stored in bulk which is " +
+                  "considerably faster than creating the Facts one by one.\n\n" +
+                  "Either all Facts are created or, if at least one Fact is invalid, none. Validation errors reference " +
+                  "the invalid Fact by its position in the request, e.g. 'facts[1].value'.\n\n" +
+                  "The created Facts are returned in the same order as requested. If a Fact already exists, or if the " +
+                  "same Fact is requested multiple times, the lastSeenTimestamp of the existing Fact will be updated.",
+          response = Fact.class,
+          responseContainer = "list",
+          code = 201
+  )
+  @ApiResponses({
+          @ApiResponse(code = 401, message = "User could not be authenticated."),
+          @ApiResponse(code = 403, message = "User is not allowed to perform this operation."),
+          @ApiResponse(code = 412, message = "Any parameter has an invalid format.")
+  })
+  @RolesAllowed("addGrafeoFact")
+  public Response createFacts(
+          @ApiParam(value = "Request to create multiple Facts.") @NotNull @Valid CreateFactsRequest request
+  ) throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
+    ResultSet<Fact> result = service.createFacts(credentialsResolver.getRequestHeader(), request);
+    return ResultStash.builder()
+            .setStatus(Response.Status.CREATED)
+            .setLimit(result.getLimit())
+            .setCount(result.getCount())
+            .setData(result)
+            .buildResponse();
+  }
+
   @GET
   @Path("/uuid/{fact}/meta")
   @Produces(MediaType.APPLICATION_JSON)
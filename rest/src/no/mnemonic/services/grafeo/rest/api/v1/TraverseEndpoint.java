@@ -53,6 +53,8 @@ public class TraverseEndpoint {
                   "starting Object would simply be 'g.outE()'.\n\n" +
                   "There are several request parameters that affect the graph traversal as a whole. " +
                   "The 'limit' controls the maximum number of elements in the result. The default is 25. " +
+                  "The result is streamed while the traversal is executed, thus, the total number of results is not " +
+                  "known in advance and 'count' is always -1. Use 'size' to get the number of returned results. " +
                   "The 'includeRetracted' parameter controls wether retracted fact edges are followed during traversal. " +
                   "The 'before' and 'after' parameters filter facts by timestamp.\n\n" +
                   "Object properties include any one-legged facts associated with the object as well as the Object " +
@@ -1,8 +1,10 @@
 package no.mnemonic.services.grafeo.rest.client;
 
+import com.google.inject.Inject;
 import no.mnemonic.commons.component.LifecycleAspect;
 import no.mnemonic.commons.logging.Logger;
 import no.mnemonic.commons.logging.Logging;
+import no.mnemonic.commons.utilities.collections.SetUtils;
 import no.mnemonic.commons.utilities.lambda.LambdaUtils;
 import no.mnemonic.messaging.requestsink.jms.ExceptionMessage;
 import no.mnemonic.messaging.requestsink.jms.JMSRequestSink;
@@ -14,8 +16,8 @@ import no.mnemonic.services.common.messagebus.ServiceMessageClient;
 import no.mnemonic.services.common.messagebus.ServiceResponseValueMessage;
 import no.mnemonic.services.common.messagebus.ServiceStreamingResultSetResponseMessage;
 import no.mnemonic.services.grafeo.api.service.v1.GrafeoService;
+import no.mnemonic.services.grafeo.utilities.messaging.BinaryXStreamMessageSerializer;
 
-import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Provider;
 import javax.inject.Singleton;
@@ -33,9 +35,34 @@ public class GrafeoSmbClient implements Provider<GrafeoService>, LifecycleAspect
   private static final String ACTIVEMQ_CONTEXT_FACTORY = "org.apache.activemq.jndi.ActiveMQInitialContextFactory";
   private static final String ACTIVEMQ_CONNECTION_FACTORY = "ConnectionFactory";
   private static final int MAX_WAIT_MS = 2000;
+  private static final String XSTREAM_SERIALIZER = "xstream";
+  private static final String BINARY_SERIALIZER = "binary";
 
   private static final Logger logger = Logging.getLogger(GrafeoSmbClient.class);
 
+  // Common Java classes used in responses. Need to explicitly define Set/List because
+  // XStream doesn't provide default converters for UnmodifiableSet/UnmodifiableList.
+  private static final Set<Class<?>> ALLOWED_CLASSES = SetUtils.set(
+          String.class,
+          UUID.class,
+          Set.class,
+          List.class,
+          // Response messages used by SMB.
+          ExceptionMessage.class,
+          ServiceResponseValueMessage.class,
+          ServiceStreamingResultSetResponseMessage.class,
+          ServiceTimeOutException.class
+  );
+  private static final Set<String> ALLOWED_CLASSES_REGEX = SetUtils.set(
+          "java.util.Collections\\$EmptySet",
+          "java.util.Collections\\$EmptyList",
+          "java.util.Collections\\$UnmodifiableSet",
+          "java.util.Collections\\$UnmodifiableList",
+          // Allow all response classes defined in the API (including exceptions).
+          "no.mnemonic.services.grafeo.api.model.*",
+          "no.mnemonic.services.grafeo.api.exceptions.*"
+  );
+
   private final AtomicReference<Instance> instance = new AtomicReference<>();
 
   private final String queueName;
@@ -44,6 +71,8 @@ public class GrafeoSmbClient implements Provider<GrafeoService>, LifecycleAspect
   private final String userName;
   private final String password;
 
+  private boolean useBinarySerializer;
+
   @Inject
   public GrafeoSmbClient(@Named(value = "grafeo.smb.queue.name") String queueName,
                          @Named(value = "grafeo.smb.topic.name") String topicName,
@@ -57,6 +86,23 @@ public class GrafeoSmbClient implements Provider<GrafeoService>, LifecycleAspect
     this.password = password;
   }
 
+  /**
+   * Set the format used to encode messages, either 'xstream' (XML, default) or 'binary'. Servers accept both formats,
+   * thus, only switch clients to the binary format after all servers have been upgraded.
+   *
+   * @param serializer Name of message format
+   * @return this
+   */
+  @Inject(optional = true)
+  public GrafeoSmbClient setSerializer(@Named(value = "grafeo.smb.client.serializer") String serializer) {
+    if (!XSTREAM_SERIALIZER.equals(serializer) && !BINARY_SERIALIZER.equals(serializer)) {
+      throw new IllegalArgumentException(String.format("Unsupported serializer '%s'.", serializer));
+    }
+
+    this.useBinarySerializer = BINARY_SERIALIZER.equals(serializer);
+    return this;
+  }
+
   @Override
   public GrafeoService get() {
     return instance.updateAndGet(i -> {
@@ -105,27 +151,17 @@ public class GrafeoSmbClient implements Provider<GrafeoService>, LifecycleAspect
   }
 
   private MessageSerializer createSerializer() {
-    // XStreamMessageSerializer is the only serializer supported by the server.
-    return XStreamMessageSerializer.builder()
-            // Common Java classes used in responses. Need to explicitly define Set/List because
-            // XStream doesn't provide default converters for UnmodifiableSet/UnmodifiableList.
-            .addAllowedClass(String.class)
-            .addAllowedClass(UUID.class)
-            .addAllowedClass(Set.class)
-            .addAllowedClass(List.class)
-            .addAllowedClass("java.util.Collections\\$EmptySet")
-            .addAllowedClass("java.util.Collections\\$EmptyList")
-            .addAllowedClass("java.util.Collections\\$UnmodifiableSet")
-            .addAllowedClass("java.util.Collections\\$UnmodifiableList")
-            // Response messages used by SMB.
-            .addAllowedClass(ExceptionMessage.class)
-            .addAllowedClass(ServiceResponseValueMessage.class)
-            .addAllowedClass(ServiceStreamingResultSetResponseMessage.class)
-            .addAllowedClass(ServiceTimeOutException.class)
-            // Allow all response classes defined in the API (including exceptions).
-            .addAllowedClass("no.mnemonic.services.grafeo.api.model.*")
-            .addAllowedClass("no.mnemonic.services.grafeo.api.exceptions.*")
-            .build();
+    if (useBinarySerializer) {
+      BinaryXStreamMessageSerializer.Builder builder = BinaryXStreamMessageSerializer.builder();
+      ALLOWED_CLASSES.forEach(builder::addAllowedClass);
+      ALLOWED_CLASSES_REGEX.forEach(builder::addAllowedClass);
+      return builder.build();
+    }
+
+    XStreamMessageSerializer.Builder builder = XStreamMessageSerializer.builder();
+    ALLOWED_CLASSES.forEach(builder::addAllowedClass);
+    ALLOWED_CLASSES_REGEX.forEach(builder::addAllowedClass);
+    return builder.build();
   }
 
   private class Instance {
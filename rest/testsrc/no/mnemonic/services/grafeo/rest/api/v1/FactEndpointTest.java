@@ -63,6 +63,34 @@ public class FactEndpointTest extends AbstractEndpointTest {
     verify(getService(), times(1)).createFact(notNull(), isA(CreateFactRequest.class));
   }
 
+  @Test
+  public void testCreateFacts() throws Exception {
+    when(getService().createFacts(any(), isA(CreateFactsRequest.class))).then(i -> {
+      CreateFactsRequest request = i.getArgument(1);
+      assertEquals(2, request.getFacts().size());
+      return StreamingResultSet.<Fact>builder().setCount(3).setValues(createFacts()).build();
+    });
+
+    CreateFactsRequest request = new CreateFactsRequest()
+            .addFact(createCreateFactRequest())
+            .addFact(createCreateFactRequest());
+    Response response = target("/v1/fact/bulk").request().post(Entity.json(request));
+    JsonNode payload = getPayload(response);
+    assertEquals(201, response.getStatus());
+    assertTrue(payload.isArray());
+    assertEquals(3, payload.size());
+
+    verify(getService(), times(1)).createFacts(notNull(), isA(CreateFactsRequest.class));
+  }
+
+  @Test
+  public void testCreateFactsWithoutFacts() throws Exception {
+    Response response = target("/v1/fact/bulk").request().post(Entity.json(new CreateFactsRequest()));
+    assertEquals(412, response.getStatus());
+
+    verifyNoInteractions(getService());
+  }
+
   @Test
   public void testGetMetaFacts() throws Exception {
     UUID fact = UUID.randomUUID();
@@ -3,24 +3,34 @@ package no.mnemonic.services.grafeo.seb.esengine.v1.consumers;
 import no.mnemonic.commons.logging.Logger;
 import no.mnemonic.commons.logging.Logging;
 import no.mnemonic.commons.utilities.collections.CollectionUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
 import no.mnemonic.services.common.hazelcast.consumer.TransactionalConsumer;
 import no.mnemonic.services.grafeo.dao.elastic.FactSearchManager;
 import no.mnemonic.services.grafeo.dao.elastic.document.FactDocument;
+import no.mnemonic.services.grafeo.dao.elastic.result.BulkIndexResult;
 import no.mnemonic.services.grafeo.seb.esengine.v1.converters.FactConverter;
 import no.mnemonic.services.grafeo.seb.model.v1.FactSEB;
 
 import javax.inject.Inject;
 import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import static no.mnemonic.services.grafeo.dao.elastic.FactSearchManager.TargetIndex.Daily;
 import static no.mnemonic.services.grafeo.dao.elastic.FactSearchManager.TargetIndex.TimeGlobal;
 
 /**
  * Component which consumes {@link FactSEB} models, converts them to {@link FactDocument}, and indexes them into ElasticSearch.
+ * <p>
+ * All Facts of one consumed collection are indexed using bulk requests. Facts which could not be indexed are retried
+ * a couple of times. If some Facts still fail an exception is thrown which will roll back the Hazelcast transaction,
+ * i.e. the consumed queue entries are only acknowledged after all Facts have been indexed successfully.
  */
 public class FactConsumer implements TransactionalConsumer<FactSEB> {
 
   private static final Logger LOGGER = Logging.getLogger(FactConsumer.class);
+  private static final int MAX_RETRIES = 3;
+  private static final long RETRY_BACKOFF_MILLIS = 100;
 
   private final FactSearchManager factSearchManager;
   private final FactConverter factConverter;
@@ -35,21 +45,58 @@ public class FactConsumer implements TransactionalConsumer<FactSEB> {
   public void consume(Collection<FactSEB> items) {
     if (CollectionUtils.isEmpty(items)) return;
 
+    List<FactDocument> daily = ListUtils.list();
+    List<FactDocument> timeGlobal = ListUtils.list();
     for (FactSEB seb : items) {
       FactDocument document = factConverter.apply(seb);
-      if (document != null) {
-        LOGGER.debug("Indexing Fact with id = %s into ElasticSearch.", document.getId());
-        if (seb.isSet(FactSEB.Flag.TimeGlobalIndex)) {
-          factSearchManager.indexFact(document, TimeGlobal);
-        } else {
-          factSearchManager.indexFact(document, Daily);
-        }
+      if (document == null) continue;
+
+      if (seb.isSet(FactSEB.Flag.TimeGlobalIndex)) {
+        timeGlobal.add(document);
+      } else {
+        daily.add(document);
       }
     }
+
+    indexWithRetry(daily, Daily);
+    indexWithRetry(timeGlobal, TimeGlobal);
   }
 
   @Override
   public void close() {
     // Noop
   }
+
+  private void indexWithRetry(List<FactDocument> documents, FactSearchManager.TargetIndex index) {
+    List<FactDocument> remaining = documents;
+    for (int attempt = 0; !remaining.isEmpty(); attempt++) {
+      if (attempt > MAX_RETRIES) {
+        // Fail the whole consumed collection in order to roll back the transaction. The queue entries will be consumed again later.
+        throw new IllegalStateException(String.format("Could not index %d Facts into ElasticSearch after %d retries.", remaining.size(), MAX_RETRIES));
+      }
+
+      if (attempt > 0) {
+        LOGGER.warning("Retry indexing %d failed Facts into ElasticSearch (attempt %d of %d).", remaining.size(), attempt, MAX_RETRIES);
+        backoff(attempt);
+      }
+
+      LOGGER.debug("Indexing %d Facts into ElasticSearch.", remaining.size());
+      BulkIndexResult result = factSearchManager.indexFacts(remaining, index);
+      if (result == null || !result.hasFailures()) return;
+
+      // Only retry the Facts which failed.
+      remaining = remaining.stream()
+              .filter(document -> result.getFailures().containsKey(document.getId()))
+              .collect(Collectors.toList());
+    }
+  }
+
+  private void backoff(int attempt) {
+    try {
+      Thread.sleep(RETRY_BACKOFF_MILLIS * attempt);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting to retry indexing Facts into ElasticSearch.", ex);
+    }
+  }
 }
@@ -1,27 +1,348 @@
 package no.mnemonic.services.grafeo.seb.esengine.v1.handlers;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
 import com.hazelcast.core.HazelcastInstance;
+import no.mnemonic.commons.component.Dependency;
+import no.mnemonic.commons.component.LifecycleAspect;
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
+import no.mnemonic.commons.metrics.MetricAspect;
+import no.mnemonic.commons.metrics.MetricException;
+import no.mnemonic.commons.metrics.Metrics;
+import no.mnemonic.commons.metrics.MetricsData;
+import no.mnemonic.commons.metrics.MetricsGroup;
 import no.mnemonic.services.common.hazelcast.consumer.HazelcastTransactionalConsumerHandler;
 import no.mnemonic.services.common.hazelcast.consumer.TransactionalConsumer;
 import no.mnemonic.services.grafeo.seb.model.v1.FactSEB;
 
-import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Provider;
 import javax.inject.Singleton;
+import java.io.IOException;
+import java.time.Clock;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 import static no.mnemonic.services.grafeo.seb.esengine.v1.handlers.FactKafkaToHazelcastHandler.FACT_HAZELCAST_QUEUE_NAME;
 
 /**
  * Component which fetches {@link FactSEB} models from a Hazelcast queue and indexes them into ElasticSearch.
+ * <p>
+ * The number of workers consuming the queue is adjusted between a minimum and a maximum. Workers are added one by one
+ * while Facts pile up in the queue (e.g. during reindex catch-up) and removed again once the queue has been drained.
+ * Additional workers would only overload ElasticSearch if its bulk requests are already slow, thus, in this case no
+ * workers are added and surplus workers are removed instead. If no bulk request has completed since the last
+ * adjustment the last measured latency is used, or the age of the oldest running bulk request if that is higher.
  */
 @Singleton
-public class FactHazelcastToElasticSearchHandler extends HazelcastTransactionalConsumerHandler<FactSEB> {
+public class FactHazelcastToElasticSearchHandler implements LifecycleAspect, MetricAspect {
 
-  private static final int WORKER_COUNT = 4;
+  private static final Logger LOGGER = Logging.getLogger(FactHazelcastToElasticSearchHandler.class);
+
+  private static final int DEFAULT_MIN_WORKERS = 4;
+  private static final int DEFAULT_MAX_WORKERS = 16;
+  private static final long DEFAULT_SCALE_QUEUE_DEPTH = 5_000;
+  private static final long DEFAULT_MAX_BULK_LATENCY = 5_000;
+  private static final long DEFAULT_SCALE_INTERVAL = 10_000;
+
+  private final AtomicLong scaleUps = new AtomicLong();
+  private final AtomicLong scaleDowns = new AtomicLong();
+  // Workers are only modified while holding the lock on 'this'.
+  private final Deque<Worker> workers = new ArrayDeque<>();
+
+  @Dependency
+  private final HazelcastInstance hazelcastInstance;
+  private final Provider<TransactionalConsumer<FactSEB>> consumerProvider;
+
+  private int minWorkers = DEFAULT_MIN_WORKERS;
+  private int maxWorkers = DEFAULT_MAX_WORKERS;
+  private long scaleQueueDepth = DEFAULT_SCALE_QUEUE_DEPTH;
+  private long maxBulkLatency = DEFAULT_MAX_BULK_LATENCY;
+  private long scaleInterval = DEFAULT_SCALE_INTERVAL;
+  private Clock clock = Clock.systemUTC();
+  private Function<Provider<TransactionalConsumer<FactSEB>>, HazelcastTransactionalConsumerHandler<FactSEB>> handlerFactory = this::createHandler;
+
+  private ScheduledExecutorService scaler;
+  private int workerSequence;
+  private volatile long queueDepth;
+  private volatile long lastBulkLatency;
 
   @Inject
   public FactHazelcastToElasticSearchHandler(HazelcastInstance hazelcastInstance, Provider<TransactionalConsumer<FactSEB>> consumerProvider) {
-    super(hazelcastInstance, FACT_HAZELCAST_QUEUE_NAME, consumerProvider);
-    super.setWorkerCount(WORKER_COUNT);
+    this.hazelcastInstance = hazelcastInstance;
+    this.consumerProvider = consumerProvider;
+  }
+
+  @Override
+  public synchronized void startComponent() {
+    if (scaler != null) return;
+    if (minWorkers < 1 || maxWorkers < minWorkers) {
+      throw new IllegalStateException(String.format("Invalid worker configuration (min = %d, max = %d).", minWorkers, maxWorkers));
+    }
+
+    for (int i = 0; i < minWorkers; i++) {
+      addWorker();
+    }
+
+    scaler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+            .setNameFormat("FactHazelcastToElasticSearchScaler-%d")
+            .setDaemon(true)
+            .build());
+    scaler.scheduleWithFixedDelay(this::adjustWorkersSafely, scaleInterval, scaleInterval, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public synchronized void stopComponent() {
+    if (scaler == null) return;
+
+    scaler.shutdownNow();
+    scaler = null;
+    while (!workers.isEmpty()) {
+      removeWorker();
+    }
+  }
+
+  @Override
+  public synchronized Metrics getMetrics() throws MetricException {
+    MetricsGroup metrics = new MetricsGroup();
+    metrics.addSubMetrics("pool", new MetricsData()
+            .addData("workerCount", workers.size())
+            .addData("minWorkers", minWorkers)
+            .addData("maxWorkers", maxWorkers)
+            .addData("queueDepth", queueDepth)
+            .addData("bulkLatency", lastBulkLatency)
+            .addData("scaleUps", scaleUps)
+            .addData("scaleDowns", scaleDowns));
+    for (Worker worker : workers) {
+      metrics.addSubMetrics("worker-" + worker.id, worker.getMetrics());
+    }
+
+    return metrics;
+  }
+
+  /**
+   * Specify the minimum number of workers (defaults to 4). This number of workers is always running.
+   *
+   * @param minWorkers Minimum number of workers
+   * @return Class instance, i.e. 'this'
+   */
+  @Inject(optional = true)
+  public FactHazelcastToElasticSearchHandler setMinWorkers(@Named("grafeo.seb.esengine.workers.min") int minWorkers) {
+    this.minWorkers = minWorkers;
+    return this;
+  }
+
+  /**
+   * Specify the maximum number of workers (defaults to 16). Set it to the same value as the minimum number of
+   * workers in order to disable scaling.
+   *
+   * @param maxWorkers Maximum number of workers
+   * @return Class instance, i.e. 'this'
+   */
+  @Inject(optional = true)
+  public FactHazelcastToElasticSearchHandler setMaxWorkers(@Named("grafeo.seb.esengine.workers.max") int maxWorkers) {
+    this.maxWorkers = maxWorkers;
+    return this;
+  }
+
+  /**
+   * Specify the queue depth above which workers are added (defaults to 5.000). Workers are removed again once the
+   * queue depth drops below a tenth of this value.
+   *
+   * @param scaleQueueDepth Queue depth triggering additional workers
+   * @return Class instance, i.e. 'this'
+   */
+  @Inject(optional = true)
+  public FactHazelcastToElasticSearchHandler setScaleQueueDepth(@Named("grafeo.seb.esengine.workers.scale.queue.depth") long scaleQueueDepth) {
+    this.scaleQueueDepth = scaleQueueDepth;
+    return this;
+  }
+
+  /**
+   * Specify the average bulk request latency (in ms) above which ElasticSearch is considered overloaded
+   * (defaults to 5.000). No workers are added while the latency is higher, and surplus workers are removed.
+   *
+   * @param maxBulkLatency Maximum average bulk request latency
+   * @return Class instance, i.e. 'this'
+   */
+  @Inject(optional = true)
+  public FactHazelcastToElasticSearchHandler setMaxBulkLatency(@Named("grafeo.seb.esengine.workers.scale.max.bulk.latency") long maxBulkLatency) {
+    this.maxBulkLatency = maxBulkLatency;
+    return this;
+  }
+
+  /**
+   * Specify how often (in ms) the number of workers is adjusted (defaults to 10.000).
+   *
+   * @param scaleInterval Interval between adjustments
+   * @return Class instance, i.e. 'this'
+   */
+  @Inject(optional = true)
+  public FactHazelcastToElasticSearchHandler setScaleInterval(@Named("grafeo.seb.esengine.workers.scale.interval") long scaleInterval) {
+    this.scaleInterval = scaleInterval;
+    return this;
+  }
+
+  /* Setters used for testing */
+
+  FactHazelcastToElasticSearchHandler withClock(Clock clock) {
+    this.clock = clock;
+    return this;
+  }
+
+  FactHazelcastToElasticSearchHandler withHandlerFactory(Function<Provider<TransactionalConsumer<FactSEB>>, HazelcastTransactionalConsumerHandler<FactSEB>> handlerFactory) {
+    this.handlerFactory = handlerFactory;
+    return this;
+  }
+
+  synchronized void adjustWorkers() {
+    if (scaler == null) return;
+
+    queueDepth = hazelcastInstance.getQueue(FACT_HAZELCAST_QUEUE_NAME).size();
+    long bulkRequests = 0;
+    long bulkTime = 0;
+    long inFlightTime = 0;
+    for (Worker worker : workers) {
+      worker.completeInterval();
+      bulkRequests += worker.intervalBulkRequests;
+      bulkTime += worker.intervalBulkTime;
+      inFlightTime = Math.max(inFlightTime, worker.inFlightTime());
+    }
+    // Without completed bulk requests ElasticSearch isn't necessarily fast, it could also be stuck. Keep the last
+    // measured latency in this case, and consider running bulk requests to be at least as slow as their current age.
+    if (bulkRequests > 0) lastBulkLatency = bulkTime / bulkRequests;
+    long bulkLatency = Math.max(lastBulkLatency, inFlightTime);
+
+    if (bulkLatency > maxBulkLatency && workers.size() > minWorkers) {
+      LOGGER.info("Removing worker because ElasticSearch is slow (average bulk latency = %d ms).", bulkLatency);
+      removeWorker();
+    } else if (queueDepth > scaleQueueDepth && bulkLatency <= maxBulkLatency && workers.size() < maxWorkers) {
+      LOGGER.info("Adding worker because Facts pile up in queue (queue depth = %d).", queueDepth);
+      addWorker();
+    } else if (queueDepth < scaleQueueDepth / 10 && workers.size() > minWorkers) {
+      LOGGER.info("Removing worker because queue has been drained (queue depth = %d).", queueDepth);
+      removeWorker();
+    }
+  }
+
+  private void adjustWorkersSafely() {
+    try {
+      adjustWorkers();
+    } catch (Exception ex) {
+      // Never let the scheduled task die, otherwise the number of workers wouldn't be adjusted any more.
+      LOGGER.error(ex, "Could not adjust number of workers.");
+    }
+  }
+
+  private void addWorker() {
+    Worker worker = new Worker(++workerSequence, clock.millis());
+    worker.handler = handlerFactory.apply(worker::createConsumer);
+    worker.handler.startComponent();
+    if (scaler != null) scaleUps.incrementAndGet();
+    workers.addLast(worker);
+  }
+
+  private void removeWorker() {
+    // Remove the youngest worker first. Stopping it waits for the batch currently being indexed.
+    Worker worker = workers.removeLast();
+    worker.handler.stopComponent();
+    if (scaler != null) scaleDowns.incrementAndGet();
+  }
+
+  private HazelcastTransactionalConsumerHandler<FactSEB> createHandler(Provider<TransactionalConsumer<FactSEB>> provider) {
+    HazelcastTransactionalConsumerHandler<FactSEB> handler = new HazelcastTransactionalConsumerHandler<>(hazelcastInstance, FACT_HAZELCAST_QUEUE_NAME, provider);
+    // Every worker consists of exactly one consumer thread, scaling happens by adding or removing workers.
+    handler.setWorkerCount(1);
+    return handler;
+  }
+
+  private class Worker {
+    private static final long NOT_IN_FLIGHT = -1;
+
+    private final int id;
+    private final AtomicLong consumedFacts = new AtomicLong();
+    private final AtomicLong bulkRequests = new AtomicLong();
+    private final AtomicLong bulkTime = new AtomicLong();
+    // Start time of the bulk request currently being executed, or NOT_IN_FLIGHT.
+    private volatile long inFlightSince = NOT_IN_FLIGHT;
+
+    private HazelcastTransactionalConsumerHandler<FactSEB> handler;
+    // Statistics of the last completed interval, only accessed while holding the lock on the outer instance.
+    private long intervalStart;
+    private long lastConsumedFacts;
+    private long lastBulkRequests;
+    private long lastBulkTime;
+    private long intervalBulkRequests;
+    private long intervalBulkTime;
+    private long lastBulkLatency;
+    private long throughput;
+
+    private Worker(int id, long intervalStart) {
+      this.id = id;
+      this.intervalStart = intervalStart;
+    }
+
+    private TransactionalConsumer<FactSEB> createConsumer() {
+      TransactionalConsumer<FactSEB> delegate = consumerProvider.get();
+      return new TransactionalConsumer<FactSEB>() {
+        @Override
+        public void consume(Collection<FactSEB> items) throws IOException {
+          long start = clock.millis();
+          inFlightSince = start;
+          try {
+            delegate.consume(items);
+          } finally {
+            inFlightSince = NOT_IN_FLIGHT;
+          }
+          // Only successful bulk requests count, failures roll back the transaction and are consumed again.
+          bulkTime.addAndGet(clock.millis() - start);
+          bulkRequests.incrementAndGet();
+          consumedFacts.addAndGet(items != null ? items.size() : 0);
+        }
+
+        @Override
+        public void close() throws IOException {
+          delegate.close();
+        }
+      };
+    }
+
+    private void completeInterval() {
+      long now = clock.millis();
+      long consumed = consumedFacts.get();
+      long requests = bulkRequests.get();
+      long time = bulkTime.get();
+
+      intervalBulkRequests = requests - lastBulkRequests;
+      intervalBulkTime = time - lastBulkTime;
+      if (intervalBulkRequests > 0) lastBulkLatency = intervalBulkTime / intervalBulkRequests;
+      throughput = (consumed - lastConsumedFacts) * 1000 / Math.max(now - intervalStart, 1);
+
+      intervalStart = now;
+      lastConsumedFacts = consumed;
+      lastBulkRequests = requests;
+      lastBulkTime = time;
+    }
+
+    private long inFlightTime() {
+      long since = inFlightSince;
+      return since != NOT_IN_FLIGHT ? clock.millis() - since : 0;
+    }
+
+    private Metrics getMetrics() throws MetricException {
+      return new MetricsData()
+              .addData("consumedFacts", consumedFacts)
+              .addData("bulkRequests", bulkRequests)
+              .addData("bulkTimeSpent", bulkTime)
+              .addData("bulkLatency", lastBulkLatency)
+              .addData("throughput", throughput);
+    }
   }
 }
@@ -1,16 +1,21 @@
 package no.mnemonic.services.grafeo.seb.esengine.v1.consumers;
 
+import no.mnemonic.commons.utilities.collections.ListUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
 import no.mnemonic.services.grafeo.dao.elastic.FactSearchManager;
 import no.mnemonic.services.grafeo.dao.elastic.document.FactDocument;
+import no.mnemonic.services.grafeo.dao.elastic.result.BulkIndexResult;
 import no.mnemonic.services.grafeo.seb.esengine.v1.converters.FactConverter;
 import no.mnemonic.services.grafeo.seb.model.v1.FactSEB;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 
+import java.util.UUID;
+
 import static no.mnemonic.services.grafeo.dao.elastic.FactSearchManager.TargetIndex.Daily;
 import static no.mnemonic.services.grafeo.dao.elastic.FactSearchManager.TargetIndex.TimeGlobal;
+import static org.junit.Assert.assertThrows;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
 
@@ -49,27 +54,61 @@ public class FactConsumerTest {
   }
 
   @Test
-  public void testConsumeIndexesFacts() {
-    when(factConverter.apply(any())).thenReturn(new FactDocument());
+  public void testConsumeIndexesFactsInBulk() {
+    when(factConverter.apply(any())).thenAnswer(i -> new FactDocument().setId(UUID.randomUUID()));
+    when(factSearchManager.indexFacts(any(), any())).thenReturn(BulkIndexResult.builder().build());
     factConsumer.consume(SetUtils.set(FactSEB.builder().build(), FactSEB.builder().build(), FactSEB.builder().build()));
 
     verify(factConverter, times(3)).apply(notNull());
-    verify(factSearchManager, times(3)).indexFact(notNull(), notNull());
+    verify(factSearchManager).indexFacts(argThat(documents -> documents.size() == 3), eq(Daily));
+    verify(factSearchManager, never()).indexFact(any(), any());
   }
 
   @Test
   public void testConsumeIndexesDaily() {
-    when(factConverter.apply(any())).thenReturn(new FactDocument());
+    when(factConverter.apply(any())).thenReturn(new FactDocument().setId(UUID.randomUUID()));
+    when(factSearchManager.indexFacts(any(), any())).thenReturn(BulkIndexResult.builder().build());
     factConsumer.consume(SetUtils.set(FactSEB.builder().build()));
 
-    verify(factSearchManager).indexFact(notNull(), eq(Daily));
+    verify(factSearchManager).indexFacts(argThat(documents -> documents.size() == 1), eq(Daily));
+    verify(factSearchManager, never()).indexFacts(any(), eq(TimeGlobal));
   }
 
   @Test
   public void testConsumeIndexesTimeGlobal() {
-    when(factConverter.apply(any())).thenReturn(new FactDocument());
+    when(factConverter.apply(any())).thenReturn(new FactDocument().setId(UUID.randomUUID()));
+    when(factSearchManager.indexFacts(any(), any())).thenReturn(BulkIndexResult.builder().build());
     factConsumer.consume(SetUtils.set(FactSEB.builder().addFlag(FactSEB.Flag.TimeGlobalIndex).build()));
 
-    verify(factSearchManager).indexFact(notNull(), eq(TimeGlobal));
+    verify(factSearchManager).indexFacts(argThat(documents -> documents.size() == 1), eq(TimeGlobal));
+    verify(factSearchManager, never()).indexFacts(any(), eq(Daily));
+  }
+
+  @Test
+  public void testConsumeRetriesOnlyFailedFacts() {
+    FactDocument failed = new FactDocument().setId(UUID.randomUUID());
+    FactDocument succeeded = new FactDocument().setId(UUID.randomUUID());
+    FactSEB failedSeb = FactSEB.builder().setId(failed.getId()).build();
+    FactSEB succeededSeb = FactSEB.builder().setId(succeeded.getId()).build();
+    when(factConverter.apply(failedSeb)).thenReturn(failed);
+    when(factConverter.apply(succeededSeb)).thenReturn(succeeded);
+    when(factSearchManager.indexFacts(any(), any()))
+            .thenReturn(BulkIndexResult.builder().addIndexed(succeeded.getId()).addFailure(failed.getId(), "rejected").build())
+            .thenReturn(BulkIndexResult.builder().addIndexed(failed.getId()).build());
+
+    factConsumer.consume(SetUtils.set(failedSeb, succeededSeb));
+
+    verify(factSearchManager).indexFacts(argThat(documents -> documents.size() == 2), eq(Daily));
+    verify(factSearchManager).indexFacts(eq(ListUtils.list(failed)), eq(Daily));
+  }
+
+  @Test
+  public void testConsumeThrowsExceptionWhenRetriesExhausted() {
+    FactDocument failed = new FactDocument().setId(UUID.randomUUID());
+    when(factConverter.apply(any())).thenReturn(failed);
+    when(factSearchManager.indexFacts(any(), any())).thenReturn(BulkIndexResult.builder().addFailure(failed.getId(), "rejected").build());
+
+    assertThrows(IllegalStateException.class, () -> factConsumer.consume(SetUtils.set(FactSEB.builder().build())));
+    verify(factSearchManager, times(4)).indexFacts(eq(ListUtils.list(failed)), eq(Daily));
   }
 }
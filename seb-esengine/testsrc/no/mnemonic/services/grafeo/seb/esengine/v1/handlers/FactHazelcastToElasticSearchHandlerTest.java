@@ -0,0 +1,212 @@
+package no.mnemonic.services.grafeo.seb.esengine.v1.handlers;
+
+import com.hazelcast.collection.IQueue;
+import com.hazelcast.core.HazelcastInstance;
+import no.mnemonic.commons.metrics.MetricsData;
+import no.mnemonic.commons.metrics.MetricsGroup;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
+import no.mnemonic.services.common.hazelcast.consumer.HazelcastTransactionalConsumerHandler;
+import no.mnemonic.services.common.hazelcast.consumer.TransactionalConsumer;
+import no.mnemonic.services.grafeo.seb.model.v1.FactSEB;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import javax.inject.Provider;
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class FactHazelcastToElasticSearchHandlerTest {
+
+  @Mock
+  private HazelcastInstance hazelcastInstance;
+  @Mock
+  private IQueue<Object> queue;
+  @Mock
+  private TransactionalConsumer<FactSEB> factConsumer;
+  @Mock
+  private Clock clock;
+
+  private final List<HazelcastTransactionalConsumerHandler<FactSEB>> handlers = ListUtils.list();
+  private final List<Provider<TransactionalConsumer<FactSEB>>> providers = ListUtils.list();
+
+  private FactHazelcastToElasticSearchHandler handler;
+
+  @Before
+  public void setUp() {
+    initMocks(this);
+    when(hazelcastInstance.getQueue(any())).thenReturn(queue);
+
+    handler = new FactHazelcastToElasticSearchHandler(hazelcastInstance, () -> factConsumer)
+            .setMinWorkers(2)
+            .setMaxWorkers(3)
+            .setScaleQueueDepth(100)
+            .setMaxBulkLatency(1000)
+            // Workers are adjusted manually in the tests.
+            .setScaleInterval(3_600_000)
+            .withClock(clock)
+            .withHandlerFactory(provider -> {
+              HazelcastTransactionalConsumerHandler<FactSEB> workerHandler = mock(HazelcastTransactionalConsumerHandler.class);
+              handlers.add(workerHandler);
+              providers.add(provider);
+              return workerHandler;
+            });
+  }
+
+  @After
+  public void cleanUp() {
+    handler.stopComponent();
+  }
+
+  @Test
+  public void testStartComponentWithInvalidConfiguration() {
+    handler.setMinWorkers(4);
+    assertThrows(IllegalStateException.class, handler::startComponent);
+  }
+
+  @Test
+  public void testStartAndStopMinimumWorkers() {
+    handler.startComponent();
+    assertEquals(2, handlers.size());
+    handlers.forEach(workerHandler -> verify(workerHandler).startComponent());
+
+    handler.stopComponent();
+    handlers.forEach(workerHandler -> verify(workerHandler).stopComponent());
+  }
+
+  @Test
+  public void testAdjustWorkersAddsWorkerWhenQueueFillsUp() throws Exception {
+    when(queue.size()).thenReturn(500);
+    handler.startComponent();
+
+    handler.adjustWorkers();
+    assertEquals(3, handlers.size());
+    verify(handlers.get(2)).startComponent();
+
+    // Never exceeds the maximum number of workers.
+    handler.adjustWorkers();
+    assertEquals(3, handlers.size());
+    assertEquals(3L, getPoolMetric("workerCount"));
+    assertEquals(1L, getPoolMetric("scaleUps"));
+    assertEquals(500L, getPoolMetric("queueDepth"));
+  }
+
+  @Test
+  public void testAdjustWorkersRemovesWorkerWhenQueueIsDrained() throws Exception {
+    when(queue.size()).thenReturn(500, 0);
+    handler.startComponent();
+
+    handler.adjustWorkers();
+    handler.adjustWorkers();
+    verify(handlers.get(2)).stopComponent();
+
+    // Never falls below the minimum number of workers.
+    handler.adjustWorkers();
+    verify(handlers.get(0), never()).stopComponent();
+    verify(handlers.get(1), never()).stopComponent();
+    assertEquals(2L, getPoolMetric("workerCount"));
+    assertEquals(1L, getPoolMetric("scaleDowns"));
+  }
+
+  @Test
+  public void testAdjustWorkersDoesNotAddWorkerWhenBulkRequestsAreSlow() throws Exception {
+    when(queue.size()).thenReturn(500);
+    handler.startComponent();
+
+    when(clock.millis()).thenReturn(0L, 5000L);
+    providers.get(0).get().consume(SetUtils.set(FactSEB.builder().build()));
+
+    handler.adjustWorkers();
+    assertEquals(2, handlers.size());
+    assertEquals(0L, getPoolMetric("scaleUps"));
+  }
+
+  @Test
+  public void testAdjustWorkersKeepsLastBulkLatencyWithoutCompletedRequests() throws Exception {
+    when(queue.size()).thenReturn(500);
+    handler.startComponent();
+
+    when(clock.millis()).thenReturn(0L, 5000L);
+    providers.get(0).get().consume(SetUtils.set(FactSEB.builder().build()));
+    handler.adjustWorkers();
+
+    // No bulk request has completed in the second interval, but the last one was slow.
+    handler.adjustWorkers();
+    assertEquals(2, handlers.size());
+    assertEquals(5000L, getPoolMetric("bulkLatency"));
+  }
+
+  @Test
+  public void testAdjustWorkersDoesNotAddWorkerWhileBulkRequestIsStuck() throws Exception {
+    CountDownLatch consuming = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    doAnswer(i -> {
+      consuming.countDown();
+      release.await(10, TimeUnit.SECONDS);
+      return null;
+    }).when(factConsumer).consume(any());
+    when(queue.size()).thenReturn(500);
+    handler.startComponent();
+
+    when(clock.millis()).thenReturn(0L, 5000L);
+    TransactionalConsumer<FactSEB> consumer = providers.get(0).get();
+    Thread worker = new Thread(() -> {
+      try {
+        consumer.consume(SetUtils.set(FactSEB.builder().build()));
+      } catch (Exception ignored) {
+        // Not relevant for this test.
+      }
+    });
+    worker.start();
+    assertTrue(consuming.await(10, TimeUnit.SECONDS));
+
+    handler.adjustWorkers();
+    assertEquals(2, handlers.size());
+    assertEquals(0L, getPoolMetric("scaleUps"));
+
+    release.countDown();
+    worker.join(10_000);
+  }
+
+  @Test
+  public void testAdjustWorkersRemovesWorkerWhenBulkRequestsAreSlow() throws Exception {
+    when(queue.size()).thenReturn(500);
+    handler.startComponent();
+    handler.adjustWorkers();
+
+    when(clock.millis()).thenReturn(0L, 5000L);
+    providers.get(2).get().consume(SetUtils.set(FactSEB.builder().build()));
+
+    handler.adjustWorkers();
+    verify(handlers.get(2)).stopComponent();
+  }
+
+  @Test
+  public void testWorkerMetrics() throws Exception {
+    handler.startComponent();
+
+    TransactionalConsumer<FactSEB> consumer = providers.get(0).get();
+    consumer.consume(SetUtils.set(FactSEB.builder().build(), FactSEB.builder().build()));
+    verify(factConsumer).consume(argThat(items -> items.size() == 2));
+    consumer.close();
+    verify(factConsumer).close();
+
+    MetricsData metrics = (MetricsData) ((MetricsGroup) handler.getMetrics()).getSubMetrics().get("worker-1");
+    assertEquals(2L, metrics.getData().get("consumedFacts").longValue());
+    assertEquals(1L, metrics.getData().get("bulkRequests").longValue());
+  }
+
+  private long getPoolMetric(String name) throws Exception {
+    MetricsData metrics = (MetricsData) ((MetricsGroup) handler.getMetrics()).getSubMetrics().get("pool");
+    return metrics.getData().get(name).longValue();
+  }
+}
@@ -18,6 +18,7 @@ public class SebProducerModule extends AbstractModule {
     bind(new TypeLiteral<DocumentDestination<FactSEB>>() {})
             .toProvider(FactKafkaDestinationProvider.class)
             .in(Scopes.SINGLETON);
+    bind(FactProducer.class).in(Scopes.SINGLETON);
     bind(new TypeLiteral<Consumer<FactRecord>>() {}).to(FactProducer.class);
   }
 }
@@ -1,37 +1,235 @@
 package no.mnemonic.services.grafeo.seb.producer.v1;
 
+import com.google.inject.Inject;
+import no.mnemonic.commons.component.Dependency;
+import no.mnemonic.commons.component.LifecycleAspect;
 import no.mnemonic.commons.logging.Logger;
 import no.mnemonic.commons.logging.Logging;
+import no.mnemonic.commons.metrics.MetricAspect;
+import no.mnemonic.commons.metrics.MetricException;
+import no.mnemonic.commons.metrics.Metrics;
+import no.mnemonic.commons.metrics.MetricsData;
+import no.mnemonic.commons.metrics.PerformanceMonitor;
+import no.mnemonic.commons.metrics.TimerContext;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.messaging.documentchannel.DocumentChannel;
 import no.mnemonic.messaging.documentchannel.DocumentDestination;
 import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
 import no.mnemonic.services.grafeo.seb.model.v1.FactSEB;
 import no.mnemonic.services.grafeo.seb.producer.v1.converters.FactConverter;
+import no.mnemonic.services.grafeo.utilities.concurrent.WriteBehindQueue;
 
-import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * Component which takes a {@link FactRecord}, converts it to a {@link FactSEB} model, and writes it to a Kafka topic.
+ * <p>
+ * Facts are put on a bounded {@link WriteBehindQueue} and are converted and sent in batches by a background thread.
+ * This way a slow Kafka broker doesn't slow down the creation of Facts. Only if the queue is full the caller has to
+ * wait until the background thread has caught up. Facts which cannot be converted or sent in the background are
+ * retried with an increasing delay before they are given up. If the component isn't running Facts are sent
+ * synchronously.
  */
-public class FactProducer implements Consumer<FactRecord> {
+@Singleton
+public class FactProducer implements Consumer<FactRecord>, LifecycleAspect, MetricAspect {
 
   private static final Logger LOGGER = Logging.getLogger(FactProducer.class);
 
+  private static final int DEFAULT_QUEUE_SIZE = 10_000;
+  private static final int MAX_BATCH_SIZE = 100;
+  private static final int DEFAULT_MAX_RETRIES = 5;
+  private static final long DEFAULT_RETRY_DELAY = 1_000;
+
+  private final PerformanceMonitor sendMonitor = new PerformanceMonitor(TimeUnit.MINUTES, 60, 1);
+  private final AtomicLong sentFacts = new AtomicLong();
+  private final AtomicLong failedFacts = new AtomicLong();
+  private final AtomicLong sendRetries = new AtomicLong();
+  private final AtomicLong lastBatchSize = new AtomicLong();
+  private final AtomicLong maxBatchSize = new AtomicLong();
+
   private final FactConverter converter;
+  @Dependency
   private final DocumentDestination<FactSEB> destination;
+  private final WriteBehindQueue<FactRecord> writeBehindQueue;
+
+  private int queueSize = DEFAULT_QUEUE_SIZE;
+  private int maxRetries = DEFAULT_MAX_RETRIES;
+  private long retryDelay = DEFAULT_RETRY_DELAY;
 
   @Inject
   public FactProducer(FactConverter converter, DocumentDestination<FactSEB> destination) {
     this.converter = converter;
     this.destination = destination;
+    this.writeBehindQueue = new WriteBehindQueue<>("FactProducer", MAX_BATCH_SIZE, this::sendBatch);
+  }
+
+  @Override
+  public void startComponent() {
+    writeBehindQueue.start(queueSize);
+  }
+
+  @Override
+  public void stopComponent() {
+    // Stop accepting new Facts, but send everything which is already queued before shutting down.
+    writeBehindQueue.stop();
+  }
+
+  @Override
+  public Metrics getMetrics() throws MetricException {
+    return new MetricsData()
+            .addData("queueSize", writeBehindQueue.size())
+            .addData("queuedFacts", writeBehindQueue.getQueuedItems())
+            .addData("sentFacts", sentFacts)
+            .addData("failedFacts", failedFacts)
+            .addData("sendRetries", sendRetries)
+            .addData("blockedEnqueues", writeBehindQueue.getBlockedEnqueues())
+            .addData("lastBatchSize", lastBatchSize)
+            .addData("maxBatchSize", maxBatchSize)
+            .addData("sendInvocations", sendMonitor.getTotalInvocations())
+            .addData("sendTimeSpent", sendMonitor.getTotalTimeSpent());
   }
 
   @Override
   public void accept(FactRecord fact) {
-    FactSEB seb = converter.apply(fact);
-    if (seb != null) {
-      LOGGER.debug("Sending Fact with id = %s to document channel.", seb.getId());
-      destination.getDocumentChannel().sendDocument(seb);
+    if (fact == null) return;
+
+    if (writeBehindQueue.enqueue(List.of(fact)) == null) {
+      send(fact);
+    }
+  }
+
+  /**
+   * Specify how many Facts can be queued before callers have to wait (defaults to 10.000).
+   *
+   * @param queueSize Maximum number of queued Facts
+   * @return Class instance, i.e. 'this'
+   */
+  @Inject(optional = true)
+  public FactProducer setQueueSize(@Named("grafeo.seb.kafka.producer.queue.size") int queueSize) {
+    this.queueSize = queueSize;
+    return this;
+  }
+
+  /**
+   * Specify how often sending a Fact in the background is retried before the Fact is given up (defaults to 5).
+   *
+   * @param maxRetries Maximum number of retries
+   * @return Class instance, i.e. 'this'
+   */
+  @Inject(optional = true)
+  public FactProducer setMaxRetries(@Named("grafeo.seb.kafka.producer.max.retries") int maxRetries) {
+    this.maxRetries = maxRetries;
+    return this;
+  }
+
+  /**
+   * Specify how long to wait (in ms) before the first retry (defaults to 1000). The delay increases with every retry.
+   *
+   * @param retryDelay Delay before retrying
+   * @return Class instance, i.e. 'this'
+   */
+  @Inject(optional = true)
+  public FactProducer setRetryDelay(@Named("grafeo.seb.kafka.producer.retry.delay") long retryDelay) {
+    this.retryDelay = retryDelay;
+    return this;
+  }
+
+  private void send(FactRecord fact) {
+    // Sending synchronously, thus, let the caller handle any errors.
+    List<FactSEB> documents = converter.convert(List.of(fact));
+
+    try (TimerContext ignored = TimerContext.timerMillis(sendMonitor::invoked)) {
+      DocumentChannel<FactSEB> channel = destination.getDocumentChannel();
+      for (FactSEB seb : documents) {
+        LOGGER.debug("Sending Fact with id = %s to document channel.", seb.getId());
+        channel.sendDocument(seb);
+        sentFacts.incrementAndGet();
+      }
+    }
+  }
+
+  private void sendBatch(List<FactRecord> batch) throws InterruptedException {
+    lastBatchSize.set(batch.size());
+    maxBatchSize.accumulateAndGet(batch.size(), Math::max);
+
+    List<FactRecord> pending = batch;
+    for (int attempt = 0; ; attempt++) {
+      try {
+        // Only retry the Facts which failed, otherwise the other Facts of the batch would be sent multiple times.
+        pending = trySend(pending);
+        if (pending.isEmpty()) return;
+      } catch (RuntimeException ex) {
+        // Could not get hold of the document channel, thus, none of the pending Facts have been sent.
+        LOGGER.warning(ex, "Could not open document channel.");
+      }
+
+      if (attempt >= maxRetries) {
+        // Nobody waits for the result of a batch, thus, just give up the Facts instead of failing the batch.
+        LOGGER.error("Could not send %d Facts after %d retries. Facts must be resent manually: %s",
+                pending.size(), maxRetries, ListUtils.list(pending, FactRecord::getId));
+        failedFacts.addAndGet(pending.size());
+        return;
+      }
+
+      LOGGER.warning("Could not send %d Facts. Retrying.", pending.size());
+      sendRetries.incrementAndGet();
+      Thread.sleep(retryDelay * (attempt + 1));
+    }
+  }
+
+  private List<FactRecord> trySend(List<FactRecord> facts) {
+    // Convert all Facts first, afterwards send all documents at once. Return the Facts which failed.
+    List<FactSEB> documents = convert(facts);
+    List<FactRecord> failed = new ArrayList<>();
+
+    try (TimerContext ignored = TimerContext.timerMillis(sendMonitor::invoked)) {
+      DocumentChannel<FactSEB> channel = destination.getDocumentChannel();
+      for (int i = 0; i < facts.size(); i++) {
+        FactSEB seb = documents.get(i);
+        if (seb == null) {
+          failed.add(facts.get(i));
+          continue;
+        }
+
+        try {
+          LOGGER.debug("Sending Fact with id = %s to document channel.", seb.getId());
+          channel.sendDocument(seb);
+          sentFacts.incrementAndGet();
+        } catch (RuntimeException ex) {
+          LOGGER.warning(ex, "Could not send Fact with id = %s to document channel.", seb.getId());
+          failed.add(facts.get(i));
+        }
+      }
+    }
+
+    return failed;
+  }
+
+  private List<FactSEB> convert(List<FactRecord> facts) {
+    try {
+      return converter.convert(facts);
+    } catch (RuntimeException ex) {
+      // Fall back to converting Facts one by one in order to only retry the Facts which cannot be converted.
+      LOGGER.warning(ex, "Could not convert batch of %d Facts, converting Facts individually.", facts.size());
+      List<FactSEB> documents = new ArrayList<>(facts.size());
+      facts.forEach(fact -> documents.add(convert(fact)));
+      return documents;
+    }
+  }
+
+  private FactSEB convert(FactRecord fact) {
+    try {
+      return converter.apply(fact);
+    } catch (RuntimeException ex) {
+      LOGGER.warning(ex, "Could not convert Fact with id = %s.", fact.getId());
+      return null;
     }
   }
 }
@@ -1,13 +1,22 @@
 package no.mnemonic.services.grafeo.seb.producer.v1.converters;
 
 import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.collections.CollectionUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
 import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
-import no.mnemonic.services.grafeo.seb.model.v1.FactSEB;
+import no.mnemonic.services.grafeo.seb.model.v1.*;
 import no.mnemonic.services.grafeo.seb.producer.v1.resolvers.*;
 
 import javax.inject.Inject;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public class FactConverter implements Function<FactRecord, FactSEB> {
 
@@ -42,15 +51,45 @@ public class FactConverter implements Function<FactRecord, FactSEB> {
   public FactSEB apply(FactRecord record) {
     if (record == null) return null;
 
+    return convert(record, new Resolvers(typeResolver, inReferenceToResolver, organizationResolver, originResolver, subjectResolver));
+  }
+
+  /**
+   * Convert multiple records at once. All referenced Facts of the batch are fetched together and every other
+   * distinct ID (types, organizations, origins and subjects) is only resolved once per batch.
+   *
+   * @param records Records to convert
+   * @return Converted records, in the same order
+   */
+  public List<FactSEB> convert(Collection<FactRecord> records) {
+    if (CollectionUtils.isEmpty(records)) return ListUtils.list();
+
+    List<FactRecord> nonNullRecords = records.stream()
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    Map<UUID, FactInfoSEB> inReferenceTo = inReferenceToResolver.resolve(SetUtils.set(nonNullRecords, FactRecord::getInReferenceToID));
+
+    Resolvers resolvers = new Resolvers(
+            memoize(new HashMap<>(), typeResolver),
+            memoize(new HashMap<>(inReferenceTo), inReferenceToResolver),
+            memoize(new HashMap<>(), organizationResolver),
+            memoize(new HashMap<>(), originResolver),
+            memoize(new HashMap<>(), subjectResolver)
+    );
+
+    return ListUtils.list(nonNullRecords, record -> convert(record, resolvers));
+  }
+
+  private FactSEB convert(FactRecord record, Resolvers resolvers) {
     return FactSEB.builder()
             .setId(record.getId())
-            .setType(typeResolver.apply(record.getTypeID()))
+            .setType(resolvers.type.apply(record.getTypeID()))
             .setValue(record.getValue())
-            .setInReferenceTo(inReferenceToResolver.apply(record.getInReferenceToID()))
-            .setOrganization(organizationResolver.apply(record.getOrganizationID()))
-            .setOrigin(originResolver.apply(record.getOriginID()))
-            .setAddedBy(subjectResolver.apply(record.getAddedByID()))
-            .setLastSeenBy(subjectResolver.apply(record.getLastSeenByID()))
+            .setInReferenceTo(resolvers.inReferenceTo.apply(record.getInReferenceToID()))
+            .setOrganization(resolvers.organization.apply(record.getOrganizationID()))
+            .setOrigin(resolvers.origin.apply(record.getOriginID()))
+            .setAddedBy(resolvers.subject.apply(record.getAddedByID()))
+            .setLastSeenBy(resolvers.subject.apply(record.getLastSeenByID()))
             .setAccessMode(ObjectUtils.ifNotNull(record.getAccessMode(), mode -> FactSEB.AccessMode.valueOf(mode.name())))
             .setTrust(record.getTrust())
             .setConfidence(record.getConfidence())
@@ -63,4 +102,28 @@ public class FactConverter implements Function<FactRecord, FactSEB> {
             .setAcl(SetUtils.set(record.getAcl(), aclEntryConverter))
             .build();
   }
+
+  private static <T> Function<UUID, T> memoize(Map<UUID, T> resolved, Function<UUID, T> resolver) {
+    return id -> id == null ? null : resolved.computeIfAbsent(id, resolver);
+  }
+
+  private static class Resolvers {
+    private final Function<UUID, FactTypeInfoSEB> type;
+    private final Function<UUID, FactInfoSEB> inReferenceTo;
+    private final Function<UUID, OrganizationInfoSEB> organization;
+    private final Function<UUID, OriginInfoSEB> origin;
+    private final Function<UUID, SubjectInfoSEB> subject;
+
+    private Resolvers(Function<UUID, FactTypeInfoSEB> type,
+                      Function<UUID, FactInfoSEB> inReferenceTo,
+                      Function<UUID, OrganizationInfoSEB> organization,
+                      Function<UUID, OriginInfoSEB> origin,
+                      Function<UUID, SubjectInfoSEB> subject) {
+      this.type = type;
+      this.inReferenceTo = inReferenceTo;
+      this.organization = organization;
+      this.origin = origin;
+      this.subject = subject;
+    }
+  }
 }
@@ -1,17 +1,39 @@
 package no.mnemonic.services.grafeo.seb.producer.v1.resolvers;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import no.mnemonic.commons.utilities.collections.CollectionUtils;
+import no.mnemonic.commons.utilities.collections.MapUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
 import no.mnemonic.services.grafeo.dao.api.ObjectFactDao;
 import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
 import no.mnemonic.services.grafeo.seb.model.v1.FactInfoSEB;
 
 import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
+@Singleton
 public class FactInfoDaoResolver implements Function<UUID, FactInfoSEB> {
 
+  private static final long CACHE_EXPIRATION = 1; // minutes
+  private static final long CACHE_SIZE = 10_000;
+
   private final ObjectFactDao objectFactDao;
   private final FactTypeInfoDaoResolver typeResolver;
+  // Short-lived local cache as the same Facts are referenced over and over again, e.g. during bulk ingest.
+  private final Cache<UUID, FactInfoSEB> factCache = CacheBuilder.newBuilder()
+          .expireAfterWrite(CACHE_EXPIRATION, TimeUnit.MINUTES)
+          .maximumSize(CACHE_SIZE)
+          .build();
 
   @Inject
   public FactInfoDaoResolver(ObjectFactDao objectFactDao, FactTypeInfoDaoResolver typeResolver) {
@@ -23,13 +45,44 @@ public class FactInfoDaoResolver implements Function<UUID, FactInfoSEB> {
   public FactInfoSEB apply(UUID id) {
     if (id == null) return null;
 
-    FactRecord fact = objectFactDao.getFact(id);
+    FactInfoSEB cached = factCache.getIfPresent(id);
+    if (cached != null) return cached;
+
+    return convert(id, objectFactDao.getFact(id));
+  }
+
+  /**
+   * Resolve multiple Facts at once. Only Facts which aren't cached are fetched, using one bulk request.
+   *
+   * @param ids UUIDs of Facts
+   * @return Resolved Facts keyed by their UUIDs
+   */
+  public Map<UUID, FactInfoSEB> resolve(Collection<UUID> ids) {
+    if (CollectionUtils.isEmpty(ids)) return MapUtils.map();
+
+    Set<UUID> keys = ids.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+    Map<UUID, FactInfoSEB> resolved = new HashMap<>(factCache.getAllPresent(keys));
+    Set<UUID> missing = SetUtils.difference(keys, resolved.keySet());
+    if (!missing.isEmpty()) {
+      Map<UUID, FactRecord> fetched = objectFactDao.getFacts(missing)
+              .stream()
+              .collect(Collectors.toMap(FactRecord::getId, fact -> fact, (first, second) -> first));
+      missing.forEach(id -> resolved.put(id, convert(id, fetched.get(id))));
+    }
+
+    return resolved;
+  }
+
+  private FactInfoSEB convert(UUID id, FactRecord fact) {
+    // Don't cache missing Facts, they might not have been replicated yet.
     if (fact == null) return FactInfoSEB.builder().setId(id).build();
 
-    return FactInfoSEB.builder()
+    FactInfoSEB seb = FactInfoSEB.builder()
             .setId(fact.getId())
             .setType(typeResolver.apply(fact.getTypeID()))
             .setValue(fact.getValue())
             .build();
+    factCache.put(id, seb);
+    return seb;
   }
 }
@@ -5,10 +5,19 @@ import no.mnemonic.messaging.documentchannel.DocumentDestination;
 import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
 import no.mnemonic.services.grafeo.seb.model.v1.FactSEB;
 import no.mnemonic.services.grafeo.seb.producer.v1.converters.FactConverter;
+import no.mnemonic.commons.metrics.MetricsData;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 
+import java.util.Collection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
@@ -28,10 +37,16 @@ public class FactProducerTest {
   public void setUp() {
     initMocks(this);
     when(destination.getDocumentChannel()).thenReturn(channel);
+    when(converter.convert(any())).thenAnswer(i -> ListUtils.list(i.<Collection<FactRecord>>getArgument(0), converter::apply));
 
     producer = new FactProducer(converter, destination);
   }
 
+  @After
+  public void cleanUp() {
+    producer.stopComponent();
+  }
+
   @Test
   public void testConsumeNull() {
     producer.accept(null);
@@ -43,7 +58,125 @@ public class FactProducerTest {
     when(converter.apply(any())).thenReturn(FactSEB.builder().build());
 
     producer.accept(new FactRecord());
-    verify(converter).apply(notNull());
+    verify(converter).convert(notNull());
+    verify(channel).sendDocument(notNull());
+  }
+
+  @Test
+  public void testConsumeObjectSynchronouslyPropagatesFailures() {
+    when(converter.apply(any())).thenThrow(IllegalArgumentException.class).thenReturn(FactSEB.builder().build());
+    doThrow(IllegalStateException.class).when(channel).sendDocument(any());
+
+    assertThrows(IllegalArgumentException.class, () -> producer.accept(new FactRecord()));
+    assertThrows(IllegalStateException.class, () -> producer.accept(new FactRecord()));
+  }
+
+  @Test
+  public void testConsumeObjectAfterStopComponentSendsSynchronously() throws Exception {
+    when(converter.apply(any())).thenReturn(FactSEB.builder().build());
+    producer.startComponent();
+    producer.stopComponent();
+
+    producer.accept(new FactRecord());
+    verify(channel).sendDocument(notNull());
+    assertEquals(0L, getMetric("queuedFacts"));
+  }
+
+  @Test
+  public void testConsumeObjectAsynchronously() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    when(converter.apply(any())).thenReturn(FactSEB.builder().build());
+    doAnswer(i -> {
+      release.await(10, TimeUnit.SECONDS);
+      return null;
+    }).when(channel).sendDocument(any());
+    producer.startComponent();
+
+    // Returns immediately even though the document channel is blocked.
+    producer.accept(new FactRecord());
+    assertEquals(0L, getMetric("sentFacts"));
+    release.countDown();
+
+    producer.stopComponent();
+    verify(channel).sendDocument(notNull());
+    assertEquals(1L, getMetric("sentFacts"));
+  }
+
+  @Test
+  public void testFailedObjectsDoNotStopSending() throws Exception {
+    when(converter.convert(any())).thenThrow(IllegalStateException.class);
+    when(converter.apply(any()))
+            .thenThrow(IllegalStateException.class)
+            .thenReturn(FactSEB.builder().build());
+    doThrow(IllegalStateException.class)
+            .doNothing()
+            .when(channel).sendDocument(any());
+    producer.setMaxRetries(0).startComponent();
+
+    for (int i = 0; i < 3; i++) {
+      producer.accept(new FactRecord());
+    }
+    producer.stopComponent();
+
+    verify(channel, times(2)).sendDocument(notNull());
+    assertEquals(1L, getMetric("sentFacts"));
+    assertEquals(2L, getMetric("failedFacts"));
+  }
+
+  @Test
+  public void testFailedObjectsAreRetried() throws Exception {
+    // First attempt fails converting the Fact (batch and individually), second attempt fails sending it.
+    when(converter.apply(any()))
+            .thenThrow(IllegalStateException.class)
+            .thenThrow(IllegalStateException.class)
+            .thenReturn(FactSEB.builder().build());
+    doThrow(IllegalStateException.class)
+            .doNothing()
+            .when(channel).sendDocument(any());
+    producer.setRetryDelay(0).startComponent();
+
+    producer.accept(new FactRecord());
+    producer.stopComponent();
+
+    verify(converter, times(4)).apply(any());
+    verify(channel, times(2)).sendDocument(notNull());
+    assertEquals(1L, getMetric("sentFacts"));
+    assertEquals(0L, getMetric("failedFacts"));
+    assertEquals(2L, getMetric("sendRetries"));
+  }
+
+  @Test
+  public void testFailedObjectsAreGivenUpAfterMaxRetries() throws Exception {
+    when(converter.apply(any())).thenReturn(FactSEB.builder().build());
+    doThrow(IllegalStateException.class).when(channel).sendDocument(any());
+    producer.setMaxRetries(2).setRetryDelay(0).startComponent();
+
+    producer.accept(new FactRecord());
+    producer.stopComponent();
+
+    verify(channel, times(3)).sendDocument(notNull());
+    assertEquals(0L, getMetric("sentFacts"));
+    assertEquals(1L, getMetric("failedFacts"));
+    assertEquals(2L, getMetric("sendRetries"));
+  }
+
+  @Test
+  public void testObjectsAreRetriedIfDocumentChannelIsUnavailable() throws Exception {
+    when(converter.apply(any())).thenReturn(FactSEB.builder().build());
+    when(destination.getDocumentChannel())
+            .thenThrow(IllegalStateException.class)
+            .thenReturn(channel);
+    producer.setRetryDelay(0).startComponent();
+
+    producer.accept(new FactRecord());
+    producer.stopComponent();
+
     verify(channel).sendDocument(notNull());
+    assertEquals(1L, getMetric("sentFacts"));
+    assertEquals(1L, getMetric("sendRetries"));
+  }
+
+  private long getMetric(String name) throws Exception {
+    return ((MetricsData) producer.getMetrics()).getData().get(name).longValue();
   }
 }
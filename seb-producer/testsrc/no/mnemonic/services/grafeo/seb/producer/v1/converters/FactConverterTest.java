@@ -1,5 +1,7 @@
 package no.mnemonic.services.grafeo.seb.producer.v1.converters;
 
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.commons.utilities.collections.MapUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
 import no.mnemonic.services.grafeo.dao.api.record.FactAclEntryRecord;
 import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
@@ -10,10 +12,14 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
@@ -126,4 +132,48 @@ public class FactConverterTest {
     verify(objectConverter).apply(destination);
     verify(aclEntryConverter).apply(aclEntry);
   }
+
+  @Test
+  public void testConvertBatchNull() {
+    assertTrue(converter.convert(null).isEmpty());
+  }
+
+  @Test
+  public void testConvertBatchResolvesDistinctIdsOnce() {
+    UUID typeID = UUID.randomUUID();
+    UUID organizationID = UUID.randomUUID();
+    UUID originID = UUID.randomUUID();
+    UUID subjectID = UUID.randomUUID();
+    UUID inReferenceToID = UUID.randomUUID();
+    FactInfoSEB inReferenceTo = FactInfoSEB.builder().setId(inReferenceToID).build();
+    when(inReferenceToResolver.resolve(any())).thenReturn(MapUtils.map(MapUtils.Pair.T(inReferenceToID, inReferenceTo)));
+
+    List<FactRecord> records = ListUtils.list(1, 2, 3).stream()
+            .map(i -> new FactRecord()
+                    .setId(UUID.randomUUID())
+                    .setTypeID(typeID)
+                    .setInReferenceToID(inReferenceToID)
+                    .setOrganizationID(organizationID)
+                    .setOriginID(originID)
+                    .setAddedByID(subjectID)
+                    .setLastSeenByID(subjectID))
+            .collect(Collectors.toList());
+
+    List<FactSEB> sebs = converter.convert(records);
+    assertEquals(ListUtils.list(records, FactRecord::getId), ListUtils.list(sebs, FactSEB::getId));
+    sebs.forEach(seb -> assertSame(inReferenceTo, seb.getInReferenceTo()));
+
+    verify(inReferenceToResolver).resolve(SetUtils.set(inReferenceToID));
+    verify(inReferenceToResolver, never()).apply(any());
+    verify(typeResolver).apply(typeID);
+    verify(organizationResolver).apply(organizationID);
+    verify(originResolver).apply(originID);
+    verify(subjectResolver).apply(subjectID);
+  }
+
+  @Test
+  public void testConvertBatchSkipsNull() {
+    List<FactSEB> sebs = converter.convert(Arrays.asList(null, new FactRecord()));
+    assertEquals(1, sebs.size());
+  }
 }
@@ -1,5 +1,7 @@
 package no.mnemonic.services.grafeo.seb.producer.v1.resolvers;
 
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
 import no.mnemonic.services.grafeo.dao.api.ObjectFactDao;
 import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
 import no.mnemonic.services.grafeo.seb.model.v1.FactInfoSEB;
@@ -8,12 +10,13 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 
+import java.util.Arrays;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
 
 public class FactInfoDaoResolverTest {
@@ -65,4 +68,47 @@ public class FactInfoDaoResolverTest {
     verify(objectFactDao).getFact(record.getId());
     verify(typeResolver).apply(record.getTypeID());
   }
+
+  @Test
+  public void testResolveFactCached() {
+    FactRecord record = new FactRecord().setId(UUID.randomUUID());
+    when(objectFactDao.getFact(any())).thenReturn(record);
+
+    assertSame(resolver.apply(record.getId()), resolver.apply(record.getId()));
+    verify(objectFactDao).getFact(record.getId());
+  }
+
+  @Test
+  public void testResolveNoFactFoundNotCached() {
+    UUID id = UUID.randomUUID();
+
+    resolver.apply(id);
+    resolver.apply(id);
+    verify(objectFactDao, times(2)).getFact(id);
+  }
+
+  @Test
+  public void testResolveMultipleNull() {
+    assertTrue(resolver.resolve(null).isEmpty());
+    verifyNoInteractions(objectFactDao);
+  }
+
+  @Test
+  public void testResolveMultipleFetchesOnlyMissingFacts() {
+    FactRecord cached = new FactRecord().setId(UUID.randomUUID());
+    FactRecord fetched = new FactRecord().setId(UUID.randomUUID());
+    UUID missing = UUID.randomUUID();
+    when(objectFactDao.getFact(cached.getId())).thenReturn(cached);
+    when(objectFactDao.getFacts(any())).thenReturn(ListUtils.list(fetched));
+    resolver.apply(cached.getId());
+
+    Map<UUID, FactInfoSEB> result = resolver.resolve(Arrays.asList(cached.getId(), fetched.getId(), missing, null));
+    assertEquals(SetUtils.set(cached.getId(), fetched.getId(), missing), result.keySet());
+    assertEquals(missing, result.get(missing).getId());
+
+    verify(objectFactDao).getFacts(SetUtils.set(fetched.getId(), missing));
+    // Fetched Facts are cached afterwards.
+    assertSame(result.get(fetched.getId()), resolver.apply(fetched.getId()));
+    verify(objectFactDao, never()).getFact(fetched.getId());
+  }
 }
@@ -0,0 +1,20 @@
+package no.mnemonic.services.grafeo.service.container;
+
+import no.mnemonic.messaging.requestsink.jms.serializer.MessageSerializer;
+import no.mnemonic.services.grafeo.utilities.messaging.BinaryXStreamMessageSerializer;
+
+/**
+ * Provides a {@link MessageSerializer} implementation based on XStream's binary format intended to be used by
+ * {@link GrafeoSmbServer} in addition to the XML based serializer. It uses the same white-list as
+ * {@link XStreamMessageSerializerProvider}, thus, subclasses can extend the white-list in the same way.
+ */
+public class BinaryXStreamMessageSerializerProvider extends XStreamMessageSerializerProvider {
+
+  @Override
+  public MessageSerializer get() {
+    BinaryXStreamMessageSerializer.Builder builder = BinaryXStreamMessageSerializer.builder();
+    allowedClasses().forEach(builder::addAllowedClass);
+    allowedClassesRegex().forEach(builder::addAllowedClass);
+    return builder.build();
+  }
+}
@@ -1,5 +1,6 @@
 package no.mnemonic.services.grafeo.service.container;
 
+import com.google.inject.Inject;
 import no.mnemonic.commons.component.Dependency;
 import no.mnemonic.commons.component.LifecycleAspect;
 import no.mnemonic.commons.logging.Logger;
@@ -11,7 +12,6 @@ import no.mnemonic.services.common.api.ServiceSessionFactory;
 import no.mnemonic.services.common.messagebus.ServiceMessageHandler;
 import no.mnemonic.services.grafeo.api.service.v1.GrafeoService;
 
-import javax.inject.Inject;
 import javax.inject.Named;
 
 /**
@@ -19,6 +19,12 @@ import javax.inject.Named;
  */
 public class GrafeoSmbServer implements LifecycleAspect {
 
+  /**
+   * Name of an optional binding of an additional {@link MessageSerializer}. Clients can use either the default or the
+   * additional serializer, and responses are always encoded with the serializer used by the request.
+   */
+  public static final String ADDITIONAL_MESSAGE_SERIALIZER = "grafeo.smb.server.additional.serializer";
+
   private static final String ACTIVEMQ_CONTEXT_FACTORY = "org.apache.activemq.jndi.ActiveMQInitialContextFactory";
   private static final String ACTIVEMQ_CONNECTION_FACTORY = "ConnectionFactory";
 
@@ -30,6 +36,7 @@ public class GrafeoSmbServer implements LifecycleAspect {
   private final ServiceSessionFactory sessionFactory;
 
   private final MessageSerializer messageSerializer;
+  private MessageSerializer additionalMessageSerializer;
 
   private final String queueName;
   private final String topicName;
@@ -59,13 +66,19 @@ public class GrafeoSmbServer implements LifecycleAspect {
     this.password = password;
   }
 
+  @Inject(optional = true)
+  public GrafeoSmbServer setAdditionalMessageSerializer(@Named(ADDITIONAL_MESSAGE_SERIALIZER) MessageSerializer additionalMessageSerializer) {
+    this.additionalMessageSerializer = additionalMessageSerializer;
+    return this;
+  }
+
   @Override
   public void startComponent() {
     messageHandler = ServiceMessageHandler.builder()
             .setService(service)
             .setSessionFactory(sessionFactory)
             .build();
-    requestProxy = JMSRequestProxy.builder()
+    JMSRequestProxy.Builder builder = JMSRequestProxy.builder()
             .setRequestSink(messageHandler)
             .setContextFactoryName(ACTIVEMQ_CONTEXT_FACTORY)
             .setConnectionFactoryName(ACTIVEMQ_CONNECTION_FACTORY)
@@ -76,8 +89,11 @@ public class GrafeoSmbServer implements LifecycleAspect {
             .setContextURL(contextURL)
             .setUsername(userName)
             .setPassword(password)
-            .addSerializer(messageSerializer)
-            .build();
+            .addSerializer(messageSerializer);
+    if (additionalMessageSerializer != null) {
+      builder.addSerializer(additionalMessageSerializer);
+    }
+    requestProxy = builder.build();
 
     messageHandler.startComponent();
     requestProxy.startComponent();
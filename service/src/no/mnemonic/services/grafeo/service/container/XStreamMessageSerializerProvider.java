@@ -1,5 +1,6 @@
 package no.mnemonic.services.grafeo.service.container;
 
+import no.mnemonic.commons.utilities.collections.SetUtils;
 import no.mnemonic.messaging.requestsink.jms.serializer.MessageSerializer;
 import no.mnemonic.messaging.requestsink.jms.serializer.XStreamMessageSerializer;
 import no.mnemonic.services.common.messagebus.ServiceRequestMessage;
@@ -18,23 +19,38 @@ public class XStreamMessageSerializerProvider implements Provider<MessageSeriali
 
   @Override
   public MessageSerializer get() {
-    XStreamMessageSerializer.Builder builder = XStreamMessageSerializer.builder()
+    XStreamMessageSerializer.Builder builder = XStreamMessageSerializer.builder();
+    allowedClasses().forEach(builder::addAllowedClass);
+    allowedClassesRegex().forEach(builder::addAllowedClass);
+    return builder.build();
+  }
+
+  /**
+   * Returns all classes in the XStream white-list, including the classes specified by subclasses.
+   *
+   * @return Allowed classes
+   */
+  protected final Set<Class<?>> allowedClasses() {
+    return SetUtils.union(SetUtils.set(
             // Common Java classes used in requests (required for collections holding those).
-            .addAllowedClass(String.class)
-            .addAllowedClass(UUID.class)
+            String.class,
+            UUID.class,
             // Request message used by SMB.
-            .addAllowedClass(ServiceRequestMessage.class)
+            ServiceRequestMessage.class,
             // RequestHeader and SubjectCredentials are part of every service request.
-            .addAllowedClass(RequestHeader.class)
-            .addAllowedClass(SubjectCredentials.class)
-            // Allow all request classes defined in the API.
-            .addAllowedClass("no.mnemonic.services.grafeo.api.request.*");
-
-    // Add additional classes to white-list as specified by subclasses.
-    additionalAllowedClasses().forEach(builder::addAllowedClass);
-    additionalAllowedClassesRegex().forEach(builder::addAllowedClass);
+            RequestHeader.class,
+            SubjectCredentials.class
+    ), additionalAllowedClasses());
+  }
 
-    return builder.build();
+  /**
+   * Returns all classes in the XStream white-list (as regular expressions), including the classes specified by subclasses.
+   *
+   * @return Allowed classes
+   */
+  protected final Set<String> allowedClassesRegex() {
+    // Allow all request classes defined in the API.
+    return SetUtils.union(SetUtils.set("no.mnemonic.services.grafeo.api.request.*"), additionalAllowedClassesRegex());
   }
 
   /**
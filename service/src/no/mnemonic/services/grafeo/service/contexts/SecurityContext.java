@@ -12,13 +12,21 @@ import no.mnemonic.services.grafeo.api.exceptions.AuthenticationFailedException;
 import no.mnemonic.services.grafeo.api.exceptions.UnexpectedAuthenticationFailedException;
 import no.mnemonic.services.grafeo.auth.IdentitySPI;
 
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
  * The SecurityContext provides methods to perform access control checks, e.g. if a user is allowed to perform
  * a specific operation or if a user has access to a specific object.
+ * <p>
+ * A SecurityContext is created per service request. Because the user's identities and permissions won't change during
+ * one request the results of the {@link AccessController} are cached for the lifetime of the SecurityContext. The
+ * caches are thread-safe, thus, a SecurityContext can be used from parallel streams.
  */
 public abstract class SecurityContext implements AutoCloseable {
 
@@ -27,6 +35,11 @@ public abstract class SecurityContext implements AutoCloseable {
   private final IdentitySPI identityResolver;
   private final Credentials credentials;
 
+  private final Map<PermissionKey, Boolean> permissionCache = new ConcurrentHashMap<>();
+  private volatile UUID currentUserID;
+  private volatile Set<UUID> currentUserIdentities;
+  private volatile Set<UUID> availableOrganizationIDs;
+
   protected SecurityContext(AccessController accessController, IdentitySPI identityResolver, Credentials credentials) {
     this.accessController = ObjectUtils.notNull(accessController, "'accessController' not set in SecurityContext.");
     this.identityResolver = ObjectUtils.notNull(identityResolver, "'identityResolver' not set in SecurityContext.");
@@ -103,7 +116,7 @@ public abstract class SecurityContext implements AutoCloseable {
   public void checkPermission(NamedFunction function) throws AccessDeniedException, AuthenticationFailedException {
     try {
       //noinspection unchecked
-      if (!accessController.hasPermission(credentials, function)) {
+      if (!hasCachedPermission(PermissionKey.forFunction(function.getName()), () -> accessController.hasPermission(credentials, function))) {
         throw new AccessDeniedException(String.format("User is not allowed to perform operation '%s'.", function.getName()));
       }
     } catch (InvalidCredentialsException ex) {
@@ -122,7 +135,8 @@ public abstract class SecurityContext implements AutoCloseable {
   public void checkPermission(NamedFunction function, UUID organizationID) throws AccessDeniedException, AuthenticationFailedException {
     try {
       //noinspection unchecked
-      if (!accessController.hasPermission(credentials, function, identityResolver.resolveOrganizationIdentity(organizationID))) {
+      if (!hasCachedPermission(PermissionKey.forOrganization(function.getName(), organizationID),
+              () -> accessController.hasPermission(credentials, function, identityResolver.resolveOrganizationIdentity(organizationID)))) {
         throw new AccessDeniedException(String.format("User is not allowed to perform operation '%s' for organization '%s'.", function.getName(), organizationID));
       }
     } catch (InvalidCredentialsException ex) {
@@ -136,9 +150,12 @@ public abstract class SecurityContext implements AutoCloseable {
    * @return ID of current user
    */
   public UUID getCurrentUserID() {
+    if (currentUserID != null) return currentUserID;
+
     try {
       //noinspection unchecked
-      return identityResolver.resolveSubjectUUID(accessController.validate(credentials));
+      currentUserID = identityResolver.resolveSubjectUUID(accessController.validate(credentials));
+      return currentUserID;
     } catch (InvalidCredentialsException ex) {
       // getCurrentUserID() should only be called in a context with an already authenticated user.
       throw new UnexpectedAuthenticationFailedException("Could not authenticate user: " + ex.getMessage());
@@ -151,12 +168,15 @@ public abstract class SecurityContext implements AutoCloseable {
    * @return Identities of the current user
    */
   public Set<UUID> getCurrentUserIdentities() {
+    if (currentUserIdentities != null) return currentUserIdentities;
+
     try {
       //noinspection unchecked
       Set<SubjectIdentity> subjects = accessController.getSubjectIdentities(credentials);
-      return subjects.stream()
+      currentUserIdentities = Collections.unmodifiableSet(subjects.stream()
               .map(identityResolver::resolveSubjectUUID)
-              .collect(Collectors.toSet());
+              .collect(Collectors.toSet()));
+      return currentUserIdentities;
     } catch (InvalidCredentialsException ex) {
       // getCurrentUserIdentities() should only be called in a context with an already authenticated user.
       throw new UnexpectedAuthenticationFailedException("Could not authenticate user: " + ex.getMessage());
@@ -169,16 +189,70 @@ public abstract class SecurityContext implements AutoCloseable {
    * @return IDs of available Organizations
    */
   public Set<UUID> getAvailableOrganizationID() {
+    if (availableOrganizationIDs != null) return availableOrganizationIDs;
+
     try {
       //noinspection unchecked
       Set<OrganizationIdentity> organizations = accessController.getAvailableOrganizations(credentials);
-      return organizations.stream()
+      availableOrganizationIDs = Collections.unmodifiableSet(organizations.stream()
               .map(identityResolver::resolveOrganizationUUID)
-              .collect(Collectors.toSet());
+              .collect(Collectors.toSet()));
+      return availableOrganizationIDs;
     } catch (InvalidCredentialsException ex) {
       // getAvailableOrganizations() should only be called in a context with an already authenticated user.
       throw new UnexpectedAuthenticationFailedException("Could not authenticate user: " + ex.getMessage());
     }
   }
 
+  private boolean hasCachedPermission(PermissionKey key, PermissionCheck check) throws InvalidCredentialsException {
+    Boolean cached = permissionCache.get(key);
+    if (cached != null) return cached;
+
+    // Don't use computeIfAbsent() because the check can throw a checked exception. If multiple threads evaluate the
+    // same permission concurrently they will all compute the same result, thus, it's safe to just overwrite it.
+    boolean permitted = check.hasPermission();
+    permissionCache.put(key, permitted);
+    return permitted;
+  }
+
+  private interface PermissionCheck {
+    boolean hasPermission() throws InvalidCredentialsException;
+  }
+
+  private static class PermissionKey {
+    private final String function;
+    // Distinguishes a check without Organization from a check for a NULL Organization.
+    private final boolean organizationScoped;
+    private final UUID organizationID;
+
+    private PermissionKey(String function, boolean organizationScoped, UUID organizationID) {
+      this.function = function;
+      this.organizationScoped = organizationScoped;
+      this.organizationID = organizationID;
+    }
+
+    private static PermissionKey forFunction(String function) {
+      return new PermissionKey(function, false, null);
+    }
+
+    private static PermissionKey forOrganization(String function, UUID organizationID) {
+      return new PermissionKey(function, true, organizationID);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      PermissionKey that = (PermissionKey) o;
+      return organizationScoped == that.organizationScoped &&
+              Objects.equals(function, that.function) &&
+              Objects.equals(organizationID, that.organizationID);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(function, organizationScoped, organizationID);
+    }
+  }
+
 }
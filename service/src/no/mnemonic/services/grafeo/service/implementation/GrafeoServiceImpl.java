@@ -143,6 +143,12 @@ public class GrafeoServiceImpl implements GrafeoService, Service {
     return delegateProvider.get(FactCreateDelegate.class).handle(request);
   }
 
+  @Override
+  public ResultSet<Fact> createFacts(RequestHeader rh, CreateFactsRequest request)
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
+    return delegateProvider.get(FactCreateBulkDelegate.class).handle(request);
+  }
+
   @Override
   public ResultSet<Fact> searchMetaFacts(RequestHeader rh, SearchMetaFactsRequest request)
           throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, ObjectNotFoundException {
@@ -0,0 +1,114 @@
+package no.mnemonic.services.grafeo.service.implementation.delegates;
+
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.services.common.api.ResultSet;
+import no.mnemonic.services.grafeo.api.exceptions.AccessDeniedException;
+import no.mnemonic.services.grafeo.api.exceptions.AuthenticationFailedException;
+import no.mnemonic.services.grafeo.api.exceptions.InvalidArgumentException;
+import no.mnemonic.services.grafeo.api.model.v1.Fact;
+import no.mnemonic.services.grafeo.api.model.v1.Subject;
+import no.mnemonic.services.grafeo.api.request.v1.CreateFactRequest;
+import no.mnemonic.services.grafeo.api.request.v1.CreateFactsRequest;
+import no.mnemonic.services.grafeo.api.service.v1.StreamingResultSet;
+import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
+import no.mnemonic.services.grafeo.dao.api.record.ObjectRecord;
+import no.mnemonic.services.grafeo.service.implementation.handlers.FactCreateHandler;
+import no.mnemonic.services.grafeo.service.implementation.resolvers.request.ObjectRequestResolver;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Delegate creating multiple Facts at once. Every Fact is validated in the same way as by {@link FactCreateDelegate},
+ * but Objects are resolved in one pass and all Facts are stored together. Either all Facts are created or, if at least
+ * one Fact is invalid, none.
+ */
+public class FactCreateBulkDelegate implements Delegate {
+
+  private final FactCreateDelegate factCreateDelegate;
+  private final ObjectRequestResolver objectRequestResolver;
+  private final FactCreateHandler factCreateHandler;
+
+  @Inject
+  public FactCreateBulkDelegate(FactCreateDelegate factCreateDelegate,
+                                ObjectRequestResolver objectRequestResolver,
+                                FactCreateHandler factCreateHandler) {
+    this.factCreateDelegate = factCreateDelegate;
+    this.objectRequestResolver = objectRequestResolver;
+    this.factCreateHandler = factCreateHandler;
+  }
+
+  public ResultSet<Fact> handle(CreateFactsRequest request)
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
+    List<CreateFactRequest> requests = request.getFacts();
+    InvalidArgumentException errors = new InvalidArgumentException();
+
+    // First resolve and validate all request parameters except the Objects. This also verifies that the user is
+    // allowed to add all Facts before any Object is created.
+    List<FactCreateDelegate.ResolvedRequest> resolved = new ArrayList<>(requests.size());
+    for (int i = 0; i < requests.size(); i++) {
+      try {
+        resolved.add(factCreateDelegate.resolveRequest(requests.get(i)));
+      } catch (InvalidArgumentException ex) {
+        // Collect all validation errors instead of failing on the first.
+        addValidationErrors(errors, ex, i);
+        resolved.add(null);
+      }
+    }
+
+    if (errors.hasErrors()) throw errors;
+
+    // Resolve all Objects in one pass, creating missing Objects if required.
+    Map<String, String> objects = new LinkedHashMap<>();
+    for (int i = 0; i < requests.size(); i++) {
+      objects.putIfAbsent(requests.get(i).getSourceObject(), String.format("facts[%d].sourceObject", i));
+      objects.putIfAbsent(requests.get(i).getDestinationObject(), String.format("facts[%d].destinationObject", i));
+    }
+    objects.remove(null);
+    Map<String, ObjectRecord> resolvedObjects = objectRequestResolver.resolveObjects(objects);
+
+    // Validate the Object bindings and construct all Facts.
+    List<FactCreateHandler.PendingFact> pending = new ArrayList<>(requests.size());
+    for (int i = 0; i < requests.size(); i++) {
+      CreateFactRequest current = requests.get(i);
+      try {
+        FactRecord fact = factCreateDelegate.toFactRecord(resolved.get(i),
+                resolvedObjects.get(current.getSourceObject()), resolvedObjects.get(current.getDestinationObject()));
+        pending.add(new FactCreateHandler.PendingFact(fact, current.getComment(),
+                ListUtils.list(factCreateHandler.resolveSubjects(current.getAcl()), Subject::getId)));
+      } catch (InvalidArgumentException ex) {
+        addValidationErrors(errors, ex, i);
+      }
+    }
+
+    if (errors.hasErrors()) throw errors;
+
+    // Save everything in database.
+    List<Fact> addedFacts = factCreateHandler.saveFacts(pending);
+
+    // Register TriggerEvents before returning added Facts. Duplicated Facts inside the request are only stored once,
+    // thus, register only one TriggerEvent per distinct Fact.
+    Set<UUID> registered = new HashSet<>();
+    addedFacts.stream()
+            .filter(fact -> registered.add(fact.getId()))
+            .forEach(factCreateDelegate::registerTriggerEvent);
+
+    return StreamingResultSet.<Fact>builder()
+            .setCount(addedFacts.size())
+            .setLimit(0)
+            .setValues(addedFacts)
+            .build();
+  }
+
+  private void addValidationErrors(InvalidArgumentException errors, InvalidArgumentException ex, int index) {
+    // Prefix the properties with the position of the Fact inside the request.
+    ex.getValidationErrors().forEach(error -> errors.addValidationError(error.getMessage(), error.getMessageTemplate(),
+            String.format("facts[%d].%s", index, error.getProperty()), error.getValue()));
+  }
+}
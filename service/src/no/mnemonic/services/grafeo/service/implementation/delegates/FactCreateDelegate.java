@@ -39,10 +39,6 @@ public class FactCreateDelegate implements Delegate {
   private final FactCreateHandler factCreateHandler;
   private final ObjectManager objectManager;
 
-  private FactTypeEntity requestedFactType;
-  private OriginEntity requestedOrigin;
-  private Organization requestedOrganization;
-
   private Clock clock = Clock.systemUTC();
 
   @Inject
@@ -62,32 +58,84 @@ public class FactCreateDelegate implements Delegate {
 
   public Fact handle(CreateFactRequest request)
           throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
+    ResolvedRequest resolved = resolveRequest(request);
+    ObjectRecord source = objectRequestResolver.resolveObject(request.getSourceObject(), "sourceObject");
+    ObjectRecord destination = objectRequestResolver.resolveObject(request.getDestinationObject(), "destinationObject");
+    FactRecord fact = toFactRecord(resolved, source, destination);
+
+    // Save everything in database.
+    Fact addedFact = factCreateHandler.saveFact(fact, request.getComment(),
+            ListUtils.list(factCreateHandler.resolveSubjects(request.getAcl()), Subject::getId));
+
+    // Register TriggerEvent before returning added Fact.
+    registerTriggerEvent(addedFact);
+
+    return addedFact;
+  }
+
+  /**
+   * First step of creating a Fact which resolves and validates all request parameters except the bound Objects.
+   * This also verifies that the user is allowed to add Facts. It is separated from {@link #toFactRecord} in order to
+   * allow {@link FactCreateBulkDelegate} to validate all requested Facts before resolving any Objects.
+   */
+  ResolvedRequest resolveRequest(CreateFactRequest request)
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
     // First resolve some objects which are required later on. This will also validate those request parameters.
-    requestedOrigin = factCreateHandler.resolveOrigin(request.getOrigin());
-    requestedOrganization = factCreateHandler.resolveOrganization(request.getOrganization(), requestedOrigin);
-    requestedFactType = factTypeRequestResolver.resolveFactType(request.getType());
+    OriginEntity requestedOrigin = factCreateHandler.resolveOrigin(request.getOrigin());
+    Organization requestedOrganization = factCreateHandler.resolveOrganization(request.getOrganization(), requestedOrigin);
+    FactTypeEntity requestedFactType = factTypeRequestResolver.resolveFactType(request.getType());
 
     // Verify that user is allowed to add Facts for the requested organization.
     securityContext.checkPermission(FunctionConstants.addGrafeoFact, requestedOrganization.getId());
 
     // Validate that requested Fact matches its FactType.
     factCreateHandler.assertValidFactValue(requestedFactType, request.getValue());
-    assertValidFactObjectBindings(request);
 
-    // Save everything in database.
-    Fact addedFact = factCreateHandler.saveFact(toFactRecord(request), request.getComment(),
-            ListUtils.list(factCreateHandler.resolveSubjects(request.getAcl()), Subject::getId));
+    return new ResolvedRequest(request, requestedOrigin, requestedOrganization, requestedFactType);
+  }
 
-    // Register TriggerEvent before returning added Fact.
-    registerTriggerEvent(addedFact);
+  /**
+   * Second step of creating a Fact which validates the bound Objects and converts the request into a new Fact.
+   */
+  FactRecord toFactRecord(ResolvedRequest resolved, ObjectRecord source, ObjectRecord destination) throws InvalidArgumentException {
+    assertValidFactObjectBindings(resolved, source, destination);
 
-    return addedFact;
+    CreateFactRequest request = resolved.getRequest();
+    // Ensure that 'timestamp' and 'lastSeenTimestamp' are the same for newly created Facts.
+    final long now = clock.millis();
+    return new FactRecord()
+            .setId(UUID.randomUUID())
+            .setTypeID(resolved.getFactType().getId())
+            .setValue(request.getValue())
+            .setAccessMode(FactRecord.AccessMode.valueOf(request.getAccessMode().name()))
+            .setOrganizationID(resolved.getOrganization().getId())
+            .setAddedByID(securityContext.getCurrentUserID())
+            .setLastSeenByID(securityContext.getCurrentUserID())
+            .setOriginID(resolved.getOrigin().getId())
+            .setTrust(resolved.getOrigin().getTrust())
+            .setConfidence(ObjectUtils.ifNull(request.getConfidence(), resolved.getFactType().getDefaultConfidence()))
+            .setTimestamp(now)
+            .setLastSeenTimestamp(now)
+            .setSourceObject(source)
+            .setDestinationObject(destination)
+            .setBidirectionalBinding(request.isBidirectionalBinding())
+            .setFlags(isTimeGlobal(source, destination) ? SetUtils.set(FactRecord.Flag.TimeGlobalIndex) : SetUtils.set());
+  }
+
+  void registerTriggerEvent(Fact addedFact) {
+    GrafeoServiceEvent event = GrafeoServiceEvent.forEvent(GrafeoServiceEvent.EventName.FactAdded)
+            .setOrganization(ObjectUtils.ifNotNull(addedFact.getOrganization(), Organization.Info::getId))
+            .setAccessMode(addedFact.getAccessMode())
+            .addContextParameter(GrafeoServiceEvent.ContextParameter.AddedFact.name(), addedFact)
+            .build();
+    triggerContext.registerTriggerEvent(event);
   }
 
-  private void assertValidFactObjectBindings(CreateFactRequest request) throws InvalidArgumentException {
+  private void assertValidFactObjectBindings(ResolvedRequest resolved, ObjectRecord source, ObjectRecord destination) throws InvalidArgumentException {
+    CreateFactRequest request = resolved.getRequest();
+    FactTypeEntity requestedFactType = resolved.getFactType();
+
     // Validate that either source or destination or both are set. One field can be NULL to support bindings of cardinality 1.
-    ObjectRecord source = objectRequestResolver.resolveObject(request.getSourceObject(), "sourceObject");
-    ObjectRecord destination = objectRequestResolver.resolveObject(request.getDestinationObject(), "destinationObject");
     if (source == null && destination == null) {
       throw new InvalidArgumentException()
               .addValidationError("Requested source Object could not be resolved.", "invalid.source.object", "sourceObject", request.getSourceObject())
@@ -116,31 +164,6 @@ public class FactCreateDelegate implements Delegate {
     }
   }
 
-  private FactRecord toFactRecord(CreateFactRequest request) throws InvalidArgumentException {
-    ObjectRecord source = objectRequestResolver.resolveObject(request.getSourceObject(), "sourceObject");
-    ObjectRecord destination = objectRequestResolver.resolveObject(request.getDestinationObject(), "destinationObject");
-
-    // Ensure that 'timestamp' and 'lastSeenTimestamp' are the same for newly created Facts.
-    final long now = clock.millis();
-    return new FactRecord()
-            .setId(UUID.randomUUID())
-            .setTypeID(requestedFactType.getId())
-            .setValue(request.getValue())
-            .setAccessMode(FactRecord.AccessMode.valueOf(request.getAccessMode().name()))
-            .setOrganizationID(requestedOrganization.getId())
-            .setAddedByID(securityContext.getCurrentUserID())
-            .setLastSeenByID(securityContext.getCurrentUserID())
-            .setOriginID(requestedOrigin.getId())
-            .setTrust(requestedOrigin.getTrust())
-            .setConfidence(ObjectUtils.ifNull(request.getConfidence(), requestedFactType.getDefaultConfidence()))
-            .setTimestamp(now)
-            .setLastSeenTimestamp(now)
-            .setSourceObject(source)
-            .setDestinationObject(destination)
-            .setBidirectionalBinding(request.isBidirectionalBinding())
-            .setFlags(isTimeGlobal(source, destination) ? SetUtils.set(FactRecord.Flag.TimeGlobalIndex) : SetUtils.set());
-  }
-
   private boolean isTimeGlobal(ObjectRecord source, ObjectRecord destination) {
     if (source != null && destination != null) {
       return objectManager.getObjectType(source.getTypeID()).isSet(ObjectTypeEntity.Flag.TimeGlobalIndex) &&
@@ -154,19 +177,43 @@ public class FactCreateDelegate implements Delegate {
     return false;
   }
 
-  private void registerTriggerEvent(Fact addedFact) {
-    GrafeoServiceEvent event = GrafeoServiceEvent.forEvent(GrafeoServiceEvent.EventName.FactAdded)
-            .setOrganization(ObjectUtils.ifNotNull(addedFact.getOrganization(), Organization.Info::getId))
-            .setAccessMode(addedFact.getAccessMode())
-            .addContextParameter(GrafeoServiceEvent.ContextParameter.AddedFact.name(), addedFact)
-            .build();
-    triggerContext.registerTriggerEvent(event);
-  }
-
   /* Setters used for unit testing */
 
   FactCreateDelegate withClock(Clock clock) {
     this.clock = clock;
     return this;
   }
+
+  /**
+   * Request parameters resolved by {@link #resolveRequest(CreateFactRequest)}.
+   */
+  static class ResolvedRequest {
+    private final CreateFactRequest request;
+    private final OriginEntity origin;
+    private final Organization organization;
+    private final FactTypeEntity factType;
+
+    private ResolvedRequest(CreateFactRequest request, OriginEntity origin, Organization organization, FactTypeEntity factType) {
+      this.request = request;
+      this.origin = origin;
+      this.organization = organization;
+      this.factType = factType;
+    }
+
+    CreateFactRequest getRequest() {
+      return request;
+    }
+
+    OriginEntity getOrigin() {
+      return origin;
+    }
+
+    Organization getOrganization() {
+      return organization;
+    }
+
+    FactTypeEntity getFactType() {
+      return factType;
+    }
+  }
 }
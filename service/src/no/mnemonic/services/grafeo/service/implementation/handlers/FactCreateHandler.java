@@ -3,6 +3,7 @@ package no.mnemonic.services.grafeo.service.implementation.handlers;
 import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.StringUtils;
 import no.mnemonic.commons.utilities.collections.CollectionUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
 import no.mnemonic.commons.utilities.collections.MapUtils;
 import no.mnemonic.services.common.auth.InvalidCredentialsException;
 import no.mnemonic.services.grafeo.api.exceptions.AccessDeniedException;
@@ -249,6 +250,64 @@ public class FactCreateHandler {
     return factResponseConverter.apply(effectiveFact);
   }
 
+  /**
+   * Saves multiple facts into permanent storage. Facts which exist already are refreshed. Multiple facts with the same
+   * unique hash value are only stored once.
+   * <p>
+   * This is the batched version of {@link #saveFact(FactRecord, String, List)} which acquires the locks of all facts
+   * at once and stores and refreshes the facts in bulk.
+   *
+   * @param facts The facts to save together with their comments and ACLs
+   * @return The facts that were stored, in the same order as the input
+   */
+  public List<Fact> saveFacts(List<PendingFact> facts) {
+    if (CollectionUtils.isEmpty(facts)) return Collections.emptyList();
+
+    // Group facts by their unique hash value in order to detect duplicates inside the same request.
+    List<String> hashes = ListUtils.list(facts, pending -> FactRecordHasher.toHash(pending.getFact()));
+    Map<String, List<PendingFact>> factsByHash = new LinkedHashMap<>();
+    for (int i = 0; i < facts.size(); i++) {
+      factsByHash.computeIfAbsent(hashes.get(i), k -> new ArrayList<>()).add(facts.get(i));
+    }
+
+    Map<String, FactRecord> effectiveFacts = new HashMap<>();
+    // Use the same locks as saveFact() in order to synchronize with requests adding single Facts.
+    try (LockProvider.Lock ignored = lockProvider.acquireLocks(LOCK_REGION, factsByHash.keySet())) {
+      Map<String, FactRecord> existingFacts = objectFactDao.retrieveExistingFacts(
+              ListUtils.list(factsByHash.values(), group -> group.get(0).getFact()));
+
+      Map<String, FactRecord> newFacts = new LinkedHashMap<>();
+      Map<String, FactRecord> refreshedFacts = new LinkedHashMap<>();
+      for (Map.Entry<String, List<PendingFact>> entry : factsByHash.entrySet()) {
+        FactRecord existingFact = existingFacts.get(entry.getKey());
+
+        FactRecord effectiveFact = ObjectUtils.ifNull(existingFact, entry.getValue().get(0).getFact());
+        for (PendingFact pending : entry.getValue()) {
+          effectiveFact = withAcl(effectiveFact, securityContext.getCurrentUserID(), pending.getSubjectIds());
+          effectiveFact = withComment(effectiveFact, pending.getComment());
+        }
+
+        if (existingFact != null) {
+          // Ensure that lastSeenTimestamp and lastSeenByID are correctly updated.
+          refreshedFacts.put(entry.getKey(), effectiveFact
+                  .setLastSeenTimestamp(clock.millis())
+                  .setLastSeenByID(securityContext.getCurrentUserID())
+          );
+        } else {
+          newFacts.put(entry.getKey(), effectiveFact);
+        }
+      }
+
+      // Create new Facts and refresh existing Facts. Both return the Facts in the order of the input.
+      effectiveFacts.putAll(zip(newFacts.keySet(), objectFactDao.storeFacts(new ArrayList<>(newFacts.values()))));
+      effectiveFacts.putAll(zip(refreshedFacts.keySet(), objectFactDao.refreshFacts(new ArrayList<>(refreshedFacts.values()))));
+    }
+
+    // Convert every distinct Fact only once, but return one Fact per input.
+    Map<String, Fact> converted = new HashMap<>();
+    return ListUtils.list(hashes, hash -> converted.computeIfAbsent(hash, h -> factResponseConverter.apply(effectiveFacts.get(h))));
+  }
+
   /**
    * Assert that a Fact value is valid according to a FactType's validator.
    *
@@ -265,6 +324,15 @@ public class FactCreateHandler {
     }
   }
 
+  private Map<String, FactRecord> zip(Collection<String> hashes, List<FactRecord> facts) {
+    Map<String, FactRecord> result = new HashMap<>();
+    Iterator<String> iterator = hashes.iterator();
+    for (FactRecord fact : facts) {
+      result.put(iterator.next(), fact);
+    }
+    return result;
+  }
+
   private Organization fetchOrganization(String idOrName) throws AuthenticationFailedException, InvalidArgumentException {
     Organization organization = wrapInvalidCredentialsException(() -> {
       if (StringUtils.isUUID(idOrName)) {
@@ -331,4 +399,31 @@ public class FactCreateHandler {
     this.clock = clock;
     return this;
   }
+
+  /**
+   * Fact which should be saved by {@link #saveFacts(List)} together with its comment and ACL.
+   */
+  public static class PendingFact {
+    private final FactRecord fact;
+    private final String comment;
+    private final List<UUID> subjectIds;
+
+    public PendingFact(FactRecord fact, String comment, List<UUID> subjectIds) {
+      this.fact = fact;
+      this.comment = comment;
+      this.subjectIds = subjectIds;
+    }
+
+    public FactRecord getFact() {
+      return fact;
+    }
+
+    public String getComment() {
+      return comment;
+    }
+
+    public List<UUID> getSubjectIds() {
+      return subjectIds;
+    }
+  }
 }
@@ -1,5 +1,7 @@
 package no.mnemonic.services.grafeo.service.implementation.handlers;
 
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Streams;
 import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.services.common.api.ResultSet;
 import no.mnemonic.services.grafeo.api.exceptions.AccessDeniedException;
@@ -16,6 +18,7 @@ import no.mnemonic.services.grafeo.service.implementation.converters.response.Fa
 
 import javax.inject.Inject;
 import java.util.Iterator;
+import java.util.List;
 
 /**
  * Handler class implementing search for Facts.
@@ -23,6 +26,7 @@ import java.util.Iterator;
 public class FactSearchHandler {
 
   private static final int MAXIMUM_SEARCH_LIMIT = 10_000;
+  private static final int RETRACTION_PAGE_SIZE = 100;
 
   private final FactRetractionHandler retractionHandler;
   private final ObjectFactDao objectFactDao;
@@ -57,7 +61,10 @@ public class FactSearchHandler {
 
     // When consuming the search result apply filter to include or exclude retracted Facts.
     // Additionally, make sure that the user has access to all returned Facts.
-    Iterator<Fact> facts = searchResult.stream()
+    // The retraction status is resolved for one page of Facts at once before the individual Facts are filtered.
+    Iterator<Fact> facts = Streams.stream(Iterators.partition(searchResult.iterator(), RETRACTION_PAGE_SIZE))
+            .peek(retractionHandler::resolveRetractions)
+            .flatMap(List::stream)
             .filter(fact -> includeRetracted(fact, includeRetracted))
             .filter(securityContext::hasReadPermission)
             .map(factResponseConverter)
@@ -85,8 +92,8 @@ public class FactSearchHandler {
   }
 
   private boolean includeRetracted(FactRecord fact, Boolean includeRetracted) {
-    // Call FactRetractionHandler for every Fact in order to populate the cache which is re-used by the converter.
-    // Because of that, it's only calculated once whether a Fact is retracted from the user's point of view.
+    // The result is already cached by FactRetractionHandler after resolving the whole page. The cache is re-used by the
+    // converter, thus, it's only calculated once whether a Fact is retracted from the user's point of view.
     boolean isRetracted = retractionHandler.isRetracted(fact);
     return ObjectUtils.ifNull(includeRetracted, false) || !isRetracted;
   }
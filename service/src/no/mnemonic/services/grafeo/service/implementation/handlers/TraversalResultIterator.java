@@ -0,0 +1,108 @@
+package no.mnemonic.services.grafeo.service.implementation.handlers;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Iterator handing over the results of a graph traversal from the thread executing the traversal (producer) to the
+ * thread streaming the results to the client (consumer). This allows to return results while the traversal is still
+ * running instead of collecting the whole result in memory first.
+ * <p>
+ * The number of buffered results is bounded. If the buffer is full the producer waits for the consumer, and if the
+ * consumer doesn't fetch any results within the given timeout (e.g. because the client disconnected) the producer
+ * fails with a {@link TimeoutException} which aborts the traversal.
+ * <p>
+ * When the traversal fails the consumer will receive the failure wrapped inside a {@link CompletionException} after
+ * all results produced before the failure have been consumed.
+ */
+class TraversalResultIterator implements Iterator<Object> {
+
+  private static final Object END_OF_RESULTS = new Object();
+
+  private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+  private final Semaphore capacity;
+  private final long consumerTimeout;
+
+  private volatile Throwable failure;
+  private Object nextElement;
+  private boolean finished;
+
+  /**
+   * Create a new iterator.
+   *
+   * @param bufferSize      Maximum number of results buffered before the producer has to wait
+   * @param consumerTimeout Maximum time (in ms) the producer waits for the consumer
+   */
+  TraversalResultIterator(int bufferSize, long consumerTimeout) {
+    this.capacity = new Semaphore(bufferSize);
+    this.consumerTimeout = consumerTimeout;
+  }
+
+  /**
+   * Add a result. Blocks if the buffer is full until the consumer has fetched results.
+   *
+   * @param value Result to add
+   * @throws InterruptedException If the producer is interrupted while waiting, e.g. when the traversal times out
+   * @throws TimeoutException     If the consumer didn't fetch any results within the timeout
+   */
+  void put(Object value) throws InterruptedException, TimeoutException {
+    if (!capacity.tryAcquire(consumerTimeout, TimeUnit.MILLISECONDS)) {
+      throw new TimeoutException("Results of graph traversal have not been consumed in time.");
+    }
+
+    queue.add(value);
+  }
+
+  /**
+   * Signal that no more results will be added. Must be called exactly once by the producer.
+   *
+   * @param failure Cause if the traversal failed, otherwise NULL
+   */
+  void complete(Throwable failure) {
+    this.failure = failure;
+    // Not bounded by the capacity, thus, this never blocks.
+    queue.add(END_OF_RESULTS);
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (nextElement != null) return true;
+    if (finished) return false;
+
+    Object element = take();
+    if (element == END_OF_RESULTS) {
+      finished = true;
+      if (failure != null) throw new CompletionException(failure);
+      return false;
+    }
+
+    // Free up space in the buffer for the producer.
+    capacity.release();
+    nextElement = element;
+    return true;
+  }
+
+  @Override
+  public Object next() {
+    if (!hasNext()) throw new NoSuchElementException();
+
+    Object element = nextElement;
+    nextElement = null;
+    return element;
+  }
+
+  private Object take() {
+    try {
+      return queue.take();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for results of graph traversal.", ex);
+    }
+  }
+}
@@ -1,6 +1,8 @@
 package no.mnemonic.services.grafeo.service.implementation.handlers;
 
-import no.mnemonic.commons.utilities.ObjectUtils;
+import com.google.inject.Inject;
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
 import no.mnemonic.commons.utilities.collections.CollectionUtils;
 import no.mnemonic.commons.utilities.collections.MapUtils;
 import no.mnemonic.services.common.api.ResultSet;
@@ -12,22 +14,21 @@ import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
 import no.mnemonic.services.grafeo.service.implementation.GrafeoSecurityContext;
 import no.mnemonic.services.grafeo.service.implementation.converters.response.FactResponseConverter;
 import no.mnemonic.services.grafeo.service.implementation.converters.response.ObjectResponseConverter;
-import no.mnemonic.services.grafeo.service.implementation.helpers.GremlinSandboxExtension;
+import no.mnemonic.services.grafeo.service.implementation.helpers.GremlinScriptExecutor;
 import no.mnemonic.services.grafeo.service.implementation.tinkerpop.FactEdge;
 import no.mnemonic.services.grafeo.service.implementation.tinkerpop.ObjectFactGraph;
 import no.mnemonic.services.grafeo.service.implementation.tinkerpop.ObjectVertex;
 import no.mnemonic.services.grafeo.service.implementation.tinkerpop.TraverseParams;
 import no.mnemonic.services.grafeo.service.implementation.tinkerpop.utils.ObjectFactTypeResolver;
 import no.mnemonic.services.grafeo.service.implementation.tinkerpop.utils.PropertyHelper;
-import org.apache.tinkerpop.gremlin.groovy.engine.GremlinExecutor;
-import org.apache.tinkerpop.gremlin.groovy.jsr223.GroovyCompilerGremlinPlugin;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
-import javax.inject.Inject;
+import javax.inject.Named;
 import java.util.*;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
@@ -37,8 +38,11 @@ import static no.mnemonic.commons.utilities.collections.MapUtils.Pair.T;
 
 public class TraverseGraphHandler {
 
-  private static final String SCRIPT_ENGINE = "gremlin-groovy";
-  private static final long SCRIPT_EXECUTION_TIMEOUT = 120_000;
+  private static final Logger LOGGER = Logging.getLogger(TraverseGraphHandler.class);
+
+  private static final int UNKNOWN_COUNT = -1;
+  private static final int DEFAULT_RESULT_BUFFER_SIZE = 1000;
+  private static final long DEFAULT_RESULT_CONSUMER_TIMEOUT = 60_000;
 
   private final GrafeoSecurityContext securityContext;
   private final ObjectFactDao objectFactDao;
@@ -47,8 +51,10 @@ public class TraverseGraphHandler {
   private final ObjectResponseConverter objectResponseConverter;
   private final FactResponseConverter factResponseConverter;
   private final PropertyHelper propertyHelper;
+  private final GremlinScriptExecutor scriptExecutor;
 
-  private long scriptExecutionTimeout = SCRIPT_EXECUTION_TIMEOUT;
+  private int resultBufferSize = DEFAULT_RESULT_BUFFER_SIZE;
+  private long resultConsumerTimeout = DEFAULT_RESULT_CONSUMER_TIMEOUT;
 
   @Inject
   public TraverseGraphHandler(GrafeoSecurityContext securityContext,
@@ -57,7 +63,8 @@ public class TraverseGraphHandler {
                               ObjectResponseConverter objectResponseConverter,
                               FactResponseConverter factResponseConverter,
                               FactRetractionHandler factRetractionHandler,
-                              PropertyHelper propertyHelper) {
+                              PropertyHelper propertyHelper,
+                              GremlinScriptExecutor scriptExecutor) {
     this.securityContext = securityContext;
     this.objectFactDao = objectFactDao;
     this.objectFactTypeResolver = objectFactTypeResolver;
@@ -65,11 +72,16 @@ public class TraverseGraphHandler {
     this.factResponseConverter = factResponseConverter;
     this.factRetractionHandler = factRetractionHandler;
     this.propertyHelper = propertyHelper;
+    this.scriptExecutor = scriptExecutor;
   }
 
   /**
    * Traverse a graph by running the query starting at the provided startingObjects.
    * <p>
+   * The result is streamed while the traversal is executed, i.e. the returned {@link ResultSet} will not contain the
+   * number of available results. Failures occurring before the first result is produced (e.g. an invalid query) are
+   * reported by throwing an exception, later failures abort the iteration of the returned {@link ResultSet}.
+   * <p>
    * NB! This methods assumes that the caller has verified the following:
    * - that the objects exist
    * - that the user has access to all objects.
@@ -89,40 +101,66 @@ public class TraverseGraphHandler {
       return StreamingResultSet.builder().build();
     }
 
-    // Execute traversal and process results.
-    Collection<Object> result = executeTraversal(startingObjects, query, traverseParams);
+    // Execute traversal and stream results.
+    Iterator<Object> result = executeTraversal(startingObjects, query, traverseParams);
 
     return StreamingResultSet.builder()
-            .setCount(result.size())
+            .setLimit(traverseParams.getLimit())
+            // The number of results isn't known before the traversal has finished.
+            .setCount(UNKNOWN_COUNT)
             .setValues(result)
             .build();
   }
 
-  TraverseGraphHandler setScriptExecutionTimeout(long scriptExecutionTimeout) {
-    this.scriptExecutionTimeout = scriptExecutionTimeout;
+  @Inject(optional = true)
+  public TraverseGraphHandler setResultBufferSize(@Named("grafeo.service.traversal.result.buffer.size") int resultBufferSize) {
+    this.resultBufferSize = resultBufferSize;
+    return this;
+  }
+
+  @Inject(optional = true)
+  public TraverseGraphHandler setResultConsumerTimeout(@Named("grafeo.service.traversal.result.consumer.timeout") long resultConsumerTimeout) {
+    this.resultConsumerTimeout = resultConsumerTimeout;
     return this;
   }
 
-  private Collection<Object> executeTraversal(Collection<UUID> startingObjects,
-                                              String query,
-                                              TraverseParams traverseParams)
+  private Iterator<Object> executeTraversal(Collection<UUID> startingObjects,
+                                            String query,
+                                            TraverseParams traverseParams)
           throws InvalidArgumentException, OperationTimeoutException {
 
-    // The result will be written into this collection.
-    Collection<Object> traversalResult = new ArrayList<>();
+    // The results will be handed over to the caller using this iterator.
+    TraversalResultIterator traversalResult = new TraversalResultIterator(resultBufferSize, resultConsumerTimeout);
 
-    try (Graph graph = createGraph(traverseParams); GremlinExecutor executor = createExecutor()) {
+    // The graph must stay open until the traversal has finished, thus, it's closed once the script execution completes.
+    Graph graph = createGraph(traverseParams);
+    try {
       // Create the first step of the graph traversal, i.e. starting the traversal at the Object(s) specified in the request.
       // This is injected into the script execution as variable 'g'. Every query has to start from 'g'.
       GraphTraversal<Vertex, Vertex> startingPoint = graph.traversal().V(startingObjects.toArray());
       Map<String, Object> bindings = MapUtils.map(T("g", startingPoint));
-      // Start script execution and wait until result arrived or execution is aborted.
-      // Use 'withResult' callback here because the graph will then be iterated inside the 'eval' thread, thus, every
-      // exception caused by the traversal will be handled inside that thread as well which will result in an ExecutionException.
-      executor.eval(query, SCRIPT_ENGINE, bindings, createResultConsumer(traversalResult, traverseParams)).get();
-    } catch (ExecutionException ex) {
-      // Exceptions causing the script execution to fail are wrapped inside an ExecutionException. Need to unwrap them.
-      Throwable cause = ObjectUtils.ifNull(ex.getCause(), ex);
+      // Start script execution. The script executor is shared between requests and caches the compiled script, but
+      // the bindings (i.e. the graph) are only used for this request. Use 'withResult' callback here because the graph
+      // will then be iterated inside the 'eval' thread, thus, every exception caused by the traversal will be handled
+      // inside that thread as well and will complete the script execution exceptionally.
+      scriptExecutor.eval(query, bindings, createResultConsumer(traversalResult, traverseParams))
+              .whenComplete((ignored, ex) -> {
+                closeGraph(graph);
+                traversalResult.complete(ex);
+              });
+    } catch (Exception ex) {
+      // Something bad happened, abort method.
+      closeGraph(graph);
+      throw new IllegalStateException("Could not perform graph traversal.", ex);
+    }
+
+    try {
+      // Wait until either the first result arrived or the execution is aborted. Failing here means that no result
+      // has been returned yet, thus, the failure can still be reported properly to the user.
+      traversalResult.hasNext();
+    } catch (CompletionException ex) {
+      // Exceptions causing the script execution to fail are wrapped inside a CompletionException. Need to unwrap them.
+      Throwable cause = unwrap(ex);
       // A TimeoutException will be thrown when either the GremlinExecutor or the Groovy sandbox abort the script execution.
       // In both cases throw an own OperationTimeoutException in order to signal the timeout to the user.
       if (cause instanceof TimeoutException) {
@@ -132,22 +170,19 @@ public class TraverseGraphHandler {
       // e.g. invalid syntax, an unsupported operation such as 'addE()', or an operation not allowed by the sandbox.
       throw new InvalidArgumentException()
               .addValidationError(cause.getMessage(), "graph.traversal.failure", "query", query);
-    } catch (Exception ex) {
-      // Something bad happened, abort method.
-      throw new IllegalStateException("Could not perform graph traversal.", ex);
     }
 
     return traversalResult;
   }
 
   /**
-   * Create a function to process the graph traversal result. The result will be written into the
-   * traversalResult collection provided as a parameter
+   * Create a function to process the graph traversal result. The result will be handed over to the
+   * traversalResult iterator provided as a parameter
    *
-   * @param traversalResult Write the result set into the traversalResult collection
+   * @param traversalResult Write the result set into the traversalResult iterator
    * @return A function that will process the result from the graph traversal.
    */
-  private Consumer<Object> createResultConsumer(Collection<Object> traversalResult, TraverseParams traverseParams) {
+  private Consumer<Object> createResultConsumer(TraversalResultIterator traversalResult, TraverseParams traverseParams) {
     return (Object result) -> {
       // Iterate result and convert values if necessary. This will perform the actual graph traversal.
       Iterator<?> iterator = IteratorUtils.asIterator(result);
@@ -157,9 +192,22 @@ public class TraverseGraphHandler {
               .filter(Objects::nonNull);
 
       if (traverseParams.getLimit() > 0) {
+        // Stops the traversal once the limit is reached.
         objectStream = objectStream.limit(traverseParams.getLimit());
       }
-      objectStream.forEach(traversalResult::add);
+
+      objectStream.forEach(value -> {
+        try {
+          traversalResult.put(value);
+        } catch (InterruptedException ex) {
+          // The script execution has been aborted (e.g. because of a timeout), stop the traversal.
+          Thread.currentThread().interrupt();
+          throw new CompletionException(new TimeoutException("Graph traversal was interrupted."));
+        } catch (TimeoutException ex) {
+          // The results aren't consumed any more (e.g. because the client disconnected), stop the traversal.
+          throw new CompletionException(ex);
+        }
+      });
     };
   }
 
@@ -192,6 +240,22 @@ public class TraverseGraphHandler {
     return null;
   }
 
+  private Throwable unwrap(Throwable ex) {
+    Throwable cause = ex;
+    while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+      cause = cause.getCause();
+    }
+    return cause;
+  }
+
+  private void closeGraph(Graph graph) {
+    try {
+      graph.close();
+    } catch (Exception ex) {
+      LOGGER.warning(ex, "Failed to close graph after traversal.");
+    }
+  }
+
   private Graph createGraph(TraverseParams traverseParams) {
     return ObjectFactGraph.builder()
             .setObjectFactDao(objectFactDao)
@@ -202,20 +266,4 @@ public class TraverseGraphHandler {
             .setPropertyHelper(propertyHelper)
             .build();
   }
-
-  private GremlinExecutor createExecutor() {
-    Map<String, Object> groovyCompilerConfig = MapUtils.map(
-            // Protect against scripts going haywire (endless loops, etc.).
-            T("timedInterrupt", scriptExecutionTimeout),
-            // Statically compile scripts before execution (needed for sandbox).
-            T("compilation", GroovyCompilerGremlinPlugin.Compilation.COMPILE_STATIC),
-            // Execute scripts inside a sandbox (i.e. only allow whitelisted methods).
-            T("extensions", GremlinSandboxExtension.class.getName())
-    );
-
-    return GremlinExecutor.build()
-            .evaluationTimeout(scriptExecutionTimeout)
-            .addPlugins(SCRIPT_ENGINE, MapUtils.map(T(GroovyCompilerGremlinPlugin.class.getName(), groovyCompilerConfig)))
-            .create();
-  }
 }
@@ -0,0 +1,163 @@
+package no.mnemonic.services.grafeo.service.implementation.helpers;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import no.mnemonic.commons.component.LifecycleAspect;
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
+import no.mnemonic.commons.metrics.MetricException;
+import no.mnemonic.commons.metrics.MetricAspect;
+import no.mnemonic.commons.metrics.Metrics;
+import no.mnemonic.commons.metrics.MetricsData;
+import no.mnemonic.commons.metrics.PerformanceMonitor;
+import no.mnemonic.commons.metrics.TimerContext;
+import no.mnemonic.commons.utilities.collections.MapUtils;
+import org.apache.tinkerpop.gremlin.groovy.engine.GremlinExecutor;
+import org.apache.tinkerpop.gremlin.groovy.jsr223.GremlinGroovyScriptEngine;
+import org.apache.tinkerpop.gremlin.groovy.jsr223.GroovyCompilerGremlinPlugin;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static no.mnemonic.commons.utilities.collections.MapUtils.Pair.T;
+
+/**
+ * Long-lived executor for Gremlin scripts used by graph traversals.
+ * <p>
+ * Compiling a Groovy script with static compilation and the {@link GremlinSandboxExtension} is expensive. Instead of
+ * creating a new {@link GremlinExecutor} for every traversal one executor is shared, and the underlying
+ * {@link GremlinGroovyScriptEngine} caches compiled scripts by script text. The size of this cache is bounded.
+ * <p>
+ * Bindings are passed per evaluation and are never stored inside the shared script engine, thus, evaluations of
+ * different requests are isolated from each other.
+ */
+@Singleton
+public class GremlinScriptExecutor implements LifecycleAspect, MetricAspect {
+
+  private static final Logger LOGGER = Logging.getLogger(GremlinScriptExecutor.class);
+
+  private static final String SCRIPT_ENGINE = "gremlin-groovy";
+  private static final long DEFAULT_SCRIPT_EXECUTION_TIMEOUT = 120_000;
+  private static final int DEFAULT_SCRIPT_CACHE_SIZE = 1000;
+  private static final int DEFAULT_WORKER_THREADS = 16;
+
+  private final PerformanceMonitor evaluationMonitor = new PerformanceMonitor(TimeUnit.MINUTES, 60, 1);
+
+  private long scriptExecutionTimeout = DEFAULT_SCRIPT_EXECUTION_TIMEOUT;
+  private int scriptCacheSize = DEFAULT_SCRIPT_CACHE_SIZE;
+  private int workerThreads = DEFAULT_WORKER_THREADS;
+
+  private ScheduledExecutorService workerPool;
+  private GremlinExecutor executor;
+
+  @Override
+  public void startComponent() {
+    // Executor is created lazily on first evaluation.
+  }
+
+  @Override
+  public synchronized void stopComponent() {
+    if (executor == null) return;
+
+    try {
+      executor.close();
+    } catch (Exception ex) {
+      LOGGER.warning(ex, "Failed to close GremlinExecutor.");
+    }
+
+    workerPool.shutdownNow();
+    executor = null;
+    workerPool = null;
+  }
+
+  @Override
+  public synchronized Metrics getMetrics() throws MetricException {
+    MetricsData metrics = new MetricsData()
+            .addData("scriptEvaluations", evaluationMonitor.getTotalInvocations())
+            .addData("scriptEvaluationTimeSpent", evaluationMonitor.getTotalTimeSpent());
+
+    if (executor != null) {
+      GremlinGroovyScriptEngine engine = getScriptEngine();
+      metrics.addData("scriptCacheSize", engine.getClassCacheEstimatedSize())
+              .addData("scriptCacheHits", engine.getClassCacheHitCount())
+              .addData("scriptCacheMisses", engine.getClassCacheMissCount())
+              .addData("scriptCacheEvictions", engine.getClassCacheEvictionCount())
+              .addData("scriptCompilationFailures", engine.getClassCacheLoadFailureCount())
+              .addData("scriptCompilationTimeSpent", TimeUnit.NANOSECONDS.toMillis(engine.getClassCacheTotalLoadTime()));
+    }
+
+    return metrics;
+  }
+
+  /**
+   * Evaluate a Gremlin script. The returned future completes when the script has been evaluated and the result
+   * consumer has finished. Failures complete the future exceptionally, and a {@link java.util.concurrent.TimeoutException}
+   * signals that the evaluation was aborted after the configured timeout.
+   *
+   * @param script         Script to evaluate
+   * @param bindings       Variables bound for this evaluation only
+   * @param resultConsumer Consumer processing the result, executed inside the evaluation thread
+   * @return Future which completes once the result has been consumed
+   */
+  public CompletableFuture<Object> eval(String script, Map<String, Object> bindings, Consumer<Object> resultConsumer) {
+    TimerContext timer = TimerContext.timerMillis(evaluationMonitor::invoked);
+    return getExecutor().eval(script, SCRIPT_ENGINE, bindings, resultConsumer)
+            .whenComplete((result, ex) -> timer.close());
+  }
+
+  @Inject(optional = true)
+  public GremlinScriptExecutor setScriptExecutionTimeout(@Named("grafeo.service.traversal.timeout") long scriptExecutionTimeout) {
+    this.scriptExecutionTimeout = scriptExecutionTimeout;
+    return this;
+  }
+
+  @Inject(optional = true)
+  public GremlinScriptExecutor setScriptCacheSize(@Named("grafeo.service.traversal.script.cache.size") int scriptCacheSize) {
+    this.scriptCacheSize = scriptCacheSize;
+    return this;
+  }
+
+  @Inject(optional = true)
+  public GremlinScriptExecutor setWorkerThreads(@Named("grafeo.service.traversal.worker.threads") int workerThreads) {
+    this.workerThreads = workerThreads;
+    return this;
+  }
+
+  private synchronized GremlinExecutor getExecutor() {
+    if (executor != null) return executor;
+
+    Map<String, Object> groovyCompilerConfig = MapUtils.map(
+            // Protect against scripts going haywire (endless loops, etc.).
+            T("timedInterrupt", scriptExecutionTimeout),
+            // Statically compile scripts before execution (needed for sandbox).
+            T("compilation", GroovyCompilerGremlinPlugin.Compilation.COMPILE_STATIC),
+            // Execute scripts inside a sandbox (i.e. only allow whitelisted methods).
+            T("extensions", GremlinSandboxExtension.class.getName()),
+            // Cache compiled scripts by script text, but bound the number of cached scripts.
+            T("classMapCacheSpecification", String.format("maximumSize=%d", scriptCacheSize))
+    );
+
+    workerPool = Executors.newScheduledThreadPool(workerThreads, new ThreadFactoryBuilder()
+            .setNameFormat("GremlinScriptExecutor-%d")
+            .setDaemon(true)
+            .build());
+    executor = GremlinExecutor.build()
+            .evaluationTimeout(scriptExecutionTimeout)
+            .executorService(workerPool)
+            .scheduledExecutorService(workerPool)
+            .addPlugins(SCRIPT_ENGINE, MapUtils.map(T(GroovyCompilerGremlinPlugin.class.getName(), groovyCompilerConfig)))
+            .create();
+
+    return executor;
+  }
+
+  private GremlinGroovyScriptEngine getScriptEngine() {
+    return (GremlinGroovyScriptEngine) executor.getScriptEngineManager().getEngineByName(SCRIPT_ENGINE);
+  }
+}
@@ -1,39 +1,38 @@
 package no.mnemonic.services.grafeo.service.implementation.resolvers.request;
 
+import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.StringUtils;
 import no.mnemonic.services.grafeo.api.exceptions.InvalidArgumentException;
 import no.mnemonic.services.grafeo.dao.api.ObjectFactDao;
 import no.mnemonic.services.grafeo.dao.api.record.ObjectRecord;
 import no.mnemonic.services.grafeo.dao.cassandra.ObjectManager;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.ObjectTypeEntity;
-import no.mnemonic.services.grafeo.service.providers.LockProvider;
 import no.mnemonic.services.grafeo.service.validators.Validator;
 import no.mnemonic.services.grafeo.service.validators.ValidatorFactory;
 
 import javax.inject.Inject;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.UUID;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class ObjectRequestResolver {
 
-  private static final String LOCK_REGION = ObjectRequestResolver.class.getSimpleName();
   private static final Pattern TYPE_VALUE_PATTERN = Pattern.compile("([^/]+)/(.+)");
 
   private final ObjectManager objectManager;
   private final ObjectFactDao objectFactDao;
   private final ValidatorFactory validatorFactory;
-  private final LockProvider lockProvider;
 
   @Inject
   public ObjectRequestResolver(ObjectManager objectManager,
                                ObjectFactDao objectFactDao,
-                               ValidatorFactory validatorFactory,
-                               LockProvider lockProvider) {
+                               ValidatorFactory validatorFactory) {
     this.objectManager = objectManager;
     this.objectFactDao = objectFactDao;
     this.validatorFactory = validatorFactory;
-    this.lockProvider = lockProvider;
   }
 
   /**
@@ -75,19 +74,74 @@ public class ObjectRequestResolver {
     // Fetch ObjectType first and validate that it exists (otherwise getObject(type, value) will thrown an IllegalArgumentException).
     ObjectTypeEntity typeEntity = fetchObjectType(type, property);
 
-    // Need to synchronize this block because multiple requests may resolve the same Object. If the Object doesn't exist
-    // in the database yet they end up with a race condition trying to create the same Object. The DAO layer doesn't
-    // allow that which would fail the request, or worse a duplicated Object could be created.
-    try (LockProvider.Lock ignored = lockProvider.acquireLock(LOCK_REGION, object)) {
-      // Try to fetch Object by type and value.
-      ObjectRecord objectRecord = objectFactDao.getObject(type, value);
-      if (objectRecord == null) {
-        // Object doesn't exist yet, need to create it.
-        objectRecord = createObject(typeEntity, value, property);
+    // Try to fetch Object by type and value. This is the common case and doesn't require any synchronization.
+    ObjectRecord objectRecord = objectFactDao.getObject(type, value);
+    if (objectRecord == null) {
+      // Object doesn't exist yet, need to create it. If multiple requests create the same Object concurrently the
+      // DAO layer makes sure that only one Object is created and returns it to all requests.
+      objectRecord = createObject(typeEntity, value, property);
+    }
+
+    return objectRecord;
+  }
+
+  /**
+   * Resolve multiple Objects at once. This works the same way as {@link #resolveObject(String, String)} but is
+   * considerably faster when resolving many Objects:
+   * <p>
+   * 1. Duplicated inputs are only resolved once.
+   * 2. All missing Objects are validated first before any of them is created.
+   * <p>
+   * Inputs which neither represent a UUID nor are of form 'type/value' are omitted from the result, as well as UUIDs
+   * of Objects which do not exist.
+   *
+   * @param objects Inputs (either UUID of Object or Object identified by pattern 'type/value') mapped to the name of
+   *                the property in the request containing the input; used in error messages
+   * @return Resolved Objects mapped by their inputs
+   * @throws InvalidArgumentException If creating missing Objects fails (contains the validation errors of all inputs)
+   */
+  public Map<String, ObjectRecord> resolveObjects(Map<String, String> objects) throws InvalidArgumentException {
+    Map<String, ObjectRecord> result = new HashMap<>();
+    Map<String, ObjectRecord> missing = new LinkedHashMap<>();
+    InvalidArgumentException errors = new InvalidArgumentException();
+
+    for (Map.Entry<String, String> entry : objects.entrySet()) {
+      String object = entry.getKey();
+      String property = entry.getValue();
+      if (StringUtils.isBlank(object)) continue;
+
+      // If input is a UUID just try to fetch Object by ID.
+      if (StringUtils.isUUID(object)) {
+        ObjectUtils.ifNotNullDo(objectFactDao.getObject(UUID.fromString(object)), record -> result.put(object, record));
+        continue;
       }
 
-      return objectRecord;
+      // Otherwise try to fetch Object by type and value.
+      Matcher matcher = TYPE_VALUE_PATTERN.matcher(object);
+      if (!matcher.matches()) continue;
+
+      try {
+        ObjectTypeEntity typeEntity = fetchObjectType(matcher.group(1), property);
+        ObjectRecord objectRecord = objectFactDao.getObject(matcher.group(1), matcher.group(2));
+        if (objectRecord != null) {
+          result.put(object, objectRecord);
+        } else {
+          // Validate missing Objects before creating any of them.
+          assertValidObjectValue(typeEntity, matcher.group(2), property);
+          missing.put(object, newObject(typeEntity, matcher.group(2)));
+        }
+      } catch (InvalidArgumentException ex) {
+        // Collect all validation errors instead of failing on the first.
+        ex.getValidationErrors().forEach(error -> errors.addValidationError(error.getMessage(), error.getMessageTemplate(), error.getProperty(), error.getValue()));
+      }
     }
+
+    if (errors.hasErrors()) throw errors;
+
+    // All missing Objects have been validated above, thus, just store them.
+    missing.forEach((object, record) -> result.put(object, objectFactDao.storeObject(record)));
+
+    return result;
   }
 
   private ObjectTypeEntity fetchObjectType(String type, String property) throws InvalidArgumentException {
@@ -99,19 +153,24 @@ public class ObjectRequestResolver {
     return typeEntity;
   }
 
-  private ObjectRecord createObject(ObjectTypeEntity type, String value, String property) throws InvalidArgumentException {
+  private void assertValidObjectValue(ObjectTypeEntity type, String value, String property) throws InvalidArgumentException {
     Validator validator = validatorFactory.get(type.getValidator(), type.getValidatorParameter());
     if (!validator.validate(value)) {
       throw new InvalidArgumentException()
               .addValidationError("Object did not pass validation against ObjectType.", "object.not.valid", property + ".value", value);
     }
+  }
 
-    ObjectRecord objectRecord = new ObjectRecord()
+  private ObjectRecord createObject(ObjectTypeEntity type, String value, String property) throws InvalidArgumentException {
+    assertValidObjectValue(type, value, property);
+    return objectFactDao.storeObject(newObject(type, value));
+  }
+
+  private ObjectRecord newObject(ObjectTypeEntity type, String value) {
+    return new ObjectRecord()
             .setId(UUID.randomUUID())
             .setTypeID(type.getId())
             .setValue(value);
-
-    return objectFactDao.storeObject(objectRecord);
   }
 
 }
@@ -1,22 +1,28 @@
 package no.mnemonic.services.grafeo.service.implementation.tinkerpop;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Iterables;
 import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
 import no.mnemonic.services.grafeo.dao.api.ObjectFactDao;
+import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
+import no.mnemonic.services.grafeo.dao.api.record.ObjectRecord;
 import no.mnemonic.services.grafeo.service.implementation.GrafeoSecurityContext;
 import no.mnemonic.services.grafeo.service.implementation.handlers.FactRetractionHandler;
 import no.mnemonic.services.grafeo.service.implementation.tinkerpop.exceptions.GraphOperationException;
+import no.mnemonic.services.grafeo.service.implementation.tinkerpop.strategy.BatchedVertexStepStrategy;
 import no.mnemonic.services.grafeo.service.implementation.tinkerpop.utils.ElementFactory;
 import no.mnemonic.services.grafeo.service.implementation.tinkerpop.utils.ObjectFactTypeResolver;
 import no.mnemonic.services.grafeo.service.implementation.tinkerpop.utils.PropertyHelper;
 import org.apache.commons.configuration2.Configuration;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
 import org.apache.tinkerpop.gremlin.structure.*;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 
-import java.util.Iterator;
-import java.util.NoSuchElementException;
-import java.util.UUID;
+import java.util.*;
 
 import static org.apache.tinkerpop.gremlin.structure.Graph.Exceptions.*;
 
@@ -24,10 +30,25 @@ import static org.apache.tinkerpop.gremlin.structure.Graph.Exceptions.*;
  * The ObjectFactGraph is a {@link Graph} implementation of the Object-Fact-Model on top of the Cassandra/Elasticsearch
  * storage layer. It is a read-only graph, i.e. the graph can only be traversed and no edges or vertices added. For the
  * mapping of Objects and Facts to vertices and edges see {@link ObjectVertex} and {@link FactEdge}, respectively.
+ * <p>
+ * Traversals created from this graph use the {@link BatchedVertexStepStrategy} which fetches the edges of all vertices
+ * in the traversal frontier with one search (see {@link #prefetchEdges(Collection, Direction, String...)}) instead of
+ * executing one search per vertex.
  */
 public class ObjectFactGraph implements Graph {
 
+  static {
+    TraversalStrategies.GlobalCache.registerStrategies(ObjectFactGraph.class, TraversalStrategies.GlobalCache
+            .getStrategies(Graph.class)
+            .clone()
+            .addStrategies(BatchedVertexStepStrategy.instance()));
+  }
+
   private static final Features SUPPORTED_FEATURES = new SupportedFeatures();
+  // Maximum number of Objects included in one search when prefetching edges.
+  private static final int PREFETCH_BATCH_SIZE = 500;
+  // Maximum number of prefetched edges kept in memory.
+  private static final int PREFETCH_CACHE_MAXIMUM_WEIGHT = 1_000_000;
 
   private final ElementFactory elementFactory;
   private final ObjectFactDao objectFactDao;
@@ -36,6 +57,11 @@ public class ObjectFactGraph implements Graph {
   private final GrafeoSecurityContext securityContext;
   private final TraverseParams traverseParams;
   private final PropertyHelper propertyHelper;
+  // Edges fetched by prefetchEdges() keyed by vertex, direction and edge labels. Consumed by ObjectVertex.edges().
+  private final Cache<EdgeQuery, List<Edge>> prefetchedEdges = CacheBuilder.newBuilder()
+          .maximumWeight(PREFETCH_CACHE_MAXIMUM_WEIGHT)
+          .weigher((EdgeQuery query, List<Edge> edges) -> edges.size() + 1)
+          .build();
 
   private ObjectFactGraph(ObjectFactDao objectFactDao,
                           ObjectFactTypeResolver objectFactTypeResolver,
@@ -137,6 +163,92 @@ public class ObjectFactGraph implements Graph {
     return elementFactory;
   }
 
+  /**
+   * Fetch the adjacent edges of multiple vertices at once. Instead of executing one search per vertex the Facts bound to
+   * all given vertices are fetched with one search (per batch of vertices) and afterwards distributed to the vertices
+   * they are bound to. The result is cached and returned by subsequent calls to {@link Vertex#edges(Direction, String...)}
+   * and {@link Vertex#vertices(Direction, String...)} with the same direction and edge labels.
+   *
+   * @param vertices   Vertices to fetch edges for
+   * @param direction  Direction of the edges
+   * @param edgeLabels Labels of the edges (all edges if empty)
+   */
+  public void prefetchEdges(Collection<? extends Vertex> vertices, Direction direction, String... edgeLabels) {
+    Set<String> labels = SetUtils.set(edgeLabels);
+
+    Map<UUID, ObjectRecord> objects = new LinkedHashMap<>();
+    for (Vertex vertex : vertices) {
+      if (!(vertex instanceof ObjectVertex)) continue;
+      ObjectRecord object = ((ObjectVertex) vertex).getObjectRecord();
+      if (prefetchedEdges.getIfPresent(new EdgeQuery(object.getId(), direction, labels)) != null) continue;
+      objects.put(object.getId(), object);
+    }
+
+    // Nothing to gain from batching a single vertex, just fetch its edges when requested.
+    if (objects.size() < 2) return;
+
+    Set<UUID> factTypeIds = objectFactTypeResolver.factTypeNamesToIds(labels);
+    for (List<UUID> batch : Iterables.partition(objects.keySet(), PREFETCH_BATCH_SIZE)) {
+      Map<UUID, List<Edge>> edges = new HashMap<>();
+      batch.forEach(id -> edges.put(id, new ArrayList<>()));
+
+      List<FactRecord> records = ListUtils.list(objectFactDao.searchFacts(traverseParams.getBaseSearchCriteria()
+              .toBuilder()
+              .setObjectID(SetUtils.set(batch))
+              .setFactTypeID(factTypeIds)
+              .build()));
+      // Resolve the retraction status of the whole batch at once instead of checking one Fact at a time.
+      if (!traverseParams.isIncludeRetracted()) factRetractionHandler.resolveRetractions(records);
+      records.forEach(record -> distributeEdges(record, objects, edges, direction));
+
+      edges.forEach((id, list) -> prefetchedEdges.put(new EdgeQuery(id, direction, labels), list));
+    }
+  }
+
+  /**
+   * Returns the edges fetched by {@link #prefetchEdges(Collection, Direction, String...)} for one vertex.
+   *
+   * @param objectID   ID of the vertex
+   * @param direction  Direction of the edges
+   * @param edgeLabels Labels of the edges
+   * @return Prefetched edges or NULL if the edges have not been prefetched
+   */
+  List<Edge> getPrefetchedEdges(UUID objectID, Direction direction, String... edgeLabels) {
+    return prefetchedEdges.getIfPresent(new EdgeQuery(objectID, direction, SetUtils.set(edgeLabels)));
+  }
+
+  /**
+   * Returns true if a Fact can be traversed, i.e. the user has access to the Fact and the Fact is not retracted
+   * (unless retracted Facts are explicitly included).
+   *
+   * @param record Fact to check
+   * @return True if the Fact can be traversed
+   */
+  boolean isTraversable(FactRecord record) {
+    return securityContext.hasReadPermission(record) &&
+            (traverseParams.isIncludeRetracted() || !factRetractionHandler.isRetracted(record));
+  }
+
+  private void distributeEdges(FactRecord record, Map<UUID, ObjectRecord> objects, Map<UUID, List<Edge>> edges, Direction direction) {
+    // A Fact is returned for both the source and destination Object, but it's only checked once whether it can be traversed.
+    Boolean traversable = null;
+
+    // Collect the endpoints as a set such that a Fact binding an Object to itself only creates one edge.
+    Set<UUID> endpoints = new LinkedHashSet<>();
+    ObjectUtils.ifNotNullDo(record.getSourceObject(), endpoint -> endpoints.add(endpoint.getId()));
+    ObjectUtils.ifNotNullDo(record.getDestinationObject(), endpoint -> endpoints.add(endpoint.getId()));
+
+    for (UUID endpoint : endpoints) {
+      List<Edge> edgesOfEndpoint = edges.get(endpoint);
+      if (edgesOfEndpoint == null || !ObjectVertex.matchesDirection(record, objects.get(endpoint), direction)) continue;
+
+      if (traversable == null) traversable = isTraversable(record);
+      if (!traversable) return;
+
+      ObjectUtils.ifNotNullDo(elementFactory.createEdge(record, endpoint), edgesOfEndpoint::add);
+    }
+  }
+
   private Vertex resolveVertex(Object id) {
     Vertex vertex = elementFactory.getVertex(resolveId(id));
     if (vertex == null) {
@@ -175,6 +287,33 @@ public class ObjectFactGraph implements Graph {
     return new Builder();
   }
 
+  private static class EdgeQuery {
+    private final UUID objectID;
+    private final Direction direction;
+    private final Set<String> edgeLabels;
+
+    private EdgeQuery(UUID objectID, Direction direction, Set<String> edgeLabels) {
+      this.objectID = objectID;
+      this.direction = direction;
+      this.edgeLabels = edgeLabels;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      EdgeQuery that = (EdgeQuery) o;
+      return Objects.equals(objectID, that.objectID) &&
+              direction == that.direction &&
+              Objects.equals(edgeLabels, that.edgeLabels);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(objectID, direction, edgeLabels);
+    }
+  }
+
   public static class Builder {
     private ObjectFactDao objectFactDao;
     private ObjectFactTypeResolver objectFactTypeResolver;
@@ -53,6 +53,10 @@ public class ObjectVertex implements Vertex {
 
   @Override
   public Iterator<Edge> edges(Direction direction, String... edgeLabels) {
+    // Edges might already have been fetched together with the edges of other vertices (see BatchedVertexStepStrategy).
+    List<Edge> prefetchedEdges = graph.getPrefetchedEdges(object.getId(), direction, edgeLabels);
+    if (prefetchedEdges != null) return prefetchedEdges.iterator();
+
     Set<UUID> factTypeIds = graph.getObjectFactTypeResolver().factTypeNamesToIds(set(edgeLabels));
 
     ResultContainer<FactRecord> factRecords = graph.getObjectFactDao().searchFacts(
@@ -65,9 +69,7 @@ public class ObjectVertex implements Vertex {
     return factRecords
             .stream()
             .filter(record -> matchesDirection(record, object, direction))
-            .filter(graph.getSecurityContext()::hasReadPermission)
-            .filter(record -> graph.getTraverseParams().isIncludeRetracted() ||
-                    !graph.getFactRetractionHandler().isRetracted(record))
+            .filter(graph::isTraversable)
             .map(record -> graph.getElementFactory().createEdge(record, object.getId()))
             .filter(Objects::nonNull)
             .iterator();
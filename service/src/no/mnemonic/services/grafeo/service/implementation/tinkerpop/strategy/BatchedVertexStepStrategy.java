@@ -0,0 +1,39 @@
+package no.mnemonic.services.grafeo.service.implementation.tinkerpop.strategy;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+
+/**
+ * Strategy which inserts an {@link EdgePrefetchStep} in front of every {@link VertexStep} (e.g. out(), inE(), both()).
+ * <p>
+ * Without this strategy every vertex in the traversal frontier executes its own search in order to fetch its adjacent
+ * edges. The {@link EdgePrefetchStep} collects the frontier and fetches the edges of all collected vertices at once,
+ * which reduces the number of searches per hop from the number of vertices to (usually) one.
+ */
+public class BatchedVertexStepStrategy extends AbstractTraversalStrategy<TraversalStrategy.ProviderOptimizationStrategy>
+        implements TraversalStrategy.ProviderOptimizationStrategy {
+
+  // Same barrier size as used by TinkerPop's LazyBarrierStrategy.
+  private static final int MAX_BARRIER_SIZE = 2500;
+  private static final BatchedVertexStepStrategy INSTANCE = new BatchedVertexStepStrategy();
+
+  private BatchedVertexStepStrategy() {
+  }
+
+  @Override
+  public void apply(Traversal.Admin<?, ?> traversal) {
+    for (VertexStep<?> step : TraversalHelper.getStepsOfClass(VertexStep.class, traversal)) {
+      // Don't add another prefetch step if the strategy is applied multiple times.
+      if (step.getPreviousStep() instanceof EdgePrefetchStep) continue;
+
+      TraversalHelper.insertBeforeStep(new EdgePrefetchStep<>(traversal, MAX_BARRIER_SIZE, step.getDirection(), step.getEdgeLabels()), step, traversal);
+    }
+  }
+
+  public static BatchedVertexStepStrategy instance() {
+    return INSTANCE;
+  }
+}
@@ -0,0 +1,54 @@
+package no.mnemonic.services.grafeo.service.implementation.tinkerpop.strategy;
+
+import no.mnemonic.services.grafeo.service.implementation.tinkerpop.ObjectFactGraph;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Barrier step which collects the traversal frontier in front of a vertex step and fetches the adjacent edges of all
+ * collected vertices at once using {@link ObjectFactGraph#prefetchEdges(java.util.Collection, Direction, String...)}.
+ * The traversers are passed on unchanged, the following vertex step will pick up the prefetched edges.
+ */
+public class EdgePrefetchStep<S> extends NoOpBarrierStep<S> {
+
+  private final Direction direction;
+  private final String[] edgeLabels;
+
+  EdgePrefetchStep(Traversal.Admin traversal, int maxBarrierSize, Direction direction, String... edgeLabels) {
+    super(traversal, maxBarrierSize);
+    this.direction = direction;
+    this.edgeLabels = edgeLabels;
+  }
+
+  @Override
+  public void processAllStarts() {
+    super.processAllStarts();
+
+    ObjectFactGraph graph = null;
+    List<Vertex> frontier = new ArrayList<>();
+    for (Traverser.Admin<S> traverser : barrier) {
+      Object element = traverser.get();
+      if (!(element instanceof Vertex) || !(((Vertex) element).graph() instanceof ObjectFactGraph)) continue;
+
+      graph = (ObjectFactGraph) ((Vertex) element).graph();
+      frontier.add((Vertex) element);
+    }
+
+    if (graph != null) {
+      graph.prefetchEdges(frontier, direction, edgeLabels);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return StringFactory.stepString(this, direction, Arrays.asList(edgeLabels));
+  }
+}
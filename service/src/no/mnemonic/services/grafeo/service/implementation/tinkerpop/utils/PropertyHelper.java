@@ -127,9 +127,7 @@ public class PropertyHelper {
                     .setFactBinding(FactSearchCriteria.FactBinding.oneLegged)
                     .build());
 
-    return facts.stream()
-            .filter(securityContext::hasReadPermission)
-            .filter(record -> traverseParams.isIncludeRetracted() || !factRetractionHandler.isRetracted(record))
+    return filterTraversable(facts, traverseParams).stream()
             .map(fact -> new PropertyEntry<>(objectFactTypeResolver.toFactTypeStruct(fact.getTypeID()).getName(),
                     fact.getValue(), fact.getLastSeenTimestamp()))
             .collect(Collectors.toList());
@@ -211,14 +209,25 @@ public class PropertyHelper {
                     .setFactBinding(FactSearchCriteria.FactBinding.meta)
                     .build());
 
-    return facts.stream()
-            .filter(securityContext::hasReadPermission)
-            .filter(record -> traverseParams.isIncludeRetracted() || !factRetractionHandler.isRetracted(record))
+    return filterTraversable(facts, traverseParams).stream()
             .map(record -> new PropertyEntry<>("meta/" + objectFactTypeResolver.toFactTypeStruct(record.getTypeID()).getName(),
                     record.getValue(), record.getLastSeenTimestamp()))
             .collect(Collectors.toList());
   }
 
+  private List<FactRecord> filterTraversable(ResultContainer<FactRecord> facts, TraverseParams traverseParams) {
+    List<FactRecord> accessible = facts.stream()
+            .filter(securityContext::hasReadPermission)
+            .collect(Collectors.toList());
+    if (traverseParams.isIncludeRetracted()) return accessible;
+
+    // Resolve the retraction status of all Facts at once. Afterwards, the checks of the individual Facts hit the cache.
+    factRetractionHandler.resolveRetractions(accessible);
+    return accessible.stream()
+            .filter(record -> !factRetractionHandler.isRetracted(record))
+            .collect(Collectors.toList());
+  }
+
   /**
    * Get all static fact properties.
    *
@@ -2,8 +2,10 @@ package no.mnemonic.services.grafeo.service.modules;
 
 import com.google.inject.AbstractModule;
 import com.google.inject.Scopes;
+import com.google.inject.name.Names;
 import no.mnemonic.messaging.requestsink.jms.serializer.MessageSerializer;
 import no.mnemonic.services.common.api.ServiceSessionFactory;
+import no.mnemonic.services.grafeo.service.container.BinaryXStreamMessageSerializerProvider;
 import no.mnemonic.services.grafeo.service.container.GrafeoSmbServer;
 import no.mnemonic.services.grafeo.service.container.NoopServiceSessionFactory;
 import no.mnemonic.services.grafeo.service.container.XStreamMessageSerializerProvider;
@@ -20,6 +22,10 @@ public class GrafeoServerModule extends AbstractModule {
     if (!skipDefaultMessageSerializer) {
       // Omit default MessageSerializer if the module is configured using withoutDefaultMessageSerializer().
       bind(MessageSerializer.class).toProvider(XStreamMessageSerializerProvider.class);
+      // Also accept requests encoded in the binary format. Clients choose which serializer to use.
+      bind(MessageSerializer.class)
+              .annotatedWith(Names.named(GrafeoSmbServer.ADDITIONAL_MESSAGE_SERIALIZER))
+              .toProvider(BinaryXStreamMessageSerializerProvider.class);
     }
 
     // The service implementation doesn't have sessions, thus, just use a noop session for the SMB.
@@ -1,5 +1,6 @@
 package no.mnemonic.services.grafeo.service.providers;
 
+import com.google.common.collect.ForwardingMap;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.map.IMap;
 import com.hazelcast.map.LocalMapStats;
@@ -8,13 +9,21 @@ import no.mnemonic.commons.metrics.MetricAspect;
 import no.mnemonic.commons.metrics.MetricException;
 import no.mnemonic.commons.metrics.Metrics;
 import no.mnemonic.commons.metrics.MetricsData;
+import no.mnemonic.services.grafeo.dao.bindings.BulkReadableMap;
 
 import javax.inject.Provider;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
  * Base class for a {@link Provider} which returns a {@link Map} instance backed by Hazelcast.
  * <p>
+ * The returned map implements {@link BulkReadableMap} which allows fetching multiple entries with
+ * {@link IMap#getAll(Set)} instead of one round trip per entry.
+ * <p>
  * Implements collecting metrics from the underlying {@link IMap}.
  *
  * @param <K> Type of map key
@@ -32,12 +41,12 @@ public abstract class AbstractHazelcastMapProvider<K, V> implements Provider<Map
 
   @Override
   public Map<K, V> get() {
-    return hazelcastInstance.getMap(mapName);
+    return new HazelcastBulkReadableMap<>(getMap());
   }
 
   @Override
   public Metrics getMetrics() throws MetricException {
-    IMap<K, V> map = (IMap<K, V>) get();
+    IMap<K, V> map = getMap();
 
     LocalMapStats stats = map.getLocalMapStats();
     MetricsData metrics = new MetricsData()
@@ -71,4 +80,85 @@ public abstract class AbstractHazelcastMapProvider<K, V> implements Provider<Map
 
     return metrics;
   }
+
+  private IMap<K, V> getMap() {
+    return hazelcastInstance.getMap(mapName);
+  }
+
+  private static class HazelcastBulkReadableMap<K, V> extends ForwardingMap<K, V> implements BulkReadableMap<K, V> {
+
+    private final IMap<K, V> delegate;
+
+    private HazelcastBulkReadableMap(IMap<K, V> delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public Map<K, V> getAll(Set<K> keys) {
+      return delegate.getAll(keys);
+    }
+
+    // ForwardingMap does not forward default methods. Instead, the default implementations of Map would be used which
+    // are not atomic (get followed by put). IMap provides its own atomic implementations, thus, forward all of them.
+
+    @Override
+    public V getOrDefault(Object key, V defaultValue) {
+      return delegate.getOrDefault(key, defaultValue);
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+      delegate.forEach(action);
+    }
+
+    @Override
+    public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function) {
+      delegate.replaceAll(function);
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+      return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+      return delegate.remove(key, value);
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+      return delegate.replace(key, oldValue, newValue);
+    }
+
+    @Override
+    public V replace(K key, V value) {
+      return delegate.replace(key, value);
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+      return delegate.computeIfAbsent(key, mappingFunction);
+    }
+
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+      return delegate.computeIfPresent(key, remappingFunction);
+    }
+
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+      return delegate.compute(key, remappingFunction);
+    }
+
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+      return delegate.merge(key, value, remappingFunction);
+    }
+
+    @Override
+    protected Map<K, V> delegate() {
+      return delegate;
+    }
+  }
 }
@@ -0,0 +1,136 @@
+package no.mnemonic.services.grafeo.service.providers;
+
+import com.hazelcast.nio.serialization.ByteArraySerializer;
+import com.hazelcast.nio.serialization.Serializer;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Base class for {@link Serializer} implementations which serialize data into a compact binary format.
+ * <p>
+ * Every serialized object starts with a version byte identifying the schema used to write the object. Implementations
+ * always write the latest schema version, but must be able to read all previous schema versions. When changing the
+ * schema (e.g. adding a field) only append new fields and increase the version, otherwise members of a cluster running
+ * different versions of the application won't be able to read each other's data.
+ * <p>
+ * The serializer replaces a {@link HazelcastJsonSerializer} using the same type ID. The highest bit of the version byte
+ * is always set, which never happens for the first byte of a JSON document. This way entries written in the previous
+ * JSON format can still be read. Writing the binary format can be disabled, e.g. during a rolling upgrade where members
+ * running the previous version of the application can only read JSON.
+ *
+ * @param <T> Type of data
+ */
+public abstract class HazelcastBinarySerializer<T> implements ByteArraySerializer<T> {
+
+  private static final int INITIAL_BUFFER_SIZE = 256;
+  private static final int BINARY_FORMAT_MARKER = 0x80;
+
+  private final int typeID;
+  private final int version;
+  private final HazelcastJsonSerializer<T> jsonSerializer;
+  private final boolean binaryFormatEnabled;
+
+  protected HazelcastBinarySerializer(Class<T> type, int typeID, int version, boolean binaryFormatEnabled) {
+    if (version < 1 || version > Byte.MAX_VALUE) throw new IllegalArgumentException("'version' must be between 1 and 127!");
+    this.typeID = typeID;
+    this.version = version;
+    this.jsonSerializer = new HazelcastJsonSerializer<>(type, typeID);
+    this.binaryFormatEnabled = binaryFormatEnabled;
+  }
+
+  @Override
+  public byte[] write(T object) throws IOException {
+    if (!binaryFormatEnabled) return jsonSerializer.write(object);
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeByte(BINARY_FORMAT_MARKER | version);
+      out.writeBoolean(object != null);
+      if (object != null) {
+        writeObject(out, object);
+      }
+    }
+
+    return bytes.toByteArray();
+  }
+
+  @Override
+  public T read(byte[] buffer) throws IOException {
+    if (buffer == null) return null;
+    // Entry was written in the previous JSON format.
+    if (buffer.length == 0 || (buffer[0] & BINARY_FORMAT_MARKER) == 0) return jsonSerializer.read(buffer);
+
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(buffer))) {
+      int schemaVersion = in.readUnsignedByte() & ~BINARY_FORMAT_MARKER;
+      if (schemaVersion < 1 || schemaVersion > version) {
+        throw new IOException(String.format("Unsupported schema version %d for type ID %d.", schemaVersion, typeID));
+      }
+
+      return in.readBoolean() ? readObject(in, schemaVersion) : null;
+    }
+  }
+
+  @Override
+  public int getTypeId() {
+    return typeID;
+  }
+
+  @Override
+  public void destroy() {
+    // Noop
+  }
+
+  /**
+   * Write an object using the latest schema version.
+   *
+   * @param out    Output to write to
+   * @param object Object to write (never NULL)
+   * @throws IOException If writing fails
+   */
+  protected abstract void writeObject(DataOutput out, T object) throws IOException;
+
+  /**
+   * Read an object written with the given schema version.
+   *
+   * @param in      Input to read from
+   * @param version Schema version used to write the object
+   * @return Deserialized object
+   * @throws IOException If reading fails
+   */
+  protected abstract T readObject(DataInput in, int version) throws IOException;
+
+  static void writeUUID(DataOutput out, UUID uuid) throws IOException {
+    out.writeBoolean(uuid != null);
+    if (uuid == null) return;
+    out.writeLong(uuid.getMostSignificantBits());
+    out.writeLong(uuid.getLeastSignificantBits());
+  }
+
+  static UUID readUUID(DataInput in) throws IOException {
+    if (!in.readBoolean()) return null;
+    return new UUID(in.readLong(), in.readLong());
+  }
+
+  static void writeString(DataOutput out, String value) throws IOException {
+    // Don't use writeUTF() because it's limited to 64KB.
+    if (value == null) {
+      out.writeInt(-1);
+      return;
+    }
+
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  static String readString(DataInput in) throws IOException {
+    int length = in.readInt();
+    if (length < 0) return null;
+
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
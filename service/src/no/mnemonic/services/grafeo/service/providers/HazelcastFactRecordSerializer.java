@@ -0,0 +1,170 @@
+package no.mnemonic.services.grafeo.service.providers;
+
+import no.mnemonic.services.grafeo.dao.api.record.FactAclEntryRecord;
+import no.mnemonic.services.grafeo.dao.api.record.FactCommentRecord;
+import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.*;
+
+import static no.mnemonic.services.grafeo.service.providers.HazelcastObjectRecordSerializer.readObjectRecord;
+import static no.mnemonic.services.grafeo.service.providers.HazelcastObjectRecordSerializer.writeObjectRecord;
+
+/**
+ * Binary {@link HazelcastBinarySerializer} for {@link FactRecord} including bound Objects, ACL and comments.
+ * <p>
+ * Enum constants are written by their ordinal, thus, new constants must only be appended to {@link FactRecord.AccessMode}
+ * and {@link FactRecord.Flag}.
+ */
+public class HazelcastFactRecordSerializer extends HazelcastBinarySerializer<FactRecord> {
+
+  private static final int SCHEMA_VERSION = 1;
+  private static final FactRecord.AccessMode[] ACCESS_MODES = FactRecord.AccessMode.values();
+  private static final FactRecord.Flag[] FLAGS = FactRecord.Flag.values();
+
+  public HazelcastFactRecordSerializer(int typeID) {
+    this(typeID, true);
+  }
+
+  public HazelcastFactRecordSerializer(int typeID, boolean binaryFormatEnabled) {
+    super(FactRecord.class, typeID, SCHEMA_VERSION, binaryFormatEnabled);
+  }
+
+  @Override
+  protected void writeObject(DataOutput out, FactRecord fact) throws IOException {
+    writeUUID(out, fact.getId());
+    writeUUID(out, fact.getTypeID());
+    writeString(out, fact.getValue());
+    writeUUID(out, fact.getInReferenceToID());
+    writeUUID(out, fact.getOrganizationID());
+    writeUUID(out, fact.getOriginID());
+    writeUUID(out, fact.getAddedByID());
+    writeUUID(out, fact.getLastSeenByID());
+    out.writeByte(fact.getAccessMode() != null ? fact.getAccessMode().ordinal() : -1);
+    out.writeFloat(fact.getConfidence());
+    out.writeFloat(fact.getTrust());
+    out.writeLong(fact.getTimestamp());
+    out.writeLong(fact.getLastSeenTimestamp());
+    writeObjectRecord(out, fact.getSourceObject());
+    writeObjectRecord(out, fact.getDestinationObject());
+    out.writeBoolean(fact.isBidirectionalBinding());
+    writeFlags(out, fact.getFlags());
+    writeAcl(out, fact.getAcl());
+    writeComments(out, fact.getComments());
+  }
+
+  @Override
+  protected FactRecord readObject(DataInput in, int version) throws IOException {
+    return new FactRecord()
+            .setId(readUUID(in))
+            .setTypeID(readUUID(in))
+            .setValue(readString(in))
+            .setInReferenceToID(readUUID(in))
+            .setOrganizationID(readUUID(in))
+            .setOriginID(readUUID(in))
+            .setAddedByID(readUUID(in))
+            .setLastSeenByID(readUUID(in))
+            .setAccessMode(readEnum(in.readByte(), ACCESS_MODES))
+            .setConfidence(in.readFloat())
+            .setTrust(in.readFloat())
+            .setTimestamp(in.readLong())
+            .setLastSeenTimestamp(in.readLong())
+            .setSourceObject(readObjectRecord(in))
+            .setDestinationObject(readObjectRecord(in))
+            .setBidirectionalBinding(in.readBoolean())
+            .setFlags(readFlags(in))
+            .setAcl(readAcl(in))
+            .setComments(readComments(in));
+  }
+
+  private static void writeFlags(DataOutput out, Set<FactRecord.Flag> flags) throws IOException {
+    // Distinguish between NULL and empty collections (-1 vs 0) in order to restore the exact same record.
+    out.writeInt(flags != null ? flags.size() : -1);
+    if (flags == null) return;
+
+    for (FactRecord.Flag flag : flags) {
+      out.writeByte(flag.ordinal());
+    }
+  }
+
+  private static Set<FactRecord.Flag> readFlags(DataInput in) throws IOException {
+    int size = in.readInt();
+    if (size < 0) return null;
+
+    Set<FactRecord.Flag> flags = new HashSet<>();
+    for (int i = 0; i < size; i++) {
+      flags.add(readEnum(in.readByte(), FLAGS));
+    }
+
+    return flags;
+  }
+
+  private static void writeAcl(DataOutput out, List<FactAclEntryRecord> acl) throws IOException {
+    out.writeInt(acl != null ? acl.size() : -1);
+    if (acl == null) return;
+
+    for (FactAclEntryRecord entry : acl) {
+      writeUUID(out, entry.getId());
+      writeUUID(out, entry.getSubjectID());
+      writeUUID(out, entry.getOriginID());
+      out.writeLong(entry.getTimestamp());
+    }
+  }
+
+  private static List<FactAclEntryRecord> readAcl(DataInput in) throws IOException {
+    int size = in.readInt();
+    if (size < 0) return null;
+
+    List<FactAclEntryRecord> acl = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      acl.add(new FactAclEntryRecord()
+              .setId(readUUID(in))
+              .setSubjectID(readUUID(in))
+              .setOriginID(readUUID(in))
+              .setTimestamp(in.readLong()));
+    }
+
+    return acl;
+  }
+
+  private static void writeComments(DataOutput out, List<FactCommentRecord> comments) throws IOException {
+    out.writeInt(comments != null ? comments.size() : -1);
+    if (comments == null) return;
+
+    for (FactCommentRecord comment : comments) {
+      writeUUID(out, comment.getId());
+      writeUUID(out, comment.getReplyToID());
+      writeUUID(out, comment.getOriginID());
+      writeString(out, comment.getComment());
+      out.writeLong(comment.getTimestamp());
+    }
+  }
+
+  private static List<FactCommentRecord> readComments(DataInput in) throws IOException {
+    int size = in.readInt();
+    if (size < 0) return null;
+
+    List<FactCommentRecord> comments = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      comments.add(new FactCommentRecord()
+              .setId(readUUID(in))
+              .setReplyToID(readUUID(in))
+              .setOriginID(readUUID(in))
+              .setComment(readString(in))
+              .setTimestamp(in.readLong()));
+    }
+
+    return comments;
+  }
+
+  private static <E extends Enum<E>> E readEnum(int ordinal, E[] constants) throws IOException {
+    if (ordinal < 0) return null;
+    if (ordinal >= constants.length) {
+      throw new IOException(String.format("Unknown ordinal %d for enum %s.", ordinal, constants.getClass().getComponentType().getSimpleName()));
+    }
+
+    return constants[ordinal];
+  }
+}
@@ -0,0 +1,51 @@
+package no.mnemonic.services.grafeo.service.providers;
+
+import no.mnemonic.services.grafeo.dao.api.record.ObjectRecord;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Binary {@link HazelcastBinarySerializer} for {@link ObjectRecord}.
+ */
+public class HazelcastObjectRecordSerializer extends HazelcastBinarySerializer<ObjectRecord> {
+
+  private static final int SCHEMA_VERSION = 1;
+
+  public HazelcastObjectRecordSerializer(int typeID) {
+    this(typeID, true);
+  }
+
+  public HazelcastObjectRecordSerializer(int typeID, boolean binaryFormatEnabled) {
+    super(ObjectRecord.class, typeID, SCHEMA_VERSION, binaryFormatEnabled);
+  }
+
+  @Override
+  protected void writeObject(DataOutput out, ObjectRecord object) throws IOException {
+    writeObjectRecord(out, object);
+  }
+
+  @Override
+  protected ObjectRecord readObject(DataInput in, int version) throws IOException {
+    return readObjectRecord(in);
+  }
+
+  static void writeObjectRecord(DataOutput out, ObjectRecord object) throws IOException {
+    out.writeBoolean(object != null);
+    if (object == null) return;
+
+    writeUUID(out, object.getId());
+    writeUUID(out, object.getTypeID());
+    writeString(out, object.getValue());
+  }
+
+  static ObjectRecord readObjectRecord(DataInput in) throws IOException {
+    if (!in.readBoolean()) return null;
+
+    return new ObjectRecord()
+            .setId(readUUID(in))
+            .setTypeID(readUUID(in))
+            .setValue(readString(in));
+  }
+}
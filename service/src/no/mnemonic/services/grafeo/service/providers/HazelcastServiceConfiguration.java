@@ -2,6 +2,7 @@ package no.mnemonic.services.grafeo.service.providers;
 
 import com.google.inject.Inject;
 import com.hazelcast.config.*;
+import com.hazelcast.nio.serialization.Serializer;
 import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
 import no.mnemonic.services.grafeo.dao.api.record.ObjectRecord;
 import no.mnemonic.services.grafeo.seb.model.v1.FactSEB;
@@ -32,6 +33,7 @@ public class HazelcastServiceConfiguration {
   private int daoCacheFactNearCacheMaximumCacheSize = 100_000;
   private int daoCacheObjectNearCacheMaximumCacheSize = 200_000;
   private int esEngineFactMaximumQueueSize = 1_000;
+  private boolean daoCacheBinaryFormatEnabled = true;
 
   /**
    * Apply the required service configuration to an existing Hazelcast {@link Config} object.
@@ -100,13 +102,22 @@ public class HazelcastServiceConfiguration {
     return this;
   }
 
+  @Inject(optional = true)
+  public HazelcastServiceConfiguration setDaoCacheBinaryFormatEnabled(@Named("grafeo.dao.cache.binary.format.enabled") boolean enabled) {
+    this.daoCacheBinaryFormatEnabled = enabled;
+    return this;
+  }
+
   private void applySerializationConfig(Config cfg) {
     SerializationConfig serializationConfig = cfg.getSerializationConfig();
 
     // Configure serializers for all classes handled by Hazelcast.
     serializationConfig.addSerializerConfig(createSerializerConfig(FactSEB.class, 46616374)); // ASCII for Fact
-    serializationConfig.addSerializerConfig(createSerializerConfig(FactRecord.class, 41435430)); // ASCII for ACT0
-    serializationConfig.addSerializerConfig(createSerializerConfig(ObjectRecord.class, 41435431)); // ASCII for ACT1
+    // The DAO caches hold a large number of records, thus, use a compact binary format instead of JSON. The serializers
+    // keep the type IDs of the previously used JSON serializers and still read JSON entries. Writing the binary format
+    // must only be enabled once no member of the cluster runs an older version (see MIGRATIONS.md).
+    serializationConfig.addSerializerConfig(createSerializerConfig(FactRecord.class, new HazelcastFactRecordSerializer(41435430, daoCacheBinaryFormatEnabled))); // ASCII for ACT0
+    serializationConfig.addSerializerConfig(createSerializerConfig(ObjectRecord.class, new HazelcastObjectRecordSerializer(41435431, daoCacheBinaryFormatEnabled))); // ASCII for ACT1
   }
 
   private void applyQueueConfig(Config cfg) {
@@ -128,9 +139,13 @@ public class HazelcastServiceConfiguration {
   }
 
   private SerializerConfig createSerializerConfig(Class<?> type, int typeID) {
+    return createSerializerConfig(type, new HazelcastJsonSerializer<>(type, typeID));
+  }
+
+  private SerializerConfig createSerializerConfig(Class<?> type, Serializer serializer) {
     return new SerializerConfig()
             .setTypeClass(type)
-            .setImplementation(new HazelcastJsonSerializer<>(type, typeID));
+            .setImplementation(serializer);
   }
 
   private MapConfig createMapConfigForFactDaoCache(String name) {
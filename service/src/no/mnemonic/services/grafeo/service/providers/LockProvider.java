@@ -1,5 +1,11 @@
 package no.mnemonic.services.grafeo.service.providers;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
 /**
  * The LockProvider interface specifies a mechanism to acquire and release a lock for a small code block. The lock
  * semantics are specific to the LockProvider implementation. The implementation may choose to only synchronize code
@@ -31,6 +37,67 @@ public interface LockProvider {
    */
   Lock acquireLock(String region, String key);
 
+  /**
+   * Acquire the locks for multiple keys in the same region at once. The returned lock releases all acquired locks.
+   * <p>
+   * The keys are locked in their natural order. Because every caller uses the same order two callers locking
+   * overlapping sets of keys cannot deadlock each other. If one lock cannot be acquired all previously acquired locks
+   * are released before the exception is propagated. Closing the returned lock releases every acquired lock, even if
+   * releasing one of them fails.
+   *
+   * @param region Identifies the lock region
+   * @param keys   Identifies the locks
+   * @return Acquired lock covering all keys
+   */
+  default Lock acquireLocks(String region, Collection<String> keys) {
+    List<String> sortedKeys = keys.stream()
+            .filter(Objects::nonNull)
+            .distinct()
+            .sorted()
+            .collect(Collectors.toList());
+
+    List<Lock> acquired = new ArrayList<>(sortedKeys.size());
+    Lock group = () -> releaseLocks(acquired);
+
+    try {
+      for (String key : sortedKeys) {
+        acquired.add(acquireLock(region, key));
+      }
+    } catch (RuntimeException ex) {
+      try {
+        group.close();
+      } catch (RuntimeException closeEx) {
+        ex.addSuppressed(closeEx);
+      }
+      throw ex;
+    }
+
+    return group;
+  }
+
+  /**
+   * Release multiple locks in reverse order of acquisition. All locks are released even if releasing one of them
+   * fails. In this case the first failure is thrown with all other failures added as suppressed exceptions.
+   *
+   * @param locks Locks to release
+   */
+  private static void releaseLocks(List<Lock> locks) {
+    RuntimeException failure = null;
+    for (int i = locks.size() - 1; i >= 0; i--) {
+      try {
+        locks.get(i).close();
+      } catch (RuntimeException ex) {
+        if (failure == null) {
+          failure = ex;
+        } else {
+          failure.addSuppressed(ex);
+        }
+      }
+    }
+
+    if (failure != null) throw failure;
+  }
+
   /**
    * Lock returned from {@link #acquireLock(String, String)}. The lock should be released using {@link #close()}
    * once it is not required anymore, typically using a try-with-resource block.
@@ -20,6 +20,7 @@ import java.util.UUID;
 
 import static no.mnemonic.services.grafeo.service.implementation.FunctionConstants.viewGrafeoFact;
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
@@ -188,4 +189,75 @@ public class SecurityContextTest {
     context.getAvailableOrganizationID();
   }
 
+  @Test
+  public void testCheckPermissionCachesDecision() throws Exception {
+    when(accessController.hasPermission(credentials, viewGrafeoFact)).thenReturn(false);
+    assertThrows(AccessDeniedException.class, () -> context.checkPermission(viewGrafeoFact));
+    assertThrows(AccessDeniedException.class, () -> context.checkPermission(viewGrafeoFact));
+    verify(accessController, times(1)).hasPermission(credentials, viewGrafeoFact);
+  }
+
+  @Test
+  public void testCheckPermissionForOrganizationCachesDecisionPerOrganization() throws Exception {
+    UUID organizationID1 = UUID.randomUUID();
+    UUID organizationID2 = UUID.randomUUID();
+    when(identityResolver.resolveOrganizationIdentity(organizationID1)).thenReturn(organization);
+    when(accessController.hasPermission(credentials, viewGrafeoFact, organization)).thenReturn(true);
+
+    context.checkPermission(viewGrafeoFact, organizationID1);
+    context.checkPermission(viewGrafeoFact, organizationID1);
+    assertThrows(AccessDeniedException.class, () -> context.checkPermission(viewGrafeoFact, organizationID2));
+    verify(accessController, times(1)).hasPermission(credentials, viewGrafeoFact, organization);
+    verify(identityResolver, times(1)).resolveOrganizationIdentity(organizationID1);
+    verify(identityResolver, times(1)).resolveOrganizationIdentity(organizationID2);
+  }
+
+  @Test
+  public void testCheckPermissionWithoutOrganizationCachedSeparatelyFromNullOrganization() throws Exception {
+    when(accessController.hasPermission(credentials, viewGrafeoFact)).thenReturn(true);
+    when(accessController.hasPermission(credentials, viewGrafeoFact, null)).thenReturn(false);
+
+    context.checkPermission(viewGrafeoFact);
+    assertThrows(AccessDeniedException.class, () -> context.checkPermission(viewGrafeoFact, null));
+    verify(accessController, times(1)).hasPermission(credentials, viewGrafeoFact);
+    verify(accessController, times(1)).hasPermission(credentials, viewGrafeoFact, null);
+  }
+
+  @Test
+  public void testCheckPermissionDoesNotCacheAuthenticationFailure() throws Exception {
+    when(accessController.hasPermission(credentials, viewGrafeoFact)).thenThrow(InvalidCredentialsException.class).thenReturn(true);
+    assertThrows(AuthenticationFailedException.class, () -> context.checkPermission(viewGrafeoFact));
+    context.checkPermission(viewGrafeoFact);
+  }
+
+  @Test
+  public void testGetCurrentUserIdCachesResult() throws Exception {
+    UUID currentUserID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    when(accessController.validate(credentials)).thenReturn(sessionDescriptor);
+    when(identityResolver.resolveSubjectUUID(sessionDescriptor)).thenReturn(currentUserID);
+    assertEquals(currentUserID, context.getCurrentUserID());
+    assertEquals(currentUserID, context.getCurrentUserID());
+    verify(accessController, times(1)).validate(credentials);
+  }
+
+  @Test
+  public void testGetCurrentUserIdentitiesCachesResult() throws Exception {
+    UUID subjectID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    when(accessController.getSubjectIdentities(credentials)).thenReturn(SetUtils.set(subject));
+    when(identityResolver.resolveSubjectUUID(subject)).thenReturn(subjectID);
+    assertEquals(SetUtils.set(subjectID), context.getCurrentUserIdentities());
+    assertEquals(SetUtils.set(subjectID), context.getCurrentUserIdentities());
+    verify(accessController, times(1)).getSubjectIdentities(credentials);
+  }
+
+  @Test
+  public void testGetAvailableOrganizationIdCachesResult() throws Exception {
+    UUID organizationID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    when(accessController.getAvailableOrganizations(credentials)).thenReturn(SetUtils.set(organization));
+    when(identityResolver.resolveOrganizationUUID(organization)).thenReturn(organizationID);
+    assertEquals(SetUtils.set(organizationID), context.getAvailableOrganizationID());
+    assertEquals(SetUtils.set(organizationID), context.getAvailableOrganizationID());
+    verify(accessController, times(1)).getAvailableOrganizations(credentials);
+  }
+
 }
@@ -306,13 +306,17 @@ public class GrafeoSecurityContextTest {
 
   @Test
   public void testCheckReadPermissionForObjectRecordWithAccessToSecondFact() throws Exception {
-    FactRecord fact = new FactRecord().setAccessMode(FactRecord.AccessMode.Public);
+    FactRecord fact1 = new FactRecord().setAccessMode(FactRecord.AccessMode.Public);
+    FactRecord fact2 = new FactRecord().setAccessMode(FactRecord.AccessMode.RoleBased).setOrganizationID(UUID.randomUUID());
+    FactRecord fact3 = new FactRecord().setAccessMode(FactRecord.AccessMode.Public);
 
-    when(objectFactDao.retrieveObjectFacts(notNull())).thenReturn(ListUtils.list(fact, fact, fact).iterator());
-    when(accessController.hasPermission(credentials, viewGrafeoFact)).thenReturn(false, true, false);
+    when(objectFactDao.retrieveObjectFacts(notNull())).thenReturn(ListUtils.list(fact1, fact2, fact3).iterator());
+    when(accessController.hasPermission(credentials, viewGrafeoFact)).thenReturn(false);
+    when(accessController.hasPermission(credentials, viewGrafeoFact, organization)).thenReturn(true);
 
     context.checkReadPermission(new ObjectRecord().setId(UUID.randomUUID()));
-    verify(accessController, times(2)).hasPermission(credentials, viewGrafeoFact);
+    verify(accessController).hasPermission(credentials, viewGrafeoFact);
+    verify(accessController).hasPermission(credentials, viewGrafeoFact, organization);
   }
 
   @Test
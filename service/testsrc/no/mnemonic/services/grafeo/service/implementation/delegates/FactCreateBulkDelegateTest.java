@@ -0,0 +1,222 @@
+package no.mnemonic.services.grafeo.service.implementation.delegates;
+
+import no.mnemonic.services.common.api.ResultSet;
+import no.mnemonic.services.grafeo.api.exceptions.AccessDeniedException;
+import no.mnemonic.services.grafeo.api.exceptions.InvalidArgumentException;
+import no.mnemonic.services.grafeo.api.model.v1.Fact;
+import no.mnemonic.services.grafeo.api.model.v1.Organization;
+import no.mnemonic.services.grafeo.api.request.v1.AccessMode;
+import no.mnemonic.services.grafeo.api.request.v1.CreateFactRequest;
+import no.mnemonic.services.grafeo.api.request.v1.CreateFactsRequest;
+import no.mnemonic.services.grafeo.dao.api.record.ObjectRecord;
+import no.mnemonic.services.grafeo.dao.cassandra.ObjectManager;
+import no.mnemonic.services.grafeo.dao.cassandra.entity.FactTypeEntity;
+import no.mnemonic.services.grafeo.dao.cassandra.entity.ObjectTypeEntity;
+import no.mnemonic.services.grafeo.dao.cassandra.entity.OriginEntity;
+import no.mnemonic.services.grafeo.service.contexts.TriggerContext;
+import no.mnemonic.services.grafeo.service.implementation.FunctionConstants;
+import no.mnemonic.services.grafeo.service.implementation.GrafeoSecurityContext;
+import no.mnemonic.services.grafeo.service.implementation.handlers.FactCreateHandler;
+import no.mnemonic.services.grafeo.service.implementation.resolvers.request.FactTypeRequestResolver;
+import no.mnemonic.services.grafeo.service.implementation.resolvers.request.ObjectRequestResolver;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.UUID;
+
+import static no.mnemonic.commons.utilities.collections.ListUtils.list;
+import static no.mnemonic.commons.utilities.collections.MapUtils.Pair.T;
+import static no.mnemonic.commons.utilities.collections.MapUtils.map;
+import static no.mnemonic.commons.utilities.collections.SetUtils.set;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class FactCreateBulkDelegateTest {
+
+  @Mock
+  private FactTypeRequestResolver factTypeRequestResolver;
+  @Mock
+  private ObjectRequestResolver objectRequestResolver;
+  @Mock
+  private FactCreateHandler factCreateHandler;
+  @Mock
+  private ObjectManager objectManager;
+  @Mock
+  private GrafeoSecurityContext securityContext;
+  @Mock
+  private TriggerContext triggerContext;
+  @Mock
+  private Clock clock;
+
+  private FactCreateBulkDelegate delegate;
+
+  private final OriginEntity origin = new OriginEntity()
+          .setId(UUID.randomUUID())
+          .setName("origin")
+          .setTrust(0.1f);
+  private final Organization organization = Organization.builder()
+          .setId(UUID.randomUUID())
+          .setName("organization")
+          .build();
+  private final ObjectTypeEntity ipObjectType = new ObjectTypeEntity()
+          .setId(UUID.randomUUID())
+          .setName("ip");
+  private final ObjectTypeEntity domainObjectType = new ObjectTypeEntity()
+          .setId(UUID.randomUUID())
+          .setName("domain");
+  private final FactTypeEntity resolveFactType = new FactTypeEntity()
+          .setId(UUID.randomUUID())
+          .setName("resolve")
+          .setValidator("validator")
+          .setValidatorParameter("validatorParameter")
+          .setDefaultConfidence(0.2f)
+          .setRelevantObjectBindings(set(new FactTypeEntity.FactObjectBindingDefinition()
+                  .setSourceObjectTypeID(ipObjectType.getId())
+                  .setDestinationObjectTypeID(domainObjectType.getId())));
+  private final ObjectRecord ip = new ObjectRecord()
+          .setId(UUID.randomUUID())
+          .setTypeID(ipObjectType.getId())
+          .setValue("1.2.3.4");
+  private final ObjectRecord domain = new ObjectRecord()
+          .setId(UUID.randomUUID())
+          .setTypeID(domainObjectType.getId())
+          .setValue("test.example.org");
+
+  @Before
+  public void setup() throws Exception {
+    initMocks(this);
+    FactCreateDelegate factCreateDelegate = new FactCreateDelegate(
+            securityContext,
+            triggerContext,
+            factTypeRequestResolver,
+            objectRequestResolver,
+            factCreateHandler,
+            objectManager
+    ).withClock(clock);
+    delegate = new FactCreateBulkDelegate(factCreateDelegate, objectRequestResolver, factCreateHandler);
+
+    when(clock.millis()).thenReturn(1000L);
+    when(securityContext.getCurrentUserID()).thenReturn(UUID.randomUUID());
+    when(factCreateHandler.resolveOrigin(origin.getName())).thenReturn(origin);
+    when(factCreateHandler.resolveOrganization(organization.getName(), origin)).thenReturn(organization);
+    when(factTypeRequestResolver.resolveFactType(resolveFactType.getName())).thenReturn(resolveFactType);
+    when(objectManager.getObjectType(any(UUID.class))).thenReturn(new ObjectTypeEntity());
+    when(objectRequestResolver.resolveObjects(any())).thenReturn(map(
+            T(ip.getValue(), ip),
+            T(domain.getValue(), domain)
+    ));
+  }
+
+  @Test
+  public void testCreateFactsWithoutAddPermission() throws Exception {
+    doThrow(AccessDeniedException.class).when(securityContext).checkPermission(FunctionConstants.addGrafeoFact, organization.getId());
+
+    assertThrows(AccessDeniedException.class, () -> delegate.handle(new CreateFactsRequest().addFact(createRequest("value"))));
+    verify(objectRequestResolver, never()).resolveObjects(any());
+    verify(factCreateHandler, never()).saveFacts(any());
+  }
+
+  @Test
+  public void testCreateFactsCollectsValidationErrors() throws Exception {
+    doThrow(new InvalidArgumentException().addValidationError("invalid", "fact.not.valid", "value", "invalid"))
+            .when(factCreateHandler).assertValidFactValue(resolveFactType, "invalid");
+
+    CreateFactsRequest request = new CreateFactsRequest()
+            .addFact(createRequest("value"))
+            .addFact(createRequest("invalid"))
+            .addFact(createRequest("invalid"));
+    InvalidArgumentException ex = assertThrows(InvalidArgumentException.class, () -> delegate.handle(request));
+    assertEquals(set("facts[1].value", "facts[2].value"), set(ex.getValidationErrors(), InvalidArgumentException.ValidationError::getProperty));
+
+    // No Objects must be created if any Fact is invalid.
+    verify(objectRequestResolver, never()).resolveObjects(any());
+    verify(factCreateHandler, never()).saveFacts(any());
+  }
+
+  @Test
+  public void testCreateFactsValidatesObjectBindings() throws Exception {
+    CreateFactsRequest request = new CreateFactsRequest()
+            .addFact(createRequest("value"))
+            .addFact(createRequest("value").setSourceObject(domain.getValue()).setDestinationObject(ip.getValue()));
+    InvalidArgumentException ex = assertThrows(InvalidArgumentException.class, () -> delegate.handle(request));
+    assertEquals(set("invalid.fact.object.binding"), set(ex.getValidationErrors(), InvalidArgumentException.ValidationError::getMessageTemplate));
+    assertEquals(set("facts[1].sourceObject|destinationObject|bidirectionalBinding"), set(ex.getValidationErrors(), InvalidArgumentException.ValidationError::getProperty));
+
+    verify(factCreateHandler, never()).saveFacts(any());
+  }
+
+  @Test
+  public void testCreateFacts() throws Exception {
+    Fact fact1 = createFact();
+    Fact fact2 = createFact();
+    when(factCreateHandler.saveFacts(any())).thenReturn(list(fact1, fact2));
+
+    CreateFactsRequest request = new CreateFactsRequest()
+            .addFact(createRequest("value1"))
+            .addFact(createRequest("value2"));
+    ResultSet<Fact> result = delegate.handle(request);
+    assertEquals(2, result.getCount());
+    assertEquals(list(fact1, fact2), list(result.iterator()));
+
+    // All Objects are resolved at once.
+    verify(objectRequestResolver).resolveObjects(map(
+            T(ip.getValue(), "facts[0].sourceObject"),
+            T(domain.getValue(), "facts[0].destinationObject")
+    ));
+    verify(objectRequestResolver, never()).resolveObject(any(), any());
+    verify(factCreateHandler).saveFacts(argThat(this::matchPendingFacts));
+    verify(triggerContext, times(2)).registerTriggerEvent(any());
+  }
+
+  @Test
+  public void testCreateFactsRegistersOneTriggerEventPerDistinctFact() throws Exception {
+    Fact fact = createFact();
+    // Duplicated Facts inside one request are returned multiple times, but are only stored once.
+    when(factCreateHandler.saveFacts(any())).thenReturn(list(fact, fact));
+
+    CreateFactsRequest request = new CreateFactsRequest()
+            .addFact(createRequest("value"))
+            .addFact(createRequest("value"));
+    ResultSet<Fact> result = delegate.handle(request);
+    assertEquals(2, result.getCount());
+    verify(triggerContext).registerTriggerEvent(any());
+  }
+
+  private boolean matchPendingFacts(List<FactCreateHandler.PendingFact> pending) {
+    assertEquals(2, pending.size());
+    assertEquals(list("value1", "value2"), list(pending, p -> p.getFact().getValue()));
+    for (FactCreateHandler.PendingFact p : pending) {
+      assertEquals(resolveFactType.getId(), p.getFact().getTypeID());
+      assertEquals(organization.getId(), p.getFact().getOrganizationID());
+      assertEquals(origin.getId(), p.getFact().getOriginID());
+      assertSame(ip, p.getFact().getSourceObject());
+      assertSame(domain, p.getFact().getDestinationObject());
+      assertEquals("Hello World!", p.getComment());
+    }
+    return true;
+  }
+
+  private Fact createFact() {
+    return Fact.builder()
+            .setId(UUID.randomUUID())
+            .setAccessMode(no.mnemonic.services.grafeo.api.model.v1.AccessMode.RoleBased)
+            .setOrganization(organization.toInfo())
+            .build();
+  }
+
+  private CreateFactRequest createRequest(String value) {
+    return new CreateFactRequest()
+            .setType(resolveFactType.getName())
+            .setValue(value)
+            .setOrganization(organization.getName())
+            .setOrigin(origin.getName())
+            .setComment("Hello World!")
+            .setAccessMode(AccessMode.RoleBased)
+            .setSourceObject(ip.getValue())
+            .setDestinationObject(domain.getValue());
+  }
+}
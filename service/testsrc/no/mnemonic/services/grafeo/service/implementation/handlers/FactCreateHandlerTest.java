@@ -5,6 +5,7 @@ import no.mnemonic.services.common.auth.InvalidCredentialsException;
 import no.mnemonic.services.common.auth.model.Credentials;
 import no.mnemonic.services.grafeo.api.exceptions.AuthenticationFailedException;
 import no.mnemonic.services.grafeo.api.exceptions.InvalidArgumentException;
+import no.mnemonic.services.grafeo.api.model.v1.Fact;
 import no.mnemonic.services.grafeo.api.model.v1.Organization;
 import no.mnemonic.services.grafeo.api.model.v1.Subject;
 import no.mnemonic.services.grafeo.api.request.v1.AccessMode;
@@ -34,6 +35,8 @@ import java.util.Optional;
 import java.util.UUID;
 
 import static no.mnemonic.commons.utilities.collections.ListUtils.list;
+import static no.mnemonic.commons.utilities.collections.MapUtils.Pair.T;
+import static no.mnemonic.commons.utilities.collections.MapUtils.map;
 import static no.mnemonic.commons.utilities.collections.SetUtils.set;
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.argThat;
@@ -408,4 +411,75 @@ public class FactCreateHandlerTest {
     verify(objectFactDao).retrieveExistingFact(factToSave);
     verify(factResponseConverter).apply(existingFact);
   }
+
+  @Test
+  public void testSaveFactsStoresNewFactsAndRefreshesExistingFacts() {
+    long lastSeenTimestamp = 123456789L;
+    UUID currentUserID = UUID.randomUUID();
+    FactRecord newFact = new FactRecord().setValue("new");
+    FactRecord factToRefresh = new FactRecord().setValue("existing");
+    FactRecord existingFact = new FactRecord().setValue("existing");
+
+    when(objectFactDao.retrieveExistingFacts(any())).thenReturn(map(T(FactRecordHasher.toHash(factToRefresh), existingFact)));
+    when(objectFactDao.storeFacts(any())).then(i -> i.getArgument(0));
+    when(objectFactDao.refreshFacts(any())).then(i -> i.getArgument(0));
+    when(securityContext.getCurrentUserID()).thenReturn(currentUserID);
+    when(clock.millis()).thenReturn(lastSeenTimestamp);
+    Fact convertedNewFact = Fact.builder().setValue("new").build();
+    Fact convertedExistingFact = Fact.builder().setValue("existing").build();
+    when(factResponseConverter.apply(newFact)).thenReturn(convertedNewFact);
+    when(factResponseConverter.apply(existingFact)).thenReturn(convertedExistingFact);
+
+    List<UUID> subjectIds = list(UUID.randomUUID());
+    List<Fact> result = handler.saveFacts(list(
+            new FactCreateHandler.PendingFact(factToRefresh, "some comment", subjectIds),
+            new FactCreateHandler.PendingFact(newFact, null, subjectIds)
+    ));
+    assertEquals(list(convertedExistingFact, convertedNewFact), result);
+
+    verify(objectFactDao).storeFacts(list(newFact));
+    verify(objectFactDao).refreshFacts(argThat(facts -> {
+      assertEquals(list(existingFact), facts);
+      assertEquals(lastSeenTimestamp, existingFact.getLastSeenTimestamp());
+      assertEquals(currentUserID, existingFact.getLastSeenByID());
+      assertEquals(set("some comment"), set(existingFact.getComments(), FactCommentRecord::getComment));
+      assertEquals(set(subjectIds), set(existingFact.getAcl(), FactAclEntryRecord::getSubjectID));
+      return true;
+    }));
+    verify(lockProvider).acquireLocks("FactCreateHandler", set(FactRecordHasher.toHash(newFact), FactRecordHasher.toHash(factToRefresh)));
+  }
+
+  @Test
+  public void testSaveFactsStoresDuplicatedFactsOnlyOnce() {
+    FactRecord fact1 = new FactRecord().setValue("value");
+    FactRecord fact2 = new FactRecord().setValue("value");
+
+    when(objectFactDao.retrieveExistingFacts(any())).thenReturn(map());
+    when(objectFactDao.storeFacts(any())).then(i -> i.getArgument(0));
+    when(objectFactDao.refreshFacts(any())).then(i -> i.getArgument(0));
+    Fact converted = Fact.builder().setValue("value").build();
+    when(factResponseConverter.apply(fact1)).thenReturn(converted);
+
+    List<UUID> subjectIds1 = list(UUID.randomUUID());
+    List<UUID> subjectIds2 = list(UUID.randomUUID());
+    List<Fact> result = handler.saveFacts(list(
+            new FactCreateHandler.PendingFact(fact1, "comment1", subjectIds1),
+            new FactCreateHandler.PendingFact(fact2, "comment2", subjectIds2)
+    ));
+    assertEquals(list(converted, converted), result);
+
+    verify(objectFactDao).storeFacts(argThat(facts -> {
+      assertEquals(list(fact1), facts);
+      assertEquals(set("comment1", "comment2"), set(fact1.getComments(), FactCommentRecord::getComment));
+      assertEquals(set(subjectIds1.get(0), subjectIds2.get(0)), set(fact1.getAcl(), FactAclEntryRecord::getSubjectID));
+      return true;
+    }));
+    verify(factResponseConverter, times(1)).apply(any());
+  }
+
+  @Test
+  public void testSaveFactsWithoutFacts() {
+    assertEquals(0, handler.saveFacts(list()).size());
+    verifyNoInteractions(objectFactDao, lockProvider);
+  }
 }
@@ -13,9 +13,10 @@ import java.util.Collections;
 import java.util.UUID;
 
 import static no.mnemonic.commons.utilities.collections.ListUtils.list;
+import static no.mnemonic.commons.utilities.collections.MapUtils.Pair.T;
+import static no.mnemonic.commons.utilities.collections.MapUtils.map;
 import static no.mnemonic.commons.utilities.collections.SetUtils.set;
-import static org.junit.Assert.assertFalse;
-import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
 
@@ -39,7 +40,8 @@ public class FactRetractionHandlerTest {
     // Common mocks used by most tests.
     when(factTypeRequestResolver.resolveRetractionFactType()).thenReturn(new FactTypeEntity().setId(retractionFactTypeID));
     when(securityContext.hasReadPermission(isA(FactRecord.class))).thenReturn(true);
-    when(objectFactDao.retrieveMetaFacts(any())).thenReturn(Collections.emptyIterator());
+    when(objectFactDao.retrieveMetaFacts(any(UUID.class))).thenReturn(Collections.emptyIterator());
+    when(objectFactDao.retrieveMetaFacts(anyCollection())).thenReturn(Collections.emptyMap());
 
     handler = new FactRetractionHandler(factTypeRequestResolver, securityContext, objectFactDao);
   }
@@ -162,4 +164,95 @@ public class FactRetractionHandlerTest {
 
     verify(securityContext).hasReadPermission(retraction);
   }
+
+  @Test
+  public void testResolveRetractionsWithEmptyInput() {
+    assertTrue(handler.resolveRetractions(null).isEmpty());
+    assertTrue(handler.resolveRetractions(list()).isEmpty());
+
+    verifyNoInteractions(objectFactDao);
+  }
+
+  @Test
+  public void testResolveRetractionsWithoutRetractedHintNotRetracted() {
+    FactRecord fact = new FactRecord().setId(UUID.randomUUID());
+
+    assertEquals(map(T(fact.getId(), false)), handler.resolveRetractions(list(fact)));
+
+    verifyNoInteractions(objectFactDao);
+  }
+
+  @Test
+  public void testResolveRetractionsFetchesOneLevelAtATime() {
+    FactRecord fact1 = new FactRecord().setId(UUID.randomUUID()).setFlags(set(FactRecord.Flag.RetractedHint));
+    FactRecord fact2 = new FactRecord().setId(UUID.randomUUID()).setFlags(set(FactRecord.Flag.RetractedHint));
+    FactRecord fact3 = new FactRecord().setId(UUID.randomUUID());
+    FactRecord retraction1 = new FactRecord().setId(UUID.randomUUID()).setTypeID(retractionFactTypeID);
+    FactRecord retraction2 = new FactRecord().setId(UUID.randomUUID()).setTypeID(retractionFactTypeID).setFlags(set(FactRecord.Flag.RetractedHint));
+    FactRecord retraction3 = new FactRecord().setId(UUID.randomUUID()).setTypeID(retractionFactTypeID);
+
+    // fact1 ---> retraction1
+    // fact2 ---> retraction2 ---> retraction3
+    // retraction3 cancels out retraction2, thus, only fact1 is retracted.
+    when(objectFactDao.retrieveMetaFacts(set(fact1.getId(), fact2.getId())))
+            .thenReturn(map(T(fact1.getId(), list(retraction1)), T(fact2.getId(), list(retraction2))));
+    when(objectFactDao.retrieveMetaFacts(set(retraction2.getId())))
+            .thenReturn(map(T(retraction2.getId(), list(retraction3))));
+
+    assertEquals(map(T(fact1.getId(), true), T(fact2.getId(), false), T(fact3.getId(), false)),
+            handler.resolveRetractions(list(fact1, fact2, fact3)));
+
+    // The retractions of retraction1 and retraction3 aren't fetched because they don't have the RetractedHint flag.
+    verify(objectFactDao).retrieveMetaFacts(set(fact1.getId(), fact2.getId()));
+    verify(objectFactDao).retrieveMetaFacts(set(retraction2.getId()));
+    verifyNoMoreInteractions(objectFactDao);
+  }
+
+  @Test
+  public void testResolveRetractionsWithRetractionOnSameLevel() {
+    FactRecord fact = new FactRecord().setId(UUID.randomUUID()).setFlags(set(FactRecord.Flag.RetractedHint));
+    FactRecord retraction1 = new FactRecord().setId(UUID.randomUUID()).setTypeID(retractionFactTypeID).setFlags(set(FactRecord.Flag.RetractedHint));
+    FactRecord retraction2 = new FactRecord().setId(UUID.randomUUID()).setTypeID(retractionFactTypeID);
+
+    // fact ---> retraction1 ---> retraction2
+    // fact and retraction1 are resolved together, but retraction2 cancels out retraction1, thus, fact isn't retracted.
+    when(objectFactDao.retrieveMetaFacts(set(fact.getId(), retraction1.getId())))
+            .thenReturn(map(T(fact.getId(), list(retraction1)), T(retraction1.getId(), list(retraction2))));
+
+    assertEquals(map(T(fact.getId(), false), T(retraction1.getId(), true)),
+            handler.resolveRetractions(list(fact, retraction1)));
+
+    verify(objectFactDao).retrieveMetaFacts(set(fact.getId(), retraction1.getId()));
+    verifyNoMoreInteractions(objectFactDao);
+  }
+
+  @Test
+  public void testResolveRetractionsFiltersNonRetractionAndNonAccessibleFacts() {
+    FactRecord fact = new FactRecord().setId(UUID.randomUUID()).setFlags(set(FactRecord.Flag.RetractedHint));
+    FactRecord meta = new FactRecord().setId(UUID.randomUUID()).setTypeID(UUID.randomUUID());
+    FactRecord retraction = new FactRecord().setId(UUID.randomUUID()).setTypeID(retractionFactTypeID);
+
+    when(objectFactDao.retrieveMetaFacts(set(fact.getId()))).thenReturn(map(T(fact.getId(), list(meta, retraction))));
+    when(securityContext.hasReadPermission(retraction)).thenReturn(false);
+
+    assertEquals(map(T(fact.getId(), false)), handler.resolveRetractions(list(fact)));
+
+    verify(objectFactDao).retrieveMetaFacts(set(fact.getId()));
+    verifyNoMoreInteractions(objectFactDao);
+  }
+
+  @Test
+  public void testResolveRetractionsPopulatesCache() {
+    FactRecord fact = new FactRecord().setId(UUID.randomUUID()).setFlags(set(FactRecord.Flag.RetractedHint));
+    FactRecord retraction = new FactRecord().setId(UUID.randomUUID()).setTypeID(retractionFactTypeID);
+    when(objectFactDao.retrieveMetaFacts(set(fact.getId()))).thenReturn(map(T(fact.getId(), list(retraction))));
+
+    assertEquals(map(T(fact.getId(), true)), handler.resolveRetractions(list(fact)));
+    verify(objectFactDao).retrieveMetaFacts(set(fact.getId()));
+
+    // Results are re-used by subsequent checks.
+    assertTrue(handler.isRetracted(fact));
+    assertEquals(map(T(fact.getId(), true)), handler.resolveRetractions(list(fact)));
+    verifyNoMoreInteractions(objectFactDao);
+  }
 }
@@ -0,0 +1,76 @@
+package no.mnemonic.services.grafeo.service.implementation.handlers;
+
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.*;
+
+public class TraversalResultIteratorTest {
+
+  @Test
+  public void testIterateEmptyResult() {
+    TraversalResultIterator iterator = new TraversalResultIterator(10, 1000);
+    iterator.complete(null);
+
+    assertFalse(iterator.hasNext());
+    assertFalse(iterator.hasNext());
+    assertThrows(NoSuchElementException.class, iterator::next);
+  }
+
+  @Test
+  public void testIterateResult() throws Exception {
+    TraversalResultIterator iterator = new TraversalResultIterator(10, 1000);
+    iterator.put("a");
+    iterator.put("b");
+    iterator.complete(null);
+
+    assertTrue(iterator.hasNext());
+    assertTrue(iterator.hasNext());
+    assertEquals(ListUtils.list("a", "b"), ListUtils.list(iterator));
+  }
+
+  @Test
+  public void testIterateResultWhileProducing() {
+    TraversalResultIterator iterator = new TraversalResultIterator(1, 1000);
+    CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> {
+      try {
+        // Producer has to wait for the consumer because the buffer only holds one result.
+        for (int i = 0; i < 100; i++) {
+          iterator.put(i);
+        }
+        iterator.complete(null);
+      } catch (Exception ex) {
+        iterator.complete(ex);
+      }
+    });
+
+    assertEquals(100, ListUtils.list(iterator).size());
+    producer.join();
+  }
+
+  @Test
+  public void testIterateFailedResult() throws Exception {
+    TraversalResultIterator iterator = new TraversalResultIterator(10, 1000);
+    IllegalStateException failure = new IllegalStateException();
+    iterator.put("a");
+    iterator.complete(failure);
+
+    // Results produced before the failure are returned first.
+    assertEquals("a", iterator.next());
+    CompletionException ex = assertThrows(CompletionException.class, iterator::hasNext);
+    assertSame(failure, ex.getCause());
+  }
+
+  @Test
+  public void testPutFailsIfResultIsNotConsumed() throws Exception {
+    TraversalResultIterator iterator = new TraversalResultIterator(1, 10);
+    iterator.put("a");
+
+    assertThrows(TimeoutException.class, () -> iterator.put("b"));
+  }
+}
@@ -1,5 +1,6 @@
 package no.mnemonic.services.grafeo.service.implementation.handlers;
 
+import no.mnemonic.commons.metrics.Metrics;
 import no.mnemonic.commons.utilities.collections.ListUtils;
 import no.mnemonic.services.common.api.ResultSet;
 import no.mnemonic.services.grafeo.api.exceptions.InvalidArgumentException;
@@ -16,12 +17,14 @@ import no.mnemonic.services.grafeo.dao.api.result.ResultContainer;
 import no.mnemonic.services.grafeo.service.implementation.GrafeoSecurityContext;
 import no.mnemonic.services.grafeo.service.implementation.converters.response.FactResponseConverter;
 import no.mnemonic.services.grafeo.service.implementation.converters.response.ObjectResponseConverter;
+import no.mnemonic.services.grafeo.service.implementation.helpers.GremlinScriptExecutor;
 import no.mnemonic.services.grafeo.service.implementation.tinkerpop.TraverseParams;
 import no.mnemonic.services.grafeo.service.implementation.tinkerpop.utils.ObjectFactTypeResolver;
 import no.mnemonic.services.grafeo.service.implementation.tinkerpop.utils.ObjectFactTypeResolver.FactTypeStruct;
 import no.mnemonic.services.grafeo.service.implementation.tinkerpop.utils.ObjectFactTypeResolver.ObjectTypeStruct;
 import no.mnemonic.services.grafeo.service.implementation.tinkerpop.utils.PropertyEntry;
 import no.mnemonic.services.grafeo.service.implementation.tinkerpop.utils.PropertyHelper;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -65,6 +68,7 @@ public class TraverseGraphHandlerTest {
   @Mock
   private PropertyHelper propertyHelper;
 
+  private GremlinScriptExecutor scriptExecutor;
   private TraverseGraphHandler handler;
 
   @Before
@@ -73,6 +77,7 @@ public class TraverseGraphHandlerTest {
 
     when(securityContext.hasReadPermission(isA(FactRecord.class))).thenReturn(true);
 
+    scriptExecutor = new GremlinScriptExecutor().setScriptExecutionTimeout(5000);
     handler = new TraverseGraphHandler(
             securityContext,
             objectFactDao,
@@ -80,7 +85,13 @@ public class TraverseGraphHandlerTest {
             objectResponseConverter,
             factResponseConverter,
             factRetractionHandler,
-            propertyHelper).setScriptExecutionTimeout(5000);
+            propertyHelper,
+            scriptExecutor);
+  }
+
+  @After
+  public void cleanup() {
+    scriptExecutor.stopComponent();
   }
 
   @Test
@@ -97,6 +108,19 @@ public class TraverseGraphHandlerTest {
     assertEquals(factRecord.getId(), ((Fact) result.get(0)).getId());
   }
 
+  @Test
+  public void testTraverseGraphStreamsResults() throws Exception {
+    ObjectRecord source = mockObjectRecord(mockObjectType(), "someValue");
+    ObjectRecord destination = mockObjectRecord(mockObjectType(), "someOther");
+    mockFact(source, destination);
+
+    ResultSet<?> resultSet = handler.traverse(set(source.getId()), "g.out()", emptyTraverseParams);
+    // The number of results is unknown while streaming.
+    assertEquals(-1, resultSet.getCount());
+    assertEquals(emptyTraverseParams.getLimit(), resultSet.getLimit());
+    assertEquals(1, ListUtils.list(resultSet.iterator()).size());
+  }
+
   @Test
   public void testTraverseGraphReturnVertices() throws Exception {
     ObjectRecord source = mockObjectRecord(mockObjectType(), "someValue");
@@ -144,6 +168,37 @@ public class TraverseGraphHandlerTest {
     assertEquals(set("vp[value->someValue]", "vp[name->test]"), result);
   }
 
+  @Test
+  public void testTraverseGraphReusesCompiledScript() throws Exception {
+    ObjectRecord source = mockObjectRecord(mockObjectType(), "someValue");
+    ObjectRecord destination = mockObjectRecord(mockObjectType(), "someOther");
+    mockFact(source, destination);
+
+    // Consume results in order to wait until the traversals have finished.
+    ListUtils.list(handler.traverse(set(source.getId()), "g.out()", emptyTraverseParams).iterator());
+    ListUtils.list(handler.traverse(set(source.getId()), "g.out()", emptyTraverseParams).iterator());
+
+    Metrics metrics = scriptExecutor.getMetrics();
+    assertEquals(2L, metrics.getData("scriptEvaluations"));
+    assertTrue(metrics.getData("scriptCacheHits").longValue() > 0);
+  }
+
+  @Test
+  public void testTraverseGraphIsolatesBindingsBetweenTraversals() throws Exception {
+    ObjectRecord source = mockObjectRecord(mockObjectType(), "someValue");
+    ObjectRecord destination = mockObjectRecord(mockObjectType(), "someOther");
+    mockFact(source, destination);
+
+    // The same script is executed from different starting points, thus, the cached script must not retain 'g'.
+    List<?> outgoing = ListUtils.list(handler.traverse(set(source.getId()), "g.both()", emptyTraverseParams).iterator());
+    List<?> incoming = ListUtils.list(handler.traverse(set(destination.getId()), "g.both()", emptyTraverseParams).iterator());
+
+    assertEquals(1, outgoing.size());
+    assertEquals(destination.getId(), ((Object) outgoing.get(0)).getId());
+    assertEquals(1, incoming.size());
+    assertEquals(source.getId(), ((Object) incoming.get(0)).getId());
+  }
+
   @Test
   public void testTraverseGraphReturnError() {
     ObjectRecord source = mockObjectRecord(mockObjectType(), "someValue");
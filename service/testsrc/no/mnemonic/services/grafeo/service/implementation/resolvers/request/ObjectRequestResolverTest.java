@@ -5,15 +5,18 @@ import no.mnemonic.services.grafeo.dao.api.ObjectFactDao;
 import no.mnemonic.services.grafeo.dao.api.record.ObjectRecord;
 import no.mnemonic.services.grafeo.dao.cassandra.ObjectManager;
 import no.mnemonic.services.grafeo.dao.cassandra.entity.ObjectTypeEntity;
-import no.mnemonic.services.grafeo.service.providers.LockProvider;
 import no.mnemonic.services.grafeo.service.validators.Validator;
 import no.mnemonic.services.grafeo.service.validators.ValidatorFactory;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 
+import java.util.Map;
 import java.util.UUID;
 
+import static no.mnemonic.commons.utilities.collections.MapUtils.Pair.T;
+import static no.mnemonic.commons.utilities.collections.MapUtils.map;
+import static no.mnemonic.commons.utilities.collections.SetUtils.set;
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -27,15 +30,13 @@ public class ObjectRequestResolverTest {
   private ObjectFactDao objectFactDao;
   @Mock
   private ValidatorFactory validatorFactory;
-  @Mock
-  private LockProvider lockProvider;
 
   private ObjectRequestResolver resolver;
 
   @Before
   public void initialize() {
     initMocks(this);
-    resolver = new ObjectRequestResolver(objectManager, objectFactDao, validatorFactory, lockProvider);
+    resolver = new ObjectRequestResolver(objectManager, objectFactDao, validatorFactory);
   }
 
   @Test
@@ -86,7 +87,18 @@ public class ObjectRequestResolverTest {
     assertObjectRecord(resolvedObject, type.getId(), value);
 
     verify(objectFactDao).storeObject(argThat(record -> assertObjectRecord(record, type.getId(), value)));
-    verify(lockProvider).acquireLock("ObjectRequestResolver", requestedObject);
+  }
+
+  @Test
+  public void testCreateMissingObjectReturnsConcurrentlyCreatedObject() throws Exception {
+    ObjectTypeEntity type = mockFetchObjectType();
+    mockValidator(true);
+
+    // Simulate that another request has created the same Object in the meantime.
+    ObjectRecord existing = new ObjectRecord().setId(UUID.randomUUID());
+    when(objectFactDao.storeObject(any())).thenReturn(existing);
+
+    assertSame(existing, resolver.resolveObject(String.format("%s/%s", type.getName(), "ObjectValue"), "object"));
   }
 
   @Test
@@ -114,6 +126,64 @@ public class ObjectRequestResolverTest {
     }
   }
 
+  @Test
+  public void testResolveObjectsWithInvalidInput() throws Exception {
+    assertTrue(resolver.resolveObjects(map(T("", "object1"), T("   ", "object2"), T("invalid", "object3"))).isEmpty());
+    verifyNoInteractions(objectFactDao);
+  }
+
+  @Test
+  public void testResolveObjectsFetchesExistingObjects() throws Exception {
+    UUID id = UUID.randomUUID();
+    ObjectTypeEntity type = mockFetchObjectType();
+    ObjectRecord objectById = new ObjectRecord();
+    ObjectRecord objectByTypeValue = new ObjectRecord();
+
+    when(objectFactDao.getObject(id)).thenReturn(objectById);
+    when(objectFactDao.getObject(type.getName(), "ObjectValue")).thenReturn(objectByTypeValue);
+
+    String requestedObject = String.format("%s/%s", type.getName(), "ObjectValue");
+    Map<String, ObjectRecord> result = resolver.resolveObjects(map(T(id.toString(), "object1"), T(requestedObject, "object2")));
+    assertEquals(2, result.size());
+    assertSame(objectById, result.get(id.toString()));
+    assertSame(objectByTypeValue, result.get(requestedObject));
+
+    verify(objectFactDao, never()).storeObject(any());
+  }
+
+  @Test
+  public void testResolveObjectsCreatesMissingObjects() throws Exception {
+    ObjectTypeEntity type = mockFetchObjectType();
+    mockValidator(true);
+
+    when(objectFactDao.storeObject(any())).thenAnswer(i -> i.getArgument(0));
+
+    String requestedObject1 = String.format("%s/%s", type.getName(), "value1");
+    String requestedObject2 = String.format("%s/%s", type.getName(), "value2");
+    Map<String, ObjectRecord> result = resolver.resolveObjects(map(T(requestedObject1, "object1"), T(requestedObject2, "object2")));
+    assertObjectRecord(result.get(requestedObject1), type.getId(), "value1");
+    assertObjectRecord(result.get(requestedObject2), type.getId(), "value2");
+
+    verify(objectFactDao, times(2)).storeObject(any());
+    // Every missing Object is only validated once.
+    verify(validatorFactory, times(2)).get("Validator", "Parameter");
+  }
+
+  @Test
+  public void testResolveObjectsCollectsAllValidationErrors() {
+    ObjectTypeEntity type = mockFetchObjectType();
+    mockValidator(false);
+
+    InvalidArgumentException ex = assertThrows(InvalidArgumentException.class, () -> resolver.resolveObjects(map(
+            T("unknown/value", "object1"),
+            T(String.format("%s/%s", type.getName(), "value"), "object2")
+    )));
+    assertEquals(set("object.type.not.exist", "object.not.valid"), set(ex.getValidationErrors(), InvalidArgumentException.ValidationError::getMessageTemplate));
+    assertEquals(set("object1.type", "object2.value"), set(ex.getValidationErrors(), InvalidArgumentException.ValidationError::getProperty));
+
+    verify(objectFactDao, never()).storeObject(any());
+  }
+
   private void mockValidator(boolean valid) {
     Validator validator = mock(Validator.class);
     when(validator.validate(anyString())).thenReturn(valid);
@@ -1,6 +1,7 @@
 package no.mnemonic.services.grafeo.service.implementation.tinkerpop;
 
 import no.mnemonic.commons.utilities.collections.SetUtils;
+import no.mnemonic.services.grafeo.dao.api.criteria.FactSearchCriteria;
 import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
 import no.mnemonic.services.grafeo.dao.api.record.ObjectRecord;
 import no.mnemonic.services.grafeo.dao.api.result.ResultContainer;
@@ -18,14 +19,15 @@ import org.apache.tinkerpop.gremlin.structure.util.star.StarGraph;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.junit.Test;
 
-import java.util.Iterator;
-import java.util.NoSuchElementException;
-import java.util.Set;
-import java.util.UUID;
+import java.util.*;
 
+import static no.mnemonic.commons.utilities.collections.ListUtils.list;
+import static no.mnemonic.commons.utilities.collections.SetUtils.set;
+import static org.apache.tinkerpop.gremlin.structure.Direction.*;
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
 
 public class ObjectFactGraphTest extends AbstractGraphTest {
 
@@ -216,6 +218,126 @@ public class ObjectFactGraphTest extends AbstractGraphTest {
     assertEquals(2, IteratorUtils.count(getGraph().edges(edge1.id().toString(), edge2.id().toString())));
   }
 
+  @Test
+  public void testPrefetchEdgesExecutesOneSearch() {
+    ObjectTypeStruct objectType = mockObjectType();
+    ObjectRecord source = mockObjectRecord(objectType, "source");
+    ObjectRecord destination1 = mockObjectRecord(objectType, "destination1");
+    ObjectRecord destination2 = mockObjectRecord(objectType, "destination2");
+    FactRecord fact1 = mockFact(source, destination1);
+    FactRecord fact2 = mockFact(source, destination2);
+    mockSearchFacts(list(fact1, fact2));
+
+    Vertex vertex1 = getGraph().getElementFactory().getVertex(destination1.getId());
+    Vertex vertex2 = getGraph().getElementFactory().getVertex(destination2.getId());
+    getGraph().prefetchEdges(list(vertex1, vertex2), IN);
+
+    assertEquals(set(fact1), set(vertex1.edges(IN), edge -> ((FactEdge) edge).getFactRecord()));
+    assertEquals(set(fact2), set(vertex2.edges(IN), edge -> ((FactEdge) edge).getFactRecord()));
+    verify(getObjectFactDao()).searchFacts(argThat(criteria -> set(destination1.getId(), destination2.getId()).equals(criteria.getObjectID())));
+  }
+
+  @Test
+  public void testPrefetchEdgesDistributesEdgesByDirection() {
+    ObjectTypeStruct objectType = mockObjectType();
+    ObjectRecord object1 = mockObjectRecord(objectType, "object1");
+    ObjectRecord object2 = mockObjectRecord(objectType, "object2");
+    FactRecord fact = mockFact(object1, object2);
+    mockSearchFacts(list(fact));
+
+    Vertex vertex1 = getGraph().getElementFactory().getVertex(object1.getId());
+    Vertex vertex2 = getGraph().getElementFactory().getVertex(object2.getId());
+    getGraph().prefetchEdges(list(vertex1, vertex2), OUT);
+
+    assertTrue(vertex1.edges(OUT).hasNext());
+    assertFalse(vertex2.edges(OUT).hasNext());
+    verify(getObjectFactDao(), times(1)).searchFacts(any());
+  }
+
+  @Test
+  public void testPrefetchEdgesSkipsNonTraversableFacts() {
+    ObjectTypeStruct objectType = mockObjectType();
+    ObjectRecord object1 = mockObjectRecord(objectType, "object1");
+    ObjectRecord object2 = mockObjectRecord(objectType, "object2");
+    FactRecord fact = mockFact(object1, object2);
+    mockSearchFacts(list(fact));
+    doReturn(false).when(getSecurityContext()).hasReadPermission(fact);
+
+    Vertex vertex1 = getGraph().getElementFactory().getVertex(object1.getId());
+    Vertex vertex2 = getGraph().getElementFactory().getVertex(object2.getId());
+    getGraph().prefetchEdges(list(vertex1, vertex2), BOTH);
+
+    assertFalse(vertex1.edges(BOTH).hasNext());
+    assertFalse(vertex2.edges(BOTH).hasNext());
+    verify(getSecurityContext(), times(1)).hasReadPermission(fact);
+  }
+
+  @Test
+  public void testPrefetchEdgesCreatesNoDuplicateEdgesForLoop() {
+    ObjectTypeStruct objectType = mockObjectType();
+    ObjectRecord object1 = mockObjectRecord(objectType, "object1");
+    ObjectRecord object2 = mockObjectRecord(objectType, "object2");
+    FactRecord loop = mockFact(object1, object1);
+    FactRecord fact = mockFact(object1, object2);
+    mockSearchFacts(list(loop, fact));
+
+    Vertex vertex1 = getGraph().getElementFactory().getVertex(object1.getId());
+    Vertex vertex2 = getGraph().getElementFactory().getVertex(object2.getId());
+    getGraph().prefetchEdges(list(vertex1, vertex2), BOTH);
+
+    // The loop is bound to object1 twice but must not produce more edges than without prefetching.
+    List<Edge> prefetched = getGraph().getPrefetchedEdges(object1.getId(), BOTH);
+    assertEquals(list(fact), list(prefetched, edge -> ((FactEdge) edge).getFactRecord()));
+  }
+
+  @Test
+  public void testPrefetchEdgesSkipsSingleVertex() {
+    Vertex vertex = createVertex();
+    getGraph().prefetchEdges(list(vertex), BOTH);
+    verify(getObjectFactDao(), never()).searchFacts(any());
+  }
+
+  @Test
+  public void testMultiHopTraversalSearchCount() {
+    // Benchmark of the number of executed searches: Traverse a tree with a fan-out of 10 over three hops.
+    // Without batching this requires 1 + 10 + 100 = 111 searches, with batching only one search per hop.
+    int fanOut = 10;
+    ObjectTypeStruct objectType = mockObjectType();
+    ObjectRecord root = mockObjectRecord(objectType, "root");
+
+    List<FactRecord> facts = new ArrayList<>();
+    List<ObjectRecord> frontier = list(root);
+    for (int hop = 0; hop < 3; hop++) {
+      List<ObjectRecord> nextFrontier = new ArrayList<>();
+      for (ObjectRecord parent : frontier) {
+        for (int i = 0; i < fanOut; i++) {
+          ObjectRecord child = mockObjectRecord(objectType, parent.getValue() + "/" + i);
+          facts.add(mockFact(parent, child));
+          nextFrontier.add(child);
+        }
+      }
+      frontier = nextFrontier;
+    }
+    mockSearchFacts(facts);
+
+    List<Vertex> result = getGraph().traversal().V(root.getId()).out().out().out().toList();
+
+    assertEquals(fanOut * fanOut * fanOut, result.size());
+    verify(getObjectFactDao(), times(3)).searchFacts(any());
+  }
+
+  private void mockSearchFacts(List<FactRecord> facts) {
+    // Only return Facts bound to the Objects specified in the search criteria, like the real search would do.
+    when(getObjectFactDao().searchFacts(any())).thenAnswer(i -> {
+      FactSearchCriteria criteria = i.getArgument(0);
+      Iterator<FactRecord> values = facts.stream()
+              .filter(fact -> criteria.getObjectID().contains(fact.getSourceObject().getId()) ||
+                      criteria.getObjectID().contains(fact.getDestinationObject().getId()))
+              .iterator();
+      return ResultContainer.<FactRecord>builder().setValues(values).build();
+    });
+  }
+
   private Vertex createVertex() {
     ObjectTypeStruct objectType = ObjectTypeStruct.builder()
             .setId(UUID.randomUUID())
@@ -15,6 +15,8 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.Assert.*;
@@ -177,6 +179,31 @@ public class ElementFactoryTest {
     assertSame(first, second);
   }
 
+  @Test
+  public void testEvictedEdgesAreRemovedFromEdgeIdMap() {
+    FactTypeStruct factTypeMock = mockFactType();
+    ObjectTypeStruct objectTypeMock = mockObjectType();
+    ObjectRecord objectSource = mockObject(objectTypeMock);
+    ObjectRecord objectDestination = mockObject(objectTypeMock);
+
+    // Create more edges than the cache can hold, thus, the oldest edges will be evicted.
+    List<Edge> edges = new ArrayList<>();
+    for (int i = 0; i < ElementFactory.CACHE_MAXIMUM_SIZE * 11 / 10; i++) {
+      edges.add(elementFactory.createEdge(new FactRecord()
+                      .setId(UUID.randomUUID())
+                      .setTypeID(factTypeMock.getId())
+                      .setSourceObject(objectSource)
+                      .setDestinationObject(objectDestination),
+              objectSource.getId()));
+    }
+
+    long cachedEdges = edges.stream().filter(edge -> elementFactory.getEdge((UUID) edge.id()) != null).count();
+    assertTrue(cachedEdges <= ElementFactory.CACHE_MAXIMUM_SIZE);
+    assertEquals(cachedEdges, elementFactory.getEdgeIdMapSize());
+    assertNull(elementFactory.getEdge((UUID) edges.get(0).id()));
+    assertSame(edges.get(edges.size() - 1), elementFactory.getEdge((UUID) edges.get(edges.size() - 1).id()));
+  }
+
   @Test
   public void testGetVertexWithNullId() {
     assertNull(elementFactory.getVertex(null));
@@ -0,0 +1,73 @@
+package no.mnemonic.services.grafeo.service.providers;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import no.mnemonic.commons.utilities.collections.SetUtils;
+import no.mnemonic.services.grafeo.dao.bindings.BulkReadableMap;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class AbstractHazelcastMapProviderTest {
+
+  @Mock
+  private HazelcastInstance hazelcastInstance;
+  @Mock
+  private IMap<String, String> map;
+
+  private Map<String, String> providedMap;
+
+  @Before
+  public void setUp() {
+    initMocks(this);
+    when(hazelcastInstance.<String, String>getMap(any())).thenReturn(map);
+
+    providedMap = new AbstractHazelcastMapProvider<String, String>(hazelcastInstance, "map") {
+    }.get();
+  }
+
+  @Test
+  public void testGetAll() {
+    assertTrue(providedMap instanceof BulkReadableMap);
+    ((BulkReadableMap<String, String>) providedMap).getAll(SetUtils.set("key"));
+    verify(map).getAll(SetUtils.set("key"));
+  }
+
+  @Test
+  public void testAtomicOperationsAreForwarded() {
+    Function<String, String> mapping = key -> "value";
+    BiFunction<String, String, String> remapping = (key, value) -> "value";
+    when(map.putIfAbsent("key", "value")).thenReturn("existing");
+
+    assertEquals("existing", providedMap.putIfAbsent("key", "value"));
+    providedMap.computeIfAbsent("key", mapping);
+    providedMap.computeIfPresent("key", remapping);
+    providedMap.compute("key", remapping);
+    providedMap.merge("key", "value", remapping);
+    providedMap.replace("key", "value");
+    providedMap.replace("key", "old", "new");
+    providedMap.remove("key", "value");
+
+    verify(map).putIfAbsent("key", "value");
+    verify(map).computeIfAbsent("key", mapping);
+    verify(map).computeIfPresent("key", remapping);
+    verify(map).compute("key", remapping);
+    verify(map).merge("key", "value", remapping);
+    verify(map).replace("key", "value");
+    verify(map).replace("key", "old", "new");
+    verify(map).remove("key", "value");
+    // The non-atomic default implementations would have called get() and put().
+    verify(map, never()).get(any());
+    verify(map, never()).put(any(), any());
+  }
+}
@@ -0,0 +1,166 @@
+package no.mnemonic.services.grafeo.service.providers;
+
+import no.mnemonic.services.grafeo.dao.api.record.FactAclEntryRecord;
+import no.mnemonic.services.grafeo.dao.api.record.FactCommentRecord;
+import no.mnemonic.services.grafeo.dao.api.record.FactRecord;
+import no.mnemonic.services.grafeo.dao.api.record.ObjectRecord;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.UUID;
+
+import static no.mnemonic.commons.utilities.collections.SetUtils.set;
+import static org.junit.Assert.*;
+
+public class HazelcastFactRecordSerializerTest {
+
+  private final HazelcastFactRecordSerializer serializer = new HazelcastFactRecordSerializer(41435430);
+
+  @Test
+  public void testSerializeAndDeserializeNull() throws Exception {
+    assertNull(serializer.read(serializer.write(null)));
+  }
+
+  @Test
+  public void testDeserializeNull() throws Exception {
+    assertNull(serializer.read(null));
+  }
+
+  @Test
+  public void testSerializeAndDeserializeFact() throws Exception {
+    FactRecord expected = createFactRecord();
+    FactRecord actual = serializer.read(serializer.write(expected));
+
+    assertEquals(expected.getId(), actual.getId());
+    assertEquals(expected.getTypeID(), actual.getTypeID());
+    assertEquals(expected.getValue(), actual.getValue());
+    assertEquals(expected.getInReferenceToID(), actual.getInReferenceToID());
+    assertEquals(expected.getOrganizationID(), actual.getOrganizationID());
+    assertEquals(expected.getOriginID(), actual.getOriginID());
+    assertEquals(expected.getAddedByID(), actual.getAddedByID());
+    assertEquals(expected.getLastSeenByID(), actual.getLastSeenByID());
+    assertEquals(expected.getAccessMode(), actual.getAccessMode());
+    assertEquals(expected.getConfidence(), actual.getConfidence(), 0.0);
+    assertEquals(expected.getTrust(), actual.getTrust(), 0.0);
+    assertEquals(expected.getTimestamp(), actual.getTimestamp());
+    assertEquals(expected.getLastSeenTimestamp(), actual.getLastSeenTimestamp());
+    assertEquals(expected.getSourceObject().getId(), actual.getSourceObject().getId());
+    assertEquals(expected.getSourceObject().getValue(), actual.getSourceObject().getValue());
+    assertEquals(expected.getDestinationObject().getId(), actual.getDestinationObject().getId());
+    assertEquals(expected.getDestinationObject().getValue(), actual.getDestinationObject().getValue());
+    assertEquals(expected.isBidirectionalBinding(), actual.isBidirectionalBinding());
+    assertEquals(expected.getFlags(), actual.getFlags());
+
+    assertEquals(1, actual.getAcl().size());
+    assertEquals(expected.getAcl().get(0).getId(), actual.getAcl().get(0).getId());
+    assertEquals(expected.getAcl().get(0).getSubjectID(), actual.getAcl().get(0).getSubjectID());
+    assertEquals(expected.getAcl().get(0).getOriginID(), actual.getAcl().get(0).getOriginID());
+    assertEquals(expected.getAcl().get(0).getTimestamp(), actual.getAcl().get(0).getTimestamp());
+
+    assertEquals(1, actual.getComments().size());
+    assertEquals(expected.getComments().get(0).getId(), actual.getComments().get(0).getId());
+    assertEquals(expected.getComments().get(0).getReplyToID(), actual.getComments().get(0).getReplyToID());
+    assertEquals(expected.getComments().get(0).getOriginID(), actual.getComments().get(0).getOriginID());
+    assertEquals(expected.getComments().get(0).getComment(), actual.getComments().get(0).getComment());
+    assertEquals(expected.getComments().get(0).getTimestamp(), actual.getComments().get(0).getTimestamp());
+  }
+
+  @Test
+  public void testSerializeAndDeserializeFactWithoutFields() throws Exception {
+    FactRecord actual = serializer.read(serializer.write(new FactRecord()));
+
+    assertNotNull(actual);
+    assertNull(actual.getId());
+    assertNull(actual.getValue());
+    assertNull(actual.getAccessMode());
+    assertNull(actual.getSourceObject());
+    assertNull(actual.getDestinationObject());
+    assertNull(actual.getFlags());
+    assertNull(actual.getAcl());
+    assertNull(actual.getComments());
+  }
+
+  @Test
+  public void testSerializeAndDeserializeFactWithEmptyCollections() throws Exception {
+    FactRecord actual = serializer.read(serializer.write(new FactRecord()
+            .setFlags(set())
+            .setAcl(new ArrayList<>())
+            .setComments(new ArrayList<>())));
+
+    assertEquals(set(), actual.getFlags());
+    assertTrue(actual.getAcl().isEmpty());
+    assertTrue(actual.getComments().isEmpty());
+  }
+
+  @Test
+  public void testDeserializeUnsupportedVersion() throws Exception {
+    byte[] buffer = serializer.write(new FactRecord());
+    buffer[0] = (byte) 0x82;
+    assertThrows(IOException.class, () -> serializer.read(buffer));
+  }
+
+  @Test
+  public void testDeserializeJsonFormat() throws Exception {
+    FactRecord expected = createFactRecord();
+    FactRecord actual = serializer.read(new HazelcastJsonSerializer<>(FactRecord.class, 41435430).write(expected));
+    assertEquals(expected.getId(), actual.getId());
+    assertEquals(expected.getValue(), actual.getValue());
+    assertEquals(expected.getSourceObject().getId(), actual.getSourceObject().getId());
+    assertEquals(expected.getFlags(), actual.getFlags());
+    assertEquals(expected.getAcl().size(), actual.getAcl().size());
+  }
+
+  @Test
+  public void testSerializeJsonFormatIfBinaryFormatDisabled() throws Exception {
+    FactRecord fact = createFactRecord();
+    HazelcastFactRecordSerializer jsonOnly = new HazelcastFactRecordSerializer(41435430, false);
+    HazelcastJsonSerializer<FactRecord> jsonSerializer = new HazelcastJsonSerializer<>(FactRecord.class, 41435430);
+
+    // Members running the previous version can read the entry, and the entry can be read with the binary format enabled.
+    assertEquals(fact.getId(), jsonSerializer.read(jsonOnly.write(fact)).getId());
+    assertEquals(fact.getId(), serializer.read(jsonOnly.write(fact)).getId());
+  }
+
+  @Test
+  public void testBinaryFormatIsMoreCompactThanJson() throws Exception {
+    FactRecord fact = createFactRecord();
+    int jsonSize = new HazelcastJsonSerializer<>(FactRecord.class, 41435430).write(fact).length;
+    int binarySize = serializer.write(fact).length;
+
+    assertTrue(String.format("Binary size %d is not less than half of JSON size %d.", binarySize, jsonSize), binarySize * 2 < jsonSize);
+  }
+
+  private FactRecord createFactRecord() {
+    return new FactRecord()
+            .setId(UUID.randomUUID())
+            .setTypeID(UUID.randomUUID())
+            .setValue("someValue")
+            .setInReferenceToID(UUID.randomUUID())
+            .setOrganizationID(UUID.randomUUID())
+            .setOriginID(UUID.randomUUID())
+            .setAddedByID(UUID.randomUUID())
+            .setLastSeenByID(UUID.randomUUID())
+            .setAccessMode(FactRecord.AccessMode.RoleBased)
+            .setConfidence(0.1f)
+            .setTrust(0.2f)
+            .setTimestamp(123456789)
+            .setLastSeenTimestamp(987654321)
+            .setSourceObject(new ObjectRecord().setId(UUID.randomUUID()).setTypeID(UUID.randomUUID()).setValue("source"))
+            .setDestinationObject(new ObjectRecord().setId(UUID.randomUUID()).setTypeID(UUID.randomUUID()).setValue("destination"))
+            .setBidirectionalBinding(true)
+            .addFlag(FactRecord.Flag.RetractedHint)
+            .addFlag(FactRecord.Flag.TimeGlobalIndex)
+            .addAclEntry(new FactAclEntryRecord()
+                    .setId(UUID.randomUUID())
+                    .setSubjectID(UUID.randomUUID())
+                    .setOriginID(UUID.randomUUID())
+                    .setTimestamp(123456789))
+            .addComment(new FactCommentRecord()
+                    .setId(UUID.randomUUID())
+                    .setReplyToID(UUID.randomUUID())
+                    .setOriginID(UUID.randomUUID())
+                    .setComment("Hello World!")
+                    .setTimestamp(123456789));
+  }
+}
@@ -0,0 +1,90 @@
+package no.mnemonic.services.grafeo.service.providers;
+
+import no.mnemonic.services.grafeo.dao.api.record.ObjectRecord;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class HazelcastObjectRecordSerializerTest {
+
+  private final HazelcastObjectRecordSerializer serializer = new HazelcastObjectRecordSerializer(41435431);
+
+  @Test
+  public void testSerializeAndDeserializeNull() throws Exception {
+    assertNull(serializer.read(serializer.write(null)));
+  }
+
+  @Test
+  public void testDeserializeNull() throws Exception {
+    assertNull(serializer.read(null));
+  }
+
+  @Test
+  public void testSerializeAndDeserializeObject() throws Exception {
+    ObjectRecord expected = new ObjectRecord()
+            .setId(UUID.randomUUID())
+            .setTypeID(UUID.randomUUID())
+            .setValue("someValue");
+
+    ObjectRecord actual = serializer.read(serializer.write(expected));
+    assertEquals(expected.getId(), actual.getId());
+    assertEquals(expected.getTypeID(), actual.getTypeID());
+    assertEquals(expected.getValue(), actual.getValue());
+  }
+
+  @Test
+  public void testSerializeAndDeserializeObjectWithoutFields() throws Exception {
+    ObjectRecord actual = serializer.read(serializer.write(new ObjectRecord()));
+    assertNotNull(actual);
+    assertNull(actual.getId());
+    assertNull(actual.getTypeID());
+    assertNull(actual.getValue());
+  }
+
+  @Test
+  public void testDeserializeUnsupportedVersion() throws Exception {
+    byte[] buffer = serializer.write(new ObjectRecord());
+    buffer[0] = (byte) 0x82;
+    assertThrows(IOException.class, () -> serializer.read(buffer));
+  }
+
+  @Test
+  public void testDeserializeJsonFormat() throws Exception {
+    ObjectRecord expected = new ObjectRecord()
+            .setId(UUID.randomUUID())
+            .setTypeID(UUID.randomUUID())
+            .setValue("someValue");
+
+    ObjectRecord actual = serializer.read(new HazelcastJsonSerializer<>(ObjectRecord.class, 41435431).write(expected));
+    assertEquals(expected.getId(), actual.getId());
+    assertEquals(expected.getTypeID(), actual.getTypeID());
+    assertEquals(expected.getValue(), actual.getValue());
+  }
+
+  @Test
+  public void testSerializeJsonFormatIfBinaryFormatDisabled() throws Exception {
+    ObjectRecord expected = new ObjectRecord().setId(UUID.randomUUID());
+    byte[] buffer = new HazelcastObjectRecordSerializer(41435431, false).write(expected);
+    assertEquals(expected.getId(), new HazelcastJsonSerializer<>(ObjectRecord.class, 41435431).read(buffer).getId());
+  }
+
+  @Test
+  public void testSerializeLargeValue() throws Exception {
+    String value = "x".repeat(100_000);
+    assertEquals(value, serializer.read(serializer.write(new ObjectRecord().setValue(value))).getValue());
+  }
+
+  @Test
+  public void testSerializeUnicodeValue() throws Exception {
+    String value = "værdi 😀";
+    assertEquals(value, serializer.read(serializer.write(new ObjectRecord().setValue(value))).getValue());
+  }
+
+  @Test
+  public void testTypeId() {
+    assertEquals(41435431, serializer.getTypeId());
+  }
+}
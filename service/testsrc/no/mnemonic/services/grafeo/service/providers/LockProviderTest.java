@@ -0,0 +1,69 @@
+package no.mnemonic.services.grafeo.service.providers;
+
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class LockProviderTest {
+
+  private final List<String> acquired = new ArrayList<>();
+  private final List<String> released = new ArrayList<>();
+
+  @Test
+  public void testAcquireLocksInSortedOrder() {
+    LockProvider lockProvider = createLockProvider(null, null);
+
+    try (LockProvider.Lock ignored = lockProvider.acquireLocks("region", ListUtils.list("b", "c", "a", "b", null))) {
+      assertEquals(ListUtils.list("a", "b", "c"), acquired);
+    }
+    assertEquals(ListUtils.list("c", "b", "a"), released);
+  }
+
+  @Test
+  public void testAcquireLocksReleasesAcquiredLocksOnFailure() {
+    LockProvider lockProvider = createLockProvider("c", "a");
+
+    IllegalStateException ex = assertThrows(IllegalStateException.class, () -> lockProvider.acquireLocks("region", ListUtils.list("a", "b", "c")));
+    assertEquals("acquire c", ex.getMessage());
+    assertEquals(1, ex.getSuppressed().length);
+    assertEquals("release a", ex.getSuppressed()[0].getMessage());
+    assertEquals(ListUtils.list("b", "a"), released);
+  }
+
+  @Test
+  public void testReleaseAllLocksIfOneReleaseFails() {
+    LockProvider lockProvider = createLockProvider(null, "b");
+    LockProvider.Lock lock = lockProvider.acquireLocks("region", ListUtils.list("a", "b", "c"));
+
+    IllegalStateException ex = assertThrows(IllegalStateException.class, lock::close);
+    assertEquals("release b", ex.getMessage());
+    assertEquals(ListUtils.list("c", "b", "a"), released);
+  }
+
+  @Test
+  public void testReleaseLocksPropagatesFirstFailureWithOthersSuppressed() {
+    LockProvider lockProvider = createLockProvider(null, "*");
+    LockProvider.Lock lock = lockProvider.acquireLocks("region", ListUtils.list("a", "b"));
+
+    IllegalStateException ex = assertThrows(IllegalStateException.class, lock::close);
+    assertEquals("release b", ex.getMessage());
+    assertEquals(1, ex.getSuppressed().length);
+    assertEquals("release a", ex.getSuppressed()[0].getMessage());
+    assertEquals(ListUtils.list("b", "a"), released);
+  }
+
+  private LockProvider createLockProvider(String failAcquire, String failRelease) {
+    return (region, key) -> {
+      if (key.equals(failAcquire)) throw new IllegalStateException("acquire " + key);
+      acquired.add(key);
+      return () -> {
+        released.add(key);
+        if (key.equals(failRelease) || "*".equals(failRelease)) throw new IllegalStateException("release " + key);
+      };
+    };
+  }
+}
@@ -0,0 +1,305 @@
+package no.mnemonic.services.grafeo.utilities.concurrent;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
+import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.collections.CollectionUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bounded local queue which hands over items in batches to a {@link BatchHandler} executed by a background thread.
+ * <p>
+ * Items are processed in the order they have been queued. If the queue is full the caller waits until the background
+ * thread has caught up. When the queue is stopped no new items are accepted, but everything which has already been
+ * queued is processed before shutting down. Items which still could not be processed when the shutdown timeout is
+ * reached are failed, i.e. every future returned by {@link #enqueue(List)} is completed eventually.
+ *
+ * @param <T> Type of the queued items
+ */
+public class WriteBehindQueue<T> {
+
+  private static final Logger LOGGER = Logging.getLogger(WriteBehindQueue.class);
+
+  private static final long POLL_TIMEOUT = 100;
+  private static final long DEFAULT_SHUTDOWN_TIMEOUT = 30_000;
+
+  private final AtomicLong queuedItems = new AtomicLong();
+  private final AtomicLong blockedEnqueues = new AtomicLong();
+  private final AtomicLong maxLag = new AtomicLong();
+  // Guards 'running' such that no item can be queued after the background thread has been told to stop.
+  private final ReadWriteLock runningLock = new ReentrantReadWriteLock();
+
+  private final String name;
+  private final int maxBatchSize;
+  private final BatchHandler<T> handler;
+
+  private long shutdownTimeout = DEFAULT_SHUTDOWN_TIMEOUT;
+  private Clock clock = Clock.systemUTC();
+
+  private BlockingQueue<PendingItem<T>> queue;
+  private ExecutorService worker;
+  private volatile boolean running;
+
+  /**
+   * Create a new queue. The queue must be started with {@link #start(int)} before it accepts any items.
+   *
+   * @param name         Name of the queue, used for naming the background thread and for logging
+   * @param maxBatchSize Maximum number of items handed over to the handler at once
+   * @param handler      Handler processing the queued items
+   */
+  public WriteBehindQueue(String name, int maxBatchSize, BatchHandler<T> handler) {
+    this.name = ObjectUtils.notNull(name, "'name' not set in WriteBehindQueue.");
+    this.handler = ObjectUtils.notNull(handler, "'handler' not set in WriteBehindQueue.");
+    this.maxBatchSize = maxBatchSize;
+  }
+
+  /**
+   * Start the background thread. Does nothing if the queue has already been started.
+   *
+   * @param queueSize Maximum number of queued items before callers have to wait
+   */
+  public synchronized void start(int queueSize) {
+    if (running) return;
+
+    queue = new LinkedBlockingQueue<>(queueSize);
+    worker = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+            .setNameFormat(name + "-%d")
+            .setDaemon(true)
+            .build());
+    running = true;
+    worker.submit(this::processQueue);
+  }
+
+  /**
+   * Stop accepting new items, process everything which is already queued, and stop the background thread.
+   * Does nothing if the queue isn't running.
+   */
+  public synchronized void stop() {
+    runningLock.writeLock().lock();
+    try {
+      if (!running) return;
+      running = false;
+    } finally {
+      runningLock.writeLock().unlock();
+    }
+
+    worker.shutdown();
+    try {
+      if (!worker.awaitTermination(shutdownTimeout, TimeUnit.MILLISECONDS)) {
+        LOGGER.warning("%s could not process all queued items before shutting down (%d remaining).", name, queue.size());
+        worker.shutdownNow();
+      }
+    } catch (InterruptedException ex) {
+      worker.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+
+    // Fail everything which hasn't been processed, otherwise callers waiting for their items would block forever.
+    List<PendingItem<T>> remaining = new ArrayList<>();
+    queue.drainTo(remaining);
+    IllegalStateException ex = new IllegalStateException(name + " was stopped before queued item was processed.");
+    remaining.forEach(pending -> pending.completeExceptionally(ex));
+  }
+
+  /**
+   * Queue multiple items at once. The items are either all queued or, if the queue isn't running, none of them.
+   * <p>
+   * The returned future completes after the last item has been processed, or fails as soon as one of the items
+   * could not be processed.
+   *
+   * @param items Items to queue
+   * @return Future tracking the processing of the items, or NULL if the queue isn't running
+   */
+  public CompletableFuture<Void> enqueue(List<T> items) {
+    CompletableFuture<Void> processed = new CompletableFuture<>();
+    if (CollectionUtils.isEmpty(items)) {
+      processed.complete(null);
+      return processed;
+    }
+
+    runningLock.readLock().lock();
+    try {
+      if (!running) return null;
+
+      for (int i = 0; i < items.size(); i++) {
+        enqueue(new PendingItem<>(items.get(i), clock.millis(), processed, i == items.size() - 1));
+      }
+    } finally {
+      runningLock.readLock().unlock();
+    }
+
+    return processed;
+  }
+
+  /**
+   * Return whether the queue is running, i.e. accepts new items.
+   *
+   * @return True if the queue is running
+   */
+  public boolean isRunning() {
+    return running;
+  }
+
+  /**
+   * Return the number of currently queued items.
+   *
+   * @return Number of queued items
+   */
+  public int size() {
+    return running ? queue.size() : 0;
+  }
+
+  /**
+   * Return the total number of items which have been queued.
+   *
+   * @return Number of queued items since creation
+   */
+  public long getQueuedItems() {
+    return queuedItems.get();
+  }
+
+  /**
+   * Return how often a caller had to wait because the queue was full.
+   *
+   * @return Number of blocked enqueues since creation
+   */
+  public long getBlockedEnqueues() {
+    return blockedEnqueues.get();
+  }
+
+  /**
+   * Return how long (in ms) the oldest currently queued item has been waiting.
+   *
+   * @return Current lag of the queue
+   */
+  public long getCurrentLag() {
+    if (!running) return 0;
+
+    PendingItem<T> oldest = queue.peek();
+    return oldest != null ? clock.millis() - oldest.getTimestamp() : 0;
+  }
+
+  /**
+   * Return the maximum time (in ms) between queuing an item and successfully processing it.
+   *
+   * @return Maximum lag of the queue since creation
+   */
+  public long getMaxLag() {
+    return maxLag.get();
+  }
+
+  /* Setters used for unit testing */
+
+  WriteBehindQueue<T> withShutdownTimeout(long shutdownTimeout) {
+    this.shutdownTimeout = shutdownTimeout;
+    return this;
+  }
+
+  WriteBehindQueue<T> withClock(Clock clock) {
+    this.clock = clock;
+    return this;
+  }
+
+  private void enqueue(PendingItem<T> pending) {
+    try {
+      if (!queue.offer(pending)) {
+        // Queue is full, apply backpressure on the caller until the background thread has caught up.
+        blockedEnqueues.incrementAndGet();
+        queue.put(pending);
+      }
+      queuedItems.incrementAndGet();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while queuing item in " + name + ".", ex);
+    }
+  }
+
+  private void processQueue() {
+    // Continue after the queue has been stopped until all queued items have been processed.
+    while (running || !queue.isEmpty()) {
+      List<PendingItem<T>> batch = new ArrayList<>();
+      try {
+        PendingItem<T> first = queue.poll(POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+        if (first == null) continue;
+
+        batch.add(first);
+        queue.drainTo(batch, maxBatchSize - 1);
+        handler.process(ListUtils.list(batch, PendingItem::getItem));
+
+        long now = clock.millis();
+        batch.forEach(pending -> {
+          maxLag.accumulateAndGet(now - pending.getTimestamp(), Math::max);
+          pending.complete();
+        });
+      } catch (InterruptedException ex) {
+        IllegalStateException failure = new IllegalStateException(name + " was interrupted while processing queued items.", ex);
+        batch.forEach(pending -> pending.completeExceptionally(failure));
+        Thread.currentThread().interrupt();
+        return;
+      } catch (Exception ex) {
+        // Never let the background thread die, otherwise callers would block forever once the queue is full.
+        batch.forEach(pending -> pending.completeExceptionally(ex));
+      }
+    }
+  }
+
+  /**
+   * Handler processing one batch of queued items in the background thread.
+   *
+   * @param <T> Type of the queued items
+   */
+  public interface BatchHandler<T> {
+
+    /**
+     * Process a batch of items. If an exception is thrown all items of the batch are failed.
+     *
+     * @param batch Items to process
+     * @throws InterruptedException If the background thread was interrupted, e.g. when shutting down
+     */
+    void process(List<T> batch) throws InterruptedException;
+  }
+
+  private static class PendingItem<T> {
+    private final T item;
+    private final long timestamp;
+    private final CompletableFuture<Void> processed;
+    private final boolean last;
+
+    private PendingItem(T item, long timestamp, CompletableFuture<Void> processed, boolean last) {
+      this.item = item;
+      this.timestamp = timestamp;
+      this.processed = processed;
+      this.last = last;
+    }
+
+    private T getItem() {
+      return item;
+    }
+
+    private long getTimestamp() {
+      return timestamp;
+    }
+
+    private void complete() {
+      if (last) processed.complete(null);
+    }
+
+    private void completeExceptionally(Throwable ex) {
+      processed.completeExceptionally(ex);
+    }
+  }
+}
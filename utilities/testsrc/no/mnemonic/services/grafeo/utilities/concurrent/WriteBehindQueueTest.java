@@ -0,0 +1,134 @@
+package no.mnemonic.services.grafeo.utilities.concurrent;
+
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class WriteBehindQueueTest {
+
+  private final List<String> processed = Collections.synchronizedList(new ArrayList<>());
+
+  private WriteBehindQueue<String> queue;
+
+  @After
+  public void cleanUp() {
+    if (queue != null) queue.stop();
+  }
+
+  @Test
+  public void testEnqueueBeforeStartIsRejected() {
+    queue = new WriteBehindQueue<>("test", 10, processed::addAll);
+
+    assertNull(queue.enqueue(ListUtils.list("a")));
+    assertEquals(0L, queue.getQueuedItems());
+  }
+
+  @Test
+  public void testEnqueueProcessesItemsInOrder() {
+    queue = new WriteBehindQueue<>("test", 2, processed::addAll);
+    queue.start(10);
+
+    queue.enqueue(ListUtils.list("a", "b", "c")).join();
+
+    assertEquals(ListUtils.list("a", "b", "c"), processed);
+    assertEquals(3L, queue.getQueuedItems());
+  }
+
+  @Test
+  public void testEnqueueFailsIfBatchCannotBeProcessed() {
+    queue = new WriteBehindQueue<>("test", 10, batch -> {
+      throw new IllegalStateException("failed");
+    });
+    queue.start(10);
+
+    CompletionException ex = assertThrows(CompletionException.class, () -> queue.enqueue(ListUtils.list("a")).join());
+    assertTrue(ex.getCause() instanceof IllegalStateException);
+
+    // The background thread continues with the next batch.
+    assertThrows(CompletionException.class, () -> queue.enqueue(ListUtils.list("b")).join());
+  }
+
+  @Test
+  public void testEnqueueBlocksWhenQueueIsFull() throws Exception {
+    CountDownLatch processing = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    queue = new WriteBehindQueue<>("test", 1, batch -> {
+      processing.countDown();
+      release.await(10, TimeUnit.SECONDS);
+      processed.addAll(batch);
+    });
+    queue.start(1);
+
+    // The first item is being processed and the second item fills up the queue.
+    queue.enqueue(ListUtils.list("a"));
+    assertTrue(processing.await(10, TimeUnit.SECONDS));
+    queue.enqueue(ListUtils.list("b"));
+
+    // Queuing the third item has to wait until the handler is released.
+    Thread producer = new Thread(() -> queue.enqueue(ListUtils.list("c")));
+    producer.start();
+    producer.join(200);
+    assertTrue(producer.isAlive());
+    release.countDown();
+    producer.join(10_000);
+
+    queue.stop();
+    assertEquals(ListUtils.list("a", "b", "c"), processed);
+    assertEquals(1L, queue.getBlockedEnqueues());
+  }
+
+  @Test
+  public void testStopProcessesQueuedItems() {
+    queue = new WriteBehindQueue<>("test", 3, processed::addAll);
+    queue.start(100);
+
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      futures.add(queue.enqueue(ListUtils.list(String.valueOf(i))));
+    }
+    queue.stop();
+
+    assertEquals(10, processed.size());
+    assertTrue(futures.stream().allMatch(future -> future.isDone() && !future.isCompletedExceptionally()));
+    assertEquals(0, queue.size());
+  }
+
+  @Test
+  public void testEnqueueAfterStopIsRejected() {
+    queue = new WriteBehindQueue<>("test", 10, processed::addAll);
+    queue.start(10);
+    queue.stop();
+
+    assertNull(queue.enqueue(ListUtils.list("a")));
+    assertTrue(processed.isEmpty());
+  }
+
+  @Test
+  public void testStopFailsItemsWhichCouldNotBeProcessed() throws Exception {
+    CountDownLatch processing = new CountDownLatch(1);
+    queue = new WriteBehindQueue<String>("test", 1, batch -> {
+      processing.countDown();
+      // Blocks until the background thread is interrupted.
+      new CountDownLatch(1).await();
+    }).withShutdownTimeout(100);
+    queue.start(10);
+
+    CompletableFuture<Void> inProgress = queue.enqueue(ListUtils.list("a"));
+    assertTrue(processing.await(10, TimeUnit.SECONDS));
+    CompletableFuture<Void> queued = queue.enqueue(ListUtils.list("b"));
+    queue.stop();
+
+    assertThrows(CompletionException.class, inProgress::join);
+    assertThrows(CompletionException.class, queued::join);
+  }
+}
@@ -0,0 +1,70 @@
+package no.mnemonic.services.grafeo.utilities.messaging;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class BinaryXStreamMessageSerializerTest {
+
+  private final BinaryXStreamMessageSerializer serializer = BinaryXStreamMessageSerializer.builder()
+          .addAllowedClass(UUID.class)
+          .addAllowedClass("no.mnemonic.services.grafeo.utilities.messaging.BinaryXStreamMessageSerializerTest\\$Allowed.*")
+          .build();
+
+  @Test
+  public void testSerializerID() {
+    assertEquals(BinaryXStreamMessageSerializer.SERIALIZER_ID, serializer.serializerID());
+  }
+
+  @Test
+  public void testSerializeAndDeserializeCollections() throws Exception {
+    Map<String, Object> expected = new HashMap<>();
+    expected.put("list", new ArrayList<>(Arrays.asList("a", "b", 42L)));
+    expected.put("set", new HashSet<>(Collections.singleton(UUID.randomUUID())));
+    expected.put("array", new int[]{1, 2, 3});
+    expected.put("null", null);
+
+    @SuppressWarnings("unchecked")
+    Map<String, Object> actual = (Map<String, Object>) serializer.fromBytes(serializer.toBytes(expected));
+    assertEquals(expected.get("list"), actual.get("list"));
+    assertEquals(expected.get("set"), actual.get("set"));
+    assertArrayEquals((int[]) expected.get("array"), (int[]) actual.get("array"));
+    assertTrue(actual.containsKey("null"));
+  }
+
+  @Test
+  public void testSerializeAndDeserializeAllowedClass() throws Exception {
+    AllowedClass expected = new AllowedClass(UUID.randomUUID(), "value");
+    AllowedClass actual = (AllowedClass) serializer.fromBytes(serializer.toBytes(expected));
+    assertEquals(expected.id, actual.id);
+    assertEquals(expected.value, actual.value);
+  }
+
+  @Test
+  public void testDeserializeClassNotAllowed() throws Exception {
+    byte[] bytes = serializer.toBytes(new NotAllowedClass());
+    assertThrows(IOException.class, () -> serializer.fromBytes(bytes));
+  }
+
+  @Test
+  public void testDeserializeInvalidBytes() {
+    assertThrows(IOException.class, () -> serializer.fromBytes(new byte[]{1, 2, 3}));
+  }
+
+  private static class AllowedClass {
+    private final UUID id;
+    private final String value;
+
+    private AllowedClass(UUID id, String value) {
+      this.id = id;
+      this.value = value;
+    }
+  }
+
+  private static class NotAllowedClass {
+    private final String value = "value";
+  }
+}